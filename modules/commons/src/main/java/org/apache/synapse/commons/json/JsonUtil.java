@@ -18,9 +18,12 @@
 
 package org.apache.synapse.commons.json;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import java.io.BufferedReader;
 import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +43,7 @@ import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.apache.axiom.om.impl.builder.StAXOMBuilder;
+import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
 import org.apache.axiom.soap.SOAPBody;
 import org.apache.axiom.soap.SOAPEnvelope;
@@ -939,7 +943,13 @@ public final class JsonUtil {
             SOAPBody body = envelope.getBody();
             if (body != null) {
                 try {
-                    removeIndentations(body);
+                    OMElement payload = body.getFirstElement();
+                    // a JSON payload which has not been built as XML is dropped as it is, building it here
+                    // would convert the JSON to XML only to throw the XML away
+                    if (!(payload instanceof OMSourcedElement && !((OMSourcedElement) payload).isExpanded()
+                            && isAJsonPayloadElement(payload))) {
+                        removeIndentations(body);
+                    }
                 } catch (Exception exp) {
                     // This means json payload is malformed.
                     body.getFirstElement().detach();
@@ -988,6 +998,7 @@ public final class JsonUtil {
     public static InputStream setJsonStream(MessageContext messageContext, InputStream inputStream) {
         InputStream json = toReadOnlyStream(inputStream);
         messageContext.setProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM, json);
+        messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_PARSED_JSON_PAYLOAD);
         return json;
     }
 
@@ -998,6 +1009,7 @@ public final class JsonUtil {
      */
     public static void removeJsonStream(MessageContext messageContext) {
         messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM);
+        messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_PARSED_JSON_PAYLOAD);
     }
 
     /**
@@ -1043,6 +1055,70 @@ public final class JsonUtil {
                                  addAsNewFirstChild);
     }
 
+    /**
+     * Builds and returns a new JSON payload for a message context with a JSON string, together with the tree of
+     * JSON elements the string was written from. The tree becomes the parsed payload of the message, so that the
+     * next reader of the payload does not parse the string again. The tree must not be modified afterwards.
+     *
+     * @param messageContext     Axis2 Message context to which the new JSON payload must be saved (if instructed with <tt>addAsNewFirstChild</tt>).
+     * @param jsonString         JSON content as a String.
+     * @param jsonTree           The JSON content as a tree of JSON elements.
+     * @param removeChildren     Whether to remove existing child nodes of the existing payload of the message context
+     * @param addAsNewFirstChild Whether to add the new JSON payload as the first child of this message context *after* removing the existing first child element.<br/>
+     *                           Setting this argument to <tt>true</tt> will have no effect if the value of the argument <tt>removeChildren</tt> is already <tt>false</tt>.
+     * @return Payload object that stores the input JSON content as a Sourced object (See {@link org.apache.axiom.om.OMSourcedElement}) that facilitates on demand building of the XML tree.
+     * @see #getJsonPayloadTree(org.apache.axis2.context.MessageContext)
+     */
+    public static OMElement getNewJsonPayload(MessageContext messageContext, String jsonString, JsonElement jsonTree,
+                                              boolean removeChildren, boolean addAsNewFirstChild) throws AxisFault {
+        OMElement element = getNewJsonPayload(messageContext, jsonString, removeChildren, addAsNewFirstChild);
+        Object jsonStream = messageContext.getProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM);
+        if (element != null && jsonTree != null && jsonStream != null) {
+            messageContext.setProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_PARSED_JSON_PAYLOAD,
+                    new ParsedJsonPayload(jsonStream, jsonTree, null));
+        }
+        return element;
+    }
+
+    /**
+     * Returns the JSON payload of the message context parsed as a tree of JSON elements. The payload is parsed the
+     * first time it is asked for, and the tree is shared by all the readers of the payload until the JSON stream
+     * of the message is replaced, so that the JSON paths and the mediators which work on JSON neither parse the
+     * payload again nor convert it to XML.<br/>
+     * The tree must not be modified. A mediator which changes the payload works on a deep copy of the tree and sets
+     * the result with {@link #getNewJsonPayload(MessageContext, String, JsonElement, boolean, boolean)}.
+     *
+     * @param messageContext Axis2 Message context
+     * @return the parsed JSON payload, null if the message context does not contain a JSON stream.
+     * @throws com.google.gson.JsonParseException if the JSON payload is not valid, every time it is asked for.
+     */
+    public static JsonElement getJsonPayloadTree(MessageContext messageContext) {
+        Object jsonStream = messageContext == null ? null
+                : messageContext.getProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM);
+        if (!(jsonStream instanceof InputStream)) {
+            return null;
+        }
+        Object parsed = messageContext.getProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_PARSED_JSON_PAYLOAD);
+        ParsedJsonPayload payload;
+        // the stream is also replaced without going through this class, so the parsed payload is checked against it
+        if (parsed instanceof ParsedJsonPayload && ((ParsedJsonPayload) parsed).jsonStream == jsonStream) {
+            payload = (ParsedJsonPayload) parsed;
+        } else {
+            InputStream json = jsonStream(messageContext, true);
+            try {
+                payload = new ParsedJsonPayload(jsonStream,
+                        JsonParser.parseReader(new InputStreamReader(json, StandardCharsets.UTF_8)), null);
+            } catch (RuntimeException e) {
+                payload = new ParsedJsonPayload(jsonStream, null, e);
+            }
+            messageContext.setProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_PARSED_JSON_PAYLOAD, payload);
+        }
+        if (payload.error != null) {
+            throw payload.error;
+        }
+        return payload.tree;
+    }
+
     /**
      * Builds and returns a new JSON payload for a message context with a byte array containing JSON.This method is
      * now deprecated and replaced by getNewJsonPayload method.
@@ -1104,6 +1180,7 @@ public final class JsonUtil {
      */
     public static boolean removeJsonPayload(MessageContext messageContext) {
         messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM);
+        messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_PARSED_JSON_PAYLOAD);
         messageContext.removeProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_IS_JSON_OBJECT);
         boolean removeChildren = true;
         if (!removeChildren) { // don't change this.
@@ -1432,9 +1509,27 @@ public final class JsonUtil {
         if (inputStream == null) {
             return null;
         }
+        if (inputStream instanceof ReadOnlyBAIS) {
+            return inputStream;
+        }
         return new ReadOnlyBIS(inputStream);
     }
 
+    /**
+     * Returns a read only, re-readable input stream over a byte array. <br/>
+     * Unlike {@link #toReadOnlyStream(java.io.InputStream)} the content is not buffered again, so the same array
+     * can back the JSON streams of several message contexts as long as it is not modified.
+     *
+     * @param json JSON content as a byte array
+     * @return {@link java.io.InputStream}
+     */
+    public static InputStream toReadOnlyStream(byte[] json) {
+        if (json == null) {
+            return null;
+        }
+        return new ReadOnlyBAIS(json);
+    }
+
     /**
      * Returns an input stream that contains the JSON representation of an XML element.
      *
@@ -1511,6 +1606,24 @@ public final class JsonUtil {
         return isObject != null && ((Boolean) isObject);
     }
 
+    /**
+     * The parsed JSON payload of a message, or the error of parsing it, with the JSON stream it was parsed from
+     */
+    private static final class ParsedJsonPayload {
+
+        private final Object jsonStream;
+
+        private final JsonElement tree;
+
+        private final RuntimeException error;
+
+        private ParsedJsonPayload(Object jsonStream, JsonElement tree, RuntimeException error) {
+            this.jsonStream = jsonStream;
+            this.tree = tree;
+            this.error = error;
+        }
+    }
+
     /**
      * An Un-closable, Read-Only, Reusable, BufferedInputStream
      */
@@ -1556,6 +1669,27 @@ public final class JsonUtil {
         }
     }
 
+    private static class ReadOnlyBAIS extends ByteArrayInputStream {
+
+        public ReadOnlyBAIS(byte[] json) {
+            super(json);
+        }
+
+        @Override
+        public void close() {
+            super.reset();
+        }
+
+        @Override
+        public void mark(int readlimit) {
+        }
+
+        @Override
+        public long skip(long n) {
+            return 0;
+        }
+    }
+
     /**
      * Check whether the request HTTP method is required valid payload
      *
@@ -21,11 +21,15 @@ package org.apache.synapse.commons.throttle.core;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.factory.CallerContextFactory;
+import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
 /**
  * Controls the access of remote callers according to the controlling  policy .
  * This provides abstraction that need to control access based on caller IP or caller domain name.
  * This implementation is thread safe.
+ * <p>
+ * With the gcra throttle engine the access rate is controlled by the lock free {@link GcraRateLimiter} of the
+ * throttle context instead of the caller contexts. Its state is local to the node.
  */
 
 public class AccessRateController {
@@ -42,10 +46,15 @@ public class AccessRateController {
     private final Object lock = new Object();
 
     private boolean debugOn = false;  //is debug enable
+
+    /* Whether the access rate is controlled by the rate limiter of the throttle context */
+    private final boolean rateLimiterEnabled;
     private static final String SYMBOL_UNDERSCORE = "_";
 
     public AccessRateController() {
         debugOn = log.isDebugEnabled();
+        rateLimiterEnabled = ThrottleConstants.GCRA_THROTTLE_ENGINE.equals(
+                ThrottleServiceDataHolder.getInstance().getThrottleProperties().getThrottleEngineType());
     }
 
     /**
@@ -103,6 +112,20 @@ public class AccessRateController {
             accessInformation.setAccessAllowed(true);
             return accessInformation;
         } else if (configuration.getAccessState() == ThrottleConstants.ACCESS_CONTROLLED) {
+            if (rateLimiterEnabled) {
+                if (!throttleContext.getRateLimiter().tryAcquire(callerID, configuration,
+                        System.currentTimeMillis())) {
+                    log.info(ACCESS_DENIED_TEMPORALLY);
+                    accessInformation.setAccessAllowed(false);
+                    accessInformation.setFaultReason(ACCESS_DENIED_TEMPORALLY);
+                    return accessInformation;
+                }
+                if (debugOn) {
+                    log.debug("Access  from " + type + " " + callerID + " is successful.");
+                }
+                accessInformation.setAccessAllowed(true);
+                return accessInformation;
+            }
             synchronized (lock) {
                 CallerContext caller = throttleContext.getCallerContext(callerID);
                 if (caller == null) {
@@ -139,4 +162,4 @@ public class AccessRateController {
         accessInformation.setAccessAllowed(true);
         return accessInformation;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
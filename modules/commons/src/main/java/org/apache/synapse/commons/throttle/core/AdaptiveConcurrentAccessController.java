@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.commons.throttle.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A concurrent access controller whose limit follows the health of the backend, using additive
+ * increase and multiplicative decrease. The limit grows by one after as many requests as the limit
+ * complete in time, and shrinks by a ratio when a request fails or takes longer than the latency
+ * tolerance times the moving average of the latency. Only the requests which were sent after the
+ * last decrease can shrink the limit again, so that a burst of slow requests counts once. The limit
+ * stays between the minimum and the maximum given by the policy, starting from the maximum.
+ * <p>
+ * The limit is local to the node, in a cluster only the access counts are replicated.
+ */
+public class AdaptiveConcurrentAccessController extends ConcurrentAccessController {
+
+    private static final Log log = LogFactory.getLog(AdaptiveConcurrentAccessController.class);
+
+    private static final long serialVersionUID = 4372089624312847390L;
+
+    /** Ratio the limit is multiplied by on a failure or a slow request */
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /** Weight of the latest latency sample in the moving average */
+    private static final double LATENCY_WEIGHT = 0.05;
+
+    public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double latencyTolerance;
+
+    /* Moving average of the latency of the successful requests, in nanoseconds */
+    private double averageLatency;
+
+    /* Number of requests completed in time since the limit was last changed */
+    private int successCount;
+
+    private transient boolean decreased;
+
+    private transient long lastDecreaseNanos;
+
+    /**
+     * @param minLimit         the lowest limit, at least one
+     * @param maxLimit         the highest limit, which is also the initial limit
+     * @param latencyTolerance how many times the average latency a request may take before it
+     *                         is taken as a sign of an overloaded backend
+     */
+    public AdaptiveConcurrentAccessController(int minLimit, int maxLimit, double latencyTolerance) {
+        super(maxLimit);
+        this.maxLimit = maxLimit;
+        this.minLimit = Math.min(Math.max(minLimit, 1), maxLimit);
+        this.latencyTolerance = latencyTolerance > 1 ? latencyTolerance : DEFAULT_LATENCY_TOLERANCE;
+    }
+
+    @Override
+    public void onRequestCompleted(long latencyNanos, boolean failed) {
+        long latency = Math.max(latencyNanos, 0);
+        synchronized (this) {
+            if (failed) {
+                decrease(latency);
+                return;
+            }
+            double average = averageLatency;
+            averageLatency = average == 0 ? latency : average + LATENCY_WEIGHT * (latency - average);
+            if (average > 0 && latency > average * latencyTolerance) {
+                decrease(latency);
+            } else {
+                increase();
+            }
+        }
+    }
+
+    private void increase() {
+        int limit = getLimit();
+        if (limit >= maxLimit || ++successCount < limit) {
+            return;
+        }
+        successCount = 0;
+        resize(limit + 1);
+        if (log.isDebugEnabled()) {
+            log.debug("Concurrency Throttle : Limit increased to " + (limit + 1));
+        }
+    }
+
+    private void decrease(long latency) {
+        long now = System.nanoTime();
+        if (decreased && now - latency - lastDecreaseNanos < 0) {
+            // the request was sent before the last decrease, which already accounted for it
+            return;
+        }
+        decreased = true;
+        lastDecreaseNanos = now;
+        successCount = 0;
+        int limit = getLimit();
+        int newLimit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+        if (newLimit < limit) {
+            resize(newLimit);
+            if (log.isDebugEnabled()) {
+                log.debug("Concurrency Throttle : Limit decreased to " + newLimit);
+            }
+        }
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+}
@@ -490,6 +490,16 @@ public abstract class CallerContext implements Serializable, Cloneable {
         localCount.set(0);
     }
 
+    /**
+     * Takes the local counter for replication, the requests counted while it is taken are kept for the next
+     * replication
+     *
+     * @return the local counter before it was reset
+     */
+    public long getAndResetLocalCounter() {
+        return localCount.getAndSet(0);
+    }
+
     public void resetGlobalCounter() {
         globalCount.set(0);
     }
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.commons.throttle.core;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks striped by caller id, which serialize the replication of the counters of a caller with the reset of its
+ * time window. Without it the counter replicated by the throttle replicator may be added to the distributed counter
+ * of the new time window, after the throttle window replicator has reset it.
+ */
+final class CallerReplicationLock {
+
+    private static final int STRIPES = 64;
+
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private CallerReplicationLock() {
+    }
+
+    /**
+     * Locks the caller with the given id
+     *
+     * @param id id of the caller
+     */
+    static void lock(String id) {
+        locks[stripe(id)].lock();
+    }
+
+    /**
+     * Unlocks the caller with the given id
+     *
+     * @param id id of the caller
+     */
+    static void unlock(String id) {
+        locks[stripe(id)].unlock();
+    }
+
+    /**
+     * Locks all the callers with the given ids. The stripes are always taken in the same order, so two threads
+     * locking several callers do not deadlock
+     *
+     * @param ids ids of the callers
+     * @return the stripes taken, to be given to {@link #unlockAll(boolean[])}
+     */
+    static boolean[] lockAll(Collection<String> ids) {
+        boolean[] stripes = new boolean[STRIPES];
+        for (String id : ids) {
+            stripes[stripe(id)] = true;
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            if (stripes[i]) {
+                locks[i].lock();
+            }
+        }
+        return stripes;
+    }
+
+    /**
+     * Unlocks the stripes taken by {@link #lockAll(Collection)}
+     *
+     * @param stripes the stripes taken
+     */
+    static void unlockAll(boolean[] stripes) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            if (stripes[i]) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    private static int stripe(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -33,7 +33,7 @@ public class ConcurrentAccessController implements Serializable {
     private static Log log = LogFactory.getLog(ConcurrentAccessController.class.getName());
 
     /* The Max number of concurrent access */
-    private int limit;
+    private volatile int limit;
     /* The counter variable - hold current access count */
     private AtomicInteger counter;
 
@@ -95,4 +95,28 @@ public class ConcurrentAccessController implements Serializable {
         }
 
     }
+
+    /**
+     * Informs the completion of a request which got access through this controller. The fixed
+     * limit controller ignores it, an adaptive controller changes its limit by the outcome.
+     *
+     * @param latencyNanos the time the request took to complete, in nanoseconds
+     * @param failed       whether the request ended with an error or a time out
+     */
+    public void onRequestCompleted(long latencyNanos, boolean failed) {
+    }
+
+    /**
+     * Changes the limit while keeping the number of accesses in flight, so that the available
+     * count may go below zero until enough of those accesses are returned
+     *
+     * @param newLimit The new limit
+     */
+    protected synchronized void resize(int newLimit) {
+        int delta = newLimit - this.limit;
+        if (delta != 0) {
+            this.limit = newLimit;
+            this.counter.addAndGet(delta);
+        }
+    }
 }
@@ -17,6 +17,10 @@
  */
 package org.apache.synapse.commons.throttle.core;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * This interface used to replicate throttling counters and windows in distributed manner.
  */
@@ -71,6 +75,53 @@ public interface DistributedCounterManager {
      */
     public long asyncGetAndAddCounter(String key, long value);
 
+    /**
+     * This method is used to get and then increment several distributed counters asynchronously. Implementations
+     * which can update all the counters in one request to the distributed store should override it, the default
+     * implementation updates them one by one.
+     *
+     * @param values values to add to the distributed counters, by the keys of the counters.
+     * @return the original distributed counter values, by the keys of the counters.
+     */
+    public default Map<String, Long> asyncGetAndAddCounters(Map<String, Long> values) {
+        Map<String, Long> originalValues = new HashMap<>(values.size() * 2);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            originalValues.put(entry.getKey(), asyncGetAndAddCounter(entry.getKey(), entry.getValue()));
+        }
+        return originalValues;
+    }
+
+    /**
+     * This method is used to get and then increment several distributed counters asynchronously, and to set the
+     * expiry time of the counters. The default implementation updates them one by one.
+     *
+     * @param values          values to add to the distributed counters, by the keys of the counters.
+     * @param expiryTimeStamp expiry time to set.
+     * @return the original distributed counter values, by the keys of the counters.
+     */
+    public default Map<String, Long> asyncGetAndAddCountersWithExpiry(Map<String, Long> values,
+                                                                      long expiryTimeStamp) {
+        Map<String, Long> originalValues = asyncGetAndAddCounters(values);
+        for (String key : values.keySet()) {
+            setExpiry(key, expiryTimeStamp);
+        }
+        return originalValues;
+    }
+
+    /**
+     * Returns several distributed counters. The default implementation gets them one by one.
+     *
+     * @param keys keys to check in distributed map.
+     * @return values of the distributed counters, by their keys.
+     */
+    public default Map<String, Long> getCounters(Collection<String> keys) {
+        Map<String, Long> values = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            values.put(key, getCounter(key));
+        }
+        return values;
+    }
+
     /**
      * This method is used to increment distributed counter asynchronously.
      *
@@ -0,0 +1,174 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.commons.throttle.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the access rate of the callers of a throttle with the generic cell rate algorithm. Instead of a
+ * counter per time window, each caller has a single theoretical arrival time: a request is allowed if, after
+ * being accounted one emission interval (the unit time divided by the maximum count), the theoretical arrival
+ * time is no more than one unit time ahead of now. This allows the maximum count of requests within any unit
+ * time and needs a single compare and set per request.
+ * <p>
+ * The callers are kept in a concurrent hash map. A caller whose theoretical arrival time has passed holds no
+ * state, so it is removed by a sweep over the map which runs at most once per clean up period, on the thread
+ * of the request which finds it due.
+ * <p>
+ * The state is local to this node, it is not replicated across the cluster.
+ */
+public class GcraRateLimiter {
+
+    /** Theoretical arrival time of a caller which has been removed from the map */
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final ConcurrentMap<String, CallerState> callers = new ConcurrentHashMap<String, CallerState>();
+
+    private final long cleanPeriod;
+
+    private final AtomicLong nextCleanTime = new AtomicLong();
+
+    private final AtomicBoolean cleaning = new AtomicBoolean();
+
+    public GcraRateLimiter() {
+        this(ThrottleConstants.DEFAULT_THROTTLE_CLEAN_PERIOD);
+    }
+
+    /**
+     * @param cleanPeriod minimum time between two sweeps of the idle callers, in milliseconds
+     */
+    GcraRateLimiter(long cleanPeriod) {
+        this.cleanPeriod = cleanPeriod;
+    }
+
+    /**
+     * Check whether a caller can access, and account the access if so
+     *
+     * @param callerID      the id of the caller
+     * @param configuration the configuration of the caller - data from policy
+     * @param currentTime   the current system time in milliseconds
+     * @return true if the access is allowed
+     * @throws ThrottleException for an invalid throttle configuration
+     */
+    public boolean tryAcquire(String callerID, CallerConfiguration configuration, long currentTime)
+            throws ThrottleException {
+        int maximumCount = configuration.getMaximumRequestPerUnitTime();
+        long unitTime = configuration.getUnitTime();
+        long prohibitTimePeriod = configuration.getProhibitTimePeriod();
+        if (maximumCount < 0 || unitTime <= 0 || prohibitTimePeriod < 0) {
+            throw new ThrottleException("Invalid Throttle Configuration");
+        }
+        cleanIfDue(currentTime);
+        if (maximumCount == 0) {
+            return false;
+        }
+        // in microseconds, so that the interval is not rounded down to nothing for high rates
+        long now = currentTime * 1000;
+        long limit = unitTime * 1000;
+        long interval = Math.max(limit / maximumCount, 1);
+
+        while (true) {
+            CallerState state = callers.get(callerID);
+            if (state == null) {
+                state = new CallerState(now);
+                CallerState existing = callers.putIfAbsent(callerID, state);
+                if (existing != null) {
+                    state = existing;
+                }
+            }
+            if (now < state.prohibitedUntil) {
+                return false;
+            }
+            long tat = state.tat.get();
+            if (tat == REMOVED) {
+                // removed by a sweep after we looked it up, look up the new state
+                callers.remove(callerID, state);
+                continue;
+            }
+            long newTat = Math.max(tat, now) + interval;
+            if (newTat - now > limit) {
+                if (prohibitTimePeriod > 0) {
+                    state.prohibitedUntil = now + prohibitTimePeriod * 1000;
+                }
+                return false;
+            }
+            if (state.tat.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return number of callers holding state
+     */
+    public int getCallerCount() {
+        return callers.size();
+    }
+
+    /**
+     * Removes the callers which are idle at the given time, that is which would be allowed the maximum count of
+     * requests again.
+     *
+     * @param currentTime the current system time in milliseconds
+     */
+    public void cleanUp(long currentTime) {
+        long now = currentTime * 1000;
+        for (Map.Entry<String, CallerState> entry : callers.entrySet()) {
+            CallerState state = entry.getValue();
+            long tat = state.tat.get();
+            // a caller updated concurrently is not idle any more, it is left for the next sweep
+            if (tat <= now && now >= state.prohibitedUntil && state.tat.compareAndSet(tat, REMOVED)) {
+                // only this state, a request may already have replaced it
+                callers.remove(entry.getKey(), state);
+            }
+        }
+    }
+
+    private void cleanIfDue(long currentTime) {
+        long next = nextCleanTime.get();
+        if (currentTime < next || !cleaning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (nextCleanTime.compareAndSet(next, currentTime + cleanPeriod)) {
+                cleanUp(currentTime);
+            }
+        } finally {
+            cleaning.set(false);
+        }
+    }
+
+    private static final class CallerState {
+
+        /** Theoretical arrival time of the next request, in microseconds */
+        private final AtomicLong tat;
+
+        /** End of the prohibition of the caller, in microseconds */
+        private volatile long prohibitedUntil;
+
+        private CallerState(long now) {
+            this.tat = new AtomicLong(now);
+        }
+    }
+}
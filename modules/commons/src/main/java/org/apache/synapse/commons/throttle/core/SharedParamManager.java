@@ -4,6 +4,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -157,6 +158,42 @@ public class SharedParamManager {
 		}
 	}
 
+	/**
+	 * Asynchronously add the given values to the distributed counters of several caller contexts, in one batch if
+	 * the distributed counter manager supports it. If it's not distributed the local counters are updated. This will
+	 * return the global values before adding the provided values
+	 *
+	 * @param values values to add to the global counters, by the ids of the caller contexts
+	 * @return global values before the addition, by the ids of the caller contexts
+	 */
+	public static Map<String, Long> asyncGetAndAddDistributedCounters(Map<String, Long> values) {
+		if (log.isDebugEnabled()) {
+			log.debug("ASYNC ADDING TO " + values.size() + " COUNTERS");
+		}
+		Map<String, Long> originalValues = new HashMap<String, Long>(values.size() * 2);
+		if (values.isEmpty()) {
+			return originalValues;
+		}
+		DistributedCounterManager distributedCounterManager =
+				ThrottleServiceDataHolder.getInstance().getDistributedCounterManager();
+		if (distributedCounterManager != null && distributedCounterManager.isEnable()) {
+			Map<String, Long> keyedValues = new HashMap<String, Long>(values.size() * 2);
+			for (Map.Entry<String, Long> entry : values.entrySet()) {
+				keyedValues.put(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + entry.getKey(), entry.getValue());
+			}
+			Map<String, Long> keyedOriginalValues = distributedCounterManager.asyncGetAndAddCounters(keyedValues);
+			for (String id : values.keySet()) {
+				Long originalValue = keyedOriginalValues.get(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + id);
+				originalValues.put(id, originalValue != null ? originalValue : 0L);
+			}
+		} else {
+			for (Map.Entry<String, Long> entry : values.entrySet()) {
+				originalValues.put(entry.getKey(), asyncGetAndAddDistributedCounter(entry.getKey(), entry.getValue()));
+			}
+		}
+		return originalValues;
+	}
+
 	/**
 	 * Asynchronously add given value to the distribute counter of caller context of given id. If it's not
 	 * distributed return local counter. This will return global value before add the provided counter
@@ -22,6 +22,7 @@ import javax.xml.namespace.QName;
 public final class ThrottleConstants {
 
     public static final String HAZELCAST = "hazelcast";
+    public static final String LOCAL_DISTRIBUTED_COUNTER = "local";
 
     private ThrottleConstants() {
 
@@ -76,6 +77,21 @@ public final class ThrottleConstants {
     public static final QName THROTTLE_TYPE_ATTRIBUTE_QNAME =
             new QName(THROTTLE_NS, "type", THROTTLE_NS_PREFIX);
 
+    /* Attributes of the maximum concurrent access assertion which make its limit adaptive */
+
+    public static final QName CONCURRENCY_LIMIT_ALGORITHM_ATTRIBUTE_QNAME =
+            new QName(THROTTLE_NS, "limitAlgorithm", THROTTLE_NS_PREFIX);
+
+    public static final QName MINIMUM_CONCURRENT_ACCESS_ATTRIBUTE_QNAME =
+            new QName(THROTTLE_NS, "minimum", THROTTLE_NS_PREFIX);
+
+    public static final QName LATENCY_TOLERANCE_ATTRIBUTE_QNAME =
+            new QName(THROTTLE_NS, "latencyTolerance", THROTTLE_NS_PREFIX);
+
+    public static final String FIXED_CONCURRENCY_LIMIT = "fixed";
+
+    public static final String AIMD_CONCURRENCY_LIMIT = "aimd";
+
     public static final String KEY_OF_DEFAULT_CONFIGURATION_FOR_OTHER = "other";
 
     /**
@@ -190,4 +206,9 @@ public final class ThrottleConstants {
     public static final String THROTTLE_SYNC_ASYNC_HYBRID_MODE_ENABLED = "throttling.sync-async_hybrid_mode.enable";
     public static final String HYBRID_THROTTLE_PROCESSOR_WINDOW_TYPE = "throttling.hybrid_throttle_processor_window.type";
     public static final String LOCAL_QUOTA_BUFFER_PERCENTAGE = "throttling.local_quota_buffer_percentage";
+    public static final String THROTTLE_ENGINE_TYPE = "throttling.engine.type";
+
+    /* The engines which control the access rate of the callers */
+    public static final String DEFAULT_THROTTLE_ENGINE = "default";
+    public static final String GCRA_THROTTLE_ENGINE = "gcra";
 }
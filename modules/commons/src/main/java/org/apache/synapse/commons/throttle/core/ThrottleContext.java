@@ -63,6 +63,9 @@ public abstract class ThrottleContext {
 
     private ThrottleWindowReplicator throttleWindowReplicator;
 
+    /* The rate limiter of the callers, used instead of the caller contexts by the gcra throttle engine */
+    private volatile GcraRateLimiter rateLimiter;
+
     /**
      * default constructor – expects a throttle configuration.
      *
@@ -93,6 +96,25 @@ public abstract class ThrottleContext {
         return throttleConfiguration;
     }
 
+    /**
+     * To get the rate limiter of the callers, which is created on first use
+     *
+     * @return GcraRateLimiter which holds the rate limits of the callers of this context
+     */
+    public GcraRateLimiter getRateLimiter() {
+        GcraRateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            synchronized (this) {
+                limiter = rateLimiter;
+                if (limiter == null) {
+                    limiter = new GcraRateLimiter();
+                    rateLimiter = limiter;
+                }
+            }
+        }
+        return limiter;
+    }
+
     /**
      * To get the runtime states of a remote caller
      *
@@ -277,7 +277,7 @@ public class ThrottleFactory {
                     }
                     if (intValue > 0) {
                         throttle.setConcurrentAccessController(
-                                new ConcurrentAccessController(intValue));
+                                createConcurrentAccessController(element, intValue));
                     }
                 } else {
                     handleException("Invalid throttle policy configuration : unexpected policy " +
@@ -540,6 +540,50 @@ public class ThrottleFactory {
         }
     }
 
+    /**
+     * Creates the concurrent access controller of a maximum concurrent access assertion. The
+     * limit is fixed unless the assertion asks for an adaptive limit algorithm, in which case
+     * the value of the assertion is the highest limit.
+     *
+     * @param element  the maximum concurrent access assertion
+     * @param maxLimit the value of the assertion
+     * @return the concurrent access controller
+     * @throws ThrottleException if the adaptive limit attributes are invalid
+     */
+    static ConcurrentAccessController createConcurrentAccessController(OMElement element,
+                                                        int maxLimit) throws ThrottleException {
+        String algorithm = element.getAttributeValue(
+                ThrottleConstants.CONCURRENCY_LIMIT_ALGORITHM_ATTRIBUTE_QNAME);
+        if (algorithm == null || ThrottleConstants.FIXED_CONCURRENCY_LIMIT.equals(algorithm.trim())) {
+            return new ConcurrentAccessController(maxLimit);
+        }
+        if (!ThrottleConstants.AIMD_CONCURRENCY_LIMIT.equals(algorithm.trim())) {
+            handleException("Invalid concurrency limit algorithm : " + algorithm);
+        }
+        int minLimit = 1;
+        double latencyTolerance = AdaptiveConcurrentAccessController.DEFAULT_LATENCY_TOLERANCE;
+        String minimum = element.getAttributeValue(
+                ThrottleConstants.MINIMUM_CONCURRENT_ACCESS_ATTRIBUTE_QNAME);
+        String tolerance = element.getAttributeValue(
+                ThrottleConstants.LATENCY_TOLERANCE_ATTRIBUTE_QNAME);
+        try {
+            if (minimum != null) {
+                minLimit = Integer.parseInt(minimum.trim());
+            }
+            if (tolerance != null) {
+                latencyTolerance = Double.parseDouble(tolerance.trim());
+            }
+        } catch (NumberFormatException e) {
+            handleException("Invalid minimum concurrent access or latency tolerance : " +
+                    e.getMessage());
+        }
+        if (minLimit <= 0 || minLimit > maxLimit || latencyTolerance <= 1) {
+            handleException("The minimum concurrent access should be between one and the " +
+                    "maximum concurrent access and the latency tolerance should be above one");
+        }
+        return new AdaptiveConcurrentAccessController(minLimit, maxLimit, latencyTolerance);
+    }
+
     /**
      * Helper method to handle exception
      *
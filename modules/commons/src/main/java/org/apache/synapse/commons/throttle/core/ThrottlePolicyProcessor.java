@@ -347,7 +347,7 @@ public class ThrottlePolicyProcessor {
                     }
                     if (intvalue > 0) {
                         th.setConcurrentAccessController(
-                                new ConcurrentAccessController(intvalue));
+                                ThrottleFactory.createConcurrentAccessController(ele, intvalue));
                     }
                 } else {
                     handleException("Invalied Throttle Policy configuration");
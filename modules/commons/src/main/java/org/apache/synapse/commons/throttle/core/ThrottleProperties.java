@@ -39,6 +39,7 @@ public class ThrottleProperties implements Serializable {
 	private String distributedThrottleProcessorType = "hybrid";
 	private String hybridThrottleProcessorWindowType = "start_time_based";
 	private String localQuotaBufferPercentage = "20";
+	private String throttleEngineType = ThrottleConstants.DEFAULT_THROTTLE_ENGINE;
 
 	public String getWindowReplicatorPoolSize() {
 		return windowReplicatorPoolSize;
@@ -193,4 +194,12 @@ public class ThrottleProperties implements Serializable {
 	public String getLocalQuotaBufferPercentage() {
 		return localQuotaBufferPercentage;
 	}
+
+	public void setThrottleEngineType(String throttleEngineType) {
+		this.throttleEngineType = throttleEngineType;
+	}
+
+	public String getThrottleEngineType() {
+		return throttleEngineType;
+	}
 }
@@ -23,11 +23,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
 
 /* Runs a scheduled task, which replicates CallerContexts through the cluster.
- * Frequency of the job can be controlled
+ * Frequency of the job can be controlled. The counters of the callers added since the last run are sent to the
+ * distributed counter manager in batches of up to the configured number of keys to replicate.
  */
 
 public class ThrottleReplicator {
@@ -41,7 +44,7 @@ public class ThrottleReplicator {
     private ThrottleProperties throttleProperties;
     private int replicatorCount;
 
-    private Set<String> set = new ConcurrentSkipListSet<String>();
+    private Set<String> set = ConcurrentHashMap.newKeySet();
 
     public ThrottleReplicator() {
         throttleProperties = ThrottleServiceDataHolder.getInstance().getThrottleProperties();
@@ -88,52 +91,87 @@ public class ThrottleReplicator {
         if (configContext == null) {
             throw new IllegalStateException("ConfigurationContext has not been set");
         }
-        synchronized (key.intern()) {
-            set.add(key);
-        }
+        set.add(key);
         if (log.isDebugEnabled()) {
             log.trace("Adding key " + key + " to replication list");
         }
     }
 
+    /**
+     * Adds the local counters of the callers to their distributed counters in one batch, and updates the global
+     * counters of the callers with the result. The callers are locked meanwhile, so the throttle window replicator
+     * does not reset their time windows between taking the local counters and updating the global counters
+     *
+     * @param callerContexts the callers, by their ids
+     */
+    private static void replicate(Map<String, CallerContext> callerContexts) {
+        if (callerContexts.isEmpty()) {
+            return;
+        }
+        boolean[] stripes = CallerReplicationLock.lockAll(callerContexts.keySet());
+        try {
+            Map<String, Long> localCounters = new HashMap<String, Long>(callerContexts.size() * 2);
+            for (Map.Entry<String, CallerContext> entry : callerContexts.entrySet()) {
+                CallerContext callerContext = entry.getValue();
+                //If local counter > 0 and time window is not expired then only we have to replicate counters.
+                //Otherwise we do not need to do replication.
+                if (callerContext.getNextTimeWindow() <= System.currentTimeMillis()) {
+                    continue;
+                }
+                //The local counter is taken and reset at once, so the requests counted meanwhile are kept
+                //for the next replication
+                long localCounter = callerContext.getAndResetLocalCounter();
+                if (localCounter > 0) {
+                    localCounters.put(entry.getKey(), localCounter);
+                }
+            }
+            if (localCounters.isEmpty()) {
+                return;
+            }
+            Map<String, Long> distributedCounters =
+                    SharedParamManager.asyncGetAndAddDistributedCounters(localCounters);
+            for (Map.Entry<String, Long> entry : localCounters.entrySet()) {
+                String id = entry.getKey();
+                long localCounter = entry.getValue();
+                long distributedCounter = distributedCounters.get(id);
+                //Update instance global counter with distributed counter
+                callerContexts.get(id).setGlobalCounter(distributedCounter + localCounter);
+                if (log.isDebugEnabled()) {
+                    log.debug("Increasing counters of context :" + id + " "
+                              + "Replicated Count After  Update : distributedCounter =" + distributedCounter
+                              + " localCounter=" + localCounter + " total=" + (distributedCounter + localCounter));
+                }
+            }
+        } finally {
+            CallerReplicationLock.unlockAll(stripes);
+            callerContexts.clear();
+        }
+    }
+
     private class ReplicatorTask implements Runnable {
         public void run() {
             log.debug("Start running ThrottleReplicatorTask.");
             try {
                 if (!set.isEmpty()) {
+                    ThrottleDataHolder dataHolder = (ThrottleDataHolder)
+                            configContext.getProperty(ThrottleConstants.THROTTLE_INFO_KEY);
+                    Map<String, CallerContext> callerContexts = new HashMap<String, CallerContext>();
                     for (String key : set) {
-                        synchronized (key.intern()) {
-                            ThrottleDataHolder dataHolder = (ThrottleDataHolder)
-                                    configContext.getProperty(ThrottleConstants.THROTTLE_INFO_KEY);
-                            CallerContext callerContext = dataHolder.getCallerContext(key);
-                            //get distributed map instance and update counters
-                            //If both global and local counters are 0 then that means cleanup caller
-                            if (callerContext != null) {
-                                //If local counter > 0 and time window is not expired then only we have to replicate counters.
-                                //Otherwise we do not need to do replication.
-                                if (callerContext.getLocalCounter() > 0 &&
-                                        callerContext.getNextTimeWindow() > System.currentTimeMillis()) {
-	                                String id = callerContext.getId();
-	                                //First put local counter to variable and reset it just after it because
-	                                //if there are incoming requests coming. the local counter will be updated
-	                                //if that happen, reset will cause to miss the additional requests come after
-	                                //local counter value taken into the consideration
-	                                long localCounter = callerContext.getLocalCounter();
-	                                callerContext.resetLocalCounter();
-	                                Long distributedCounter = SharedParamManager.asyncGetAndAddDistributedCounter(id, localCounter);
-	                                //Update instance global counter with distributed counter
-                                    callerContext.setGlobalCounter(distributedCounter + localCounter);
-                                    if(log.isDebugEnabled()) {
-                                        log.debug("Increasing counters of context :" + callerContext.getId() + " "
-                                                  + "Replicated Count After  Update : distributedCounter =" +distributedCounter
-                                                  + " localCounter=" + localCounter + " total=" + (distributedCounter + localCounter));
-                                    }
-                                }
-                            }
-	                        set.remove(key);
+                        //Only the task which takes the key off the list replicates it, if the key is added again
+                        //meanwhile it is replicated by the next run
+                        if (!set.remove(key)) {
+                            continue;
+                        }
+                        CallerContext callerContext = dataHolder.getCallerContext(key);
+                        if (callerContext == null) {
+                            continue;
+                        }
+                        callerContexts.put(callerContext.getId(), callerContext);
+                        if (callerContexts.size() >= keysToReplicate) {
+                            replicate(callerContexts);
                         }
-
                     }
+                    replicate(callerContexts);
                 }
             } catch (Throwable t) {
                 log.error("Could not replicate throttle data", t);
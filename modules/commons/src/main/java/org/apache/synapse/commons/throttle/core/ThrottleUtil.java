@@ -178,6 +178,12 @@ public class ThrottleUtil {
 							throttleProperties.setLocalQuotaBufferPercentage(localQuotaBufferPercentage);
 						}
 					}
+					if (ThrottleConstants.THROTTLE_ENGINE_TYPE.equals(key)) {
+						String throttleEngineType = properties.getProperty(key);
+						if (StringUtils.isNotEmpty(throttleEngineType)) {
+							throttleProperties.setThrottleEngineType(throttleEngineType.trim());
+						}
+					}
 				}
 			} catch (IOException e) {
 				log.debug("Setting the Default Throttle Properties");
@@ -24,7 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -42,7 +42,7 @@ public class ThrottleWindowReplicator {
 private ThrottleProperties throttleProperties;
 	private int replicatorCount;
 
-	private Set<String> set = new ConcurrentSkipListSet<String>();
+	private Set<String> set = ConcurrentHashMap.newKeySet();
 
 	public ThrottleWindowReplicator() {
 
@@ -93,9 +93,7 @@ private ThrottleProperties throttleProperties;
 		if (configContext == null) {
 			throw new IllegalStateException("ConfigurationContext has not been set");
 		}
-		synchronized (key.intern()) {
-			set.add(key);
-		}
+		set.add(key);
 		if (log.isDebugEnabled()) {
 			log.trace("Adding key " + key + " to replication list");
 		}
@@ -110,12 +108,20 @@ private ThrottleProperties throttleProperties;
 					for (String key : set) {
 						String callerId;
 						long localFirstAccessTime;
-						synchronized (key.intern()) {
-							ThrottleDataHolder dataHolder = (ThrottleDataHolder)
-									configContext.getProperty(ThrottleConstants.THROTTLE_INFO_KEY);
-							CallerContext callerContext = dataHolder.getCallerContext(key);
-							if (callerContext != null) {
-								callerId = callerContext.getId();
+						//Only the task which takes the key off the list replicates it, if the key is added again
+						//meanwhile it is replicated by the next run
+						if (!set.remove(key)) {
+							continue;
+						}
+						ThrottleDataHolder dataHolder = (ThrottleDataHolder)
+								configContext.getProperty(ThrottleConstants.THROTTLE_INFO_KEY);
+						CallerContext callerContext = dataHolder.getCallerContext(key);
+						if (callerContext != null) {
+							callerId = callerContext.getId();
+							//The caller is locked so the throttle replicator does not add the counter of the previous time
+							//window to the distributed counter after it is reset here
+							CallerReplicationLock.lock(callerId);
+							try {
 								long sharedTimestamp = SharedParamManager.getSharedTimestamp(callerContext.getId());
 								long sharedNextWindow = sharedTimestamp + callerContext.getUnitTime();
 								localFirstAccessTime = callerContext.getFirstAccessTime();
@@ -158,8 +164,9 @@ private ThrottleProperties throttleProperties;
 										log.debug("Complete resetting time window of=" + callerId);
 									}
 								}
+							} finally {
+								CallerReplicationLock.unlock(callerId);
 							}
-							set.remove(key);
 						}
 
 					}
@@ -20,8 +20,10 @@ package org.apache.synapse.commons.throttle.core.internal;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.DistributedCounterManager;
+import org.apache.synapse.commons.throttle.core.ThrottleConstants;
 import org.apache.synapse.commons.throttle.core.ThrottleProperties;
 import org.apache.synapse.commons.throttle.core.ThrottleUtil;
+import org.apache.synapse.commons.throttle.core.local.LocalDistributedCounterManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -30,6 +32,7 @@ public class ThrottleServiceDataHolder {
 	private static final Log log  = LogFactory.getLog(ThrottleServiceDataHolder.class.getName());
 	private Map<String,DistributedCounterManager> distributedCounterManagerMap = new HashMap<>();
 	private Map<String,DistributedThrottleProcessor> distributedThrottleProcessorMap = new HashMap<>();
+	private volatile LocalDistributedCounterManager localDistributedCounterManager;
 
 	private ThrottleServiceDataHolder() {
 
@@ -66,7 +69,31 @@ public class ThrottleServiceDataHolder {
 	public DistributedCounterManager getDistributedCounterManager() {
 
 		String distributedCounterType = throttleProperties.getDistributedCounterType();
-		return distributedCounterManagerMap.get(distributedCounterType);
+		DistributedCounterManager distributedCounterManager = distributedCounterManagerMap.get(distributedCounterType);
+		if (distributedCounterManager == null
+				&& ThrottleConstants.LOCAL_DISTRIBUTED_COUNTER.equals(distributedCounterType)) {
+			distributedCounterManager = getLocalDistributedCounterManager();
+		}
+		return distributedCounterManager;
+	}
+
+	/**
+	 * The counter manager which keeps the counters in this host, created on first use unless a counter manager of
+	 * the same type is registered
+	 */
+	private DistributedCounterManager getLocalDistributedCounterManager() {
+		LocalDistributedCounterManager manager = localDistributedCounterManager;
+		if (manager == null) {
+			synchronized (this) {
+				manager = localDistributedCounterManager;
+				if (manager == null) {
+					manager = new LocalDistributedCounterManager(
+							throttleProperties.getDistributedCounterConfigurations());
+					localDistributedCounterManager = manager;
+				}
+			}
+		}
+		return manager;
 	}
 
 	public void addDistributedThrottleProcessor(DistributedThrottleProcessor distributedThrottleProcessor) {
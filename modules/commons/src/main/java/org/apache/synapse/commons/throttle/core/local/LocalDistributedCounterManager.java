@@ -0,0 +1,599 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.commons.throttle.core.local;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.commons.SynapseCommonsException;
+import org.apache.synapse.commons.throttle.core.DistributedCounterManager;
+import org.apache.synapse.commons.throttle.core.ThrottleConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link DistributedCounterManager} which keeps the counters, timestamps and locks in a fixed size hash table
+ * held in memory, so that distributed throttling can be run and measured without an external cache. The table is
+ * either private to the process, or mapped from a file so that all the processes of a host which map the same
+ * file share the counters.
+ * <p>
+ * Every operation holds a lock on the table, and on the file if the table is shared, so the batched operations
+ * which update many counters under a single lock are much cheaper than the same updates made one by one. Expired
+ * entries read as missing and their slots are reused. Expiry times are absolute, in milliseconds since the epoch.
+ * <p>
+ * It is used when the distributed counter type is {@value ThrottleConstants#LOCAL_DISTRIBUTED_COUNTER}, and is
+ * configured with the distributed counter configurations {@value #FILE} (the file to share the table through,
+ * the table is private to the process if not set), {@value #SLOTS} (the number of entries the table can hold)
+ * and {@value #KEY_LOCK_RETRIEVAL_TIMEOUT} (milliseconds to wait for a lock).
+ */
+public class LocalDistributedCounterManager implements DistributedCounterManager {
+
+    private static final Log log = LogFactory.getLog(LocalDistributedCounterManager.class);
+
+    public static final String FILE = "file";
+    public static final String SLOTS = "slots";
+    public static final String KEY_LOCK_RETRIEVAL_TIMEOUT = "keyLockRetrievalTimeout";
+
+    private static final int DEFAULT_SLOTS = 65536;
+    private static final long DEFAULT_KEY_LOCK_RETRIEVAL_TIMEOUT = 500;
+
+    private static final int MAGIC = 0x53544354;
+    private static final int HEADER_SIZE = 64;
+
+    /* Layout of a slot: tag, key length, key, value, expiry */
+    private static final int SLOT_SIZE = 256;
+    private static final int KEY_LENGTH_OFFSET = 8;
+    private static final int KEY_OFFSET = 12;
+    private static final int KEY_CAPACITY = 228;
+    private static final int VALUE_OFFSET = 240;
+    private static final int EXPIRY_OFFSET = 248;
+
+    /* Tags of the slots which hold no entry */
+    private static final long EMPTY = 0;
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    /* Kinds of the entries, prefixed to their keys so that a counter and a timestamp may have the same key */
+    private static final byte COUNTER = 'c';
+    private static final byte TIMESTAMP = 't';
+    private static final byte LOCK = 'l';
+
+    private final ByteBuffer table;
+
+    private final int slots;
+
+    private final FileChannel channel;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final long keyLockRetrievalTimeout;
+
+    /* Lock on the file while an operation runs, guarded by the lock */
+    private FileLock fileLock;
+
+    /**
+     * Creates a counter manager private to this process
+     *
+     * @param slots maximum number of entries
+     */
+    public LocalDistributedCounterManager(int slots) {
+        this.slots = slots;
+        this.table = ByteBuffer.allocate(HEADER_SIZE + slots * SLOT_SIZE);
+        this.channel = null;
+        this.keyLockRetrievalTimeout = DEFAULT_KEY_LOCK_RETRIEVAL_TIMEOUT;
+    }
+
+    /**
+     * Creates a counter manager from the distributed counter configurations
+     *
+     * @param configurations the distributed counter configurations of the throttle properties
+     */
+    public LocalDistributedCounterManager(Map<String, String> configurations) {
+        String slotsValue = configurations.get(SLOTS);
+        String timeoutValue = configurations.get(KEY_LOCK_RETRIEVAL_TIMEOUT);
+        String file = configurations.get(FILE);
+        int requestedSlots = slotsValue != null ? Integer.parseInt(slotsValue.trim()) : DEFAULT_SLOTS;
+        this.keyLockRetrievalTimeout = timeoutValue != null ? Long.parseLong(timeoutValue.trim())
+                : DEFAULT_KEY_LOCK_RETRIEVAL_TIMEOUT;
+        if (file == null || file.trim().isEmpty()) {
+            this.slots = requestedSlots;
+            this.table = ByteBuffer.allocate(HEADER_SIZE + slots * SLOT_SIZE);
+            this.channel = null;
+        } else {
+            this.channel = openChannel(new File(file.trim()));
+            this.slots = initFile(channel, requestedSlots);
+            try {
+                this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+            } catch (IOException e) {
+                throw new SynapseCommonsException("Error mapping the throttle counter file " + file, e);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Local distributed counter manager created with " + slots + " slots"
+                    + (channel != null ? " shared through " + file : ""));
+        }
+    }
+
+    private static FileChannel openChannel(File file) {
+        try {
+            return new RandomAccessFile(file, "rw").getChannel();
+        } catch (IOException e) {
+            throw new SynapseCommonsException("Error opening the throttle counter file " + file, e);
+        }
+    }
+
+    /**
+     * Initializes the header of the file if it is new, the number of slots of an existing file is kept
+     */
+    private static int initFile(FileChannel channel, int requestedSlots) {
+        try (FileLock ignored = channel.lock()) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() >= 8 && header.getInt(0) == MAGIC) {
+                return header.getInt(4);
+            }
+            channel.truncate(0);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) requestedSlots * SLOT_SIZE);
+            mapped.putInt(4, requestedSlots);
+            mapped.putInt(0, MAGIC);
+            mapped.force();
+            return requestedSlots;
+        } catch (IOException e) {
+            throw new SynapseCommonsException("Error initializing the throttle counter file", e);
+        }
+    }
+
+    @Override
+    public long getCounter(String key) {
+        lock();
+        try {
+            int slot = find(COUNTER, key, System.currentTimeMillis());
+            return slot < 0 ? 0 : table.getLong(offset(slot) + VALUE_OFFSET);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Returns several distributed counters under a single lock
+     *
+     * @param keys keys of the counters
+     * @return values of the counters, by their keys
+     */
+    @Override
+    public Map<String, Long> getCounters(Collection<String> keys) {
+        Map<String, Long> values = new HashMap<>(keys.size() * 2);
+        lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (String key : keys) {
+                int slot = find(COUNTER, key, now);
+                values.put(key, slot < 0 ? 0 : table.getLong(offset(slot) + VALUE_OFFSET));
+            }
+        } finally {
+            unlock();
+        }
+        return values;
+    }
+
+    @Override
+    public void setCounter(String key, long value) {
+        put(COUNTER, key, value, -1);
+    }
+
+    @Override
+    public void setCounterWithExpiry(String key, long value, long expiryTime) {
+        put(COUNTER, key, value, expiryTime);
+    }
+
+    @Override
+    public long addAndGetCounter(String key, long value) {
+        return getAndAdd(key, value) + value;
+    }
+
+    @Override
+    public void removeCounter(String key) {
+        remove(COUNTER, key);
+    }
+
+    @Override
+    public long asyncGetAndAddCounter(String key, long value) {
+        return getAndAdd(key, value);
+    }
+
+    @Override
+    public Map<String, Long> asyncGetAndAddCounters(Map<String, Long> values) {
+        return asyncGetAndAddCountersWithExpiry(values, -1);
+    }
+
+    /**
+     * Adds to several distributed counters under a single lock
+     *
+     * @param values          values to add to the counters, by their keys
+     * @param expiryTimeStamp expiry time to set on the counters, none is set if negative
+     * @return values of the counters before the addition, by their keys
+     */
+    @Override
+    public Map<String, Long> asyncGetAndAddCountersWithExpiry(Map<String, Long> values, long expiryTimeStamp) {
+        Map<String, Long> originalValues = new HashMap<>(values.size() * 2);
+        lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Long> entry : values.entrySet()) {
+                int slot = findOrInsert(COUNTER, entry.getKey(), now);
+                int valueOffset = offset(slot) + VALUE_OFFSET;
+                long original = table.getLong(valueOffset);
+                table.putLong(valueOffset, original + entry.getValue());
+                if (expiryTimeStamp >= 0) {
+                    table.putLong(offset(slot) + EXPIRY_OFFSET, expiryTimeStamp);
+                }
+                originalValues.put(entry.getKey(), original);
+            }
+        } finally {
+            unlock();
+        }
+        return originalValues;
+    }
+
+    @Override
+    public long asyncAddCounter(String key, long value) {
+        return getAndAdd(key, value) + value;
+    }
+
+    @Override
+    public long asyncGetAndAlterCounter(String key, long value) {
+        return getAndSet(key, value, -1);
+    }
+
+    @Override
+    public long asyncGetAlterAndSetExpiryOfCounter(String key, long value, long expiryTimeStamp) {
+        return getAndSet(key, value, expiryTimeStamp);
+    }
+
+    @Override
+    public long getTimestamp(String key) {
+        lock();
+        try {
+            int slot = find(TIMESTAMP, key, System.currentTimeMillis());
+            return slot < 0 ? 0 : table.getLong(offset(slot) + VALUE_OFFSET);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public void setTimestamp(String key, long timeStamp) {
+        put(TIMESTAMP, key, timeStamp, -1);
+    }
+
+    @Override
+    public void setTimestampWithExpiry(String key, long timeStamp, long expiryTimeStamp) {
+        put(TIMESTAMP, key, timeStamp, expiryTimeStamp);
+    }
+
+    @Override
+    public void removeTimestamp(String key) {
+        remove(TIMESTAMP, key);
+    }
+
+    @Override
+    public boolean isEnable() {
+        return true;
+    }
+
+    @Override
+    public String getType() {
+        return ThrottleConstants.LOCAL_DISTRIBUTED_COUNTER;
+    }
+
+    /**
+     * Sets the expiry time of the counter and the timestamp with the given key
+     */
+    @Override
+    public void setExpiry(String key, long expiryTimeStamp) {
+        lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (byte kind : new byte[]{COUNTER, TIMESTAMP}) {
+                int slot = find(kind, key, now);
+                if (slot >= 0) {
+                    table.putLong(offset(slot) + EXPIRY_OFFSET, expiryTimeStamp);
+                }
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Returns the time to live of the counter or else the timestamp with the given key, in milliseconds
+     *
+     * @return time to live, -1 if the key does not expire, -2 if the key does not exist
+     */
+    @Override
+    public long getTtl(String key) {
+        lock();
+        try {
+            long now = System.currentTimeMillis();
+            int slot = find(COUNTER, key, now);
+            if (slot < 0) {
+                slot = find(TIMESTAMP, key, now);
+            }
+            if (slot < 0) {
+                return -2;
+            }
+            long expiry = table.getLong(offset(slot) + EXPIRY_OFFSET);
+            return expiry < 0 ? -1 : expiry - now;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public long setLock(String key, String value) {
+        return setLockWithExpiry(key, value, -1) ? 1 : 0;
+    }
+
+    @Override
+    public boolean setLockWithExpiry(String key, String value, long expiryTimeStamp) {
+        lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (find(LOCK, key, now) >= 0) {
+                return false;
+            }
+            int slot = findOrInsert(LOCK, key, now);
+            table.putLong(offset(slot) + VALUE_OFFSET, 1);
+            table.putLong(offset(slot) + EXPIRY_OFFSET, expiryTimeStamp);
+            return true;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public long getKeyLockRetrievalTimeout() {
+        return keyLockRetrievalTimeout;
+    }
+
+    @Override
+    public void removeLock(String key) {
+        remove(LOCK, key);
+    }
+
+    /**
+     * Releases the file the table is shared through, if any
+     */
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Error closing the throttle counter file", e);
+            }
+        }
+    }
+
+    private long getAndAdd(String key, long value) {
+        lock();
+        try {
+            int valueOffset = offset(findOrInsert(COUNTER, key, System.currentTimeMillis())) + VALUE_OFFSET;
+            long original = table.getLong(valueOffset);
+            table.putLong(valueOffset, original + value);
+            return original;
+        } finally {
+            unlock();
+        }
+    }
+
+    private long getAndSet(String key, long value, long expiryTimeStamp) {
+        lock();
+        try {
+            int slot = findOrInsert(COUNTER, key, System.currentTimeMillis());
+            long original = table.getLong(offset(slot) + VALUE_OFFSET);
+            table.putLong(offset(slot) + VALUE_OFFSET, value);
+            if (expiryTimeStamp >= 0) {
+                table.putLong(offset(slot) + EXPIRY_OFFSET, expiryTimeStamp);
+            }
+            return original;
+        } finally {
+            unlock();
+        }
+    }
+
+    private void put(byte kind, String key, long value, long expiryTimeStamp) {
+        lock();
+        try {
+            int slot = findOrInsert(kind, key, System.currentTimeMillis());
+            table.putLong(offset(slot) + VALUE_OFFSET, value);
+            table.putLong(offset(slot) + EXPIRY_OFFSET, expiryTimeStamp);
+        } finally {
+            unlock();
+        }
+    }
+
+    private void remove(byte kind, String key) {
+        lock();
+        try {
+            int slot = find(kind, key, System.currentTimeMillis());
+            if (slot >= 0) {
+                // the slot is not emptied, so that the entries probed past it are still found
+                table.putLong(offset(slot), REMOVED);
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Finds the slot of a live entry
+     *
+     * @return the slot, -1 if there is no live entry with the key
+     */
+    private int find(byte kind, String key, long now) {
+        byte[] encodedKey = encode(kind, key);
+        long tag = tag(encodedKey);
+        int start = (int) ((tag & Long.MAX_VALUE) % slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = (start + i) % slots;
+            long slotTag = table.getLong(offset(slot));
+            if (slotTag == EMPTY) {
+                return -1;
+            }
+            if (slotTag == tag && keyEquals(slot, encodedKey)) {
+                return isExpired(slot, now) ? -1 : slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot of a live entry, or else inserts a new entry with no value and no expiry time
+     */
+    private int findOrInsert(byte kind, String key, long now) {
+        byte[] encodedKey = encode(kind, key);
+        long tag = tag(encodedKey);
+        int start = (int) ((tag & Long.MAX_VALUE) % slots);
+        int free = -1;
+        for (int i = 0; i < slots; i++) {
+            int slot = (start + i) % slots;
+            long slotTag = table.getLong(offset(slot));
+            if (slotTag == tag && keyEquals(slot, encodedKey)) {
+                if (!isExpired(slot, now)) {
+                    return slot;
+                }
+                free = slot;
+                break;
+            }
+            if (free < 0 && (slotTag == REMOVED || (slotTag != EMPTY && isExpired(slot, now)))) {
+                free = slot;
+            }
+            if (slotTag == EMPTY) {
+                if (free < 0) {
+                    free = slot;
+                }
+                break;
+            }
+        }
+        if (free < 0) {
+            throw new SynapseCommonsException("The throttle counter table is full, it holds " + slots + " entries");
+        }
+        int offset = offset(free);
+        table.putInt(offset + KEY_LENGTH_OFFSET, encodedKey.length);
+        for (int i = 0; i < encodedKey.length; i++) {
+            table.put(offset + KEY_OFFSET + i, encodedKey[i]);
+        }
+        table.putLong(offset + VALUE_OFFSET, 0);
+        table.putLong(offset + EXPIRY_OFFSET, -1);
+        table.putLong(offset, tag);
+        return free;
+    }
+
+    private boolean isExpired(int slot, long now) {
+        long expiry = table.getLong(offset(slot) + EXPIRY_OFFSET);
+        return expiry >= 0 && expiry <= now;
+    }
+
+    private boolean keyEquals(int slot, byte[] encodedKey) {
+        int offset = offset(slot);
+        if (table.getInt(offset + KEY_LENGTH_OFFSET) != encodedKey.length) {
+            return false;
+        }
+        for (int i = 0; i < encodedKey.length; i++) {
+            if (table.get(offset + KEY_OFFSET + i) != encodedKey[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * Encodes the kind and the key of an entry, keys which do not fit in a slot are replaced by their digest
+     */
+    private static byte[] encode(byte kind, String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= KEY_CAPACITY) {
+            try {
+                bytes = MessageDigest.getInstance("SHA-256").digest(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                throw new SynapseCommonsException("SHA-256 is not available", e);
+            }
+            kind = (byte) Character.toUpperCase((char) kind);
+        }
+        byte[] encoded = new byte[bytes.length + 1];
+        encoded[0] = kind;
+        System.arraycopy(bytes, 0, encoded, 1, bytes.length);
+        return encoded;
+    }
+
+    /**
+     * FNV-1a hash of the encoded key, never one of the tags of the free slots
+     */
+    private static long tag(byte[] encodedKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : encodedKey) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash == EMPTY || hash == REMOVED ? 1 : hash;
+    }
+
+    private void lock() {
+        lock.lock();
+        if (channel != null) {
+            try {
+                fileLock = channel.lock();
+            } catch (IOException e) {
+                lock.unlock();
+                throw new SynapseCommonsException("Error locking the throttle counter file", e);
+            }
+        }
+    }
+
+    private void unlock() {
+        try {
+            if (fileLock != null) {
+                fileLock.release();
+                fileLock = null;
+            }
+        } catch (IOException e) {
+            log.warn("Error unlocking the throttle counter file", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -17,8 +17,12 @@
 
 package org.apache.synapse.commons.json;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import junit.framework.TestCase;
 import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.util.AXIOMUtil;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.context.MessageContext;
@@ -157,4 +161,50 @@ public class JsonUtilTest extends TestCase {
         assertEquals("Empty array expected", 0, bytes.length);
     }
 
+    public void testJsonPayloadTreeIsParsedOncePerPayload() throws AxisFault {
+        MessageContext messageContext = Util.newMessageContext();
+        assertNull("No JSON payload expected", JsonUtil.getJsonPayloadTree(messageContext));
+        JsonUtil.getNewJsonPayload(messageContext, "{\"name\":\"WSO2\"}", true, true);
+        JsonElement tree = JsonUtil.getJsonPayloadTree(messageContext);
+        assertEquals("Invalid payload tree", "WSO2", tree.getAsJsonObject().get("name").getAsString());
+        assertSame("Payload parsed again", tree, JsonUtil.getJsonPayloadTree(messageContext));
+
+        JsonUtil.getNewJsonPayload(messageContext, "[1,2]", true, true);
+        assertEquals("Stale payload tree", 2, JsonUtil.getJsonPayloadTree(messageContext).getAsJsonArray().size());
+    }
+
+    public void testNewJsonPayloadWithTree() throws AxisFault {
+        MessageContext messageContext = Util.newMessageContext();
+        JsonElement tree = JsonParser.parseString("{\"name\":\"WSO2\"}");
+        JsonUtil.getNewJsonPayload(messageContext, tree.toString(), tree, true, true);
+        assertSame("Payload tree not reused", tree, JsonUtil.getJsonPayloadTree(messageContext));
+        assertEquals("Invalid payload", "{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(messageContext));
+    }
+
+    public void testInvalidJsonPayloadTree() throws AxisFault {
+        MessageContext messageContext = Util.newMessageContext();
+        JsonUtil.getNewJsonPayload(messageContext, "{\"name\":", true, true);
+        try {
+            JsonUtil.getJsonPayloadTree(messageContext);
+            fail("Invalid JSON payload parsed");
+        } catch (JsonParseException expected) {
+            // the error is kept for the payload
+        }
+        try {
+            JsonUtil.getJsonPayloadTree(messageContext);
+            fail("Invalid JSON payload parsed");
+        } catch (JsonParseException expected) {
+            // expected
+        }
+    }
+
+    public void testReplacingJsonPayloadDoesNotBuildXml() throws AxisFault {
+        MessageContext messageContext = Util.newMessageContext();
+        JsonUtil.getNewJsonPayload(messageContext, "{\"name\":\"WSO2\"}", true, true);
+        OMSourcedElement previous = (OMSourcedElement) messageContext.getEnvelope().getBody().getFirstElement();
+        JsonUtil.getNewJsonPayload(messageContext, "{\"name\":\"Synapse\"}", true, true);
+        assertFalse("Replaced JSON payload built as XML", previous.isExpanded());
+        assertEquals("Invalid payload", "{\"name\":\"Synapse\"}", JsonUtil.jsonPayloadToString(messageContext));
+    }
+
 }
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests how the adaptive concurrent access controller changes its limit
+ */
+public class AdaptiveConcurrentAccessControllerTest extends TestCase {
+
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    public void testStartsFromMaximum() {
+        AdaptiveConcurrentAccessController controller = new AdaptiveConcurrentAccessController(2, 10, 2);
+        assertEquals(10, controller.getLimit());
+        assertEquals(10, controller.getAndDecrement());
+    }
+
+    public void testFailureDecreasesLimitDownToMinimum() throws InterruptedException {
+        AdaptiveConcurrentAccessController controller = new AdaptiveConcurrentAccessController(2, 10, 2);
+        controller.onRequestCompleted(0, true);
+        assertEquals(9, controller.getLimit());
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(1);
+            controller.onRequestCompleted(0, true);
+        }
+        assertEquals(2, controller.getLimit());
+    }
+
+    public void testRequestsSentBeforeDecreaseAreIgnored() {
+        AdaptiveConcurrentAccessController controller = new AdaptiveConcurrentAccessController(1, 10, 2);
+        controller.onRequestCompleted(0, true);
+        assertEquals(9, controller.getLimit());
+        // these failed requests were in flight when the limit was decreased
+        controller.onRequestCompleted(TimeUnit.SECONDS.toNanos(1), true);
+        controller.onRequestCompleted(TimeUnit.SECONDS.toNanos(1), true);
+        assertEquals(9, controller.getLimit());
+    }
+
+    public void testSlowResponseDecreasesLimit() {
+        AdaptiveConcurrentAccessController controller = new AdaptiveConcurrentAccessController(1, 10, 2);
+        controller.onRequestCompleted(LATENCY, false);
+        controller.onRequestCompleted(LATENCY, false);
+        assertEquals(10, controller.getLimit());
+        controller.onRequestCompleted(LATENCY * 3, false);
+        assertEquals(9, controller.getLimit());
+    }
+
+    public void testSuccessIncreasesLimitUpToMaximum() {
+        AdaptiveConcurrentAccessController controller = new AdaptiveConcurrentAccessController(1, 10, 2);
+        controller.onRequestCompleted(0, true);
+        assertEquals(9, controller.getLimit());
+        // one more access after as many successful requests as the limit
+        for (int i = 0; i < 8; i++) {
+            controller.onRequestCompleted(LATENCY, false);
+        }
+        assertEquals(9, controller.getLimit());
+        controller.onRequestCompleted(LATENCY, false);
+        assertEquals(10, controller.getLimit());
+        for (int i = 0; i < 100; i++) {
+            controller.onRequestCompleted(LATENCY, false);
+        }
+        assertEquals(10, controller.getLimit());
+    }
+
+    public void testDecreaseKeepsAccessesInFlight() {
+        AdaptiveConcurrentAccessController controller = new AdaptiveConcurrentAccessController(1, 3, 2);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(controller.getAndDecrement() > 0);
+        }
+        controller.onRequestCompleted(0, true);
+        assertEquals(2, controller.getLimit());
+        // three accesses are in flight above a limit of two, so one returned access is not enough
+        controller.incrementAndGet();
+        assertEquals(0, controller.getAndDecrement());
+        controller.incrementAndGet();
+        assertTrue(controller.getAndDecrement() > 0);
+    }
+}
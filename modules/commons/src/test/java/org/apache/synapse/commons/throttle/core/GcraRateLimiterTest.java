@@ -0,0 +1,120 @@
+/*
+*  Licensed to the Apache Software Foundation (ASF) under one
+*  or more contributor license agreements.  See the NOTICE file
+*  distributed with this work for additional information
+*  regarding copyright ownership.  The ASF licenses this file
+*  to you under the Apache License, Version 2.0 (the
+*  "License"); you may not use this file except in compliance
+*  with the License.  You may obtain a copy of the License at
+*
+*   http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*   * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.apache.synapse.commons.throttle.core;
+
+import junit.framework.TestCase;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerConfiguration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the access rate limits of the gcra throttle engine
+ */
+public class GcraRateLimiterTest extends TestCase {
+
+    public void testMaximumCountPerUnitTime() throws ThrottleException {
+        GcraRateLimiter limiter = new GcraRateLimiter();
+        CallerConfiguration configuration = new IPBaseCallerConfiguration(1000, 5, 0, "other");
+        long time = 1000000;
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", configuration, time));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.1", configuration, time));
+        // other callers have their own limit
+        assertTrue(limiter.tryAcquire("10.0.0.2", configuration, time));
+        // one request is allowed again for every fifth of the unit time
+        assertFalse(limiter.tryAcquire("10.0.0.1", configuration, time + 199));
+        assertTrue(limiter.tryAcquire("10.0.0.1", configuration, time + 200));
+        assertFalse(limiter.tryAcquire("10.0.0.1", configuration, time + 200));
+        // the full limit is available once the caller has been idle for a unit time
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", configuration, time + 1200));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.1", configuration, time + 1200));
+    }
+
+    public void testProhibitTimePeriod() throws ThrottleException {
+        GcraRateLimiter limiter = new GcraRateLimiter();
+        CallerConfiguration configuration = new IPBaseCallerConfiguration(1000, 2, 5000, "other");
+        long time = 1000000;
+        assertTrue(limiter.tryAcquire("10.0.0.1", configuration, time));
+        assertTrue(limiter.tryAcquire("10.0.0.1", configuration, time));
+        assertFalse(limiter.tryAcquire("10.0.0.1", configuration, time));
+        assertFalse(limiter.tryAcquire("10.0.0.1", configuration, time + 4999));
+        assertTrue(limiter.tryAcquire("10.0.0.1", configuration, time + 5000));
+    }
+
+    public void testZeroMaximumCount() throws ThrottleException {
+        GcraRateLimiter limiter = new GcraRateLimiter();
+        assertFalse(limiter.tryAcquire("10.0.0.1", new IPBaseCallerConfiguration(1000, 0, 0, "other"), 1000));
+    }
+
+    public void testInvalidConfiguration() {
+        GcraRateLimiter limiter = new GcraRateLimiter();
+        try {
+            limiter.tryAcquire("10.0.0.1", new IPBaseCallerConfiguration(0, 5, 0, "other"), 1000);
+            fail("Invalid configuration must be rejected");
+        } catch (ThrottleException expected) {
+            // expected
+        }
+    }
+
+    public void testIdleCallersAreRemoved() throws ThrottleException {
+        GcraRateLimiter limiter = new GcraRateLimiter(60000);
+        CallerConfiguration configuration = new IPBaseCallerConfiguration(1000, 5, 0, "other");
+        long time = 1000000;
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("10.0.0." + i, configuration, time);
+        }
+        assertEquals(100, limiter.getCallerCount());
+        limiter.tryAcquire("10.0.1.1", configuration, time + 500);
+        // not due yet
+        assertEquals(101, limiter.getCallerCount());
+        limiter.tryAcquire("10.0.1.1", configuration, time + 60000);
+        assertEquals(1, limiter.getCallerCount());
+    }
+
+    public void testConcurrentCallersGetTheMaximumCount() throws Exception {
+        final GcraRateLimiter limiter = new GcraRateLimiter();
+        final CallerConfiguration configuration = new IPBaseCallerConfiguration(60000, 1000, 0, "other");
+        final long time = System.currentTimeMillis();
+        final AtomicInteger allowed = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 500; j++) {
+                            if (limiter.tryAcquire("10.0.0.1", configuration, time)) {
+                                allowed.incrementAndGet();
+                            }
+                        }
+                    } catch (ThrottleException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, allowed.get());
+    }
+}
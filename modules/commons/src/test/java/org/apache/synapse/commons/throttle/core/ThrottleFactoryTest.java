@@ -232,6 +232,22 @@ public class ThrottleFactoryTest extends TestCase {
             "        </wsp:ExactlyOne>\n" +
             "    </wsp:Policy>\n" +
             "</wsp:Policy>";
+    private String adaptivePolicy = "<wsp:Policy xmlns:wsp=\"http://schemas.xmlsoap.org/ws/" +
+            "2004/09/policy\"\n" +
+            "            xmlns:throttle=\"http://www.wso2.org/products/wso2commons/throttle\">\n" +
+            "    <throttle:MediatorThrottleAssertion>\n" +
+            "        <throttle:MaximumConcurrentAccess throttle:limitAlgorithm=\"aimd\" " +
+            "throttle:minimum=\"2\" throttle:latencyTolerance=\"1.5\">20" +
+            "</throttle:MaximumConcurrentAccess>\n" +
+            "        <wsp:Policy>\n" +
+            "            <throttle:ID throttle:type=\"IP\"> other </throttle:ID>\n" +
+            "            <wsp:Policy>\n" +
+            "                <throttle:Allow/>\n" +
+            "            </wsp:Policy>\n" +
+            "        </wsp:Policy>\n" +
+            "    </throttle:MediatorThrottleAssertion>\n" +
+            "</wsp:Policy>";
+
     private boolean errorOccured;
 
     public void testModuleThrottleAssertBuilder() throws Exception {
@@ -362,6 +378,24 @@ public class ThrottleFactoryTest extends TestCase {
         assertFalse(errorOccured);
     }
 
+    public void testAdaptiveConcurrentAccessController() throws Exception {
+        Policy policy = PolicyEngine.getPolicy(createOMElement(adaptivePolicy));
+        Throttle throttle = ThrottleFactory.createMediatorThrottle(policy);
+
+        ConcurrentAccessController controller = throttle.getConcurrentAccessController();
+        assertTrue(controller instanceof AdaptiveConcurrentAccessController);
+        AdaptiveConcurrentAccessController adaptive = (AdaptiveConcurrentAccessController) controller;
+        assertEquals(20, adaptive.getLimit());
+        assertEquals(20, adaptive.getMaxLimit());
+        assertEquals(2, adaptive.getMinLimit());
+        assertEquals(1.5, adaptive.getLatencyTolerance());
+
+        Throttle fixedThrottle = ThrottleFactory.createServiceThrottle(
+                PolicyEngine.getPolicy(createOMElement(servicePolicy)));
+        assertFalse(fixedThrottle.getConcurrentAccessController()
+                instanceof AdaptiveConcurrentAccessController);
+    }
+
     private List<String> getRandomKeys(int noOfKeys) {
         List<String> keys = new ArrayList<String>();
         Random random = new Random();
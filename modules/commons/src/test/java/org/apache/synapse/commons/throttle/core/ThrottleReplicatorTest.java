@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.commons.throttle.core;
+
+import junit.framework.TestCase;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerContext;
+import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
+import org.apache.synapse.commons.throttle.core.local.LocalDistributedCounterManager;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the replication of the local counters of the callers
+ */
+public class ThrottleReplicatorTest extends TestCase {
+
+    public void testLocalCountersAreReplicated() throws Exception {
+        ConfigurationContext configContext = new ConfigurationContext(new AxisConfiguration());
+        ThrottleDataHolder dataHolder = new ThrottleDataHolder();
+        configContext.setProperty(ThrottleConstants.THROTTLE_INFO_KEY, dataHolder);
+        ThrottleReplicator replicator = new ThrottleReplicator();
+        replicator.setConfigContext(configContext);
+
+        CallerContext[] callers = new CallerContext[3];
+        for (int i = 0; i < callers.length; i++) {
+            callers[i] = new IPBaseCallerContext("replicator-test-" + i);
+            callers[i].setNextTimeWindow(System.currentTimeMillis() + 60000);
+            callers[i].setLocalCounter(i + 1);
+            dataHolder.addCallerContext(callers[i].getId(), callers[i]);
+            replicator.add(callers[i].getId());
+        }
+        // a caller added twice is replicated once
+        replicator.add(callers[0].getId());
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!isReplicated(callers) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        for (int i = 0; i < callers.length; i++) {
+            assertEquals(0, callers[i].getLocalCounter());
+            assertEquals(i + 1, callers[i].getGlobalCounter());
+            assertEquals(i + 1, SharedParamManager.getDistributedCounter(callers[i].getId()));
+        }
+    }
+
+    public void testWindowResetWaitsForReplication() throws Exception {
+        BlockingCounterManager counterManager = new BlockingCounterManager();
+        ThrottleServiceDataHolder.getInstance().addDistributedCounterManager(counterManager);
+        try {
+            ConfigurationContext configContext = new ConfigurationContext(new AxisConfiguration());
+            ThrottleDataHolder dataHolder = new ThrottleDataHolder();
+            configContext.setProperty(ThrottleConstants.THROTTLE_INFO_KEY, dataHolder);
+            ThrottleReplicator replicator = new ThrottleReplicator();
+            replicator.setConfigContext(configContext);
+            ThrottleWindowReplicator windowReplicator = new ThrottleWindowReplicator();
+            windowReplicator.setConfigContext(configContext);
+
+            long now = System.currentTimeMillis();
+            CallerContext caller = new IPBaseCallerContext("window-reset-test");
+            caller.setUnitTime(60000);
+            caller.setFirstAccessTime(now);
+            caller.setNextTimeWindow(now + 60000);
+            caller.setLocalCounter(5);
+            dataHolder.addCallerContext(caller.getId(), caller);
+
+            // the counter of the previous time window is being replicated when the window is reset
+            replicator.add(caller.getId());
+            assertTrue(counterManager.entered.await(10, TimeUnit.SECONDS));
+            windowReplicator.add(caller.getId());
+            Thread.sleep(500);
+            assertEquals("window reset while the counter was being replicated", 0, caller.getLocalCounter());
+            counterManager.release.countDown();
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (caller.getLocalCounter() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, caller.getLocalCounter());
+            assertEquals(0, caller.getGlobalCounter());
+            assertEquals(0, SharedParamManager.getDistributedCounter(caller.getId()));
+        } finally {
+            counterManager.release.countDown();
+            ThrottleServiceDataHolder.getInstance().removeDistributedCounterManager(counterManager);
+        }
+    }
+
+    private static boolean isReplicated(CallerContext[] callers) {
+        for (CallerContext caller : callers) {
+            if (caller.getGlobalCounter() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counter manager which holds the replication of the counters until released
+     */
+    private static class BlockingCounterManager extends LocalDistributedCounterManager {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingCounterManager() {
+            super(16);
+        }
+
+        @Override
+        public Map<String, Long> asyncGetAndAddCounters(Map<String, Long> values) {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.asyncGetAndAddCounters(values);
+        }
+
+        @Override
+        public String getType() {
+            return ThrottleConstants.HAZELCAST;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.commons.throttle.core.local;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests the counter manager which keeps the throttle counters in this host
+ */
+public class LocalDistributedCounterManagerTest extends TestCase {
+
+    public void testCounters() {
+        LocalDistributedCounterManager manager = new LocalDistributedCounterManager(64);
+        assertEquals(0, manager.getCounter("a"));
+        assertEquals(0, manager.asyncGetAndAddCounter("a", 5));
+        assertEquals(8, manager.addAndGetCounter("a", 3));
+        assertEquals(8, manager.asyncGetAndAlterCounter("a", 1));
+        assertEquals(1, manager.getCounter("a"));
+        // counters and timestamps with the same key are separate
+        manager.setTimestamp("a", 1000);
+        assertEquals(1000, manager.getTimestamp("a"));
+        assertEquals(1, manager.getCounter("a"));
+        manager.removeCounter("a");
+        assertEquals(0, manager.getCounter("a"));
+        assertEquals(1000, manager.getTimestamp("a"));
+    }
+
+    public void testBatchedCounters() {
+        LocalDistributedCounterManager manager = new LocalDistributedCounterManager(64);
+        manager.setCounter("a", 10);
+        Map<String, Long> values = new HashMap<String, Long>();
+        values.put("a", 2L);
+        values.put("b", 3L);
+        Map<String, Long> originalValues = manager.asyncGetAndAddCounters(values);
+        assertEquals(Long.valueOf(10), originalValues.get("a"));
+        assertEquals(Long.valueOf(0), originalValues.get("b"));
+        Map<String, Long> counters = manager.getCounters(Arrays.asList("a", "b", "c"));
+        assertEquals(Long.valueOf(12), counters.get("a"));
+        assertEquals(Long.valueOf(3), counters.get("b"));
+        assertEquals(Long.valueOf(0), counters.get("c"));
+    }
+
+    public void testExpiry() {
+        LocalDistributedCounterManager manager = new LocalDistributedCounterManager(64);
+        long now = System.currentTimeMillis();
+        manager.setCounterWithExpiry("expired", 5, now - 1);
+        assertEquals(0, manager.getCounter("expired"));
+        assertEquals(-2, manager.getTtl("expired"));
+        manager.setCounter("live", 5);
+        assertEquals(-1, manager.getTtl("live"));
+        Map<String, Long> values = new HashMap<String, Long>();
+        values.put("live", 1L);
+        manager.asyncGetAndAddCountersWithExpiry(values, now + 60000);
+        assertEquals(6, manager.getCounter("live"));
+        assertTrue(manager.getTtl("live") > 0);
+        // an expired counter starts again from zero
+        assertEquals(0, manager.asyncGetAndAddCounter("expired", 1));
+    }
+
+    public void testLocks() {
+        LocalDistributedCounterManager manager = new LocalDistributedCounterManager(64);
+        long now = System.currentTimeMillis();
+        assertTrue(manager.setLockWithExpiry("lock", "one", now + 60000));
+        assertFalse(manager.setLockWithExpiry("lock", "two", now + 60000));
+        manager.removeLock("lock");
+        assertTrue(manager.setLockWithExpiry("lock", "two", now + 60000));
+        assertTrue(manager.setLockWithExpiry("expired", "one", now - 1));
+        assertEquals(1, manager.setLock("expired", "two"));
+        assertEquals(0, manager.setLock("expired", "three"));
+    }
+
+    public void testRemovedAndLongKeys() {
+        LocalDistributedCounterManager manager = new LocalDistributedCounterManager(4);
+        for (int i = 0; i < 4; i++) {
+            manager.setCounter("key" + i, i);
+        }
+        // the slots of the removed entries are reused, the entries probed past them are still found
+        manager.removeCounter("key0");
+        manager.removeCounter("key1");
+        char[] chars = new char[500];
+        Arrays.fill(chars, 'k');
+        String longKey = new String(chars);
+        manager.setCounter(longKey, 7);
+        manager.setCounter(longKey + "x", 8);
+        assertEquals(7, manager.getCounter(longKey));
+        assertEquals(8, manager.getCounter(longKey + "x"));
+        assertEquals(2, manager.getCounter("key2"));
+        assertEquals(3, manager.getCounter("key3"));
+        try {
+            manager.setCounter("key4", 4);
+            fail("The table is full");
+        } catch (RuntimeException expected) {
+            // expected
+        }
+    }
+
+    public void testCountersSharedThroughFile() throws Exception {
+        File file = File.createTempFile("throttle-counters", ".bin");
+        file.deleteOnExit();
+        Map<String, String> configurations = new HashMap<String, String>();
+        configurations.put(LocalDistributedCounterManager.FILE, file.getAbsolutePath());
+        configurations.put(LocalDistributedCounterManager.SLOTS, "128");
+        LocalDistributedCounterManager first = new LocalDistributedCounterManager(configurations);
+        // a different number of slots is ignored, the table of the file is used as is
+        configurations.put(LocalDistributedCounterManager.SLOTS, "16");
+        LocalDistributedCounterManager second = new LocalDistributedCounterManager(configurations);
+        try {
+            first.asyncGetAndAddCounter("shared", 4);
+            second.asyncGetAndAddCounter("shared", 6);
+            assertEquals(10, first.getCounter("shared"));
+            for (int i = 0; i < 100; i++) {
+                second.setCounter("key" + i, i);
+            }
+            assertEquals(99, first.getCounter("key99"));
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+}
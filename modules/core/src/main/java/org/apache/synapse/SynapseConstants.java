@@ -310,6 +310,38 @@ public final class SynapseConstants {
          */
         public static final long DEFAULT_GLOBAL_TIMEOUT = 24 * 60 * 60 * 1000;
 
+    //- timing wheel of the correlation timeouts of the aggregating mediators -
+        /** Duration of a tick of the timing wheel in milliseconds, the precision of the timeouts */
+        public static final String TIMING_WHEEL_TICK = "synapse.timing_wheel.tick";
+
+        public static final long DEFAULT_TIMING_WHEEL_TICK = 100;
+
+        /** Number of buckets of the timing wheel */
+        public static final String TIMING_WHEEL_SIZE = "synapse.timing_wheel.size";
+
+        public static final int DEFAULT_TIMING_WHEEL_SIZE = 512;
+
+        /** Number of threads running the tasks of expired timeouts */
+        public static final String TIMING_WHEEL_EXPIRY_THREADS = "synapse.timing_wheel.expiry_threads";
+
+        public static final int DEFAULT_TIMING_WHEEL_EXPIRY_THREADS = 2;
+
+    //- cache of the compiled stylesheets of the XSLT mediators -
+        /** Maximum number of compiled stylesheets cached */
+        public static final String XSLT_TEMPLATE_CACHE_MAX_ENTRIES = "synapse.xslt.template_cache.max_entries";
+
+        public static final int DEFAULT_XSLT_TEMPLATE_CACHE_MAX_ENTRIES = 1000;
+
+        /** Maximum total size, in bytes, of the sources of the cached stylesheets */
+        public static final String XSLT_TEMPLATE_CACHE_MAX_SIZE = "synapse.xslt.template_cache.max_size";
+
+        public static final long DEFAULT_XSLT_TEMPLATE_CACHE_MAX_SIZE = 32 * 1024 * 1024;
+
+        /** Maximum number of idle transformers kept for reuse per compiled stylesheet, 0 disables the reuse */
+        public static final String XSLT_TRANSFORMER_POOL_SIZE = "synapse.xslt.transformer_pool.size";
+
+        public static final int DEFAULT_XSLT_TRANSFORMER_POOL_SIZE = 16;
+
         /**
          * don't do anything for response timeouts. this means infinite timeout. this is the default
          * action, if the timeout configuration is not explicitly set.
@@ -544,6 +576,16 @@ public final class SynapseConstants {
     //Streaming Json Path
     public static final String STREAMING_JSONPATH_PROCESSING = "synapse.streaming.jsonpath.enabled";
 
+    //Maximum number of compiled JSON paths with dynamic values cached
+    public static final String JSONPATH_CACHE_MAX_ENTRIES = "synapse.jsonpath.cache.max_entries";
+
+    public static final int DEFAULT_JSONPATH_CACHE_MAX_ENTRIES = 1000;
+
+    //Maximum number of parsed Synapse Expressions cached
+    public static final String SYNAPSE_EXPRESSION_CACHE_MAX_ENTRIES = "synapse.expression.cache.max_entries";
+
+    public static final int DEFAULT_SYNAPSE_EXPRESSION_CACHE_MAX_ENTRIES = 1000;
+
     //Enable message building when doing failover
     public static final String BUILD_MESSAGE_ON_FAILOVER = "build.message.on.failover.enable";
 
@@ -580,6 +622,11 @@ public final class SynapseConstants {
             "synapse.concurrent.access.controller";
     public static final String SYNAPSE_CONCURRENT_ACCESS_REPLICATOR =
             "synapse.concurrent.access.replicator";
+    /**
+     * The System.nanoTime at which the concurrency throttle accepted the request
+     */
+    public static final String SYNAPSE_CONCURRENCY_THROTTLE_START_TIME =
+            "synapse.concurrency.throttle.start.time";
 
     /**
      * Keeps the state whether the request is accepted or not
@@ -39,6 +39,7 @@ import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.api.dispatch.DispatcherHelper;
 import org.apache.synapse.api.dispatch.RESTDispatcher;
+import org.apache.synapse.api.dispatch.ResourceIndex;
 import org.apache.synapse.api.version.DefaultStrategy;
 import org.apache.synapse.api.version.URLBasedVersionStrategy;
 import org.apache.synapse.api.version.VersionStrategy;
@@ -68,6 +69,7 @@ public class API extends AbstractRequestProcessor implements ManagedLifecycle, A
     private int port = -1;
     private String context;
     private Map<String,Resource> resources = new LinkedHashMap<String,Resource>();
+    private volatile ResourceIndex resourceIndex;
     private List<Handler> handlers = new ArrayList<Handler>();
     private String swaggerResourcePath;
 
@@ -227,6 +229,7 @@ public class API extends AbstractRequestProcessor implements ManagedLifecycle, A
             }
         }
         resources.put(resource.getName(), resource);
+        resourceIndex = null;
     }
 
     private boolean resourceMatches(Resource r1, Resource r2) {
@@ -250,6 +253,21 @@ public class API extends AbstractRequestProcessor implements ManagedLifecycle, A
         return resources;
     }
 
+    /**
+     * Returns the routing index of the resources of this API, building it on first use after the
+     * resources have changed.
+     *
+     * @return resource index of this API
+     */
+    public ResourceIndex getResourceIndex() {
+        ResourceIndex index = resourceIndex;
+        if (index == null) {
+            index = new ResourceIndex(resources.values());
+            resourceIndex = index;
+        }
+        return index;
+    }
+
     public void addHandler(Handler handler) {
         handlers.add(handler);
     }
@@ -447,7 +465,12 @@ public class API extends AbstractRequestProcessor implements ManagedLifecycle, A
                     msgCtx.getIncomingTransportName() + "://" + hostHeader);
         }
 
-        Set<Resource> acceptableResources = ApiUtils.getAcceptableResources(resources, synCtx);
+        Set<Resource> acceptableResources = ApiUtils.getAcceptableResources(
+                getResourceIndex().getCandidates(subPath), synCtx);
+        if (acceptableResources.isEmpty()) {
+            // Unhappy path, evaluate every resource so the 404/405 decision below stays the same
+            acceptableResources = ApiUtils.getAcceptableResources(resources, synCtx);
+        }
 
         boolean processed = false;
         if (!acceptableResources.isEmpty()) {
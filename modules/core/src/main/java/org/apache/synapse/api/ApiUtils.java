@@ -30,6 +30,7 @@ import org.apache.synapse.api.version.DefaultStrategy;
 import org.apache.synapse.api.version.URLBasedVersionStrategy;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.rest.RESTConstants;
+import org.apache.synapse.api.dispatch.ApiContextIndex;
 import org.apache.synapse.api.dispatch.DefaultDispatcher;
 import org.apache.synapse.api.dispatch.RESTDispatcher;
 import org.apache.synapse.api.dispatch.URITemplateBasedDispatcher;
@@ -186,8 +187,12 @@ public class ApiUtils {
     }
 
     public static Set<Resource> getAcceptableResources(Map<String, Resource> resources, MessageContext synCtx) {
+        return getAcceptableResources(resources.values(), synCtx);
+    }
+
+    public static Set<Resource> getAcceptableResources(Collection<Resource> resources, MessageContext synCtx) {
         List<Resource> acceptableResourcesList = new LinkedList<>();
-        for (Resource r : resources.values()) {
+        for (Resource r : resources) {
             if (isBound(r, synCtx) && r.canProcess(synCtx)) {
                 if (Arrays.asList(r.getMethods()).contains(RESTConstants.METHOD_OPTIONS)) {
                     acceptableResourcesList.add(0, r);
@@ -207,7 +212,9 @@ public class ApiUtils {
      */
     public static API getSelectedAPI(MessageContext synCtx) {
         //getting the API collection from the synapse configuration to find the invoked API
-        Collection<API> apiSet = synCtx.getEnvironment().getSynapseConfiguration().getAPIs();
+        ApiContextIndex index = synCtx.getEnvironment().getSynapseConfiguration().getAPIContextIndex();
+        //only the APIs whose context can match the request path
+        Collection<API> apiSet = index.getCandidates(synCtx);
         //Since swapping elements are not possible with sets, Collection is converted to a List
         List<API> defaultStrategyApiSet = new ArrayList<API>(apiSet);
         //To avoid apiSet being modified concurrently
@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.api.dispatch;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.api.API;
+import org.apache.synapse.api.ApiUtils;
+import org.apache.synapse.rest.RESTConstants;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable routing index of a set of APIs, keyed by the literal segments of their contexts. Given a
+ * request path it returns only the APIs whose context can match the path according to
+ * {@link ApiUtils#matchApiPath(String, String)}, in the same order as the collection it was built from,
+ * so the remaining validations (version, host, port, protocol) run on a handful of APIs instead of on
+ * every deployed API.
+ * <p>
+ * APIs bound to the root context, and APIs whose context cannot be indexed by segments, are returned
+ * for every path.
+ */
+public class ApiContextIndex {
+
+    public static final ApiContextIndex EMPTY = new ApiContextIndex(Collections.<API>emptyList());
+
+    private final PathSegmentTrie<API> trie = new PathSegmentTrie<API>();
+
+    public ApiContextIndex(Collection<API> apis) {
+        for (API api : apis) {
+            String context = api.getContext();
+            if (context == null || "/".equals(context) || !context.startsWith("/") || context.indexOf('?') != -1) {
+                trie.add(Collections.<String>emptyList(), api);
+            } else {
+                trie.add(PathSegmentTrie.split(context), api);
+            }
+        }
+    }
+
+    /**
+     * Returns the APIs whose context may match the given request path.
+     *
+     * @param path full request path including the query string, if any
+     * @return candidate APIs in the order of the indexed collection
+     */
+    public List<API> getCandidates(String path) {
+        return trie.match(path);
+    }
+
+    /**
+     * Returns the APIs which may process a message. Responses and Prometheus requests are not matched on the
+     * request path, hence all the APIs are returned for them.
+     *
+     * @param synCtx MessageContext to be dispatched
+     * @return candidate APIs in the order of the indexed collection
+     */
+    public List<API> getCandidates(MessageContext synCtx) {
+        if (isEmpty() || synCtx.isResponse() || synCtx.getProperty(RESTConstants.IS_PROMETHEUS_ENGAGED) != null) {
+            return getAPIs();
+        }
+        return getCandidates(ApiUtils.getFullRequestPath(synCtx));
+    }
+
+    /**
+     * @return all the indexed APIs in their original order
+     */
+    public List<API> getAPIs() {
+        return trie.values();
+    }
+
+    public boolean isEmpty() {
+        return trie.values().isEmpty();
+    }
+}
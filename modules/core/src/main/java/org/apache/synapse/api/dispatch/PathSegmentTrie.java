@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.api.dispatch;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A trie keyed by literal path segments. Every value is attached to the node reached by its segments
+ * and a lookup returns the values of all the nodes visited while walking the segments of a request
+ * path, i.e. every value whose segments are a leading run of the path segments. Values attached to
+ * the root are returned for every path.
+ * <p>
+ * Lookups return values in the order they were added, so callers which depend on declaration order
+ * (first match wins) see the same order as when iterating over the full collection. Instances are
+ * populated once and are read only afterwards, hence safe to share between threads.
+ */
+class PathSegmentTrie<T> {
+
+    private final Node root = new Node();
+
+    private final List<T> values = new ArrayList<T>();
+
+    /**
+     * Attaches a value to the node addressed by the given segments.
+     *
+     * @param segments literal path segments, an empty list attaches the value to the root
+     * @param value    value to be returned for paths starting with the segments
+     */
+    void add(List<String> segments, T value) {
+        Node node = root;
+        for (String segment : segments) {
+            Node child = node.children.get(segment);
+            if (child == null) {
+                child = new Node();
+                node.children.put(segment, child);
+            }
+            node = child;
+        }
+        node.ordinals.add(values.size());
+        values.add(value);
+    }
+
+    /**
+     * Returns all the values which may match the given path, in the order they were added.
+     *
+     * @param path request path, starting with a '/' and optionally followed by a query string
+     * @return candidate values
+     */
+    List<T> match(String path) {
+        BitSet matched = new BitSet(values.size());
+        collect(root, matched);
+
+        if (path != null && path.startsWith("/")) {
+            int end = path.indexOf('?');
+            if (end == -1) {
+                end = path.length();
+            }
+            Node node = root;
+            int start = 1;
+            while (start <= end) {
+                int next = path.indexOf('/', start);
+                if (next == -1 || next > end) {
+                    next = end;
+                }
+                node = node.children.get(path.substring(start, next));
+                if (node == null) {
+                    break;
+                }
+                collect(node, matched);
+                start = next + 1;
+            }
+        }
+
+        if (matched.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<T>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            result.add(values.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * @return all the values of the trie, in the order they were added
+     */
+    List<T> values() {
+        return Collections.unmodifiableList(values);
+    }
+
+    private static void collect(Node node, BitSet matched) {
+        for (int i = 0; i < node.ordinals.size(); i++) {
+            matched.set(node.ordinals.get(i));
+        }
+    }
+
+    /**
+     * Splits the given path into its segments. The leading '/' is dropped and empty segments are kept,
+     * so that "/a/" yields [a, ""], the same way {@link #match(String)} walks a request path.
+     */
+    static List<String> split(String path) {
+        List<String> segments = new ArrayList<String>();
+        int start = 1;
+        while (start <= path.length()) {
+            int next = path.indexOf('/', start);
+            if (next == -1) {
+                next = path.length();
+            }
+            segments.add(path.substring(start, next));
+            start = next + 1;
+        }
+        return segments;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<String, Node>(4);
+
+        private final List<Integer> ordinals = new ArrayList<Integer>(1);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.api.dispatch;
+
+import org.apache.synapse.api.Resource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable index of the resources of an API, keyed by the literal path segments every request must
+ * carry to be matched by a resource. A URI template contributes the complete segments in front of its
+ * first expression, a URL mapping the segments of its exact or prefix path. Extension mappings, default
+ * resources and templates starting with an expression are returned for every path.
+ * <p>
+ * The index only narrows down the resources handed over to the {@link RESTDispatcher}s; the actual
+ * matching is still done by the dispatchers, on the candidates, in declaration order.
+ */
+public class ResourceIndex {
+
+    private final PathSegmentTrie<Resource> trie = new PathSegmentTrie<Resource>();
+
+    public ResourceIndex(Collection<Resource> resources) {
+        for (Resource resource : resources) {
+            trie.add(getLiteralSegments(resource.getDispatcherHelper()), resource);
+        }
+    }
+
+    /**
+     * Returns the resources which may match the given sub request path.
+     *
+     * @param subPath request path relative to the API context (and version)
+     * @return candidate resources in declaration order
+     */
+    public List<Resource> getCandidates(String subPath) {
+        return trie.match(subPath);
+    }
+
+    private static List<String> getLiteralSegments(DispatcherHelper helper) {
+        if (helper == null || helper.getString() == null) {
+            return Collections.emptyList();
+        }
+
+        String mapping = helper.getString();
+        boolean exact;
+        if (helper instanceof URLMappingHelper) {
+            if (mapping.endsWith("/*")) {
+                mapping = mapping.substring(0, mapping.length() - 1);
+                exact = false;
+            } else {
+                // extension mappings do not start with a '/' and end up in the root
+                exact = true;
+            }
+        } else if (helper instanceof URITemplateHelper) {
+            if (!"/".equals(mapping) && mapping.endsWith("/")) {
+                mapping = mapping.substring(0, mapping.length() - 1);
+            }
+            int expression = indexOfAny(mapping, '{', '*');
+            exact = expression == -1;
+            if (!exact) {
+                mapping = mapping.substring(0, expression);
+            }
+        } else {
+            return Collections.emptyList();
+        }
+
+        if (!mapping.startsWith("/") || "/".equals(mapping)) {
+            return Collections.emptyList();
+        }
+        int query = mapping.indexOf('?');
+        if (query != -1) {
+            // the path of a matching request ends where the query of the mapping starts
+            mapping = mapping.substring(0, query);
+            exact = true;
+        }
+        List<String> segments = PathSegmentTrie.split(mapping);
+        if (!exact) {
+            // the last segment is only a prefix of the request segment (or empty, after a trailing '/')
+            segments.remove(segments.size() - 1);
+        }
+        return segments;
+    }
+
+    private static int indexOfAny(String str, char first, char second) {
+        for (int i = 0; i < str.length(); i++) {
+            char ch = str.charAt(i);
+            if (ch == first || ch == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
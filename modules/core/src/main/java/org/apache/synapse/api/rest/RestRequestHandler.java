@@ -83,8 +83,8 @@ public class RestRequestHandler extends AbstractApiHandler {
         if (apiObject != null) {
             apis = Collections.singletonList((API) apiObject);
         } else {
-            apis = synCtx.getEnvironment().getSynapseConfiguration().getAPIs(
-                    ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME);
+            apis = synCtx.getEnvironment().getSynapseConfiguration().getAPIContextIndex(
+                    ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME).getCandidates(synCtx);
         }
         if (!apis.isEmpty()) {
             return dispatchToAPI(apis, synCtx);
@@ -768,6 +768,62 @@ public class SynapseConfigUtils {
 
     }
 
+    public static long getTimingWheelTick() {
+        return Long.parseLong(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.TIMING_WHEEL_TICK,
+                String.valueOf(SynapseConstants.DEFAULT_TIMING_WHEEL_TICK)));
+
+    }
+
+    public static int getTimingWheelSize() {
+        return Integer.parseInt(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.TIMING_WHEEL_SIZE,
+                String.valueOf(SynapseConstants.DEFAULT_TIMING_WHEEL_SIZE)));
+
+    }
+
+    public static int getTimingWheelExpiryThreads() {
+        return Integer.parseInt(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.TIMING_WHEEL_EXPIRY_THREADS,
+                String.valueOf(SynapseConstants.DEFAULT_TIMING_WHEEL_EXPIRY_THREADS)));
+
+    }
+
+    public static int getXsltTemplateCacheMaxEntries() {
+        return Integer.parseInt(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.XSLT_TEMPLATE_CACHE_MAX_ENTRIES,
+                String.valueOf(SynapseConstants.DEFAULT_XSLT_TEMPLATE_CACHE_MAX_ENTRIES)));
+
+    }
+
+    public static long getXsltTemplateCacheMaxSize() {
+        return Long.parseLong(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.XSLT_TEMPLATE_CACHE_MAX_SIZE,
+                String.valueOf(SynapseConstants.DEFAULT_XSLT_TEMPLATE_CACHE_MAX_SIZE)));
+
+    }
+
+    public static int getXsltTransformerPoolSize() {
+        return Integer.parseInt(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.XSLT_TRANSFORMER_POOL_SIZE,
+                String.valueOf(SynapseConstants.DEFAULT_XSLT_TRANSFORMER_POOL_SIZE)));
+
+    }
+
+    public static int getJsonPathCacheMaxEntries() {
+        return Integer.parseInt(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.JSONPATH_CACHE_MAX_ENTRIES,
+                String.valueOf(SynapseConstants.DEFAULT_JSONPATH_CACHE_MAX_ENTRIES)));
+
+    }
+
+    public static int getSynapseExpressionCacheMaxEntries() {
+        return Integer.parseInt(SynapsePropertiesLoader.getPropertyValue(
+                SynapseConstants.SYNAPSE_EXPRESSION_CACHE_MAX_ENTRIES,
+                String.valueOf(SynapseConstants.DEFAULT_SYNAPSE_EXPRESSION_CACHE_MAX_ENTRIES)));
+
+    }
+
     public static SynapseEnvironment getSynapseEnvironment(AxisConfiguration axisCfg) {
         return axisCfg != null && axisCfg.getParameter(SynapseConstants.SYNAPSE_HOME) != null ? (SynapseEnvironment)
                 axisCfg.getParameterValue(SynapseConstants.SYNAPSE_CONFIG) : null;
@@ -34,6 +34,7 @@ import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.SynapseException;
 import org.apache.synapse.api.API;
 import org.apache.synapse.api.ApiConstants;
+import org.apache.synapse.api.dispatch.ApiContextIndex;
 import org.apache.synapse.api.inbound.InboundApiUtils;
 import org.apache.synapse.aspects.flow.statistics.store.CompletedStructureStore;
 import org.apache.synapse.carbonext.TenantInfoConfigProvider;
@@ -63,12 +64,14 @@ import org.apache.synapse.libraries.model.Library;
 import org.apache.synapse.libraries.util.LibDeployerUtils;
 import org.apache.synapse.mediators.base.SequenceMediator;
 import org.apache.synapse.mediators.template.TemplateMediator;
+import org.apache.synapse.mediators.transform.XSLTTemplateCache;
 import org.apache.synapse.message.processor.MessageProcessor;
 import org.apache.synapse.message.processor.impl.AbstractMessageProcessor;
 import org.apache.synapse.message.store.MessageStore;
 import org.apache.synapse.registry.Registry;
 import org.apache.synapse.startup.quartz.StartUpController;
 import org.apache.synapse.task.TaskManager;
+import org.apache.synapse.util.concurrent.TimingWheel;
 
 import java.io.IOException;
 import java.util.AbstractMap;
@@ -152,6 +155,20 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
      */
     private Timer synapseTimer = new Timer(true);
 
+    /**
+     * Timing wheel of the correlation timeouts of the aggregating mediators, created on first use.
+     */
+    private volatile TimingWheel timingWheel;
+
+    private final Object timingWheelLock = new Object();
+
+    /**
+     * Cache of the compiled stylesheets of the XSLT mediators, created on first use.
+     */
+    private volatile XSLTTemplateCache xsltTemplateCache;
+
+    private final Object xsltTemplateCacheLock = new Object();
+
     /**
      * Hold reference to the Axis2 ConfigurationContext
      */
@@ -216,6 +233,14 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
     private Map<String, Map<String, API>> apiTableWithBindsTo =
             Collections.synchronizedMap(new LinkedHashMap<String, Map<String, API>>());
 
+    /**
+     * Routing indexes of the API table and of the binds-to mappings, used to dispatch messages without
+     * going through every deployed API. Rebuilt and swapped as a whole whenever the API table changes.
+     */
+    private volatile ApiContextIndex apiContextIndex = ApiContextIndex.EMPTY;
+
+    private volatile Map<String, ApiContextIndex> apiContextIndexWithBindsTo = Collections.emptyMap();
+
     /**
      * Description/documentation of the configuration
      */
@@ -453,6 +478,8 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
             addBindsToMappings(name, api);
             if (reOrder) {
                 reconstructAPITable();
+            } else {
+                rebuildAPIContextIndexes();
             }
             for (SynapseObserver o : observers) {
                 o.apiAdded(api);
@@ -553,11 +580,32 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         return apiTable.get(name);
     }
 
+    /**
+     * Get the routing index of all the deployed APIs.
+     *
+     * @return index of the API table, in the order of the table
+     */
+    public ApiContextIndex getAPIContextIndex() {
+        return apiContextIndex;
+    }
+
+    /**
+     * Get the routing index of the APIs bound to the specified inbound/binds-to.
+     *
+     * @param bindTo Name of inbound/binds-to
+     * @return index of the APIs bound to the specified inbound, in the order of the API table
+     */
+    public ApiContextIndex getAPIContextIndex(String bindTo) {
+        ApiContextIndex index = apiContextIndexWithBindsTo.get(bindTo);
+        return index != null ? index : ApiContextIndex.EMPTY;
+    }
+
     public synchronized void removeAPI(String name) {
         API api = apiTable.get(name);
         if (api != null) {
             apiTable.remove(name);
             removeBindsToMappings(name);
+            rebuildAPIContextIndexes();
             for (SynapseObserver o : observers) {
                 o.apiRemoved(api);
             }
@@ -1402,6 +1450,49 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         this.synapseTimer = synapseTimer;
     }
 
+    /**
+     * Get the timing wheel for the correlation timeouts of the Synapse Configuration. Unlike the Synapse
+     * timer it is meant for many short lived timeouts which are mostly cancelled before they expire.
+     *
+     * @return timing wheel of the configuration
+     */
+    public TimingWheel getTimingWheel() {
+        TimingWheel wheel = timingWheel;
+        if (wheel == null) {
+            synchronized (timingWheelLock) {
+                wheel = timingWheel;
+                if (wheel == null) {
+                    wheel = new TimingWheel("SynapseTimingWheel", SynapseConfigUtils.getTimingWheelTick(),
+                            SynapseConfigUtils.getTimingWheelSize(),
+                            SynapseConfigUtils.getTimingWheelExpiryThreads());
+                    timingWheel = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * Returns the cache of the compiled stylesheets shared by the XSLT mediators of this configuration,
+     * creating it on first use.
+     *
+     * @return XSLT template cache of the configuration
+     */
+    public XSLTTemplateCache getXsltTemplateCache() {
+        XSLTTemplateCache cache = xsltTemplateCache;
+        if (cache == null) {
+            synchronized (xsltTemplateCacheLock) {
+                cache = xsltTemplateCache;
+                if (cache == null) {
+                    cache = new XSLTTemplateCache(SynapseConfigUtils.getXsltTemplateCacheMaxEntries(),
+                            SynapseConfigUtils.getXsltTemplateCacheMaxSize());
+                    xsltTemplateCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     /**
      * Get the startup collection in the configuration
      *
@@ -1576,6 +1667,11 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         // clear the timer tasks of Synapse
         synapseTimer.cancel();
         synapseTimer = null;
+        synchronized (timingWheelLock) {
+            if (timingWheel != null) {
+                timingWheel.stop();
+            }
+        }
 
         // stop and shutdown all the proxy services
         for (ProxyService p : getProxyServices()) {
@@ -2455,6 +2551,16 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
                 Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
         apiTable = getReConstructedApiMap(apiTable);
         reconstructBindsToMappings();
+        rebuildAPIContextIndexes();
+    }
+
+    private synchronized void rebuildAPIContextIndexes() {
+        Map<String, ApiContextIndex> indexWithBindsTo = new HashMap<String, ApiContextIndex>();
+        for (Map.Entry<String, Map<String, API>> mapping : apiTableWithBindsTo.entrySet()) {
+            indexWithBindsTo.put(mapping.getKey(), new ApiContextIndex(mapping.getValue().values()));
+        }
+        apiContextIndex = new ApiContextIndex(apiTable.values());
+        apiContextIndexWithBindsTo = Collections.unmodifiableMap(indexWithBindsTo);
     }
 
     private Map<String, API> getReConstructedApiMap(Map<String, API> originalApiMap) {
@@ -36,7 +36,8 @@ import javax.xml.namespace.QName;
  * different message contexts and aggregate the responses back.
  *
  * <pre>
- * &lt;scatter-gather parallel-execution=(true | false) result-target=(body | variable) content-type=(JSON | XML)&gt;
+ * &lt;scatter-gather parallel-execution=(true | false) [max-concurrency="int"] result-target=(body | variable)
+ *   content-type=(JSON | XML)&gt;
  *   &lt;aggregation value="expression" condition="expression" timeout="long"
  *     min-messages="expression" max-messages="expression"/&gt;
  *   &lt;sequence&gt;
@@ -61,6 +62,7 @@ public class ScatterGatherMediatorFactory extends AbstractMediatorFactory {
     private static final QName ATT_MAX_MESSAGES = new QName("max-messages");
     private static final QName SEQUENCE_Q = new QName(XMLConfigConstants.SYNAPSE_NAMESPACE, "sequence");
     private static final QName PARALLEL_EXEC_Q = new QName("parallel-execution");
+    private static final QName MAX_CONCURRENCY_Q = new QName("max-concurrency");
     private static final QName RESULT_TARGET_Q = new QName("result-target");
     private static final QName ROOT_ELEMENT_Q = new QName("root-element");
     private static final QName CONTENT_TYPE_Q = new QName("content-type");
@@ -80,6 +82,16 @@ public class ScatterGatherMediatorFactory extends AbstractMediatorFactory {
         }
         mediator.setParallelExecution(asynchronousExe);
 
+        OMAttribute maxConcurrencyAttr = elem.getAttribute(MAX_CONCURRENCY_Q);
+        if (maxConcurrencyAttr != null && StringUtils.isNotBlank(maxConcurrencyAttr.getAttributeValue())) {
+            try {
+                mediator.setMaxConcurrency(Integer.parseInt(maxConcurrencyAttr.getAttributeValue().trim()));
+            } catch (NumberFormatException e) {
+                handleException("The 'max-concurrency' attribute of a Scatter Gather mediator should be an integer",
+                        e);
+            }
+        }
+
         OMAttribute contentTypeAttr = elem.getAttribute(CONTENT_TYPE_Q);
         if (contentTypeAttr == null || StringUtils.isBlank(contentTypeAttr.getAttributeValue())) {
             String msg = "The 'content-type' attribute is required for the configuration of a Scatter Gather mediator";
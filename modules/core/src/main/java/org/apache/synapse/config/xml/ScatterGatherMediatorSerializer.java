@@ -44,6 +44,10 @@ public class ScatterGatherMediatorSerializer extends AbstractMediatorSerializer
 
         scatterGatherElement.addAttribute(fac.createOMAttribute(
                 "parallel-execution", nullNS, Boolean.toString(scatterGatherMediator.getParallelExecution())));
+        if (scatterGatherMediator.getMaxConcurrency() > 0) {
+            scatterGatherElement.addAttribute(fac.createOMAttribute(
+                    "max-concurrency", nullNS, Integer.toString(scatterGatherMediator.getMaxConcurrency())));
+        }
         scatterGatherElement.addAttribute(fac.createOMAttribute(
                 "result-target", nullNS, scatterGatherMediator.getResultTarget()));
         scatterGatherElement.addAttribute(fac.createOMAttribute(
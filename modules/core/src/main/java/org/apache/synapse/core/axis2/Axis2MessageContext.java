@@ -94,6 +94,12 @@ public class Axis2MessageContext implements MessageContext {
      */
     private org.apache.axis2.context.MessageContext axis2MessageContext = null;
 
+    /**
+     * Placeholder of the payload shared with the other clones of the message this message was cloned from,
+     * which copies the payload when it is first read
+     */
+    private SharedPayload.Placeholder sharedPayload = null;
+
     /**
      * Attribute of the MC specifying whether this is a response or not
      */
@@ -357,10 +363,18 @@ public class Axis2MessageContext implements MessageContext {
     }
 
     public SOAPEnvelope getEnvelope() {
+        if (sharedPayload != null && sharedPayload.getPayload().handOver(sharedPayload)) {
+            sharedPayload = null;
+        }
         return axis2MessageContext.getEnvelope();
     }
 
     public void setEnvelope(SOAPEnvelope envelope) throws AxisFault {
+        if (sharedPayload != null) {
+            // the shared payload is replaced, so no copy of it is needed
+            sharedPayload.getPayload().discard(sharedPayload);
+            sharedPayload = null;
+        }
         axis2MessageContext.setEnvelope(envelope);
     }
 
@@ -556,6 +570,18 @@ public class Axis2MessageContext implements MessageContext {
         return axis2MessageContext;
     }
 
+    /**
+     * Share the payload of the message this message is cloned from, instead of holding a copy of it. This
+     * message gets an envelope of its own whose payload element copies the shared payload when it is first
+     * read, through this message or its Axis2 MessageContext.
+     *
+     * @param payload payload of the message this message is cloned from
+     * @throws AxisFault if the envelope of this message can not be set
+     */
+    public void setSharedPayload(SharedPayload payload) throws AxisFault {
+        this.sharedPayload = payload.attachTo(axis2MessageContext);
+    }
+
     public void setAxis2MessageContext(org.apache.axis2.context.MessageContext axisMsgCtx) {
         this.axis2MessageContext = axisMsgCtx;
         Boolean resp = (Boolean) axisMsgCtx.getProperty(SynapseConstants.ISRESPONSE_PROPERTY);
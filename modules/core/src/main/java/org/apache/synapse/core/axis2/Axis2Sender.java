@@ -44,6 +44,7 @@ import org.apache.synapse.inbound.InboundEndpointConstants;
 import org.apache.synapse.inbound.InboundResponseSender;
 import org.apache.synapse.transport.util.MessageHandlerProvider;
 import org.apache.synapse.transport.nhttp.NhttpConstants;
+import org.apache.synapse.util.ConcurrencyThrottlingUtils;
 import org.apache.synapse.util.MediatorPropertyUtils;
 import org.apache.synapse.util.MessageHelper;
 import org.apache.synapse.util.POXUtils;
@@ -445,6 +446,9 @@ public class Axis2Sender {
             ConcurrentAccessController concurrentAccessController = (ConcurrentAccessController)
                     smc.getProperty(SynapseConstants.SYNAPSE_CONCURRENT_ACCESS_CONTROLLER);
 
+            ConcurrencyThrottlingUtils.recordConcurrencyThrottleCompletion(smc, concurrentAccessController,
+                    ConcurrencyThrottlingUtils.isServerErrorResponse(
+                            ((Axis2MessageContext) smc).getAxis2MessageContext()));
             int available = concurrentAccessController.incrementAndGet();
             int concurrentLimit = concurrentAccessController.getLimit();
 
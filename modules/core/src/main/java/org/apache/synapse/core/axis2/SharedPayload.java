@@ -0,0 +1,387 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.core.axis2;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMAttribute;
+import org.apache.axiom.om.OMDataSourceExt;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.OMText;
+import org.apache.axiom.om.ds.OMDataSourceExtBase;
+import org.apache.axiom.om.impl.MTOMXMLStreamWriter;
+import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
+import org.apache.axiom.om.impl.serialize.StreamingOMSerializer;
+import org.apache.axiom.om.util.ElementHelper;
+import org.apache.axiom.om.util.StAXUtils;
+import org.apache.axiom.soap.SOAP11Constants;
+import org.apache.axiom.soap.SOAPBody;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axiom.soap.SOAPFactory;
+import org.apache.axiom.soap.SOAPFault;
+import org.apache.axiom.soap.SOAPHeaderBlock;
+import org.apache.axis2.AxisFault;
+import org.apache.commons.io.IOUtils;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.transport.util.MessageHandlerProvider;
+import org.apache.synapse.util.MessageHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.Iterator;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * The payload of a message which is cloned into several messages, shared by the clones until each of them
+ * reads it. A clone gets an envelope of its own right away, but the element in its body is a placeholder
+ * which copies the shared payload element when it is first read, so clones which replace the payload or
+ * never read it cost no copy. The JSON stream is kept as a single byte array which the clones read without
+ * copying it.
+ * <p>
+ * The payload element shared by the clones is given as is to the last clone holding it. If the message
+ * being cloned is not processed any further, its own envelope is shared, otherwise it is copied once up front
+ * since the message may change it. The message is counted as a holder of the payload until {@link #release()}
+ * is called, after all the clones are created, so that the payload is not given away while clones are still
+ * being created. A clone which is dropped without reading the payload keeps its hold, which only means that
+ * no clone gets the shared element. So does a clone whose placeholder is moved out of its body without being
+ * read, such as into a property, since the placeholder may still be read later.
+ */
+public class SharedPayload {
+
+    private final SOAPEnvelope envelope;
+
+    /** The JSON stream of the message, null if it has no JSON payload */
+    private final byte[] json;
+
+    /** Number of messages holding the payload without having their own copy, guarded by this */
+    private int holders = 1;
+
+    private SharedPayload(SOAPEnvelope envelope, byte[] json) {
+        this.envelope = envelope;
+        this.json = json;
+    }
+
+    /**
+     * Takes the payload of a message for sharing it with its clones.
+     *
+     * @param synCtx   the message being cloned
+     * @param handOver whether the message is not processed any further, so that its own envelope can be
+     *                 shared instead of a copy
+     * @return the shared payload
+     * @throws AxisFault if the payload of the message can not be built
+     */
+    public static SharedPayload of(MessageContext synCtx, boolean handOver) throws AxisFault {
+        org.apache.axis2.context.MessageContext mc = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+        try {
+            MessageHandlerProvider.getMessageHandler(mc).buildMessage(mc, false);
+        } catch (IOException e) {
+            throw new SynapseException("Error building the message payload", e);
+        } catch (XMLStreamException e) {
+            throw new SynapseException("Error building the message payload", e);
+        }
+        byte[] json = null;
+        if (JsonUtil.hasAJsonPayload(mc)) {
+            InputStream jsonStream = JsonUtil.getJsonPayload(mc);
+            try {
+                json = IOUtils.toByteArray(jsonStream);
+            } catch (IOException e) {
+                throw new SynapseException("Error reading the JSON payload", e);
+            }
+        }
+        SOAPEnvelope envelope = handOver ? mc.getEnvelope() : MessageHelper.cloneSOAPEnvelope(mc.getEnvelope());
+        return new SharedPayload(envelope, json);
+    }
+
+    /**
+     * Releases the payload by the message being cloned, once all its clones are created or the cloning
+     * failed. Must be called exactly once.
+     */
+    public synchronized void release() {
+        holders--;
+    }
+
+    /**
+     * @return number of messages holding the payload without having their own copy
+     */
+    synchronized int getHolders() {
+        return holders;
+    }
+
+    /**
+     * Gives a clone an envelope sharing the payload.
+     *
+     * @param mc the Axis2 message context of the clone
+     * @return the source of the placeholder element in the body of the clone, null if the clone got its own
+     * copy of the payload right away
+     * @throws AxisFault if the envelope of the clone can not be set
+     */
+    Placeholder attachTo(org.apache.axis2.context.MessageContext mc) throws AxisFault {
+        OMElement element;
+        SOAPEnvelope copy;
+        synchronized (this) {
+            element = json == null ? getSharedElement() : null;
+            if (json == null && element == null) {
+                // nothing worth sharing, such as an empty body, a fault or mixed content
+                copy = MessageHelper.cloneSOAPEnvelope(envelope);
+            } else {
+                copy = createEnvelope();
+            }
+            if (element != null) {
+                holders++;
+            }
+        }
+        mc.setEnvelope(copy);
+        if (json != null) {
+            // XXX: as in MessageHelper#cloneAxis2MessageContext this must come after setting the envelope
+            JsonUtil.getNewJsonPayload(mc, JsonUtil.toReadOnlyStream(json), true, true);
+            return null;
+        }
+        if (element == null) {
+            return null;
+        }
+        Placeholder placeholder = new Placeholder(this);
+        placeholder.element = new OMSourcedElementImpl(element.getQName(), copy.getOMFactory(), placeholder);
+        placeholder.body = copy.getBody();
+        copy.getBody().addChild(placeholder.element);
+        return placeholder;
+    }
+
+    /**
+     * Gives a clone, which is about to access its envelope, the shared payload element in place of its
+     * placeholder if no other message holds the payload any more.
+     *
+     * @param placeholder the placeholder of the clone
+     * @return true if the clone no longer holds the payload
+     */
+    boolean handOver(Placeholder placeholder) {
+        OMSourcedElement element = placeholder.element;
+        synchronized (this) {
+            if (placeholder.released) {
+                return true;
+            }
+            if (element.isExpanded()) {
+                // the placeholder has been read without the clone accessing its envelope
+                release(placeholder);
+                return true;
+            }
+            if (element.getParent() != placeholder.body || holders > 1) {
+                // a placeholder moved out of the body unread keeps its hold, since it may still be read
+                return false;
+            }
+            release(placeholder);
+        }
+        // nobody else reads the shared payload any more
+        OMElement shared = getSharedElement();
+        shared.detach();
+        element.insertSiblingAfter(shared);
+        element.detach();
+        return true;
+    }
+
+    /**
+     * Releases the payload by a clone which replaces its envelope before reading the payload, unless its
+     * placeholder has been moved out of the envelope unread.
+     *
+     * @param placeholder the placeholder of the clone
+     */
+    synchronized void discard(Placeholder placeholder) {
+        if (!placeholder.released && (placeholder.element.isExpanded()
+                || placeholder.element.getParent() == placeholder.body)) {
+            release(placeholder);
+        }
+    }
+
+    /**
+     * Returns the shared payload element for a placeholder being read, as is if no other message holds the
+     * payload, a copy otherwise. Reading does not release the payload, since the placeholder may be serialized
+     * without being expanded, and read again.
+     */
+    private OMElement read(Placeholder placeholder) throws XMLStreamException {
+        OMElement shared;
+        synchronized (this) {
+            shared = getSharedElement();
+            if (shared == null) {
+                throw new XMLStreamException("The shared payload has been handed over to another message");
+            }
+            if (placeholder.released || holders > 1) {
+                return shared.cloneOMElement();
+            }
+        }
+        // no other message holds the payload, so it is read as is
+        return shared;
+    }
+
+    private void release(Placeholder placeholder) {
+        placeholder.released = true;
+        holders--;
+    }
+
+    /**
+     * @return the element in the shared body, null if the body does not hold exactly one element
+     */
+    private OMElement getSharedElement() {
+        OMElement element = null;
+        Iterator children = envelope.getBody().getChildren();
+        while (children.hasNext()) {
+            OMNode child = (OMNode) children.next();
+            if (child instanceof OMText && ((OMText) child).getText().trim().isEmpty()) {
+                continue;
+            }
+            if (element != null || !(child instanceof OMElement) || child instanceof SOAPFault) {
+                return null;
+            }
+            element = (OMElement) child;
+        }
+        return element;
+    }
+
+    /**
+     * Copies the shared envelope without the payload element, must be called holding the lock of this.
+     */
+    private SOAPEnvelope createEnvelope() {
+        SOAPFactory factory;
+        if (SOAP11Constants.SOAP_ENVELOPE_NAMESPACE_URI.equals(
+                envelope.getBody().getNamespace().getNamespaceURI())) {
+            factory = OMAbstractFactory.getSOAP11Factory();
+        } else {
+            factory = OMAbstractFactory.getSOAP12Factory();
+        }
+        SOAPEnvelope copy = factory.getDefaultEnvelope();
+        // the payload may refer to these namespaces in its content
+        copyNamespaces(envelope, copy);
+        copyNamespaces(envelope.getBody(), copy.getBody());
+        Iterator attributes = envelope.getBody().getAllAttributes();
+        while (attributes.hasNext()) {
+            OMAttribute attribute = (OMAttribute) attributes.next();
+            copy.getBody().addAttribute(attribute.getLocalName(), attribute.getAttributeValue(),
+                    attribute.getNamespace());
+        }
+        if (envelope.getHeader() != null) {
+            Iterator headers = envelope.getHeader().getChildren();
+            while (headers.hasNext()) {
+                Object header = headers.next();
+                if (header instanceof SOAPHeaderBlock) {
+                    try {
+                        copy.getHeader().addChild(
+                                ElementHelper.toSOAPHeaderBlock(((OMElement) header).cloneOMElement(), factory));
+                    } catch (Exception e) {
+                        throw new SynapseException("Error copying the SOAP headers of a cloned message", e);
+                    }
+                } else if (header instanceof OMElement) {
+                    copy.getHeader().addChild(((OMElement) header).cloneOMElement());
+                }
+            }
+        }
+        return copy;
+    }
+
+    private static void copyNamespaces(OMElement from, OMElement to) {
+        Iterator namespaces = from.getAllDeclaredNamespaces();
+        while (namespaces.hasNext()) {
+            OMNamespace namespace = (OMNamespace) namespaces.next();
+            if (to.findNamespaceURI(namespace.getPrefix()) == null) {
+                to.declareNamespace(namespace);
+            }
+        }
+    }
+
+    /**
+     * Source of the placeholder element in the body of a clone, which reads the shared payload element
+     * when the placeholder is expanded or serialized.
+     */
+    static class Placeholder extends OMDataSourceExtBase {
+
+        private final SharedPayload payload;
+
+        private OMSourcedElement element;
+
+        /** The body of the clone the placeholder is put in */
+        private SOAPBody body;
+
+        /** Whether the clone no longer holds the payload, guarded by the payload */
+        private boolean released = false;
+
+        Placeholder(SharedPayload payload) {
+            this.payload = payload;
+        }
+
+        SharedPayload getPayload() {
+            return payload;
+        }
+
+        @Override
+        public void serialize(OutputStream out, OMOutputFormat format) throws XMLStreamException {
+            XMLStreamWriter writer = new MTOMXMLStreamWriter(out, format);
+            serialize(writer);
+            writer.flush();
+        }
+
+        @Override
+        public void serialize(Writer writer, OMOutputFormat format) throws XMLStreamException {
+            MTOMXMLStreamWriter xmlWriter = new MTOMXMLStreamWriter(StAXUtils.createXMLStreamWriter(writer));
+            xmlWriter.setOutputFormat(format);
+            serialize(xmlWriter);
+            xmlWriter.flush();
+        }
+
+        @Override
+        public void serialize(XMLStreamWriter xmlWriter) throws XMLStreamException {
+            StreamingOMSerializer serializer = new StreamingOMSerializer();
+            serializer.serialize(getReader(), xmlWriter);
+        }
+
+        public XMLStreamReader getReader() throws XMLStreamException {
+            return payload.read(this).getXMLStreamReaderWithoutCaching();
+        }
+
+        public Object getObject() {
+            return null;
+        }
+
+        public boolean isDestructiveRead() {
+            return false;
+        }
+
+        public boolean isDestructiveWrite() {
+            return false;
+        }
+
+        public byte[] getXMLBytes(String encoding) throws UnsupportedEncodingException {
+            throw new UnsupportedOperationException();
+        }
+
+        public void close() {
+        }
+
+        public OMDataSourceExt copy() {
+            return new Placeholder(payload);
+        }
+    }
+}
@@ -185,7 +185,8 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
 
             if (callback != null) {
                 org.apache.synapse.MessageContext SynapseOutMsgCtx = callback.getSynapseOutMsgCtx();
-                ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(SynapseOutMsgCtx);
+                ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(SynapseOutMsgCtx,
+                        ConcurrencyThrottlingUtils.isServerErrorResponse(messageCtx));
                 boolean isMarkedForRemoval = false;
                 synchronized (callback) {
                     if (callback.isMarkedForRemoval()) {
@@ -269,6 +270,8 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
             ConcurrentAccessController concurrentAccessController = (ConcurrentAccessController)
                     synapseOutMsgCtx
                             .getProperty(SynapseConstants.SYNAPSE_CONCURRENT_ACCESS_CONTROLLER);
+            ConcurrencyThrottlingUtils.recordConcurrencyThrottleCompletion(synapseOutMsgCtx,
+                    concurrentAccessController, ConcurrencyThrottlingUtils.isServerErrorResponse(response));
             int available = concurrentAccessController.incrementAndGet();
             int concurrentLimit = concurrentAccessController.getLimit();
             if (log.isDebugEnabled()) {
@@ -388,6 +391,9 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
             if (faultStack != null && !faultStack.isEmpty()
                 && faultStack.peek() instanceof Endpoint) {
                 successfulEndpoint = (Endpoint) faultStack.pop();
+                if (successfulEndpoint instanceof AbstractEndpoint) {
+                    ((AbstractEndpoint) successfulEndpoint).completeRequest(synapseOutMsgCtx);
+                }
             }
 
             if (log.isDebugEnabled()) {
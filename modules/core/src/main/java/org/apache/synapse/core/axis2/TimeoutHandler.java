@@ -33,6 +33,7 @@ import org.apache.synapse.aspects.flow.statistics.collectors.CallbackStatisticCo
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.commons.CorrelationConstants;
 import org.apache.synapse.config.SynapseConfigUtils;
+import org.apache.synapse.endpoints.AbstractEndpoint;
 import org.apache.synapse.endpoints.dispatch.SALSessions;
 import org.apache.synapse.commons.logger.ContextAwareLogger;
 import org.apache.synapse.rest.RESTConstants;
@@ -145,6 +146,8 @@ public class TimeoutHandler extends TimerTask {
                             callback.setMarkedForRemoval();
                             toRemove.add(key);
                         }
+                        // the request is over whatever the timeout action is, no response is going to complete it
+                        completeEndpointRequest(callback.getSynapseOutMsgCtx());
                         if (!"true".equals(callback.getSynapseOutMsgCtx().getProperty(SynapseConstants.OUT_ONLY))) {
                             org.apache.axis2.context.MessageContext axis2MessageContext = callback.getAxis2OutMsgCtx();
                             ContextAwareLogger.getLogger(axis2MessageContext, log, true)
@@ -277,7 +280,7 @@ public class TimeoutHandler extends TimerTask {
                         }
                     }
                     org.apache.synapse.MessageContext synapseOutMsgCtx = callback.getSynapseOutMsgCtx();
-                    ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(synapseOutMsgCtx);
+                    ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(synapseOutMsgCtx, true);
                     callbackStore.remove(key);
                     if (RuntimeStatisticCollector.isStatisticsEnabled()) {
                         CallbackStatisticCollector.callbackCompletionEvent(callback.getSynapseOutMsgCtx(), (String) key);
@@ -294,6 +297,19 @@ public class TimeoutHandler extends TimerTask {
         }
     }
 
+    /**
+     * Record the expiry of the request of a message on the endpoint it was sent through, which is the
+     * immediate fault handler of the message.
+     *
+     * @param synCtx the message whose callback expired
+     */
+    private void completeEndpointRequest(MessageContext synCtx) {
+        Stack<FaultHandler> faultStack = synCtx.getFaultStack();
+        if (faultStack != null && !faultStack.isEmpty() && faultStack.peek() instanceof AbstractEndpoint) {
+            ((AbstractEndpoint) faultStack.peek()).completeRequest(synCtx, true);
+        }
+    }
+
     /**
      * Returns the current time.
      *
@@ -53,6 +53,7 @@ import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
 import org.apache.synapse.mediators.MediatorFaultHandler;
 import org.apache.synapse.mediators.MediatorProperty;
 import org.apache.synapse.transport.passthru.util.RelayConstants;
+import org.apache.synapse.util.ConcurrencyThrottlingUtils;
 import org.apache.synapse.util.logging.LoggingUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -108,6 +109,12 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
     /** The MBean managing the endpoint */
     EndpointView metricsMBean = null;
 
+    /** Live load of the endpoint, used by the load balance algorithms */
+    private final EndpointLoadStats loadStats = new EndpointLoadStats();
+
+    /** Property holding the time a message was sent through the endpoint, until its request completes */
+    private static final String REQUEST_START_TIME = "_SYNAPSE_ENDPOINT_REQUEST_START_TIME";
+
     /** The name of the file where this endpoint is defined */
     protected String fileName;
 
@@ -152,6 +159,10 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
         return metricsMBean;
     }
 
+    public EndpointLoadStats getLoadStats() {
+        return loadStats;
+    }
+
     public EndpointContext getContext() {
         return context;
     }
@@ -427,7 +438,12 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
         }
 
         // Send the message through this endpoint
+        startRequest(synCtx);
         synCtx.getEnvironment().send(definition, synCtx);
+        if ("true".equals(synCtx.getProperty(SynapseConstants.OUT_ONLY))) {
+            // no response or fault is going to complete the request
+            completeRequest(synCtx);
+        }
 
         if (isStatisticsEnabled) {
             CloseEventCollector.closeEntryEvent(synCtx, getReportingName(), ComponentType.ENDPOINT,
@@ -574,6 +590,7 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
      * @param synCtx the message at hand
      */
     public void onFault(MessageContext synCtx) {
+        completeRequest(synCtx, true);
         EndpointDefinition endpointDefinition = getDefinition();
         if (endpointDefinition != null && endpointDefinition.getTimeoutAction() == SynapseConstants.DISCARD) {
             log.info("Ignoring fault handlers since the timeout action is set to DISCARD");
@@ -591,6 +608,43 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
         // do nothing
     }
 
+    /**
+     * Record the start of the request of a message sent through this endpoint. The request is in flight until
+     * {@link #completeRequest(MessageContext, boolean)} is called for the message.
+     *
+     * @param synCtx the message sent through this endpoint
+     */
+    public void startRequest(MessageContext synCtx) {
+        loadStats.requestStarted();
+        synCtx.setProperty(REQUEST_START_TIME, System.nanoTime());
+    }
+
+    /**
+     * Record the completion of the request of a message sent through this endpoint, once its response is
+     * received. Does nothing if the request of the message has already completed.
+     *
+     * @param synCtx the message sent through this endpoint
+     */
+    public void completeRequest(MessageContext synCtx) {
+        completeRequest(synCtx, false);
+    }
+
+    /**
+     * Record the completion of the request of a message sent through this endpoint, once its response or
+     * fault is received or its callback expires. Does nothing if the request of the message has already
+     * completed.
+     *
+     * @param synCtx the message sent through this endpoint
+     * @param failed whether the request completed with a fault or a timeout
+     */
+    public void completeRequest(MessageContext synCtx, boolean failed) {
+        Object startTime = synCtx.getProperty(REQUEST_START_TIME);
+        if (startTime instanceof Long) {
+            synCtx.getPropertyKeySet().remove(REQUEST_START_TIME);
+            loadStats.requestCompleted(System.nanoTime() - (Long) startTime, failed);
+        }
+    }
+
 
     /**
      * Should this mediator perform tracing? True if its explicitly asked to
@@ -723,6 +777,7 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
             ConcurrentAccessController concurrentAccessController = (ConcurrentAccessController)
                     synCtx
                             .getProperty(SynapseConstants.SYNAPSE_CONCURRENT_ACCESS_CONTROLLER);
+            ConcurrencyThrottlingUtils.recordConcurrencyThrottleCompletion(synCtx, concurrentAccessController, true);
             int available = concurrentAccessController.incrementAndGet();
             int concurrentLimit = concurrentAccessController.getLimit();
             if (log.isDebugEnabled()) {
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live load of an endpoint: the number of requests sent through it which have not completed yet and an
+ * exponentially weighted moving average of the time its requests took to complete. Used by the latency and
+ * load aware load balance algorithms, so all the operations are lock free.
+ */
+public class EndpointLoadStats {
+
+    /** Weight of the latest latency sample in the moving average */
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    private final AtomicLong completedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /** Bits of the moving average of the latency, in nanoseconds */
+    private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToLongBits(0));
+
+    /**
+     * Returns the combined load of several endpoints, such as the children of a composite endpoint: the sum of
+     * their requests, and the average of their latencies weighted by their completed requests. The result is a
+     * snapshot which does not follow the load of the endpoints.
+     *
+     * @param stats the load of the endpoints
+     * @return the combined load
+     */
+    public static EndpointLoadStats sum(Collection<EndpointLoadStats> stats) {
+        EndpointLoadStats sum = new EndpointLoadStats();
+        double latencyTotal = 0;
+        for (EndpointLoadStats stat : stats) {
+            long completed = stat.completedCount.get();
+            sum.inFlightCount.addAndGet(stat.getInFlightCount());
+            sum.completedCount.addAndGet(completed);
+            sum.failedCount.addAndGet(stat.failedCount.get());
+            latencyTotal += Double.longBitsToDouble(stat.latencyEwmaBits.get()) * completed;
+        }
+        long completed = sum.completedCount.get();
+        if (completed > 0) {
+            sum.latencyEwmaBits.set(Double.doubleToLongBits(latencyTotal / completed));
+        }
+        return sum;
+    }
+
+    /**
+     * Record a request sent through the endpoint
+     */
+    public void requestStarted() {
+        inFlightCount.incrementAndGet();
+    }
+
+    /**
+     * Record the completion of a request with a response
+     *
+     * @param latencyNanos time the request took to complete, in nanoseconds
+     */
+    public void requestCompleted(long latencyNanos) {
+        requestCompleted(latencyNanos, false);
+    }
+
+    /**
+     * Record the completion of a request, with a response, a fault or a timeout
+     *
+     * @param latencyNanos time the request took to complete, in nanoseconds
+     * @param failed       whether the request completed with a fault or a timeout
+     */
+    public void requestCompleted(long latencyNanos, boolean failed) {
+        inFlightCount.decrementAndGet();
+        if (failed) {
+            failedCount.incrementAndGet();
+        }
+        double latency = Math.max(latencyNanos, 0);
+        // the first sample is taken as is, so that the average does not start from zero
+        boolean first = completedCount.getAndIncrement() == 0;
+        while (true) {
+            long bits = latencyEwmaBits.get();
+            double sample = latency;
+            if (failed && !first) {
+                // a request failing fast must not make the endpoint look faster than it is
+                sample = Math.max(latency, Double.longBitsToDouble(bits));
+            }
+            double average = first ? sample : Double.longBitsToDouble(bits) +
+                    EWMA_WEIGHT * (sample - Double.longBitsToDouble(bits));
+            if (latencyEwmaBits.compareAndSet(bits, Double.doubleToLongBits(average))) {
+                return;
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * @return number of requests sent through the endpoint which have not completed yet
+     */
+    public int getInFlightCount() {
+        return Math.max(inFlightCount.get(), 0);
+    }
+
+    /**
+     * @return number of requests completed through the endpoint
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return number of requests through the endpoint which completed with a fault or a timeout
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return moving average of the time the requests took to complete, in milliseconds, zero if no request
+     * has completed yet
+     */
+    public double getLatencyEwmaMillis() {
+        return Double.longBitsToDouble(latencyEwmaBits.get()) / 1000000;
+    }
+}
@@ -112,6 +112,15 @@ public class IndirectEndpoint extends AbstractEndpoint {
         return realEndpoint.getMetricsMBean();
     }
 
+    @Override
+    public EndpointLoadStats getLoadStats() {
+        // the real endpoint sends the messages, so the load is that of the real endpoint
+        if (realEndpoint instanceof AbstractEndpoint) {
+            return ((AbstractEndpoint) realEndpoint).getLoadStats();
+        }
+        return super.getLoadStats();
+    }
+
     @Override
     /**
      * Figure out the real endpoint we proxy for, and make sure its initialized
@@ -188,4 +188,13 @@ public class TemplateEndpoint extends AbstractEndpoint {
 	public Endpoint getRealEndpoint() {
 		return realEndpoint;
 	}
+
+    @Override
+    public EndpointLoadStats getLoadStats() {
+        // the real endpoint sends the messages, so the load is that of the real endpoint
+        if (realEndpoint instanceof AbstractEndpoint) {
+            return ((AbstractEndpoint) realEndpoint).getLoadStats();
+        }
+        return super.getLoadStats();
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints.algorithms;
+
+import org.apache.synapse.endpoints.Endpoint;
+
+/**
+ * Sends each message to the ready endpoint with the lowest expected latency: the exponentially weighted
+ * moving average of the time its requests took, multiplied by the number of its requests in flight. Slow
+ * endpoints get fewer messages, and an endpoint which slows down gets fewer messages as soon as its
+ * requests start to take longer.
+ */
+public class LeastLatency extends LoadAwareAlgorithm {
+
+    protected double getLoad(Endpoint endpoint) {
+        return getLatencyCost(endpoint);
+    }
+
+    public String getName() {
+        return "LeastLatency";
+    }
+
+    public LoadbalanceAlgorithm clone() {
+        return new LeastLatency();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints.algorithms;
+
+import org.apache.synapse.endpoints.Endpoint;
+import org.apache.synapse.endpoints.EndpointLoadStats;
+
+/**
+ * Sends each message to the ready endpoint with the fewest requests in flight, so that a slow endpoint, whose
+ * requests pile up, gets fewer messages than the others.
+ */
+public class LeastOutstandingRequests extends LoadAwareAlgorithm {
+
+    protected double getLoad(Endpoint endpoint) {
+        EndpointLoadStats stats = getLoadStats(endpoint);
+        return stats == null ? 0 : stats.getInFlightCount();
+    }
+
+    public String getName() {
+        return "LeastOutstandingRequests";
+    }
+
+    public LoadbalanceAlgorithm clone() {
+        return new LeastOutstandingRequests();
+    }
+}
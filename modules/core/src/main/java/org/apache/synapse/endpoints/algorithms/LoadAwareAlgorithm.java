@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints.algorithms;
+
+import org.apache.axis2.clustering.Member;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.endpoints.AbstractEndpoint;
+import org.apache.synapse.endpoints.Endpoint;
+import org.apache.synapse.endpoints.EndpointLoadStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base of the lock free load balance algorithms which choose an endpoint by the live load of the endpoints,
+ * as counted by {@link EndpointLoadStats}. The algorithms keep no state in the {@link AlgorithmContext}, so
+ * concurrent messages never wait on each other to get an endpoint. Endpoints which are not ready to send are
+ * skipped, and the endpoints with the same load are chosen in turn.
+ */
+public abstract class LoadAwareAlgorithm implements LoadbalanceAlgorithm {
+
+    /** Latency assumed for the endpoints while none of the endpoints has completed a request, in milliseconds */
+    protected static final double DEFAULT_INITIAL_LATENCY_MILLIS = 1;
+
+    /** Endpoints list */
+    protected volatile List<Endpoint> endpoints;
+
+    protected Endpoint loadBalanceEndpoint;
+
+    /** Position the search for the least loaded endpoint starts from, so that ties are taken in turn */
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /** we are not supporting members */
+    public void setApplicationMembers(List<Member> members) {
+        throw new UnsupportedOperationException("This algorithm doesn't operate on Members");
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public void setLoadBalanceEndpoint(Endpoint endpoint) {
+        this.loadBalanceEndpoint = endpoint;
+    }
+
+    /**
+     * Choose the ready endpoint with the lowest load. If there are no ready endpoints available, returns null.
+     *
+     * @param synCtx           MessageContext instance which holds all per-message properties
+     * @param algorithmContext The context in which holds run time states related to the algorithm
+     * @return endpoint to send the next message
+     */
+    public Endpoint getNextEndpoint(MessageContext synCtx, AlgorithmContext algorithmContext) {
+        List<Endpoint> endpoints = this.endpoints;
+        int size = endpoints.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = (cursor.getAndIncrement() & Integer.MAX_VALUE) % size;
+        Endpoint next = null;
+        double lowestLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = endpoints.get((start + i) % size);
+            if (!endpoint.readyToSend()) {
+                continue;
+            }
+            double load = getLoad(endpoint);
+            if (load < lowestLoad) {
+                lowestLoad = load;
+                next = endpoint;
+            }
+        }
+        return next;
+    }
+
+    public Member getNextApplicationMember(AlgorithmContext algorithmContext) {
+        throw new UnsupportedOperationException("This algorithm doesn't operate on Members");
+    }
+
+    public void reset(AlgorithmContext algorithmContext) {
+        cursor.set(0);
+    }
+
+    /**
+     * Returns the load of an endpoint, the endpoint with the lowest load gets the next message.
+     *
+     * @param endpoint a ready endpoint
+     * @return the load of the endpoint
+     */
+    protected abstract double getLoad(Endpoint endpoint);
+
+    /**
+     * Returns the live load of an endpoint. A composite endpoint does not send the messages itself, so its
+     * load is the combined load of its children.
+     *
+     * @param endpoint the endpoint
+     * @return the load of the endpoint, null if it is not known
+     */
+    protected static EndpointLoadStats getLoadStats(Endpoint endpoint) {
+        List<Endpoint> children = endpoint.getChildren();
+        if (children != null && !children.isEmpty()) {
+            List<EndpointLoadStats> childStats = new ArrayList<EndpointLoadStats>(children.size());
+            for (Endpoint child : children) {
+                EndpointLoadStats stats = getLoadStats(child);
+                if (stats != null) {
+                    childStats.add(stats);
+                }
+            }
+            return childStats.isEmpty() ? null : EndpointLoadStats.sum(childStats);
+        }
+        if (endpoint instanceof AbstractEndpoint) {
+            return ((AbstractEndpoint) endpoint).getLoadStats();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the expected time a new request waits on an endpoint, the moving average of the latency of the
+     * endpoint multiplied by the number of requests in flight including the new one. An endpoint without any
+     * completed requests is taken to be as fast as the average of the other endpoints, so that it is tried out
+     * but does not take all the messages while its first requests are in flight.
+     *
+     * @param endpoint the endpoint
+     * @return the latency cost of the endpoint
+     */
+    protected double getLatencyCost(Endpoint endpoint) {
+        EndpointLoadStats stats = getLoadStats(endpoint);
+        if (stats == null) {
+            return 0;
+        }
+        double latency = stats.getCompletedCount() > 0 ? stats.getLatencyEwmaMillis() : getInitialLatencyMillis();
+        return latency * (stats.getInFlightCount() + 1);
+    }
+
+    /**
+     * Returns the latency assumed for an endpoint without any completed requests, the average of the moving
+     * averages of the endpoints with completed requests, or {@link #DEFAULT_INITIAL_LATENCY_MILLIS} if there
+     * are none.
+     *
+     * @return the initial latency of an endpoint, in milliseconds
+     */
+    protected double getInitialLatencyMillis() {
+        double total = 0;
+        int count = 0;
+        for (Endpoint endpoint : endpoints) {
+            EndpointLoadStats stats = getLoadStats(endpoint);
+            if (stats != null && stats.getCompletedCount() > 0) {
+                total += stats.getLatencyEwmaMillis();
+                count++;
+            }
+        }
+        // a latency of zero would make the requests in flight free
+        return count > 0 ? Math.max(total / count, DEFAULT_INITIAL_LATENCY_MILLIS) : DEFAULT_INITIAL_LATENCY_MILLIS;
+    }
+}
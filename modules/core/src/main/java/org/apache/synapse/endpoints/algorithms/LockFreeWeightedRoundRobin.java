@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints.algorithms;
+
+import org.apache.axis2.clustering.Member;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.ManagedLifecycle;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.PropertyInclude;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.endpoints.Endpoint;
+import org.apache.synapse.mediators.MediatorProperty;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock free variant of the {@link WeightedRoundRobin} algorithm. The order in which the endpoints get the
+ * messages is computed once from their weights, interleaving the endpoints instead of sending consecutive
+ * messages to the same endpoint, and the messages take their position in that order from an atomic counter.
+ * For example with the following weights</p>
+ * <ul>
+ * <li>Epr 1: 5</li>
+ * <li>Epr 2: 1</li>
+ * <li>Epr 3: 1</li>
+ * </ul>
+ * <p>the endpoints get the messages in the order Epr1, Epr1, Epr2, Epr1, Epr3, Epr1, Epr1. Endpoints which are
+ * not ready to send are skipped.</p>
+ */
+public class LockFreeWeightedRoundRobin implements LoadbalanceAlgorithm, ManagedLifecycle {
+
+    private static final Log log = LogFactory.getLog(LockFreeWeightedRoundRobin.class);
+
+    /** If a weight is not specified by the user, we use the default as 1 */
+    private static final int DEFAULT_WEIGHT = 1;
+
+    /** Configuration key used by the endpoints for indicating their weight */
+    private static final String LOADBALANCE_WEIGHT = "loadbalance.weight";
+
+    /** Endpoint list */
+    private volatile List<Endpoint> endpoints;
+
+    private Endpoint loadBalanceEndpoint;
+
+    /** Positions of the endpoints in the order they get the messages, one entry per unit of weight */
+    private volatile int[] schedule;
+
+    /** Position of the next message in the schedule */
+    private final AtomicLong cursor = new AtomicLong();
+
+    /** we are not supporting members */
+    public void setApplicationMembers(List<Member> members) {
+        throw new UnsupportedOperationException("This algorithm doesn't operate on Members");
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+        this.schedule = null;
+    }
+
+    public void setLoadBalanceEndpoint(Endpoint endpoint) {
+        this.loadBalanceEndpoint = endpoint;
+    }
+
+    public Endpoint getNextEndpoint(MessageContext synapseMessageContext, AlgorithmContext algorithmContext) {
+        List<Endpoint> endpoints = this.endpoints;
+        int[] schedule = getSchedule(endpoints);
+        for (int i = 0; i < schedule.length; i++) {
+            long position = cursor.getAndIncrement() & Long.MAX_VALUE;
+            Endpoint endpoint = endpoints.get(schedule[(int) (position % schedule.length)]);
+            if (endpoint.readyToSend()) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    public Member getNextApplicationMember(AlgorithmContext algorithmContext) {
+        throw new UnsupportedOperationException("This algorithm doesn't operate on Members");
+    }
+
+    public void reset(AlgorithmContext algorithmContext) {
+        cursor.set(0);
+    }
+
+    public String getName() {
+        return "LockFreeWeightedRoundRobin";
+    }
+
+    public LoadbalanceAlgorithm clone() {
+        return new LockFreeWeightedRoundRobin();
+    }
+
+    public void init(SynapseEnvironment se) {
+        if (endpoints == null) {
+            String msg = "Endpoints are not set, cannot initialize the algorithm";
+            log.error(msg);
+            throw new SynapseException(msg);
+        }
+        schedule = createSchedule(endpoints);
+    }
+
+    public void destroy() {}
+
+    private int[] getSchedule(List<Endpoint> endpoints) {
+        int[] current = schedule;
+        if (current == null) {
+            // not initialized through the endpoint, concurrent callers compute the same schedule
+            current = createSchedule(endpoints);
+            schedule = current;
+        }
+        return current;
+    }
+
+    /**
+     * Computes the order of the endpoints with the smooth weighted round robin method: in each step every
+     * endpoint earns its weight, and the endpoint with the most earned gets the message and pays the total
+     * weight. The weights are divided by their greatest common divisor first to keep the schedule short.
+     *
+     * @param endpoints the endpoints
+     * @return positions of the endpoints in the order they get the messages
+     */
+    private static int[] createSchedule(List<Endpoint> endpoints) {
+        if (endpoints.isEmpty()) {
+            return new int[0];
+        }
+        int[] weights = new int[endpoints.size()];
+        int divisor = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = getWeight(endpoints.get(i));
+            divisor = gcd(divisor, weights[i]);
+        }
+        long total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= divisor;
+            total += weights[i];
+        }
+        if (total > Integer.MAX_VALUE) {
+            String msg = "Sum of the weights of the endpoints is too large : " + total;
+            log.error(msg);
+            throw new SynapseException(msg);
+        }
+
+        int[] order = new int[(int) total];
+        long[] earned = new long[weights.length];
+        for (int step = 0; step < order.length; step++) {
+            int next = 0;
+            for (int i = 0; i < weights.length; i++) {
+                earned[i] += weights[i];
+                if (earned[i] > earned[next]) {
+                    next = i;
+                }
+            }
+            earned[next] -= total;
+            order[step] = next;
+        }
+        return order;
+    }
+
+    private static int getWeight(Endpoint endpoint) {
+        if (!(endpoint instanceof PropertyInclude)) {
+            return DEFAULT_WEIGHT;
+        }
+        MediatorProperty property = ((PropertyInclude) endpoint).getProperty(LOADBALANCE_WEIGHT);
+        if (property == null) {
+            return DEFAULT_WEIGHT;
+        }
+        int weight = Integer.parseInt(property.getValue());
+        if (weight <= 0) {
+            String msg = "Weight must be greater than zero";
+            log.error(msg);
+            throw new SynapseException(msg);
+        }
+        return weight;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints.algorithms;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.endpoints.Endpoint;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two ready endpoints at random and sends the message to the one with the lower expected latency, as
+ * computed by {@link LeastLatency}. Unlike always picking the least loaded endpoint, concurrent messages seeing
+ * the same stale load do not all rush to the same endpoint, while slow endpoints still get fewer messages.
+ */
+public class PowerOfTwoChoices extends LoadAwareAlgorithm {
+
+    @Override
+    public Endpoint getNextEndpoint(MessageContext synCtx, AlgorithmContext algorithmContext) {
+        List<Endpoint> endpoints = this.endpoints;
+        int size = endpoints.size();
+        if (size == 0) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstIndex = random.nextInt(size);
+        Endpoint first = endpoints.get(firstIndex);
+        // the second pick is a different endpoint
+        Endpoint second = size > 1 ? endpoints.get((firstIndex + 1 + random.nextInt(size - 1)) % size) : first;
+        boolean firstReady = first.readyToSend();
+        boolean secondReady = second != first && second.readyToSend();
+        if (firstReady && secondReady) {
+            return getLoad(second) < getLoad(first) ? second : first;
+        } else if (firstReady) {
+            return first;
+        } else if (secondReady) {
+            return second;
+        }
+        // the random picks are not ready, look for the least loaded of the ready endpoints
+        return super.getNextEndpoint(synCtx, algorithmContext);
+    }
+
+    protected double getLoad(Endpoint endpoint) {
+        return getLatencyCost(endpoint);
+    }
+
+    public String getName() {
+        return "PowerOfTwoChoices";
+    }
+
+    public LoadbalanceAlgorithm clone() {
+        return new PowerOfTwoChoices();
+    }
+}
@@ -91,7 +91,7 @@ public class MediatorFaultHandler extends FaultHandler {
         if (traceOrDebugOn) {
             traceOrDebugWarn(traceOn, "Executing fault handler mediator : " + name);
         }
-        ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(synCtx);
+        ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(synCtx, true);
         synCtx.getServiceLog().warn("Executing fault sequence mediator : " + name);
         this.faultMediator.mediate(synCtx);
         if(isStatisticsEnabled) {
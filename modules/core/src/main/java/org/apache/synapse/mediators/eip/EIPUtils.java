@@ -26,6 +26,9 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.JsonParseException;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.GsonJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonProvider;
@@ -40,6 +43,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.JSONObjectExtensionException;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseException;
+import org.apache.synapse.commons.json.JsonUtil;
 import org.apache.synapse.util.JSONMergeUtils;
 import org.apache.synapse.util.xpath.SynapseJsonPath;
 import org.apache.synapse.util.xpath.SynapseXPath;
@@ -345,6 +349,35 @@ public class EIPUtils {
         }
     }
 
+    /**
+     * Returns the JSON payload of the message as it is shared by all the readers of the message, parsed once for
+     * the current JSON stream. The payload must not be modified, see {@link #parseJsonPayload}.
+     *
+     * @param axis2MessageCtx Axis2 message context of the message.
+     * @return the parsed JSON payload, an empty JSON object if the message has no JSON stream.
+     * @throws InvalidJsonException if the JSON payload is not valid.
+     */
+    public static JsonElement getJsonPayloadTree(org.apache.axis2.context.MessageContext axis2MessageCtx) {
+        try {
+            JsonElement payload = JsonUtil.getJsonPayloadTree(axis2MessageCtx);
+            return payload != null ? payload : new JsonObject();
+        } catch (JsonParseException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * Returns the JSON payload of the message as a document which can be modified. The document is a copy of the
+     * parsed payload shared by the readers of the message, so the payload is not parsed again.
+     *
+     * @param axis2MessageCtx Axis2 message context of the message.
+     * @return the JSON payload as a JSON path document.
+     * @throws InvalidJsonException if the JSON payload is not valid.
+     */
+    public static DocumentContext parseJsonPayload(org.apache.axis2.context.MessageContext axis2MessageCtx) {
+        return JsonPath.parse(getJsonPayloadTree(axis2MessageCtx).deepCopy());
+    }
+
     /**
      * Enclose the string with quotes before parsing with Gson library.
      * Due to : https://github.com/google/gson/issues/1286
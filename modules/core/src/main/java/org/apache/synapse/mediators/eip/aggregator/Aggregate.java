@@ -27,10 +27,11 @@ import org.apache.synapse.SynapseLog;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.mediators.eip.EIPConstants;
 import org.apache.synapse.mediators.v2.ScatterGather;
+import org.apache.synapse.util.concurrent.TimingWheel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -38,10 +39,13 @@ import java.util.concurrent.locks.ReentrantLock;
  * the aggregation properties and the messages collected during aggregation. This class also
  * times out itself after the timeout expires it
  */
-public class Aggregate extends TimerTask {
+public class Aggregate implements Runnable {
 
     private static final Log log = LogFactory.getLog(Aggregate.class);
 
+    /** How long a thread waits for the lock of an aggregate before checking whether it is still needed */
+    static final long LOCK_WAIT_MILLIS = 100;
+
     private long timeoutMillis = 0;
     /** The time in millis at which this aggregation should be considered as expired */
     private long expiryTimeMillis = 0;
@@ -55,8 +59,12 @@ public class Aggregate extends TimerTask {
     private ScatterGather scatterGatherMediator = null;
     private List<MessageContext> messages = new ArrayList<MessageContext>();
     private ReentrantLock lock = new ReentrantLock();
-    private boolean completed = false;
+    private volatile boolean completed = false;
+    /** The time in millis at which this aggregation was created */
+    private final long createdTimeMillis = System.currentTimeMillis();
     private SynapseEnvironment synEnv = null;
+    /** The completion timeout of this aggregation, if one is scheduled */
+    private volatile TimingWheel.Timeout timeout = null;
 
     /**
      * Fault handler for the aggregate mediator
@@ -253,33 +261,56 @@ public class Aggregate extends TimerTask {
         this.expiryTimeMillis = expiryTimeMillis;
     }
 
+    /**
+     * Schedule the completion timeout of this aggregation
+     *
+     * @param timingWheel the timing wheel to schedule the timeout on
+     * @param delayMillis the timeout duration in milliseconds
+     */
+    public void scheduleTimeout(TimingWheel timingWheel, long delayMillis) {
+        timeout = timingWheel.schedule(this, delayMillis);
+    }
+
+    /**
+     * Cancel the completion timeout of this aggregation, if one is scheduled
+     *
+     * @return true if the timeout was cancelled before it expired
+     */
+    public boolean cancel() {
+        TimingWheel.Timeout scheduled = timeout;
+        timeout = null;
+        return scheduled != null && scheduled.cancel();
+    }
+
     public void run() {
-        while (true) {
-            if (completed) {
+        while (!completed) {
+            try {
+                if (!getLock(LOCK_WAIT_MILLIS)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting to time out the aggregate of correlation : " + correlation);
                 break;
             }
-            if (getLock()) {
-                try {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Time : " + System.currentTimeMillis() + " and this aggregator " +
-                                "expired at : " + expiryTimeMillis);
-                    }
-                    synEnv.getExecutorService().execute(new AggregateTimeout(this));
-                    break;
-                } finally {
-                    releaseLock();
+            try {
+                if (log.isDebugEnabled()) {
+                    log.debug("Time : " + System.currentTimeMillis() + " and this aggregator " +
+                            "expired at : " + expiryTimeMillis);
                 }
+                synEnv.getExecutorService().execute(new AggregateTimeout(this));
+                break;
+            } finally {
+                releaseLock();
             }
         }
     }
 
     /**
-     * Clear references in Aggregate Timer Task
+     * Clear references in Aggregate
      *
-     * This need to be called when aggregation is completed.
-     * Task is not eligible for gc until it reach the execution time,
-     * even though it is cancelled. So we need to remove references from task to other objects to
-     * allow them to be garbage collected
+     * This need to be called when aggregation is completed, to allow the collected messages to be
+     * garbage collected while the aggregate is still referenced
      *
      */
     public void clear() {
@@ -297,7 +328,7 @@ public class Aggregate extends TimerTask {
             try {
                 if (aggregateMediator != null) {
                     log.warn("Aggregate mediator timeout occurred.");
-                    aggregateMediator.completeAggregate(aggregate);
+                    aggregateMediator.completeAggregate(aggregate, true);
                 } else {
                     log.warn("Scatter Gather mediator timeout occurred.");
                     scatterGatherMediator.completeAggregate(aggregate);
@@ -318,6 +349,18 @@ public class Aggregate extends TimerTask {
         return lock.tryLock();
     }
 
+    /**
+     * Lock this aggregate, waiting for another thread holding it to release it
+     *
+     * @param timeoutMillis the maximum time to wait for the lock
+     * @return true if the lock is acquired
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean getLock(long timeoutMillis) throws InterruptedException {
+        // not synchronized, releaseLock must not wait for the threads waiting here
+        return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
     public synchronized void releaseLock() {
 
         if (lock.isHeldByCurrentThread()) {
@@ -332,4 +375,21 @@ public class Aggregate extends TimerTask {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    /**
+     * Mark this aggregation as completed, unless it already is
+     *
+     * @return true if the aggregation was marked completed by this call
+     */
+    public synchronized boolean markCompleted() {
+        if (completed) {
+            return false;
+        }
+        completed = true;
+        return true;
+    }
+
+    public long getCreatedTimeMillis() {
+        return createdTimeMillis;
+    }
 }
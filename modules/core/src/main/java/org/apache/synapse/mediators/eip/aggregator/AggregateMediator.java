@@ -63,6 +63,8 @@ import org.apache.synapse.util.xpath.SynapseXPath;
 import org.jaxen.JaxenException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Aggregate a number of messages that are determined to be for a particular group, and combine
@@ -70,7 +72,7 @@ import java.util.*;
  * an aggregator acts like a filter, and may look at a correlation XPath expression to select
  * messages for aggregation - or look at messageSequence number properties for aggregation or
  * let any other (i.e. non aggregatable) messages flow through
- * An instance of this mediator will register with a Timer to be notified after a specified timeout,
+ * An instance of this mediator will register with a timing wheel to be notified after a specified timeout,
  * so that aggregations that never would complete could be timed out and cleared from memory and
  * any fault conditions handled
  */
@@ -113,17 +115,17 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
     private SequenceMediator onCompleteSequence = null;
 
     /** The active aggregates currently being processd */
-    private Map<String, Aggregate> activeAggregates =
-        Collections.synchronizedMap(new HashMap<String, Aggregate>());
+    private final ConcurrentMap<String, Aggregate> activeAggregates =
+        new ConcurrentHashMap<String, Aggregate>();
+
+    /** Completion counts and times of the aggregations of this mediator */
+    private final AggregateMetrics aggregateMetrics = new AggregateMetrics();
 
     private String id = null;
 
     /** Property which contains the Enclosing element of the aggregated message */
     private String enclosingElementPropertyName = null;
 
-    /** Lock object to provide the synchronized access to the activeAggregates on checking */
-    private final Object lock = new Object();
-
     /** Reference to the synapse environment */
     private SynapseEnvironment synapseEnv;
 
@@ -222,49 +224,9 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
             }
             if (result != null) {
 
-                while (aggregate == null) {
-
-                    synchronized (lock) {
-
-                        if (activeAggregates.containsKey(correlateExpression.toString())) {
-
-                            aggregate = activeAggregates.get(correlateExpression.toString());
-                            if (aggregate != null) {
-                                if (!aggregate.getLock()) {
-                                    aggregate = null;
-                                }
-                            }
-
-                        } else {
-
-                            if (synLog.isTraceOrDebugEnabled()) {
-                                synLog.traceOrDebug("Creating new Aggregator - " +
-                                        (completionTimeoutMillis > 0 ? "expires in : "
-                                                + (completionTimeoutMillis / 1000) + "secs" :
-                                                "without expiry time"));
-                            }
-                            if (isAggregationCompleted(synCtx)) {
-                                return false;
-                            }
-
-                            Double minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
-                            Double maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
-                    
-                            aggregate = new Aggregate(
-                                    synCtx.getEnvironment(),
-                                    correlateExpression.toString(),
-                                    completionTimeoutMillis,
-                                    minMsg.intValue(),
-                                    maxMsg.intValue(), this, synCtx.getFaultStack().peek());
-
-                            if (completionTimeoutMillis > 0) {
-                                synCtx.getConfiguration().getSynapseTimer().
-                                        schedule(aggregate, completionTimeoutMillis);
-                            }
-                            aggregate.getLock();
-                            activeAggregates.put(correlateExpression.toString(), aggregate);
-                        }
-                    }
+                aggregate = getLockedAggregate(correlateExpression.toString(), synCtx, synLog);
+                if (aggregate == null) {
+                    return false;
                 }
 
             } else if (synCtx.getProperty(correlationIdName) != null) {
@@ -278,64 +240,9 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
 
                 if (o != null && o instanceof String) {
                     correlation = (String) o;
-                    while (aggregate == null) {
-                        synchronized (lock) {
-                            if (activeAggregates.containsKey(correlation)) {
-                                aggregate = activeAggregates.get(correlation);
-                                if (aggregate != null) {
-                                    if (!aggregate.getLock()) {
-                                        aggregate = null;
-                                    }
-                                } else {
-                                    break;
-                                }
-                            } else {
-                                if (synLog.isTraceOrDebugEnabled()) {
-                                    synLog.traceOrDebug("Creating new Aggregator - " +
-                                            (completionTimeoutMillis > 0 ? "expires in : "
-                                                    + (completionTimeoutMillis / 1000) + "secs" :
-                                                    "without expiry time"));
-                                }
-
-                                if (isAggregationCompleted(synCtx)) {
-                                    return false;
-                                }
-
-                                Double minMsg = -1.0;
-                                if (minMessagesToComplete != null) {
-                                    minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
-                                }
-                                Double maxMsg = -1.0;
-                                if (maxMessagesToComplete != null) {
-                                    maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
-                                }
-
-                                aggregate = new Aggregate(
-                                        synCtx.getEnvironment(),
-                                        correlation,
-                                        completionTimeoutMillis,
-                                        minMsg.intValue(),
-                                        maxMsg.intValue(), this, synCtx.getFaultStack().peek());
-
-                                if (completionTimeoutMillis > 0) {
-                                    synchronized(aggregate) {
-                                        if (!aggregate.isCompleted()) {
-                                            try {
-                                                synCtx.getConfiguration().getSynapseTimer().
-                                                        schedule(aggregate, completionTimeoutMillis);
-                                            } catch (IllegalStateException e) {
-                                                log.warn("Synapse timer already cancelled. Resetting Synapse timer");
-                                                synCtx.getConfiguration().setSynapseTimer(new Timer(true));
-                                                synCtx.getConfiguration().getSynapseTimer().
-                                                        schedule(aggregate, completionTimeoutMillis);
-                                            }
-                                        }
-                                    }
-                                }
-                                aggregate.getLock();
-                                activeAggregates.put(correlation, aggregate);
-                            }
-                        }
+                    aggregate = getLockedAggregate(correlation, synCtx, synLog);
+                    if (aggregate == null) {
+                        return false;
                     }
                     
                 } else {
@@ -366,7 +273,7 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
 
                 if (aggregate.isComplete(synLog)) {
                     synLog.traceOrDebug("Aggregation completed - invoking onComplete");
-                    boolean onCompleteSeqResult = completeAggregate(aggregate);
+                    boolean onCompleteSeqResult = completeAggregate(aggregate, false);
                     synLog.traceOrDebug("End : Aggregate mediator");
                     isAggregateComplete = onCompleteSeqResult;
                     return onCompleteSeqResult;
@@ -392,6 +299,76 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
         return false;
     }
 
+    /**
+     * Find the active aggregate of a correlation, creating it if there is none, and lock it for the current
+     * message. Only messages of the same correlation wait for each other.
+     *
+     * @param correlation the correlation of the message
+     * @param synCtx the message to be aggregated
+     * @param synLog the Synapse log to use
+     * @return the locked aggregate, or null if the aggregation of the message is already completed
+     */
+    private Aggregate getLockedAggregate(String correlation, MessageContext synCtx, SynapseLog synLog) {
+
+        while (true) {
+            Aggregate aggregate = activeAggregates.get(correlation);
+            if (aggregate == null) {
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Creating new Aggregator - " +
+                            (completionTimeoutMillis > 0 ? "expires in : "
+                                    + (completionTimeoutMillis / 1000) + "secs" :
+                                    "without expiry time"));
+                }
+
+                if (isAggregationCompleted(synCtx)) {
+                    return null;
+                }
+
+                Double minMsg = -1.0;
+                if (minMessagesToComplete != null) {
+                    minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
+                }
+                Double maxMsg = -1.0;
+                if (maxMessagesToComplete != null) {
+                    maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
+                }
+
+                Aggregate created = new Aggregate(
+                        synCtx.getEnvironment(),
+                        correlation,
+                        completionTimeoutMillis,
+                        minMsg.intValue(),
+                        maxMsg.intValue(), this, synCtx.getFaultStack().peek());
+                created.getLock();
+
+                aggregate = activeAggregates.putIfAbsent(correlation, created);
+                if (aggregate == null) {
+                    if (completionTimeoutMillis > 0) {
+                        created.scheduleTimeout(synCtx.getConfiguration().getTimingWheel(),
+                                completionTimeoutMillis);
+                    }
+                    return created;
+                }
+                // another message of the same correlation created the aggregate first
+                created.releaseLock();
+            }
+            try {
+                // wait for the message holding the aggregate, rather than spinning on the lock
+                if (aggregate.getLock(Aggregate.LOCK_WAIT_MILLIS)) {
+                    if (activeAggregates.get(correlation) == aggregate) {
+                        return aggregate;
+                    }
+                    // completed while we were waiting, look up the aggregate once more
+                    aggregate.releaseLock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                handleException("Interrupted while waiting for the aggregate of correlation : " + correlation,
+                        synCtx);
+            }
+        }
+    }
+
     /*
      * Check whether aggregation is already completed by time-out/receiving required number of min/max messages,
       * and we are receiving a message after the aggregation is completed.
@@ -450,6 +427,16 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
      * @param aggregate the timed out Aggregate that holds collected messages and properties
      */
     public boolean completeAggregate(Aggregate aggregate) {
+        return completeAggregate(aggregate, true);
+    }
+
+    /**
+     * Complete an aggregation, either by its timeout or by the message meeting its completion condition
+     *
+     * @param aggregate the Aggregate that holds collected messages and properties
+     * @param timedOut whether the aggregation is completed by its timeout
+     */
+    public boolean completeAggregate(Aggregate aggregate, boolean timedOut) {
 
         boolean markedCompletedNow = false;
         boolean wasComplete = aggregate.isCompleted();
@@ -461,25 +448,23 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
             log.debug("Aggregation completed or timed out");
         }
 
-        // cancel the timer
-        synchronized(this) {
-            if (!aggregate.isCompleted()) {
-                aggregate.cancel();
-                aggregate.setCompleted(true);
-
-                MessageContext lastMessage = aggregate.getLastMessage();
-                if (lastMessage != null) {
-                    Object aggregateTimeoutHolderObj =
-                            lastMessage.getProperty(id != null ? EIPConstants.EIP_SHARED_DATA_HOLDER + "." + id :
-                                                    EIPConstants.EIP_SHARED_DATA_HOLDER);
-
-                    if (aggregateTimeoutHolderObj != null) {
-                        SharedDataHolder sharedDataHolder = (SharedDataHolder) aggregateTimeoutHolderObj;
-                        sharedDataHolder.markAggregationCompletion();
-                    }
+        // only the first completion of an aggregate, by its last message or by its timeout, proceeds
+        if (aggregate.markCompleted()) {
+            aggregate.cancel();
+            aggregateMetrics.completed(aggregate, timedOut);
+
+            MessageContext lastMessage = aggregate.getLastMessage();
+            if (lastMessage != null) {
+                Object aggregateTimeoutHolderObj =
+                        lastMessage.getProperty(id != null ? EIPConstants.EIP_SHARED_DATA_HOLDER + "." + id :
+                                                EIPConstants.EIP_SHARED_DATA_HOLDER);
+
+                if (aggregateTimeoutHolderObj != null) {
+                    SharedDataHolder sharedDataHolder = (SharedDataHolder) aggregateTimeoutHolderObj;
+                    sharedDataHolder.markAggregationCompletion();
                 }
-                markedCompletedNow = true;
             }
+            markedCompletedNow = true;
         }
 
         if (!markedCompletedNow) {
@@ -516,7 +501,7 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
         }
 
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.remove(aggregate.getCorrelation(), aggregate);
 
         if ((correlateExpression != null &&
             correlateExpression.toString().equals(aggregate.getCorrelation())) ||
@@ -758,6 +743,17 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
         return activeAggregates;
     }
 
+    /**
+     * @return number of aggregations which have been started and not completed yet
+     */
+    public int getOpenAggregateCount() {
+        return activeAggregates.size();
+    }
+
+    public AggregateMetrics getAggregateMetrics() {
+        return aggregateMetrics;
+    }
+
     public String getId() {
         return id;
     }
@@ -830,7 +826,7 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
     
     private void handleException(Aggregate aggregate, String msg, Exception exception, MessageContext msgContext) {
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.remove(aggregate.getCorrelation(), aggregate);
         if (exception != null) {
             super.handleException(msg, exception, msgContext);
         } else {
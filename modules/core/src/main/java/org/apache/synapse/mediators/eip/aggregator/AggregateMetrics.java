@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.mediators.eip.aggregator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the aggregations completed by a mediator and the time they took to complete, from the creation of
+ * the aggregate to its completion or timeout.
+ */
+public class AggregateMetrics {
+
+    private final AtomicLong completedCount = new AtomicLong();
+
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    private final AtomicLong totalCompletionTimeMillis = new AtomicLong();
+
+    private final AtomicLong maxCompletionTimeMillis = new AtomicLong();
+
+    /**
+     * Record the completion of an aggregation
+     *
+     * @param aggregate the completed aggregate
+     * @param timedOut whether the aggregation is completed by its timeout
+     */
+    public void completed(Aggregate aggregate, boolean timedOut) {
+        long completionTime = Math.max(System.currentTimeMillis() - aggregate.getCreatedTimeMillis(), 0);
+        completedCount.incrementAndGet();
+        if (timedOut) {
+            timedOutCount.incrementAndGet();
+        }
+        totalCompletionTimeMillis.addAndGet(completionTime);
+        long max = maxCompletionTimeMillis.get();
+        while (completionTime > max && !maxCompletionTimeMillis.compareAndSet(max, completionTime)) {
+            max = maxCompletionTimeMillis.get();
+        }
+    }
+
+    /**
+     * @return number of aggregations completed, including the timed out ones
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return number of aggregations completed by their timeout
+     */
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    /**
+     * @return average time, in milliseconds, an aggregation took to complete
+     */
+    public double getAverageCompletionTimeMillis() {
+        long count = completedCount.get();
+        return count == 0 ? 0 : (double) totalCompletionTimeMillis.get() / count;
+    }
+
+    /**
+     * @return longest time, in milliseconds, an aggregation took to complete
+     */
+    public long getMaxCompletionTimeMillis() {
+        return maxCompletionTimeMillis.get();
+    }
+}
@@ -38,6 +38,7 @@ import org.apache.synapse.continuation.ContinuationStackManager;
 import org.apache.synapse.continuation.ReliantContinuationState;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.SharedPayload;
 import org.apache.synapse.endpoints.Endpoint;
 import org.apache.synapse.mediators.AbstractMediator;
 import org.apache.synapse.mediators.FlowContinuableMediator;
@@ -112,34 +113,49 @@ public class CloneMediator extends AbstractMediator implements ManagedLifecycle,
 
         synCtx.setProperty(id != null ? EIPConstants.EIP_SHARED_DATA_HOLDER + "." + id :
                            EIPConstants.EIP_SHARED_DATA_HOLDER, new SharedDataHolder());
-        if (!StringUtils.isEmpty(iterations)) {
-            // get the first target, clone the message for the number of iterations and then
-            // mediate the cloned messages in the target for the number of iterations
-            executeTargetIterations(synCtx);
-        } else {
 
-            // get the targets list, clone the message for the number of targets and then
-            // mediate the cloned messages using the targets
-            Iterator<Target> iter = targets.iterator();
-            int i = 0;
-            boolean isStopFlowOnFailure = "true".equalsIgnoreCase((String)
-                    synCtx.getProperty(STOP_FLOW_ON_FAILURE_PROPERTY_NAME));
-            while (iter.hasNext()) {
-                if (synLog.isTraceOrDebugEnabled()) {
-                    synLog.traceOrDebug("Submitting " + (i + 1) + " of " + targets.size() +
-                            " messages for " + (isSequential() ? "sequential processing" : "parallel processing"));
-                }
+        // the cloned messages share the payload until they access it, if the parent message is not
+        // continued its envelope is handed over instead of being copied
+        SharedPayload payload = null;
+        try {
+            payload = SharedPayload.of(synCtx, !continueParent);
+        } catch (AxisFault axisFault) {
+            handleException("Error cloning the message context", axisFault, synCtx);
+        }
+
+        try {
+            if (!StringUtils.isEmpty(iterations)) {
+                // get the first target, clone the message for the number of iterations and then
+                // mediate the cloned messages in the target for the number of iterations
+                executeTargetIterations(synCtx, payload);
+            } else {
 
-                MessageContext clonedMsgCtx = getClonedMessageContext(synCtx, i++, targets.size());
-                ContinuationStackManager.addReliantContinuationState(clonedMsgCtx, i - 1,
-                        getMediatorPosition());
-                iter.next().mediate(clonedMsgCtx);
-                boolean isFailure = "true".equalsIgnoreCase((String)clonedMsgCtx.
-                        getProperty(EIPConstants.ERROR_ON_TARGET_EXECUTION));
-                if (isFailure && sequential && isStopFlowOnFailure) {
-                    break;
+                // get the targets list, clone the message for the number of targets and then
+                // mediate the cloned messages using the targets
+                Iterator<Target> iter = targets.iterator();
+                int i = 0;
+                boolean isStopFlowOnFailure = "true".equalsIgnoreCase((String)
+                        synCtx.getProperty(STOP_FLOW_ON_FAILURE_PROPERTY_NAME));
+                while (iter.hasNext()) {
+                    if (synLog.isTraceOrDebugEnabled()) {
+                        synLog.traceOrDebug("Submitting " + (i + 1) + " of " + targets.size() +
+                                " messages for " + (isSequential() ? "sequential processing" : "parallel processing"));
+                    }
+
+                    MessageContext clonedMsgCtx = getClonedMessageContext(synCtx, payload, i++, targets.size());
+                    ContinuationStackManager.addReliantContinuationState(clonedMsgCtx, i - 1,
+                            getMediatorPosition());
+                    iter.next().mediate(clonedMsgCtx);
+                    boolean isFailure = "true".equalsIgnoreCase((String)clonedMsgCtx.
+                            getProperty(EIPConstants.ERROR_ON_TARGET_EXECUTION));
+                    if (isFailure && sequential && isStopFlowOnFailure) {
+                        break;
+                    }
                 }
             }
+        } finally {
+            // the clones can only get the shared payload once the parent lets it go, even if a target failed
+            payload.release();
         }
 
         // if the continuation of the parent message is stopped from here set the RESPONSE_WRITTEN
@@ -158,7 +174,7 @@ public class CloneMediator extends AbstractMediator implements ManagedLifecycle,
         return continueParent;
     }
 
-    private void executeTargetIterations(MessageContext synCtx) {
+    private void executeTargetIterations(MessageContext synCtx, SharedPayload payload) {
         int noOfIterations = resolveIterationsCount(synCtx);
         SynapseLog synLog = getLog(synCtx);
         Target target = targets.get(0);
@@ -170,7 +186,7 @@ public class CloneMediator extends AbstractMediator implements ManagedLifecycle,
                         " messages for " + (isSequential() ? "sequential processing" : "parallel processing"));
             }
             synCtx.setProperty(ITERATION_INDEX_PROPERTY_NAME, i + 1);
-            MessageContext clonedMsgCtx = getClonedMessageContext(synCtx, i, noOfIterations);
+            MessageContext clonedMsgCtx = getClonedMessageContext(synCtx, payload, i, noOfIterations);
             ContinuationStackManager.addReliantContinuationState(clonedMsgCtx, i - 1, getMediatorPosition());
             target.mediate(clonedMsgCtx);
             boolean isFailure = "true".equalsIgnoreCase((String)clonedMsgCtx.
@@ -232,18 +248,19 @@ public class CloneMediator extends AbstractMediator implements ManagedLifecycle,
      * message context of a total of messageCount messages
      *
      * @param synCtx          - MessageContext which is subjected to the cloning
+     * @param payload         - payload of the MessageContext shared with the cloned copies
      * @param messageSequence - the position of this message of the cloned set
      * @param messageCount    - total of cloned copies
      *
      * @return MessageContext the cloned message context
      */
-    private MessageContext getClonedMessageContext(MessageContext synCtx, int messageSequence,
-                                                   int messageCount) {
+    private MessageContext getClonedMessageContext(MessageContext synCtx, SharedPayload payload,
+                                                   int messageSequence, int messageCount) {
 
         MessageContext newCtx = null;
         try {
         	
-            newCtx = MessageHelper.cloneMessageContext(synCtx);
+            newCtx = MessageHelper.cloneMessageContext(synCtx, false, false);
             
             // Set isServerSide property in the cloned message context
             ((Axis2MessageContext) newCtx).getAxis2MessageContext().setServerSide(
@@ -263,6 +280,7 @@ public class CloneMediator extends AbstractMediator implements ManagedLifecycle,
                         String.valueOf(messageSequence) + EIPConstants.MESSAGE_SEQUENCE_DELEMITER +
                                 messageCount);
             }
+            ((Axis2MessageContext) newCtx).setSharedPayload(payload);
         } catch (AxisFault axisFault) {
             handleException("Error cloning the message context", axisFault, synCtx);
         }
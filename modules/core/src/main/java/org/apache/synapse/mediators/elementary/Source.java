@@ -20,7 +20,9 @@
 package org.apache.synapse.mediators.elementary;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import org.apache.axiom.om.*;
 import org.apache.axiom.om.impl.llom.OMTextImpl;
@@ -37,6 +39,7 @@ import org.apache.synapse.SynapseLog;
 import org.apache.synapse.commons.json.JsonUtil;
 import org.apache.synapse.config.xml.SynapsePath;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.mediators.eip.EIPUtils;
 import org.apache.synapse.util.InlineExpressionUtil;
 import org.apache.synapse.util.MessageHelper;
 import org.apache.synapse.util.xpath.SynapseJsonPath;
@@ -313,13 +316,18 @@ public class Source {
         switch (sourceType) {
             case EnrichMediator.CUSTOM: {
                 assert jsonPath != null : "JSONPath should be non null in case of CUSTOM";
-                String jsonString = JsonUtil.jsonPayloadToString(context);
-                object = JsonPath.parse(jsonString).read(jsonPath);
-                if (!clone) {
+                if (clone) {
+                    // the parsed payload is shared, so only the selected part of it is copied
+                    JsonElement selected = JsonPath.parse(EIPUtils.getJsonPayloadTree(context)).read(jsonPath);
+                    object = selected != null ? selected.deepCopy() : null;
+                } else {
                     // when cloning is false, remove the element in JSON path from payload
-                    String modifiedJsonString = JsonPath.parse(jsonString).delete(jsonPath).jsonString();
+                    DocumentContext document = EIPUtils.parseJsonPayload(context);
+                    object = document.read(jsonPath);
+                    String modifiedJsonString = document.delete(jsonPath).jsonString();
                     try {
-                        JsonUtil.getNewJsonPayload(context, modifiedJsonString, true, true);
+                        JsonUtil.getNewJsonPayload(context, modifiedJsonString, (JsonElement) document.json(),
+                                true, true);
                     } catch (Exception ex) {
                         synLog.error("Error while setting json payload, when cloning is false");
                     }
@@ -327,8 +335,8 @@ public class Source {
                 break;
             }
             case EnrichMediator.BODY: {
-                String jsonPayload = JsonUtil.jsonPayloadToString(context);
-                object = parser.parse(jsonPayload);
+                JsonElement payload = JsonUtil.getJsonPayloadTree(context);
+                object = payload != null ? payload.deepCopy() : new JsonObject();
                 break;
             }
             case EnrichMediator.INLINE: {
@@ -333,8 +333,7 @@ public class Target {
                 if (jsonElement instanceof JsonObject || jsonElement instanceof JsonArray) {
                     try {
                         JsonUtil.getNewJsonPayload(((Axis2MessageContext) synCtx).getAxis2MessageContext(),
-                                sourceString, true, true);
-                        synCtx.getEnvelope().getBody().toString();
+                                sourceString, jsonElement, true, true);
                         return;
                     } catch (AxisFault af) {
                         log.error("Could not add json object to the json stream", af);
@@ -451,7 +450,7 @@ public class Target {
                         String jsonString = sourceJsonElement.toString();
                         JsonElement element = jsonParser.parse(jsonString);
                         if (element instanceof JsonObject || element instanceof JsonArray) {
-                            JsonUtil.getNewJsonPayload(context, jsonString, true, true);
+                            JsonUtil.getNewJsonPayload(context, jsonString, element, true, true);
                         } else {
                             synLog.error("Unsupported JSON payload : " + jsonString
                                     + ".Only JSON arrays and objects can be enriched to the body");
@@ -608,9 +607,8 @@ public class Target {
 
         org.apache.axis2.context.MessageContext axis2MessageCtx =
                 ((Axis2MessageContext) synapseContext).getAxis2MessageContext();
-        String payload = JsonUtil.jsonPayloadToString(((Axis2MessageContext) synapseContext).getAxis2MessageContext());
-        DocumentContext doc = JsonPath.parse(payload).renameKey(jsonPath, keyName, newKeyName);
-        JsonUtil.getNewJsonPayload(axis2MessageCtx, doc.jsonString(), true, true);
+        DocumentContext doc = EIPUtils.parseJsonPayload(axis2MessageCtx).renameKey(jsonPath, keyName, newKeyName);
+        JsonUtil.getNewJsonPayload(axis2MessageCtx, doc.jsonString(), (JsonElement) doc.json(), true, true);
     }
 
     /**
@@ -649,13 +647,20 @@ public class Target {
 
         assert JsonUtil.hasAJsonPayload(context) : "Message Context does not contain a JSON payload";
 
-        String jsonString = JsonUtil.jsonPayloadToString(context);
+        DocumentContext documentContext = EIPUtils.parseJsonPayload(context);
         String newJsonString = "";
+        JsonElement newJsonTree = null;
 
         if (action.equalsIgnoreCase(ACTION_REPLACE)) {
-            newJsonString = JsonPath.parse(jsonString).set(expression, sourceNode).jsonString();
+            // the new tree is cached as the payload, so it must not share nodes with the source, e.g. a property
+            if (sourceNode instanceof JsonElement) {
+                sourceNode = ((JsonElement) sourceNode).deepCopy();
+            }
+            newJsonString = documentContext.set(expression, sourceNode).jsonString();
+            newJsonTree = documentContext.json();
         } else if (action.equalsIgnoreCase(ACTION_ADD_CHILD)) {
-            newJsonString = getNewJSONString(sourceNode, expression, jsonString, isRootPath);
+            newJsonTree = getNewJSONTree(sourceNode, expression, documentContext, isRootPath);
+            newJsonString = newJsonTree.toString();
         } else if (action.equalsIgnoreCase(ACTION_ADD_SIBLING)) {
             log.error("Action sibling is not supported. Please use child action instead");
         } else {
@@ -664,7 +669,7 @@ public class Target {
         }
         try {
             if (!newJsonString.trim().isEmpty()) {
-                JsonUtil.getNewJsonPayload(context, newJsonString, true, true);
+                JsonUtil.getNewJsonPayload(context, newJsonString, newJsonTree, true, true);
             }
         } catch (AxisFault axisFault) {
             log.error("Error occurred while setting new JSON payload", axisFault);
@@ -672,18 +677,16 @@ public class Target {
     }
 
     /**
-     * This method will add the sourceNode to location pointed by expression in the jsonString.
+     * This method will add the sourceNode to location pointed by expression in the target payload.
      *
-     * @param sourceNode JsonElement which needs to be inserted.
-     * @param expression Json-path which points the location to be inserted.
-     * @param jsonString Target payload as a string.
-     * @param isRootPath Flag which indicates expression is root or not
-     * @return formatted string.
+     * @param sourceNode      JsonElement which needs to be inserted.
+     * @param expression      Json-path which points the location to be inserted.
+     * @param documentContext Target payload as a JSON path document.
+     * @param isRootPath      Flag which indicates expression is root or not
+     * @return the new payload.
      */
-    private String getNewJSONString(Object sourceNode, String expression, String jsonString,
-                                    boolean isRootPath) {
-        String newJsonString;
-        DocumentContext documentContext = JsonPath.parse(jsonString);
+    private JsonElement getNewJSONTree(Object sourceNode, String expression, DocumentContext documentContext,
+                                       boolean isRootPath) {
         JsonElement receivingElement = documentContext.read(expression);
         JsonElement sourceElement = EIPUtils.tryParseJsonString(jsonParser, sourceNode.toString());
         if (receivingElement.isJsonArray()) {
@@ -695,13 +698,10 @@ public class Target {
                     receivingElement.toString());
         }
         if (isRootPath) {
-            newJsonString = receivingElement.toString();
-        } else {
-            documentContext.set(expression, receivingElement);
-            newJsonString = documentContext.json().toString();
+            return receivingElement;
         }
-
-        return newJsonString;
+        documentContext.set(expression, receivingElement);
+        return documentContext.json();
     }
 
     /**
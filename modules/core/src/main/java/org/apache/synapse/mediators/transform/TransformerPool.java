@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.mediators.transform;
+
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+
+/**
+ * A compiled stylesheet which keeps the transformers it created for reuse, so that a transformer is not
+ * created for every message. A transformer taken with {@link #borrowTransformer()} is used by one message at a
+ * time, and is reset to its initial state when it is given back with {@link #returnTransformer(Transformer)}.
+ * At most a given number of idle transformers are kept, the others are left to the garbage collector.
+ */
+public class TransformerPool implements Templates {
+
+    private final Templates templates;
+
+    /** Idle transformers, null if the transformers are not reused */
+    private final BlockingQueue<Transformer> idleTransformers;
+
+    /**
+     * @param templates the compiled stylesheet
+     * @param maxIdle   maximum number of idle transformers kept, 0 to not reuse the transformers
+     */
+    public TransformerPool(Templates templates, int maxIdle) {
+        this.templates = templates;
+        this.idleTransformers = maxIdle > 0 ? new ArrayBlockingQueue<Transformer>(maxIdle) : null;
+    }
+
+    /**
+     * Take an idle transformer, or create one if there is none
+     *
+     * @return a transformer of the stylesheet, not used by anybody else
+     * @throws TransformerConfigurationException if a transformer can not be created
+     */
+    public Transformer borrowTransformer() throws TransformerConfigurationException {
+        Transformer transformer = idleTransformers != null ? idleTransformers.poll() : null;
+        return transformer != null ? transformer : templates.newTransformer();
+    }
+
+    /**
+     * Give back a transformer once a transformation has completed with it. A transformer whose transformation
+     * failed should not be given back, as its state is not known.
+     *
+     * @param transformer a transformer taken with {@link #borrowTransformer()}
+     */
+    public void returnTransformer(Transformer transformer) {
+        if (idleTransformers == null) {
+            return;
+        }
+        // not every implementation clears the parameters on reset
+        transformer.clearParameters();
+        try {
+            // clears the URI resolver and the error listener set for the last message
+            transformer.reset();
+        } catch (UnsupportedOperationException e) {
+            // the transformer can not be reused
+            return;
+        }
+        idleTransformers.offer(transformer);
+    }
+
+    /**
+     * Create a new transformer, which is not reused
+     *
+     * @return a new transformer of the stylesheet
+     * @throws TransformerConfigurationException if the transformer can not be created
+     */
+    public Transformer newTransformer() throws TransformerConfigurationException {
+        return templates.newTransformer();
+    }
+
+    public Properties getOutputProperties() {
+        return templates.getOutputProperties();
+    }
+
+    /**
+     * @return the compiled stylesheet
+     */
+    public Templates getTemplates() {
+        return templates;
+    }
+
+    /**
+     * @return number of idle transformers kept for reuse
+     */
+    public int getIdleCount() {
+        return idleTransformers != null ? idleTransformers.size() : 0;
+    }
+}
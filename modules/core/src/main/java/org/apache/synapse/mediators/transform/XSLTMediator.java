@@ -23,14 +23,17 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axis2.AxisFault;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.ManagedLifecycle;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseException;
 import org.apache.synapse.SynapseLog;
 import org.apache.synapse.commons.json.JsonUtil;
 import org.apache.synapse.config.Entry;
 import org.apache.synapse.config.SynapseConfigUtils;
+import org.apache.synapse.config.SynapseConfiguration;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.mediators.AbstractMediator;
@@ -57,12 +60,11 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The XSLT mediator performs an XSLT transformation requested, using
@@ -77,11 +79,16 @@ import java.util.Map;
  * the transformation process. By default this is turned on as an optimization, but
  * should be set to false if issues are detected</p>
  *
+ * <p>The source is serialized to a temporary buffer before the transformation by default. Setting the
+ * "http://ws.apache.org/ns/synapse/transform/attribute/sbf" attribute to
+ * {@link org.apache.synapse.util.jaxp.StAXSourceBuilderFactory} streams it to the transformer instead, if
+ * the Transformer Factory accepts StAX sources.</p>
+ *
  * <p> Note: Set the TransformerFactory system property to generate and use translets
  *  -Djavax.xml.transform.TransformerFactory=org.apache.xalan.xsltc.trax.TransformerFactoryImpl
  * 
  */
-public class XSLTMediator extends AbstractMediator {
+public class XSLTMediator extends AbstractMediator implements ManagedLifecycle {
 
     private static class ErrorListenerImpl implements ErrorListener {
         private final SynapseLog synLog;
@@ -195,11 +202,10 @@ public class XSLTMediator extends AbstractMediator {
     private ResourceMap resourceMap;
 
     /**
-     * Cache multiple templates
-     * Unique string used as a key for each template
+     * Cache of the compiled templates, shared with the other XSLT mediators of the configuration.
      * The Template instance used to create a Transformer object. This is  thread-safe
      */
-    private Map<String, Templates> cachedTemplatesMap = new Hashtable<String, Templates>();
+    private volatile XSLTTemplateCache templateCache;
 
     /**
      * The TransformerFactory instance which use to create Templates. This is not thread-safe.
@@ -292,29 +298,30 @@ public class XSLTMediator extends AbstractMediator {
         }
 
         // determine if it is needed to create or create the template
-        if (isCreationOrRecreationRequired(synCtx)) {
+        if (useCache) {
+            cachedTemplates = getCachedTemplate(synCtx, generatedXsltKey);
+        }
+        if (cachedTemplates == null) {
             // many threads can see this and come here for acquiring the lock
             synchronized (transformerLock) {
                 // only first thread should create the template
-                if (isCreationOrRecreationRequired(synCtx)) {
+                if (useCache) {
+                    cachedTemplates = getCachedTemplate(synCtx, generatedXsltKey);
+                }
+                if (cachedTemplates == null) {
                     cachedTemplates = createTemplate(synCtx, synLog, generatedXsltKey);
-                } else {
-                    cachedTemplates = cachedTemplatesMap.get(generatedXsltKey);
                 }
             }
         }
-        else{
-            //If already cached template then load it from cachedTemplatesMap
-            synchronized (transformerLock){
-                cachedTemplates = cachedTemplatesMap.get(generatedXsltKey);
-            }
-        }
 
         try {
-            // perform transformation
+            // perform transformation, reusing the transformers of the cached templates
+            TransformerPool transformerPool = cachedTemplates instanceof TransformerPool ?
+                    (TransformerPool) cachedTemplates : null;
             Transformer transformer = null;
             try {
-                transformer = cachedTemplates.newTransformer();
+                transformer = transformerPool != null ?
+                        transformerPool.borrowTransformer() : cachedTemplates.newTransformer();
             } catch (NullPointerException ex) {
                 handleException("Unable to create Transformer using cached template", ex, synCtx);
             }
@@ -359,6 +366,10 @@ public class XSLTMediator extends AbstractMediator {
             } finally {
                 sourceBuilder.release();
             }
+            if (transformerPool != null) {
+                // the result is held by the result builder, the transformer can be used for the next message
+                transformerPool.returnTransformer(transformer);
+            }
 
             synLog.traceOrDebug("Transformation completed - processing result");
 
@@ -459,60 +470,120 @@ public class XSLTMediator extends AbstractMediator {
     private Templates createTemplate(MessageContext synCtx, SynapseLog synLog, String generatedXsltKey) {
         // Assign created template
         Templates cachedTemplates = null;
+        try {
+            cachedTemplates = compileTemplate(synCtx.getConfiguration(), synCtx, synLog, generatedXsltKey);
+        } catch (Exception e) {
+            handleException("Error creating XSLT transformer using : " + xsltKey, e, synCtx);
+        }
+        return cachedTemplates;
+    }
 
+    /**
+     * Compile the XSLT with the given key and cache it if the cache is used. Must be called holding the
+     * transformerLock, since the TransformerFactory is not thread-safe.
+     *
+     * @param synCfg           the configuration to load the XSLT from
+     * @param synCtx           current message, null when the XSLT is compiled at initialization
+     * @param synLog           logger to use, null when the XSLT is compiled at initialization
+     * @param generatedXsltKey evaluated xslt key(real key value) for dynamic or static key
+     * @return compiled template
+     * @throws Exception if the XSLT can not be loaded or compiled
+     */
+    private Templates compileTemplate(SynapseConfiguration synCfg, MessageContext synCtx, SynapseLog synLog,
+                                      String generatedXsltKey) throws Exception {
         // Set an error listener (SYNAPSE-307).
         transFact.setErrorListener(new ErrorListenerImpl(synLog, STYLESHEET_PARSING_ACTIVITY));
         // Allow xsl:import and xsl:include resolution
-        CustomJAXPURIResolver customJAXPURIResolver = new CustomJAXPURIResolver(resourceMap, synCtx.getConfiguration());
+        CustomJAXPURIResolver customJAXPURIResolver = new CustomJAXPURIResolver(resourceMap, synCfg);
         transFact.setURIResolver(customJAXPURIResolver);
         if (resourceMap != null) customJAXPURIResolver.setMessageContext(synCtx);
         try {
-            cachedTemplates = transFact.newTemplates(
-                    SynapseConfigUtils.getStreamSource(synCtx.getEntry(generatedXsltKey)));
-            if (cachedTemplates == null) {
+            Object xslt = synCtx != null ? synCtx.getEntry(generatedXsltKey) : synCfg.getEntry(generatedXsltKey);
+            StreamSource xsltSource = SynapseConfigUtils.getStreamSource(xslt);
+            // count the size of the source to weigh the template in the cache
+            CountingInputStream xsltStream = null;
+            if (xsltSource.getInputStream() != null) {
+                xsltStream = new CountingInputStream(xsltSource.getInputStream());
+                xsltSource.setInputStream(xsltStream);
+            }
+            Templates templates = transFact.newTemplates(xsltSource);
+            if (templates == null) {
                 // if cached template creation failed
-                handleException("Error compiling the XSLT with key : " + xsltKey, synCtx);
-            } else {
-                if (useCache) {
-                    // if cached template is created then put it in to cachedTemplatesMap
-                    cachedTemplatesMap.put(generatedXsltKey, cachedTemplates);
-                }
+                throw new SynapseException("Error compiling the XSLT with key : " + xsltKey);
             }
-        } catch (Exception e) {
-            handleException("Error creating XSLT transformer using : " + xsltKey, e, synCtx);
+            if (useCache) {
+                // if cached template is created then put it in to the template cache
+                templates = new TransformerPool(templates, SynapseConfigUtils.getXsltTransformerPoolSize());
+                templateCache = synCfg.getXsltTemplateCache();
+                templateCache.put(this, generatedXsltKey, templates,
+                        xsltStream != null ? xsltStream.getByteCount() : 0);
+            }
+            return templates;
+        } finally {
+            // Release the message context variable
+            customJAXPURIResolver.setMessageContext(null);
         }
-        // Release the message context variable
-        customJAXPURIResolver.setMessageContext(null);
-        return cachedTemplates;
     }
 
     /**
-     * Utility method to determine weather it is needed to create a XSLT template
+     * Get the cached template of the given key, if it is cached and its XSLT has not expired. The template
+     * of an expired dynamic XSLT is removed from the cache so that it is compiled again.
      *
-     * @param synCtx current message
-     * @return true if it is needed to create a new XSLT template
+     * @param synCtx           current message
+     * @param generatedXsltKey evaluated xslt key(real key value) for dynamic or static key
+     * @return the cached template, null if it needs to be compiled
      */
-    private boolean isCreationOrRecreationRequired(MessageContext synCtx) {
-        if (!useCache){
-            return true;
-        } else {
-            // Derive actual key from message context
-            String generatedXsltKey = xsltKey.evaluateValue(synCtx);
-
-            // if there are no cachedTemplates inside cachedTemplatesMap or
-            // if the template related to this generated key is not cached
-            // then it need to be cached
-            if (cachedTemplatesMap.isEmpty() || !cachedTemplatesMap.containsKey(generatedXsltKey)) {
-                // this is a creation case
-                return true;
-            } else {
-                // build transformer - if necessary
-                Entry dp = synCtx.getConfiguration().getEntryDefinition(generatedXsltKey);
-                // if the xsltKey refers to a dynamic resource, and if it has been expired
-                // it is a recreation case
-                return dp != null && dp.isDynamic() && (!dp.isCached() || dp.isExpired());
+    private Templates getCachedTemplate(MessageContext synCtx, String generatedXsltKey) {
+        XSLTTemplateCache cache = synCtx.getConfiguration().getXsltTemplateCache();
+        Templates templates = cache.get(this, generatedXsltKey);
+        if (templates != null) {
+            Entry dp = synCtx.getConfiguration().getEntryDefinition(generatedXsltKey);
+            // if the xsltKey refers to a dynamic resource, and if it has been expired
+            // it is a recreation case
+            if (dp != null && dp.isDynamic() && (!dp.isCached() || dp.isExpired())) {
+                cache.invalidate(this, generatedXsltKey);
+                return null;
             }
         }
+        return templates;
+    }
+
+    /**
+     * Compile the XSLT of a static key ahead of the first message, so that the first message does not pay
+     * for it. A failure is not fatal, the XSLT is compiled again with the first message.
+     *
+     * @param se the Synapse environment
+     */
+    public void init(SynapseEnvironment se) {
+        if (!useCache || xsltKey == null || xsltKey.getKeyValue() == null) {
+            return;
+        }
+        SynapseConfiguration synCfg = se.getSynapseConfiguration();
+        String key = xsltKey.getKeyValue();
+        synchronized (transformerLock) {
+            if (synCfg.getXsltTemplateCache().get(this, key) != null) {
+                return;
+            }
+            try {
+                compileTemplate(synCfg, null, null, key);
+                if (log.isDebugEnabled()) {
+                    log.debug("Compiled the XSLT with key : " + key + " at initialization");
+                }
+            } catch (Exception e) {
+                log.warn("Unable to compile the XSLT with key : " + key + " at initialization, it will be " +
+                        "compiled with the first message", e);
+            }
+        }
+    }
+
+    /**
+     * Remove the templates compiled by this mediator from the shared cache.
+     */
+    public void destroy() {
+        XSLTTemplateCache cache = templateCache;
+        if (cache != null) {
+            cache.invalidateAll(this);
+        }
     }
 
     public SynapseXPath getSource() {
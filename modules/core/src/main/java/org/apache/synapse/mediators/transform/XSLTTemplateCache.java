@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.mediators.transform;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.xml.transform.Templates;
+
+/**
+ * A bounded cache of compiled XSLT stylesheets, shared by the XSLT mediators of a Synapse configuration. The
+ * entries are keyed by the mediator which compiled them and the key of the stylesheet, since the compilation
+ * depends on the transformer factory settings and the resource map of the mediator. The least recently used
+ * entries are evicted once the number of entries or their total size, the size of the sources of the
+ * stylesheets, goes over its limit. Lookups do not take a lock, they only stamp the entry with its last use;
+ * changes to the cache are serialized.
+ */
+public class XSLTTemplateCache {
+
+    private final int maxEntries;
+
+    private final long maxSize;
+
+    /** Cached entries, changed only while holding this */
+    private final ConcurrentHashMap<CacheKey, CachedTemplates> entries =
+            new ConcurrentHashMap<CacheKey, CachedTemplates>();
+
+    /** Orders the uses of the entries, to find the least recently used one */
+    private final AtomicLong useClock = new AtomicLong();
+
+    private long totalSize = 0;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private long evictionCount = 0;
+
+    private long invalidationCount = 0;
+
+    /**
+     * @param maxEntries maximum number of cached stylesheets
+     * @param maxSize    maximum total size of the sources of the cached stylesheets, in bytes
+     */
+    public XSLTTemplateCache(int maxEntries, long maxSize) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of entries must be positive : " + maxEntries);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive : " + maxSize);
+        }
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get a compiled stylesheet
+     *
+     * @param owner the mediator which compiled the stylesheet
+     * @param key   key of the stylesheet
+     * @return the compiled stylesheet, null if it is not cached
+     */
+    public Templates get(Object owner, String key) {
+        CachedTemplates cached = entries.get(new CacheKey(owner, key));
+        if (cached == null) {
+            missCount.increment();
+            return null;
+        }
+        cached.lastUse = useClock.incrementAndGet();
+        hitCount.increment();
+        return cached.templates;
+    }
+
+    /**
+     * Cache a compiled stylesheet, replacing the one cached for the same key and evicting the least recently
+     * used stylesheets as needed. The stylesheet is cached even if it is larger than the maximum size on its
+     * own, so that it is not compiled for every message.
+     *
+     * @param owner     the mediator which compiled the stylesheet
+     * @param key       key of the stylesheet
+     * @param templates the compiled stylesheet
+     * @param size      size of the source of the stylesheet, in bytes
+     */
+    public synchronized void put(Object owner, String key, Templates templates, long size) {
+        CachedTemplates cached = new CachedTemplates(templates, size, useClock.incrementAndGet());
+        CachedTemplates previous = entries.put(new CacheKey(owner, key), cached);
+        if (previous != null) {
+            totalSize -= previous.size;
+        }
+        totalSize += cached.size;
+        while (entries.size() > 1 && (entries.size() > maxEntries || totalSize > maxSize)) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<CacheKey, CachedTemplates> eldest = null;
+        for (Map.Entry<CacheKey, CachedTemplates> entry : entries.entrySet()) {
+            if (eldest == null || entry.getValue().lastUse < eldest.getValue().lastUse) {
+                eldest = entry;
+            }
+        }
+        if (eldest != null && entries.remove(eldest.getKey(), eldest.getValue())) {
+            totalSize -= eldest.getValue().size;
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Remove a compiled stylesheet, when its source has changed
+     *
+     * @param owner the mediator which compiled the stylesheet
+     * @param key   key of the stylesheet
+     * @return true if the stylesheet was cached
+     */
+    public synchronized boolean invalidate(Object owner, String key) {
+        CachedTemplates removed = entries.remove(new CacheKey(owner, key));
+        if (removed == null) {
+            return false;
+        }
+        totalSize -= removed.size;
+        invalidationCount++;
+        return true;
+    }
+
+    /**
+     * Remove all the stylesheets compiled by a mediator, when the mediator is destroyed
+     *
+     * @param owner the mediator
+     */
+    public synchronized void invalidateAll(Object owner) {
+        Iterator<Map.Entry<CacheKey, CachedTemplates>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<CacheKey, CachedTemplates> entry = it.next();
+            if (entry.getKey().owner == owner) {
+                totalSize -= entry.getValue().size;
+                it.remove();
+                invalidationCount++;
+            }
+        }
+    }
+
+    /**
+     * @return number of cached stylesheets
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total size of the sources of the cached stylesheets, in bytes
+     */
+    public synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    private static final class CachedTemplates {
+
+        private final Templates templates;
+
+        private final long size;
+
+        private volatile long lastUse;
+
+        private CachedTemplates(Templates templates, long size, long lastUse) {
+            this.templates = templates;
+            this.size = Math.max(size, 0);
+            this.lastUse = lastUse;
+        }
+    }
+
+    /**
+     * Key of a cached stylesheet, the mediator is compared by identity.
+     */
+    private static final class CacheKey {
+
+        private final Object owner;
+
+        private final String key;
+
+        private CacheKey(Object owner, String key) {
+            this.owner = owner;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return owner == other.owner && (key == null ? other.key == null : key.equals(other.key));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(owner) + (key == null ? 0 : key.hashCode());
+        }
+    }
+}
@@ -21,9 +21,9 @@ package org.apache.synapse.mediators.transform.pfutils;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import freemarker.cache.FileTemplateLoader;
 import freemarker.core.StopException;
@@ -280,9 +280,12 @@ public class FreeMarkerTemplateProcessor extends TemplateProcessor {
     private void injectJsonPayload(Axis2MessageContext messageContext, Map<String, Object> data) {
 
         org.apache.axis2.context.MessageContext axis2MessageContext = messageContext.getAxis2MessageContext();
-        String jsonPayloadString = JsonUtil.jsonPayloadToString(axis2MessageContext);
         try {
-            JsonElement jsonElement = new JsonParser().parse(jsonPayloadString);
+            // the parsed payload is shared by the readers of the message, it is only read here
+            JsonElement jsonElement = JsonUtil.getJsonPayloadTree(axis2MessageContext);
+            if (jsonElement == null) {
+                jsonElement = new JsonObject();
+            }
             if(jsonElement.isJsonObject()){
                 injectJsonObject(data, jsonElement);
             }else if(jsonElement.isJsonArray()){
@@ -292,7 +295,7 @@ public class FreeMarkerTemplateProcessor extends TemplateProcessor {
             } else if (jsonElement.isJsonNull()) {
                 data.put(PAYLOAD_INJECTING_NAME, "null");
             }
-        } catch (JsonSyntaxException e) {
+        } catch (JsonParseException e) {
             handleException("Invalid JSON payload");
         }
        
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.mediators.v2;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of Scatter Gather branches in flight. A branch takes a permit when it is dispatched and
+ * keeps it until its message reaches the aggregation, or until the aggregation completes or times out without
+ * it. Branches which find no free permit wait in a queue and are dispatched by the thread releasing a permit,
+ * so that neither the mediating thread nor a worker thread is blocked while waiting.
+ */
+class BranchLimiter {
+
+    private static final Log log = LogFactory.getLog(BranchLimiter.class);
+
+    private final int maxBranches;
+
+    private final Semaphore permits;
+
+    private final Queue<Branch> pending = new ConcurrentLinkedQueue<Branch>();
+
+    /**
+     * @param maxBranches maximum number of branches in flight
+     */
+    BranchLimiter(int maxBranches) {
+        this.maxBranches = maxBranches;
+        permits = new Semaphore(maxBranches);
+    }
+
+    /**
+     * Create the branches of one scatter, before any of them is dispatched.
+     *
+     * @param count number of branches
+     * @return the branches, not dispatched yet
+     */
+    Branch[] newBranches(int count) {
+        Branch[] branches = new Branch[count];
+        for (int i = 0; i < count; i++) {
+            branches[i] = new Branch();
+        }
+        return branches;
+    }
+
+    /**
+     * Dispatch the given branch now if a permit is free, otherwise once a permit is released.
+     *
+     * @param branch   branch to dispatch
+     * @param dispatch mediates the message of the branch
+     */
+    void dispatch(Branch branch, Runnable dispatch) {
+        branch.dispatch = dispatch;
+        pending.offer(branch);
+        drain();
+    }
+
+    /**
+     * Release the permit of the given branch. Releasing a branch more than once, or before it was dispatched,
+     * does not free another permit; a queued branch released this way is dropped from the queue.
+     *
+     * @param branch branch which completed, or whose aggregation completed or timed out
+     */
+    void release(Branch branch) {
+        if (branch.state.compareAndSet(Branch.RUNNING, Branch.DONE)) {
+            permits.release();
+            drain();
+        } else {
+            branch.state.compareAndSet(Branch.QUEUED, Branch.DONE);
+        }
+    }
+
+    /**
+     * @return number of branches holding a permit
+     */
+    int getInFlightCount() {
+        return maxBranches - permits.availablePermits();
+    }
+
+    /**
+     * @return number of branches waiting for a permit
+     */
+    int getQueuedCount() {
+        int queued = 0;
+        for (Branch branch : pending) {
+            if (branch.state.get() == Branch.QUEUED) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Branch branch = pending.poll();
+            while (branch != null && !branch.state.compareAndSet(Branch.QUEUED, Branch.RUNNING)) {
+                branch = pending.poll();
+            }
+            if (branch == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                branch.dispatch.run();
+            } catch (RuntimeException e) {
+                log.error("Error dispatching a Scatter Gather branch", e);
+                release(branch);
+            }
+        }
+    }
+
+    /**
+     * A branch of a scatter, queued until it is dispatched and holding a permit until it is released.
+     */
+    static final class Branch {
+
+        private static final int QUEUED = 0;
+
+        private static final int RUNNING = 1;
+
+        private static final int DONE = 2;
+
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private volatile Runnable dispatch;
+
+        private Branch() {
+        }
+    }
+}
@@ -55,6 +55,7 @@ import org.apache.synapse.continuation.ReliantContinuationState;
 import org.apache.synapse.continuation.SeqContinuationState;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.SharedPayload;
 import org.apache.synapse.mediators.AbstractMediator;
 import org.apache.synapse.mediators.FlowContinuableMediator;
 import org.apache.synapse.mediators.Value;
@@ -76,7 +77,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
-import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 
@@ -87,6 +88,8 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
 
     public static final String JSON_TYPE = "JSON";
     public static final String XML_TYPE = "XML";
+    private static final String BRANCH_START_TIME = "SCATTER_GATHER_BRANCH_START_TIME";
+    private static final String BRANCH = "SCATTER_GATHER_BRANCH";
     private final Object lock = new Object();
     private final Map<String, Aggregate> activeAggregates = Collections.synchronizedMap(new HashMap<>());
     private String id;
@@ -97,6 +100,10 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
     private SynapsePath correlateExpression = null;
     private SynapsePath aggregationExpression = null;
     private boolean parallelExecution = true;
+    private int maxConcurrency = -1;
+    private BranchLimiter branchLimiter;
+    private final Map<String, BranchLimiter.Branch[]> activeBranches = new ConcurrentHashMap<>();
+    private ScatterGatherMetrics metrics;
     private Integer statisticReportingIndex;
     private String contentType;
     private String rootElementName;
@@ -138,32 +145,55 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
             }
         }
 
+        // The cloned messages share the payload until they access it. The branches of a parallel execution are
+        // not mediated on this thread, so the envelope is handed over instead of being copied
+        SharedPayload payload = null;
         MessageContext orginalMessageContext = null;
-        if (!isTargetBody()) {
-            try {
+        try {
+            payload = SharedPayload.of(synCtx, parallelExecution);
+            if (!isTargetBody()) {
                 // Clone the original MessageContext and save it to continue the flow using it when the scatter gather
                 // output is set to a variable
-                orginalMessageContext = MessageHelper.cloneMessageContext(synCtx);
-            } catch (AxisFault e) {
-                handleException("Error cloning the message context", e, synCtx);
+                orginalMessageContext = MessageHelper.cloneMessageContext(synCtx, false, false);
+                ((Axis2MessageContext) orginalMessageContext).setSharedPayload(payload);
             }
+        } catch (AxisFault e) {
+            handleException("Error cloning the message context", e, synCtx);
         }
 
         synCtx.setProperty(EIPConstants.EIP_SHARED_DATA_HOLDER + "." + id, new SharedDataHolder(orginalMessageContext));
-        Iterator<Target> iter = targets.iterator();
-        int i = 0;
-        while (iter.hasNext()) {
-            if (synLog.isTraceOrDebugEnabled()) {
-                synLog.traceOrDebug("Submitting " + (i + 1) + " of " + targets.size() +
-                        " messages for " + (parallelExecution ? "parallel processing" : "sequential processing"));
-            }
+        BranchLimiter limiter = parallelExecution ? branchLimiter : null;
+        BranchLimiter.Branch[] branches = null;
+        if (limiter != null) {
+            branches = limiter.newBranches(targets.size());
+            activeBranches.put(synCtx.getMessageID(), branches);
+        }
+        try {
+            Iterator<Target> iter = targets.iterator();
+            int i = 0;
+            while (iter.hasNext()) {
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Submitting " + (i + 1) + " of " + targets.size() +
+                            " messages for " + (parallelExecution ? "parallel processing" : "sequential processing"));
+                }
 
-            MessageContext clonedMsgCtx = getClonedMessageContext(synCtx, i++, targets.size());
-            ContinuationStackManager.addReliantContinuationState(clonedMsgCtx, i - 1, getMediatorPosition());
-            boolean result = iter.next().mediate(clonedMsgCtx);
-            if (!parallelExecution && result) {
-                aggregationResult = aggregateMessages(clonedMsgCtx, synLog);
+                MessageContext clonedMsgCtx = getClonedMessageContext(synCtx, payload, i++, targets.size());
+                ContinuationStackManager.addReliantContinuationState(clonedMsgCtx, i - 1, getMediatorPosition());
+                if (metrics != null) {
+                    metrics.dispatched(i - 1);
+                }
+                if (limiter != null) {
+                    dispatch(limiter, branches[i - 1], iter.next(), clonedMsgCtx);
+                    continue;
+                }
+                boolean result = iter.next().mediate(clonedMsgCtx);
+                if (!parallelExecution && result) {
+                    aggregationResult = aggregateMessages(clonedMsgCtx, synLog);
+                }
             }
+        } finally {
+            // the clones can only get the shared payload once the parent lets it go, even if a target failed
+            payload.release();
         }
         OperationContext opCtx
                 = ((Axis2MessageContext) synCtx).getAxis2MessageContext().getOperationContext();
@@ -177,6 +207,10 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
     public void init(SynapseEnvironment synapseEnv) {
 
         this.synapseEnv = synapseEnv;
+        metrics = new ScatterGatherMetrics(targets.size());
+        if (parallelExecution && maxConcurrency > 0) {
+            branchLimiter = new BranchLimiter(maxConcurrency);
+        }
         for (Target target : targets) {
             ManagedLifecycle seq = target.getSequence();
             if (seq != null) {
@@ -195,23 +229,47 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
                 seq.destroy();
             }
         }
+        branchLimiter = null;
+        activeBranches.clear();
         // Unregistering the mediator for continuation
         synapseEnv.updateCallMediatorCount(false);
     }
 
+    /**
+     * Mediate the given branch through its target once the branch limiter has a permit for it. The target injects
+     * the message into the Synapse environment, which mediates it asynchronously.
+     *
+     * @param limiter      limiter of the branches of this mediator
+     * @param branch       the branch to dispatch
+     * @param target       target of the branch
+     * @param clonedMsgCtx message of the branch
+     */
+    private void dispatch(BranchLimiter limiter, BranchLimiter.Branch branch, final Target target,
+                          final MessageContext clonedMsgCtx) {
+
+        clonedMsgCtx.setProperty(BRANCH + "." + id, branch);
+        limiter.dispatch(branch, new Runnable() {
+            public void run() {
+                target.mediate(clonedMsgCtx);
+            }
+        });
+    }
+
     /**
      * Clone the provided message context as a new message, and set the aggregation ID and the message sequence count
      *
      * @param synCtx          - MessageContext which is subjected to the cloning
+     * @param payload         - payload of the MessageContext shared with the cloned copies
      * @param messageSequence - the position of this message of the cloned set
      * @param messageCount    - total of cloned copies
      * @return MessageContext the cloned message context
      */
-    private MessageContext getClonedMessageContext(MessageContext synCtx, int messageSequence, int messageCount) {
+    private MessageContext getClonedMessageContext(MessageContext synCtx, SharedPayload payload,
+                                                   int messageSequence, int messageCount) {
 
         MessageContext newCtx = null;
         try {
-            newCtx = MessageHelper.cloneMessageContext(synCtx);
+            newCtx = MessageHelper.cloneMessageContext(synCtx, false, false);
             // Set isServerSide property in the cloned message context
             ((Axis2MessageContext) newCtx).getAxis2MessageContext().setServerSide(
                     ((Axis2MessageContext) synCtx).getAxis2MessageContext().isServerSide());
@@ -221,6 +279,8 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
             newCtx.setProperty(EIPConstants.AGGREGATE_CORRELATION + "." + id, synCtx.getMessageID());
             newCtx.setProperty(EIPConstants.MESSAGE_SEQUENCE + "." + id, messageSequence +
                     EIPConstants.MESSAGE_SEQUENCE_DELEMITER + messageCount);
+            newCtx.setProperty(BRANCH_START_TIME + "." + id, System.nanoTime());
+            ((Axis2MessageContext) newCtx).setSharedPayload(payload);
         } catch (AxisFault axisFault) {
             handleException("Error cloning the message context", axisFault, synCtx);
         }
@@ -316,6 +376,8 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         Object correlationID = synCtx.getProperty(correlationIdName);
         String correlation = (String) correlationID;
         synLog.traceOrDebug("Aggregating messages started for correlation : " + correlation);
+        recordBranchCompletion(synCtx);
+        releaseBranch(synCtx);
 
         boolean isAggregationConditionMet = false;
         // When the target sequences are not content aware, the message builder wont get triggered.
@@ -371,15 +433,8 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
                         if (completionTimeoutMillis > 0) {
                             synchronized (aggregate) {
                                 if (!aggregate.isCompleted()) {
-                                    try {
-                                        synCtx.getConfiguration().getSynapseTimer().
-                                                schedule(aggregate, completionTimeoutMillis);
-                                    } catch (IllegalStateException e) {
-                                        log.warn("Synapse timer already cancelled. Resetting Synapse timer");
-                                        synCtx.getConfiguration().setSynapseTimer(new Timer(true));
-                                        synCtx.getConfiguration().getSynapseTimer().
-                                                schedule(aggregate, completionTimeoutMillis);
-                                    }
+                                    aggregate.scheduleTimeout(synCtx.getConfiguration().getTimingWheel(),
+                                            completionTimeoutMillis);
                                 }
                             }
                         }
@@ -458,6 +513,8 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         if (!markedCompletedNow) {
             return false;
         }
+        // the branches which did not reach the aggregation give up their permits when it completes or times out
+        releaseBranches(aggregate.getCorrelation());
 
         if (isTargetBody()) {
             MessageContext newSynCtx = getAggregatedMessage(aggregate);
@@ -700,6 +757,32 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         this.correlateExpression = correlateExpression;
     }
 
+    public int getMaxConcurrency() {
+
+        return maxConcurrency;
+    }
+
+    /**
+     * Set the number of branches in flight when the branches are executed in parallel. A branch is in flight from
+     * its dispatch until its message reaches the aggregation, or the aggregation completes or times out without
+     * it; the other branches wait until one of them is done. Branches which never reach the aggregation are only
+     * given up when the aggregation times out, so a completion timeout should be set along with this limit.
+     *
+     * @param maxConcurrency maximum number of branches in flight, not bounded if not positive
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @return the per branch metrics of this mediator, null if the mediator is not initialized
+     */
+    public ScatterGatherMetrics getMetrics() {
+
+        return metrics;
+    }
+
     public long getCompletionTimeoutMillis() {
 
         return completionTimeoutMillis;
@@ -783,6 +866,7 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
 
         aggregate.clear();
         activeAggregates.remove(aggregate.getCorrelation());
+        releaseBranches(aggregate.getCorrelation());
         if (exception != null) {
             super.handleException(msg, exception, msgContext);
         } else {
@@ -820,6 +904,64 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         this.rootElementName = rootElementName;
     }
 
+    /**
+     * Record the time the branch of the given message took to reach the aggregation.
+     *
+     * @param synCtx message of the branch
+     */
+    private void recordBranchCompletion(MessageContext synCtx) {
+
+        Object startTime = synCtx.getProperty(BRANCH_START_TIME + "." + id);
+        synCtx.getPropertyKeySet().remove(BRANCH_START_TIME + "." + id);
+        Object sequence = synCtx.getProperty(EIPConstants.MESSAGE_SEQUENCE + "." + id);
+        if (metrics == null || !(startTime instanceof Long) || sequence == null) {
+            return;
+        }
+        String sequenceValue = sequence.toString();
+        int delimiter = sequenceValue.indexOf(EIPConstants.MESSAGE_SEQUENCE_DELEMITER);
+        try {
+            int branch = Integer.parseInt(delimiter < 0 ? sequenceValue : sequenceValue.substring(0, delimiter));
+            metrics.completed(branch, System.nanoTime() - (Long) startTime);
+        } catch (NumberFormatException e) {
+            // not a message of a branch of this mediator
+        }
+    }
+
+    /**
+     * Release the permit held by the branch of the given message, if the branches of this mediator are bounded.
+     *
+     * @param synCtx message of the branch
+     */
+    private void releaseBranch(MessageContext synCtx) {
+
+        Object branch = synCtx.getProperty(BRANCH + "." + id);
+        if (branch == null) {
+            return;
+        }
+        synCtx.getPropertyKeySet().remove(BRANCH + "." + id);
+        BranchLimiter limiter = branchLimiter;
+        if (limiter != null) {
+            limiter.release((BranchLimiter.Branch) branch);
+        }
+    }
+
+    /**
+     * Release the permits still held by the branches of the given aggregation.
+     *
+     * @param correlation correlation of the aggregation
+     */
+    private void releaseBranches(String correlation) {
+
+        BranchLimiter.Branch[] branches = correlation == null ? null : activeBranches.remove(correlation);
+        BranchLimiter limiter = branchLimiter;
+        if (branches == null || limiter == null) {
+            return;
+        }
+        for (BranchLimiter.Branch branch : branches) {
+            limiter.release(branch);
+        }
+    }
+
     private boolean isTargetBody() {
 
         return "body".equalsIgnoreCase(resultTarget);
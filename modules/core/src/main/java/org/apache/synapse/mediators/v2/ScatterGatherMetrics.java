@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.mediators.v2;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the branches dispatched by a Scatter Gather mediator and the time each branch took, from its
+ * dispatch until its message reached the aggregation. The counters are kept per branch, in the order of the
+ * targets of the mediator.
+ */
+public class ScatterGatherMetrics {
+
+    private final AtomicLongArray dispatchedCount;
+
+    private final AtomicLongArray completedCount;
+
+    private final AtomicLongArray totalLatencyNanos;
+
+    private final AtomicLongArray maxLatencyNanos;
+
+    /**
+     * @param branchCount number of branches of the mediator
+     */
+    public ScatterGatherMetrics(int branchCount) {
+        dispatchedCount = new AtomicLongArray(branchCount);
+        completedCount = new AtomicLongArray(branchCount);
+        totalLatencyNanos = new AtomicLongArray(branchCount);
+        maxLatencyNanos = new AtomicLongArray(branchCount);
+    }
+
+    /**
+     * Record the dispatch of a branch
+     *
+     * @param branch index of the branch
+     */
+    public void dispatched(int branch) {
+        if (isValid(branch)) {
+            dispatchedCount.incrementAndGet(branch);
+        }
+    }
+
+    /**
+     * Record the completion of a branch
+     *
+     * @param branch       index of the branch
+     * @param latencyNanos time the branch took, in nanoseconds
+     */
+    public void completed(int branch, long latencyNanos) {
+        if (!isValid(branch)) {
+            return;
+        }
+        long latency = Math.max(latencyNanos, 0);
+        completedCount.incrementAndGet(branch);
+        totalLatencyNanos.addAndGet(branch, latency);
+        long max = maxLatencyNanos.get(branch);
+        while (latency > max && !maxLatencyNanos.compareAndSet(branch, max, latency)) {
+            max = maxLatencyNanos.get(branch);
+        }
+    }
+
+    /**
+     * @return number of branches of the mediator
+     */
+    public int getBranchCount() {
+        return dispatchedCount.length();
+    }
+
+    /**
+     * @param branch index of the branch
+     * @return number of messages which reached the aggregation from the branch
+     */
+    public long getCompletedCount(int branch) {
+        return completedCount.get(branch);
+    }
+
+    /**
+     * @return number of dispatched branches which have not reached the aggregation, including the branches
+     * which ended without reaching it
+     */
+    public long getInFlightCount() {
+        long inFlight = 0;
+        for (int i = 0; i < dispatchedCount.length(); i++) {
+            inFlight += dispatchedCount.get(i) - completedCount.get(i);
+        }
+        return inFlight;
+    }
+
+    /**
+     * @param branch index of the branch
+     * @return average time, in milliseconds, the branch took to reach the aggregation
+     */
+    public double getAverageLatencyMillis(int branch) {
+        long count = completedCount.get(branch);
+        return count == 0 ? 0 : (double) totalLatencyNanos.get(branch) / count / 1000000;
+    }
+
+    /**
+     * @param branch index of the branch
+     * @return longest time, in milliseconds, the branch took to reach the aggregation
+     */
+    public double getMaxLatencyMillis(int branch) {
+        return (double) maxLatencyNanos.get(branch) / 1000000;
+    }
+
+    private boolean isValid(int branch) {
+        return branch >= 0 && branch < dispatchedCount.length();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message;
+
+import org.apache.synapse.MessageContext;
+
+/**
+ * A {@link MessageConsumer} which can hand out several messages before any of them is acknowledged, so that
+ * they can be processed concurrently. Messages are handed out in store order and stay in the store until
+ * they are acknowledged one by one, in any order.
+ */
+public interface PipelinedMessageConsumer extends MessageConsumer {
+
+    /**
+     * Receives the first message of the store which is not handed out already.
+     * @return Synapse message context of the message, or {@code null} if there is none.
+     */
+    MessageContext receiveNext();
+
+    /**
+     * Acknowledges a message handed out by {@link #receiveNext()} so that it will be removed from the store.
+     * @param message message to acknowledge
+     * @return {@code true} if the acknowledgement is successful. {@code false} otherwise.
+     */
+    boolean ack(MessageContext message);
+
+    /**
+     * Gives back a message handed out by {@link #receiveNext()} without removing it from the store, it will
+     * be handed out again.
+     * @param message message to give back
+     */
+    void release(MessageContext message);
+}
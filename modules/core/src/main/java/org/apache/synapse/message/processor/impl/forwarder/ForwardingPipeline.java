@@ -0,0 +1,355 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.processor.impl.forwarder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.PipelinedMessageConsumer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps up to <code>windowSize</code> messages of a forwarding processor in flight. Messages are handed out
+ * by a {@link PipelinedMessageConsumer} and forwarded by lanes, each of which forwards its messages one at a
+ * time with the retry, reply, fault and deactivation handling of a sequential {@link ForwardingService}.
+ * A message is acknowledged as soon as its own delivery completes, and given back to the store if the
+ * processor stops before that.
+ * <p>
+ * If an ordering property is configured, messages with the same value of the property always go to the same
+ * lane and are therefore forwarded in store order, a message waiting for the retries of the one before it.
+ * If a message is given back to the store without being acknowledged, the messages with the same value waiting
+ * behind it in the lane are given back as well, so that they are handed out again after it. Other messages go
+ * to any idle lane.
+ */
+class ForwardingPipeline {
+
+    private static final Log log = LogFactory.getLog(ForwardingPipeline.class);
+
+    /** How long a fill waits for room in a full window */
+    private static final long WINDOW_WAIT_MILLIS = 1000;
+
+    private final ForwardingService owner;
+
+    private final PipelinedMessageConsumer consumer;
+
+    private final String orderingProperty;
+
+    private final String processorName;
+
+    private final Semaphore window;
+
+    private final List<Lane> lanes;
+
+    private ExecutorService executor;
+
+    private volatile boolean terminated;
+
+    ForwardingPipeline(ForwardingService owner, PipelinedMessageConsumer consumer, String processorName,
+                       int windowSize, String orderingProperty) {
+        this.owner = owner;
+        this.consumer = consumer;
+        this.processorName = processorName;
+        this.orderingProperty = orderingProperty;
+        this.window = new Semaphore(windowSize);
+        this.lanes = new ArrayList<Lane>(windowSize);
+        for (int i = 0; i < windowSize; i++) {
+            lanes.add(new Lane());
+        }
+    }
+
+    /**
+     * Hands out messages to the lanes until the window is full or the store has no more messages. If the
+     * window is full to begin with, waits a while for a delivery to complete.
+     *
+     * @return number of messages handed out
+     */
+    int fill() {
+        terminated = false;
+        int count = 0;
+        while (!terminated) {
+            boolean acquired;
+            try {
+                acquired = count == 0 ? window.tryAcquire(WINDOW_WAIT_MILLIS, TimeUnit.MILLISECONDS)
+                        : window.tryAcquire();
+            } catch (InterruptedException e) {
+                log.debug("Current Thread was interrupted while it is waiting for the forwarding window.");
+                break;
+            }
+            if (!acquired) {
+                break;
+            }
+            MessageContext message;
+            try {
+                message = consumer.receiveNext();
+            } catch (RuntimeException e) {
+                window.release();
+                throw e;
+            }
+            if (message == null) {
+                window.release();
+                break;
+            }
+            laneFor(message).submit(message);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return whether no message is in flight
+     */
+    boolean isIdle() {
+        return window.availablePermits() == lanes.size();
+    }
+
+    private Lane laneFor(MessageContext message) {
+        Object key = orderingProperty != null ? message.getProperty(orderingProperty) : null;
+        if (key != null) {
+            return lanes.get((key.hashCode() & Integer.MAX_VALUE) % lanes.size());
+        }
+        // the caller holds a window permit, so at most size - 1 messages are outstanding elsewhere
+        Lane idlest = lanes.get(0);
+        for (Lane lane : lanes) {
+            int outstanding = lane.outstanding.get();
+            if (outstanding == 0) {
+                return lane;
+            }
+            if (outstanding < idlest.outstanding.get()) {
+                idlest = lane;
+            }
+        }
+        return idlest;
+    }
+
+    /**
+     * Stops the retries of the messages in flight, they are given back to the store.
+     */
+    void terminate() {
+        terminated = true;
+        for (Lane lane : lanes) {
+            lane.worker.terminate();
+        }
+    }
+
+    /**
+     * Terminates the pipeline and releases its threads once the messages in flight are given back.
+     */
+    void shutdown() {
+        terminate();
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(lanes.size(), new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ForwardingPipeline-" + processorName + "-"
+                            + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Forwards the messages submitted to it one after the other.
+     */
+    private final class Lane implements Runnable {
+
+        private final LaneConsumer laneConsumer = new LaneConsumer();
+
+        private final ForwardingService worker = owner.newLane(laneConsumer);
+
+        /** Messages waiting for this lane, guarded by the lane */
+        private final Queue<MessageContext> pending = new ArrayDeque<MessageContext>();
+
+        /** Whether a thread is draining this lane, guarded by the lane */
+        private boolean running;
+
+        /** Messages submitted to this lane and not completed yet */
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        void submit(MessageContext message) {
+            outstanding.incrementAndGet();
+            synchronized (this) {
+                pending.add(message);
+                if (running) {
+                    return;
+                }
+                running = true;
+            }
+            try {
+                getExecutor().execute(this);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    running = false;
+                }
+                log.error("Message processor [" + processorName + "] could not schedule forwarding", e);
+                drainPending();
+            }
+        }
+
+        public void run() {
+            while (true) {
+                MessageContext message;
+                synchronized (this) {
+                    message = pending.poll();
+                    if (message == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    deliver(message);
+                } catch (RuntimeException e) {
+                    // the message has been given back along with the ones of its ordering key behind it, keep the
+                    // lane going for the others
+                    log.error("Message processor [" + processorName + "] failed to forward a message", e);
+                }
+            }
+        }
+
+        private void deliver(MessageContext message) {
+            laneConsumer.current = message;
+            laneConsumer.acked = false;
+            try {
+                if (!terminated) {
+                    worker.forward(message);
+                }
+            } finally {
+                if (!laneConsumer.acked) {
+                    releaseFollowing(message);
+                    consumer.release(message);
+                }
+                laneConsumer.current = null;
+                outstanding.decrementAndGet();
+                window.release();
+            }
+        }
+
+        /**
+         * Gives back the pending messages with the same ordering key as a message being given back, so that
+         * they are not forwarded before it.
+         */
+        private void releaseFollowing(MessageContext message) {
+            Object key = orderingProperty != null ? message.getProperty(orderingProperty) : null;
+            if (key == null) {
+                return;
+            }
+            List<MessageContext> following = new ArrayList<MessageContext>();
+            synchronized (this) {
+                Iterator<MessageContext> iterator = pending.iterator();
+                while (iterator.hasNext()) {
+                    MessageContext next = iterator.next();
+                    if (key.equals(next.getProperty(orderingProperty))) {
+                        iterator.remove();
+                        following.add(next);
+                    }
+                }
+            }
+            for (MessageContext next : following) {
+                consumer.release(next);
+                outstanding.decrementAndGet();
+                window.release();
+            }
+        }
+
+        private void drainPending() {
+            while (true) {
+                MessageContext message;
+                synchronized (this) {
+                    message = pending.poll();
+                }
+                if (message == null) {
+                    return;
+                }
+                consumer.release(message);
+                outstanding.decrementAndGet();
+                window.release();
+            }
+        }
+    }
+
+    /**
+     * The consumer of a lane, through which the lane acknowledges the message it is forwarding.
+     */
+    private final class LaneConsumer implements MessageConsumer {
+
+        private volatile MessageContext current;
+
+        private volatile boolean acked;
+
+        public MessageContext receive() {
+            return current;
+        }
+
+        public boolean ack() {
+            MessageContext message = current;
+            if (message == null || acked) {
+                return false;
+            }
+            acked = true;
+            return consumer.ack(message);
+        }
+
+        public boolean cleanup() {
+            // the shared consumer is cleaned up by the processor
+            return true;
+        }
+
+        public boolean isAlive() {
+            return consumer.isAlive();
+        }
+
+        public void setAlive(boolean isAlive) {
+            consumer.setAlive(isAlive);
+        }
+
+        public void setId(int i) {
+        }
+
+        public String getId() {
+            return consumer.getId();
+        }
+
+        public boolean reInitialize() {
+            return consumer.reInitialize();
+        }
+    }
+}
@@ -81,4 +81,16 @@ public final class ForwardingProcessorConstants {
      * Message store to keep un-processable messages of message processor
      */
     public static final String FAIL_MESSAGES_STORE = "message.processor.failMessagesStore";
+
+    /**
+     * Maximum number of messages forwarded concurrently. Defaults to 1, which forwards one message at a
+     * time. Needs a message store whose consumer can hand out several messages at once
+     */
+    public static final String PIPELINE_WINDOW_SIZE = "pipeline.window.size";
+
+    /**
+     * Name of a message property. When forwarding concurrently, messages with the same value of the property
+     * are forwarded in store order; without it messages are forwarded in no particular order
+     */
+    public static final String PIPELINE_ORDERING_PROPERTY = "pipeline.ordering.property";
 }
@@ -52,6 +52,7 @@ import org.apache.synapse.endpoints.Endpoint;
 import org.apache.synapse.endpoints.EndpointDefinition;
 import org.apache.synapse.endpoints.TemplateEndpoint;
 import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.PipelinedMessageConsumer;
 import org.apache.synapse.message.StoreForwardException;
 import org.apache.synapse.message.processor.MessageProcessor;
 import org.apache.synapse.message.processor.MessageProcessorConstants;
@@ -195,6 +196,11 @@ public class ForwardingService implements Task, ManagedLifecycle {
      */
     private final Object storeMessageLock = new Object();
 
+	/**
+	 * Keeps several messages in flight, null unless pipelined forwarding is enabled
+	 */
+	private ForwardingPipeline pipeline;
+
 	public ForwardingService(MessageProcessor messageProcessor, BlockingMsgSender sender,
 							 SynapseEnvironment synapseEnvironment, long threshouldInterval) {
 		this.messageProcessor = messageProcessor;
@@ -248,7 +254,19 @@ public class ForwardingService implements Task, ManagedLifecycle {
 			resetService();
 			MessageContext messageContext = null;
 			try {
-				if (!this.messageProcessor.isDeactivated()) {
+				if (!this.messageProcessor.isDeactivated() && pipeline != null) {
+					isTerminated = messageProcessor.isDeactivated();
+					if (pipeline.fill() == 0) {
+						if (log.isDebugEnabled()) {
+							log.debug("No messages were handed out for message processor ["
+									+ messageProcessor.getName() + "]");
+						}
+						// all the messages are consumed, those in flight complete in the background
+						if (isRunningUnderCronExpression() && pipeline.isIdle()) {
+							break;
+						}
+					}
+				} else if (!this.messageProcessor.isDeactivated()) {
 					messageContext = fetch();
 					if (messageContext != null) {
 
@@ -434,6 +452,21 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		if (StringUtils.isNotBlank(intervalParameter)) {
 			interval = Long.parseLong(intervalParameter);
 		}
+
+		String windowSizeParameter = (String) parametersMap.get(ForwardingProcessorConstants.PIPELINE_WINDOW_SIZE);
+		int windowSize = StringUtils.isNotBlank(windowSizeParameter) ? Integer.parseInt(windowSizeParameter.trim()) : 1;
+		if (windowSize > 1) {
+			if (messageConsumer instanceof PipelinedMessageConsumer) {
+				pipeline = new ForwardingPipeline(this, (PipelinedMessageConsumer) messageConsumer,
+						messageProcessor.getName(), windowSize,
+						(String) parametersMap.get(ForwardingProcessorConstants.PIPELINE_ORDERING_PROPERTY));
+				log.info("Message processor [" + messageProcessor.getName() + "] forwards up to " + windowSize
+						+ " messages concurrently");
+			} else {
+				log.warn("Message store of message processor [" + messageProcessor.getName()
+						+ "] cannot hand out several messages at once, hence forwarding one message at a time");
+			}
+		}
 		/*
 		 * Make sure to set the isInitialized flag to TRUE in order to avoid
 		 * re-initialization.
@@ -593,6 +626,60 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		}
 	}
 
+	/**
+	 * Creates a service forwarding the messages of one lane of a {@link ForwardingPipeline}, configured like
+	 * this one.
+	 *
+	 * @param laneConsumer consumer through which the lane acknowledges its current message
+	 * @return the lane service
+	 */
+	ForwardingService newLane(MessageConsumer laneConsumer) {
+		ForwardingService lane = new ForwardingService(messageProcessor, sender, synapseEnvironment, interval);
+		lane.messageConsumer = laneConsumer;
+		lane.retryInterval = retryInterval;
+		lane.faultSeq = faultSeq;
+		lane.replySeq = replySeq;
+		lane.deactivateSeq = deactivateSeq;
+		lane.targetEndpoint = targetEndpoint;
+		lane.failMessageStore = failMessageStore;
+		lane.cronExpression = cronExpression;
+		lane.nonRetryStatusCodes = nonRetryStatusCodes;
+		lane.maxDeliverAttempts = maxDeliverAttempts;
+		lane.maxConnectionAttemptsToStore = maxConnectionAttemptsToStore;
+		lane.storeConnectionAttemptDelay = storeConnectionAttemptDelay;
+		lane.isThrottling = isThrottling;
+		lane.throttlingInterval = throttlingInterval;
+		lane.isMaxDeliveryAttemptDropEnabled = isMaxDeliveryAttemptDropEnabled;
+		lane.initialized = true;
+		return lane;
+	}
+
+	/**
+	 * Forwards a message handed out by a {@link ForwardingPipeline} to this lane, retrying it until it is
+	 * forwarded, dropped or moved to the fail messages store, or the processor is deactivated.
+	 *
+	 * @param messageContext synapse {@link MessageContext} to be sent
+	 */
+	void forward(MessageContext messageContext) {
+		resetService();
+		isTerminated = messageProcessor.isDeactivated();
+		if (isTerminated) {
+			return;
+		}
+		MessageProcessorUtils.removeStatisticsReportingEventHolder(messageContext);
+		Set proSet = messageContext.getPropertyKeySet();
+		if (proSet != null) {
+			proSet.remove(ForwardingProcessorConstants.BLOCKING_SENDER_ERROR);
+		}
+		try {
+			dispatch(messageContext);
+		} catch (Throwable e) {
+			log.fatal("Deactivating the message processor [" + this.messageProcessor.getName()
+					+ "]", e);
+			deactivateMessageProcessor(messageContext);
+		}
+	}
+
 	/**
 	 * Returns the string of actual URI for the URI template.
 	 *
@@ -945,6 +1032,9 @@ public class ForwardingService implements Task, ManagedLifecycle {
 	public boolean terminate() {
 		try {
 			isTerminated = true;
+			if (pipeline != null) {
+				pipeline.terminate();
+			}
 			// Thread.currentThread().interrupt();
 
 			if (log.isDebugEnabled()) {
@@ -1127,6 +1217,9 @@ public class ForwardingService implements Task, ManagedLifecycle {
 
 	public void destroy() {
 		terminate();
+		if (pipeline != null) {
+			pipeline.shutdown();
+		}
 
 	}
 
@@ -169,6 +169,25 @@ public abstract class AbstractMessageStore implements MessageStore {
         }
     }
 
+    /**
+     * Read a numeric parameter of the message store
+     * @param name of the parameter
+     * @param defaultValue used if the parameter is not set or is not a number
+     * @return the value of the parameter
+     */
+    protected long getLongParameter(String name, long defaultValue) {
+        Object value = parameters != null ? parameters.get(name) : null;
+        if (value != null) {
+            try {
+                return Long.parseLong(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Store [" + getName() + "] invalid value: " + value + " for parameter: " + name
+                        + ", using the default: " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     public int size() {
         return -1;
     }
@@ -22,6 +22,7 @@ package org.apache.synapse.message.store;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.message.store.impl.jdbc.JDBCMessageStore;
+import org.apache.synapse.message.store.impl.memory.InMemoryStore;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -77,17 +78,46 @@ public class MessageStoreView implements MessageStoreViewMBean {
 
     /**
      * The message count in the store will be returned.
-     * The message count of the JDBC store taken from the table. The message count of other stores
-     * taken as the difference between the enqueue and the dequeue, which calculated in memory.
+     * The message count of the JDBC store taken from the table and the in memory store counts its
+     * messages. The message count of other stores taken as the difference between the enqueue and the
+     * dequeue, which calculated in memory.
      *
      * @return message count in the store
      */
     public long getSize() {
-        if (messageStore instanceof JDBCMessageStore) {
+        if (messageStore instanceof JDBCMessageStore || messageStore instanceof InMemoryStore) {
             return messageStore.size();
         } else {
             return ((AbstractMessageStore) messageStore).difference();
         }
     }
 
+    public long getCapacity() {
+        if (messageStore instanceof InMemoryStore) {
+            return ((InMemoryStore) messageStore).getCapacity();
+        }
+        return -1;
+    }
+
+    public long getRejectedCount() {
+        if (messageStore instanceof InMemoryStore) {
+            return ((InMemoryStore) messageStore).getRejectedCount();
+        }
+        return 0;
+    }
+
+    public long getBlockedCount() {
+        if (messageStore instanceof InMemoryStore) {
+            return ((InMemoryStore) messageStore).getBlockedCount();
+        }
+        return 0;
+    }
+
+    public long getSpilledCount() {
+        if (messageStore instanceof InMemoryStore) {
+            return ((InMemoryStore) messageStore).getSpilledCount();
+        }
+        return 0;
+    }
+
 }
@@ -54,4 +54,28 @@ public interface MessageStoreViewMBean {
      * @return the number of Messages stored in the store.
      */
     public long getSize();
+
+    /**
+     *
+     * @return the maximum number of messages the store holds in memory, -1 if it is not bounded
+     */
+    public long getCapacity();
+
+    /**
+     *
+     * @return the number of messages the store rejected because it was full
+     */
+    public long getRejectedCount();
+
+    /**
+     *
+     * @return the number of times a producer waited for room in the store
+     */
+    public long getBlockedCount();
+
+    /**
+     *
+     * @return the number of messages spilled to the disk because the store was full
+     */
+    public long getSpilledCount();
 }
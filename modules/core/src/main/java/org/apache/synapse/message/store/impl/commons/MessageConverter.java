@@ -54,6 +54,9 @@ import org.apache.synapse.rest.RESTConstants;
 import org.apache.synapse.util.UUIDGenerator;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -344,6 +347,51 @@ public final class MessageConverter {
         return message;
     }
 
+    /**
+     * Converts a storable message to the bytes written to the message store.
+     *
+     * @param message storable message
+     * @return message in the {@link StorableMessageCodec} format
+     * @throws IOException if the message can not be encoded
+     */
+    public static byte[] toBytes(StorableMessage message) throws IOException {
+        return StorableMessageCodec.encode(message);
+    }
+
+    /**
+     * Converts a storable message to the bytes written to the message store, in the format selected by the
+     * store. Java serialization is the format earlier versions read, so it stays the default until every node
+     * reading the store understands the {@link StorableMessageCodec} format.
+     *
+     * @param message       storable message
+     * @param compactFormat whether to write the {@link StorableMessageCodec} format instead of Java serialization
+     * @return message in the selected format
+     * @throws IOException if the message can not be encoded
+     */
+    public static byte[] toBytes(StorableMessage message, boolean compactFormat) throws IOException {
+        if (compactFormat) {
+            return toBytes(message);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(outputStream)) {
+            objectOutput.writeObject(message);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Converts the bytes read from a message store back to a storable message. Messages stored with Java
+     * serialization by earlier versions are accepted as well.
+     *
+     * @param bytes message read from the store
+     * @return storable message
+     * @throws IOException            if the bytes are not a valid stored message
+     * @throws ClassNotFoundException if the stored message refers to an unknown class
+     */
+    public static StorableMessage fromBytes(byte[] bytes) throws IOException, ClassNotFoundException {
+        return StorableMessageCodec.decode(bytes);
+    }
+
     /**
      * Check the given property is an excluded message store property
      *
@@ -0,0 +1,681 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.commons;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact binary format of a {@link StorableMessage}, used by the message stores instead of Java
+ * serialization. A message is written as a magic number and a format version followed by the fields of
+ * the message:
+ * <ul>
+ * <li>integers are variable length, strings and byte arrays are length prefixed,</li>
+ * <li>the SOAP envelope and the JSON payload are written as raw bytes,</li>
+ * <li>property keys are interned; a key is written once per message and referred to by its index
+ * afterwards, and a set of keys found in almost every message never has to be written at all,</li>
+ * <li>property values carry a one byte type tag; values of types the format does not know about
+ * are embedded using Java serialization.</li>
+ * </ul>
+ * Messages written with Java serialization by earlier versions are still read, so existing store
+ * contents stay readable after an upgrade.
+ */
+public final class StorableMessageCodec {
+
+    private static final int MAGIC_0 = 'S';
+
+    private static final int MAGIC_1 = 'M';
+
+    /** Current version of the format. Bump it for any change in the layout or in WELL_KNOWN_KEYS. */
+    private static final int VERSION_1 = 1;
+
+    /** First two bytes of a Java serialization stream (ObjectStreamConstants.STREAM_MAGIC). */
+    private static final int JAVA_SERIALIZATION_MAGIC_0 = 0xAC;
+
+    private static final int JAVA_SERIALIZATION_MAGIC_1 = 0xED;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_FALSE = 3;
+    private static final int TAG_INTEGER = 4;
+    private static final int TAG_LONG = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_CHARACTER = 7;
+    private static final int TAG_BYTES = 8;
+    private static final int TAG_MAP = 9;
+    private static final int TAG_SORTED_MAP = 10;
+    private static final int TAG_SERIALIZED = 11;
+
+    private static final int FLAG_MTOM = 1;
+    private static final int FLAG_SWA = 1 << 1;
+    private static final int FLAG_POX = 1 << 2;
+    private static final int FLAG_GET = 1 << 3;
+    private static final int FLAG_RESPONSE = 1 << 4;
+    private static final int FLAG_FAULT_RESPONSE = 1 << 5;
+    private static final int FLAG_HAS_AXIS2_MESSAGE = 1 << 6;
+    private static final int FLAG_HAS_SYNAPSE_MESSAGE = 1 << 7;
+
+    /**
+     * Keys present in nearly every stored message, referred to by their position. The list is part of
+     * the format: entries must never be removed or reordered, and appending entries needs a new version.
+     * Transport header names are stored with '-' escaped by the {@link MessageConverter}.
+     */
+    private static final String[] WELL_KNOWN_KEYS = {
+            "ABSTRACT_MC_PROPERTIES",
+            "TRANSPORT_HEADERS",
+            "INTERNAL_TRANSACTION_COUNTED",
+            "SERVICE_LOGGER_NAME",
+            "messageType",
+            "ContentType",
+            "CHARACTER_SET_ENCODING",
+            "HTTP_METHOD",
+            "REST_URL_POSTFIX",
+            "TRANSPORT_IN_NAME",
+            "SERVICE_PREFIX",
+            "HTTP_SC",
+            "OUT_ONLY",
+            "FORCE_SC_ACCEPTED",
+            "RESPONSE",
+            "ERROR_CODE",
+            "ERROR_MESSAGE",
+            "ERROR_DETAIL",
+            "ERROR_EXCEPTION",
+            "Host",
+            "Accept",
+            "Connection",
+            "Content__HYPHEN__Type",
+            "Content__HYPHEN__Length",
+            "Transfer__HYPHEN__Encoding",
+            "Accept__HYPHEN__Encoding",
+            "User__HYPHEN__Agent",
+            "activityid",
+    };
+
+    private static final Map<String, Integer> WELL_KNOWN_KEY_INDEXES;
+
+    static {
+        Map<String, Integer> indexes = new HashMap<String, Integer>();
+        for (int i = 0; i < WELL_KNOWN_KEYS.length; i++) {
+            indexes.put(WELL_KNOWN_KEYS[i], i);
+        }
+        WELL_KNOWN_KEY_INDEXES = indexes;
+    }
+
+    private StorableMessageCodec() {}
+
+    /**
+     * Encodes the given message.
+     *
+     * @param message message to be stored
+     * @return encoded message
+     * @throws IOException if a property value can not be encoded
+     */
+    public static byte[] encode(StorableMessage message) throws IOException {
+        Axis2Message axis2Msg = message.getAxis2message();
+        SynapseMessage synMsg = message.getSynapseMessage();
+        int flags = 0;
+        if (axis2Msg != null) {
+            flags |= FLAG_HAS_AXIS2_MESSAGE;
+            flags |= axis2Msg.isDoingMTOM() ? FLAG_MTOM : 0;
+            flags |= axis2Msg.isDoingSWA() ? FLAG_SWA : 0;
+            flags |= axis2Msg.isDoingPOX() ? FLAG_POX : 0;
+            flags |= axis2Msg.isDoingGET() ? FLAG_GET : 0;
+        }
+        if (synMsg != null) {
+            flags |= FLAG_HAS_SYNAPSE_MESSAGE;
+            flags |= synMsg.isResponse() ? FLAG_RESPONSE : 0;
+            flags |= synMsg.isFaultResponse() ? FLAG_FAULT_RESPONSE : 0;
+        }
+
+        Encoder out = new Encoder(estimateSize(axis2Msg));
+        out.writeByte(MAGIC_0);
+        out.writeByte(MAGIC_1);
+        out.writeByte(VERSION_1);
+        out.writeByte(flags);
+        out.writeSignedVarInt(message.getPriority());
+        if (axis2Msg != null) {
+            out.writeString(axis2Msg.getMessageID());
+            out.writeString(axis2Msg.getOperationAction());
+            out.writeQName(axis2Msg.getOperationName());
+            out.writeString(axis2Msg.getAction());
+            out.writeString(axis2Msg.getService());
+            out.writeString(axis2Msg.getRelatesToMessageId());
+            out.writeString(axis2Msg.getReplyToAddress());
+            out.writeString(axis2Msg.getFaultToAddress());
+            out.writeString(axis2Msg.getFromAddress());
+            out.writeString(axis2Msg.getToAddress());
+            out.writeString(axis2Msg.getTransportInName());
+            out.writeString(axis2Msg.getTransportOutName());
+            out.writeSignedVarInt(axis2Msg.getFLOW());
+            out.writeString(axis2Msg.getSoapEnvelope());
+            out.writeBytes(axis2Msg.getJsonStream());
+            out.writeProperties(axis2Msg.getProperties());
+        }
+        if (synMsg != null) {
+            out.writeSignedVarInt(synMsg.getTracingState());
+            out.writeSignedVarInt(synMsg.getMessageFlowTracingState());
+            List<String> localEntries = synMsg.getLocalEntries();
+            out.writeVarInt(localEntries.size());
+            for (String localEntry : localEntries) {
+                out.writeString(localEntry);
+            }
+            Map<String, String> properties = synMsg.getProperties();
+            out.writeVarInt(properties.size());
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                out.writeKey(property.getKey());
+                out.writeString(property.getValue());
+            }
+            Map<String, byte[]> propertyObjects = synMsg.getPropertyObjects();
+            out.writeVarInt(propertyObjects.size());
+            for (Map.Entry<String, byte[]> propertyObject : propertyObjects.entrySet()) {
+                out.writeKey(propertyObject.getKey());
+                out.writeBytes(propertyObject.getValue());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a message written by {@link #encode(StorableMessage)}, or by Java serialization.
+     *
+     * @param bytes stored message
+     * @return the decoded message
+     * @throws IOException            if the bytes are not a valid stored message
+     * @throws ClassNotFoundException if a Java serialized value refers to an unknown class
+     */
+    public static StorableMessage decode(byte[] bytes) throws IOException, ClassNotFoundException {
+        if (isJavaSerialized(bytes)) {
+            Object object = deserialize(bytes, 0, bytes.length);
+            if (!(object instanceof StorableMessage)) {
+                throw new InvalidObjectException("Stored object is not a StorableMessage : "
+                        + (object == null ? null : object.getClass().getName()));
+            }
+            return (StorableMessage) object;
+        }
+        if (!isEncoded(bytes)) {
+            throw new StreamCorruptedException("Unknown stored message format");
+        }
+        Decoder in = new Decoder(bytes);
+        in.skip(2);
+        int version = in.readByte();
+        if (version != VERSION_1) {
+            throw new StreamCorruptedException("Unsupported stored message format version : " + version);
+        }
+        int flags = in.readByte();
+        StorableMessage message = new StorableMessage();
+        message.setPriority(in.readSignedVarInt());
+        if ((flags & FLAG_HAS_AXIS2_MESSAGE) != 0) {
+            Axis2Message axis2Msg = new Axis2Message();
+            axis2Msg.setMessageID(in.readString());
+            axis2Msg.setOperationAction(in.readString());
+            axis2Msg.setOperationName(in.readQName());
+            axis2Msg.setAction(in.readString());
+            axis2Msg.setService(in.readString());
+            axis2Msg.setRelatesToMessageId(in.readString());
+            axis2Msg.setReplyToAddress(in.readString());
+            axis2Msg.setFaultToAddress(in.readString());
+            axis2Msg.setFromAddress(in.readString());
+            axis2Msg.setToAddress(in.readString());
+            axis2Msg.setTransportInName(in.readString());
+            axis2Msg.setTransportOutName(in.readString());
+            axis2Msg.setFLOW(in.readSignedVarInt());
+            axis2Msg.setSoapEnvelope(in.readString());
+            axis2Msg.setJsonStream(in.readBytes());
+            axis2Msg.setDoingMTOM((flags & FLAG_MTOM) != 0);
+            axis2Msg.setDoingSWA((flags & FLAG_SWA) != 0);
+            axis2Msg.setDoingPOX((flags & FLAG_POX) != 0);
+            axis2Msg.setDoingGET((flags & FLAG_GET) != 0);
+            in.readProperties(axis2Msg.getProperties());
+            message.setAxis2message(axis2Msg);
+        }
+        if ((flags & FLAG_HAS_SYNAPSE_MESSAGE) != 0) {
+            SynapseMessage synMsg = new SynapseMessage();
+            synMsg.setTracingState(in.readSignedVarInt());
+            synMsg.setMessageFlowTracingState(in.readSignedVarInt());
+            int localEntries = in.readVarInt();
+            for (int i = 0; i < localEntries; i++) {
+                synMsg.addLocalEntry(in.readString());
+            }
+            int properties = in.readVarInt();
+            for (int i = 0; i < properties; i++) {
+                synMsg.addProperty(in.readKey(), in.readString());
+            }
+            int propertyObjects = in.readVarInt();
+            for (int i = 0; i < propertyObjects; i++) {
+                synMsg.addPropertyObject(in.readKey(), in.readBytes());
+            }
+            synMsg.setResponse((flags & FLAG_RESPONSE) != 0);
+            synMsg.setFaultResponse((flags & FLAG_FAULT_RESPONSE) != 0);
+            message.setSynapseMessage(synMsg);
+        }
+        if (in.remaining() != 0) {
+            throw new StreamCorruptedException(in.remaining() + " unexpected bytes after the stored message");
+        }
+        return message;
+    }
+
+    /**
+     * @return whether the given bytes start like a message written by {@link #encode(StorableMessage)}
+     */
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length > 2 && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+    }
+
+    private static boolean isJavaSerialized(byte[] bytes) {
+        return bytes != null && bytes.length > 2 && (bytes[0] & 0xFF) == JAVA_SERIALIZATION_MAGIC_0
+                && (bytes[1] & 0xFF) == JAVA_SERIALIZATION_MAGIC_1;
+    }
+
+    private static int estimateSize(Axis2Message axis2Msg) {
+        int size = 256;
+        if (axis2Msg != null) {
+            if (axis2Msg.getSoapEnvelope() != null) {
+                size += axis2Msg.getSoapEnvelope().length();
+            }
+            if (axis2Msg.getJsonStream() != null) {
+                size += axis2Msg.getJsonStream().length;
+            }
+        }
+        return size;
+    }
+
+    private static Object deserialize(byte[] bytes, int offset, int length)
+            throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes, offset, length));
+        try {
+            return in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static final class Encoder {
+
+        private byte[] buf;
+
+        private int count;
+
+        private Map<String, Integer> keys;
+
+        private Encoder(int initialCapacity) {
+            buf = new byte[initialCapacity];
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + extra));
+            }
+        }
+
+        private void writeByte(int b) {
+            ensureCapacity(1);
+            buf[count++] = (byte) b;
+        }
+
+        private void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buf[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[count++] = (byte) value;
+        }
+
+        private void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[count++] = (byte) value;
+        }
+
+        /** Length prefixed, with a length of 0 standing for null and n + 1 for n bytes. */
+        private void writeBytes(byte[] bytes) {
+            if (bytes == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, count, bytes.length);
+            count += bytes.length;
+        }
+
+        private void writeString(String str) {
+            writeBytes(str == null ? null : str.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeQName(QName qName) {
+            if (qName == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeString(qName.getNamespaceURI());
+            writeString(qName.getLocalPart());
+            writeString(qName.getPrefix());
+        }
+
+        /**
+         * Writes the index of a key seen before, or 0 followed by the key itself the first time it is seen.
+         */
+        private void writeKey(String key) {
+            Integer index = WELL_KNOWN_KEY_INDEXES.get(key);
+            if (index == null && keys != null) {
+                index = keys.get(key);
+            }
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            if (keys == null) {
+                keys = new HashMap<String, Integer>();
+            }
+            keys.put(key, WELL_KNOWN_KEYS.length + keys.size());
+            writeVarInt(0);
+            writeString(key);
+        }
+
+        private void writeProperties(Map<?, ?> properties) throws IOException {
+            writeVarInt(properties.size());
+            for (Map.Entry<?, ?> property : properties.entrySet()) {
+                writeKey((String) property.getKey());
+                writeValue(property.getValue());
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writeByte(TAG_NULL);
+            } else if (value instanceof String) {
+                writeByte(TAG_STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Integer) {
+                writeByte(TAG_INTEGER);
+                writeSignedVarInt((Integer) value);
+            } else if (value instanceof Long) {
+                writeByte(TAG_LONG);
+                long longValue = (Long) value;
+                writeVarLong((longValue << 1) ^ (longValue >> 63));
+            } else if (value instanceof Double) {
+                writeByte(TAG_DOUBLE);
+                writeFixedLong(Double.doubleToLongBits((Double) value));
+            } else if (value instanceof Character) {
+                writeByte(TAG_CHARACTER);
+                writeVarInt((Character) value);
+            } else if (value instanceof byte[]) {
+                writeByte(TAG_BYTES);
+                writeBytes((byte[]) value);
+            } else if (isPlainMap(value)) {
+                writeByte(value instanceof TreeMap ? TAG_SORTED_MAP : TAG_MAP);
+                writeProperties((Map<?, ?>) value);
+            } else {
+                // anything else keeps the exact semantics of Java serialization
+                writeByte(TAG_SERIALIZED);
+                writeBytes(serialize(value));
+            }
+        }
+
+        private void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+
+        /**
+         * Maps decoded back into an equivalent instance: HashMaps, naturally ordered TreeMaps and the
+         * immutable empty map, keyed by strings.
+         */
+        private static boolean isPlainMap(Object value) {
+            Class<?> type = value.getClass();
+            if (type == HashMap.class) {
+                return hasStringKeys((Map<?, ?>) value);
+            }
+            if (type == TreeMap.class) {
+                return ((TreeMap<?, ?>) value).comparator() == null && hasStringKeys((Map<?, ?>) value);
+            }
+            return value == Collections.EMPTY_MAP;
+        }
+
+        private static boolean hasStringKeys(Map<?, ?> map) {
+            for (Object key : map.keySet()) {
+                if (!(key instanceof String)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static byte[] serialize(Object value) throws IOException {
+            if (!(value instanceof Serializable)) {
+                throw new IOException("Property value of type " + value.getClass().getName()
+                        + " can not be stored");
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(value);
+            out.close();
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        private List<String> keys;
+
+        private Decoder(byte[] buf) {
+            this.buf = buf;
+        }
+
+        private int remaining() {
+            return buf.length - pos;
+        }
+
+        private void require(int length) throws EOFException {
+            if (length < 0 || length > buf.length - pos) {
+                throw new EOFException("Stored message is truncated");
+            }
+        }
+
+        private void skip(int length) throws EOFException {
+            require(length);
+            pos += length;
+        }
+
+        private int readByte() throws EOFException {
+            require(1);
+            return buf[pos++] & 0xFF;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable length integer");
+        }
+
+        private int readSignedVarInt() throws IOException {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable length integer");
+        }
+
+        private long readFixedLong() throws EOFException {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        private byte[] readBytes() throws IOException {
+            int length = readVarInt() - 1;
+            if (length == -1) {
+                return null;
+            }
+            require(length);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        private String readString() throws IOException {
+            int length = readVarInt() - 1;
+            if (length == -1) {
+                return null;
+            }
+            require(length);
+            String str = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return str;
+        }
+
+        private QName readQName() throws IOException {
+            if (readByte() == 0) {
+                return null;
+            }
+            String namespaceURI = readString();
+            String localPart = readString();
+            String prefix = readString();
+            return new QName(namespaceURI, localPart, prefix);
+        }
+
+        private String readKey() throws IOException {
+            int index = readVarInt() - 1;
+            if (index == -1) {
+                String key = readString();
+                if (keys == null) {
+                    keys = new ArrayList<String>();
+                }
+                keys.add(key);
+                return key;
+            }
+            if (index < WELL_KNOWN_KEYS.length) {
+                return WELL_KNOWN_KEYS[index];
+            }
+            index -= WELL_KNOWN_KEYS.length;
+            if (keys == null || index >= keys.size()) {
+                throw new StreamCorruptedException("Reference to an undefined property key");
+            }
+            return keys.get(index);
+        }
+
+        private void readProperties(Map<String, Object> properties) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                String key = readKey();
+                properties.put(key, readValue());
+            }
+        }
+
+        private Object readValue() throws IOException, ClassNotFoundException {
+            int tag = readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_STRING:
+                    return readString();
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_INTEGER:
+                    return readSignedVarInt();
+                case TAG_LONG:
+                    long value = readVarLong();
+                    return (value >>> 1) ^ -(value & 1);
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case TAG_CHARACTER:
+                    return (char) readVarInt();
+                case TAG_BYTES:
+                    return readBytes();
+                case TAG_MAP:
+                    Map<String, Object> map = new HashMap<String, Object>();
+                    readProperties(map);
+                    return map;
+                case TAG_SORTED_MAP:
+                    Map<String, Object> sortedMap = new TreeMap<String, Object>();
+                    readProperties(sortedMap);
+                    return sortedMap;
+                case TAG_SERIALIZED:
+                    int length = readVarInt() - 1;
+                    if (length == -1) {
+                        return null;
+                    }
+                    require(length);
+                    Object object = deserialize(buf, pos, length);
+                    pos += length;
+                    return object;
+                default:
+                    throw new StreamCorruptedException("Unknown property value type : " + tag);
+            }
+        }
+    }
+}
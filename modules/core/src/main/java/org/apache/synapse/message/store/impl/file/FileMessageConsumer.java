@@ -0,0 +1,171 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.message.PipelinedMessageConsumer;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class FileMessageConsumer implements PipelinedMessageConsumer {
+
+    private static final Log logger = LogFactory.getLog(FileMessageConsumer.class.getName());
+
+    private final FileMessageStore store;
+
+    /** ID of this message consumer instance */
+    private String idString;
+
+    /** Message handed out by the last receive, removed from the store on ack */
+    private SegmentedLog.Entry lastMessage;
+
+    /** Messages handed out by receiveNext and not acknowledged yet */
+    private final Map<MessageContext, SegmentedLog.Entry> handedOut =
+            new IdentityHashMap<MessageContext, SegmentedLog.Entry>();
+
+    public FileMessageConsumer(FileMessageStore store) {
+        this.store = store;
+    }
+
+    public MessageContext receive() {
+        while (true) {
+            SegmentedLog.Entry entry = store.peek();
+            lastMessage = entry;
+            if (entry == null) {
+                return null;
+            }
+            try {
+                MessageContext message = store.read(entry);
+                if (logger.isDebugEnabled()) {
+                    logger.debug(getId() + " received MessageID : " + message.getMessageID());
+                }
+                return message;
+            } catch (SynapseException e) {
+                // a message which cannot be restored would block the store forever
+                logger.error(getId() + " dropping stored message " + entry.getMessageId()
+                        + " which cannot be restored", e);
+                if (store.remove(entry)) {
+                    store.dequeued();
+                }
+            }
+        }
+    }
+
+    public boolean ack() {
+        SegmentedLog.Entry entry = lastMessage;
+        lastMessage = null;
+        if (entry == null) {
+            return false;
+        }
+        if (!store.remove(entry)) {
+            // acknowledged through another consumer
+            return false;
+        }
+        store.dequeued();
+        if (logger.isDebugEnabled()) {
+            logger.debug(getId() + " ack MessageID : " + entry.getMessageId());
+        }
+        return true;
+    }
+
+    public MessageContext receiveNext() {
+        while (true) {
+            SegmentedLog.Entry entry;
+            synchronized (handedOut) {
+                entry = store.peek(new HashSet<SegmentedLog.Entry>(handedOut.values()));
+            }
+            if (entry == null) {
+                return null;
+            }
+            try {
+                MessageContext message = store.read(entry);
+                synchronized (handedOut) {
+                    handedOut.put(message, entry);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug(getId() + " received MessageID : " + message.getMessageID());
+                }
+                return message;
+            } catch (SynapseException e) {
+                logger.error(getId() + " dropping stored message " + entry.getMessageId()
+                        + " which cannot be restored", e);
+                if (store.remove(entry)) {
+                    store.dequeued();
+                }
+            }
+        }
+    }
+
+    public boolean ack(MessageContext message) {
+        SegmentedLog.Entry entry;
+        synchronized (handedOut) {
+            entry = handedOut.remove(message);
+        }
+        if (entry == null || !store.remove(entry)) {
+            return false;
+        }
+        store.dequeued();
+        if (logger.isDebugEnabled()) {
+            logger.debug(getId() + " ack MessageID : " + entry.getMessageId());
+        }
+        return true;
+    }
+
+    public void release(MessageContext message) {
+        synchronized (handedOut) {
+            handedOut.remove(message);
+        }
+    }
+
+    public boolean cleanup() {
+        if (logger.isDebugEnabled()) {
+            logger.debug(getId() + " cleanup");
+        }
+        lastMessage = null;
+        synchronized (handedOut) {
+            handedOut.clear();
+        }
+        return true;
+    }
+
+    public boolean isAlive() {
+        return true;
+    }
+
+    public void setAlive(boolean isAlive) {
+    }
+
+    public void setId(int id) {
+        idString = "[" + store.getName() + "-C-" + id + "]";
+    }
+
+    public String getId() {
+        return idString;
+    }
+
+    @Override
+    public boolean reInitialize() {
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.message.MessageProducer;
+
+public class FileMessageProducer implements MessageProducer {
+
+    private static final Log logger = LogFactory.getLog(FileMessageProducer.class.getName());
+
+    private final FileMessageStore store;
+
+    private String idString;
+
+    public FileMessageProducer(FileMessageStore store) {
+        this.store = store;
+    }
+
+    public boolean storeMessage(MessageContext synCtx) {
+        if (synCtx == null) {
+            return false;
+        }
+        boolean result;
+        try {
+            result = store.store(synCtx);
+        } catch (Throwable t) {
+            logger.error(getId() + " could not store MessageID : " + synCtx.getMessageID(), t);
+            return false;
+        }
+        if (result) {
+            store.enqueued();
+            if (logger.isDebugEnabled()) {
+                logger.debug(getId() + " stored MessageID: " + synCtx.getMessageID());
+            }
+        } else {
+            logger.warn(getId() + " ignored MessageID : " + synCtx.getMessageID());
+        }
+        return result;
+    }
+
+    public boolean cleanup() {
+        if (logger.isDebugEnabled()) {
+            logger.debug(getId() + " cleanup");
+        }
+        return true;
+    }
+
+    public void setId(int id) {
+        idString = "[" + store.getName() + "-P-" + id + "]";
+    }
+
+    public String getId() {
+        return idString;
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
+import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.MessageProducer;
+import org.apache.synapse.message.store.AbstractMessageStore;
+import org.apache.synapse.message.store.Constants;
+import org.apache.synapse.message.store.impl.commons.MessageConverter;
+import org.apache.synapse.message.store.impl.commons.StorableMessage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A durable message store kept in memory mapped, append-only segment files on the local disk. Messages
+ * survive restarts without an external broker or database; see {@link SegmentedLog} for the file layout.
+ * Stored messages are encoded with {@link MessageConverter#toBytes(StorableMessage)}.
+ */
+public class FileMessageStore extends AbstractMessageStore {
+
+    private static final Log logger = LogFactory.getLog(FileMessageStore.class.getName());
+
+    private SegmentedLog messageLog;
+
+    private ScheduledExecutorService maintenanceExecutor;
+
+    @Override
+    public void init(SynapseEnvironment synapseEnvironment) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Initializing File Message Store");
+        }
+        super.init(synapseEnvironment);
+
+        File directory = getDirectory();
+        int segmentSize = (int) getLongParameter(FileMessageStoreConstants.FILE_STORE_SEGMENT_SIZE,
+                FileMessageStoreConstants.FILE_STORE_DEFAULT_SEGMENT_SIZE);
+        SegmentedLog.FsyncPolicy fsyncPolicy = getFsyncPolicy();
+        long fsyncInterval = getLongParameter(FileMessageStoreConstants.FILE_STORE_FSYNC_INTERVAL,
+                FileMessageStoreConstants.FILE_STORE_DEFAULT_FSYNC_INTERVAL);
+        long compactionInterval = getLongParameter(FileMessageStoreConstants.FILE_STORE_COMPACTION_INTERVAL,
+                FileMessageStoreConstants.FILE_STORE_DEFAULT_COMPACTION_INTERVAL);
+        double compactionThreshold = getDoubleParameter(FileMessageStoreConstants.FILE_STORE_COMPACTION_THRESHOLD,
+                FileMessageStoreConstants.FILE_STORE_DEFAULT_COMPACTION_THRESHOLD);
+
+        messageLog = new SegmentedLog(directory, segmentSize, fsyncPolicy, compactionThreshold);
+        try {
+            messageLog.open();
+        } catch (IOException e) {
+            messageLog = null;
+            throw new SynapseException(getNameString() + " cannot open the message store directory " + directory, e);
+        }
+
+        final String threadName = "FileMessageStore-" + getName();
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        if (fsyncInterval > 0) {
+            maintenanceExecutor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        messageLog.flush();
+                    } catch (Throwable t) {
+                        logger.error(getNameString() + " error while flushing stored messages", t);
+                    }
+                }
+            }, fsyncInterval, fsyncInterval, TimeUnit.MILLISECONDS);
+        }
+        if (compactionInterval > 0) {
+            maintenanceExecutor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        messageLog.maintain();
+                    } catch (Throwable t) {
+                        logger.error(getNameString() + " error while compacting stored messages", t);
+                    }
+                }
+            }, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Initialized " + getNameString() + " at " + directory + " with " + messageLog.size()
+                + " stored messages, fsync policy: " + fsyncPolicy.name().toLowerCase(Locale.ENGLISH));
+    }
+
+    private File getDirectory() {
+        Object value = parameters != null ? parameters.get(FileMessageStoreConstants.FILE_STORE_DIRECTORY) : null;
+        File directory = value != null ? new File(value.toString().trim())
+                : new File(FileMessageStoreConstants.FILE_STORE_DEFAULT_DIRECTORY, getName());
+        if (!directory.isAbsolute()) {
+            directory = new File(System.getProperty(SynapseConstants.SYNAPSE_HOME, "."), directory.getPath());
+        }
+        return directory;
+    }
+
+    private SegmentedLog.FsyncPolicy getFsyncPolicy() {
+        Object value = parameters != null ? parameters.get(FileMessageStoreConstants.FILE_STORE_FSYNC_POLICY) : null;
+        String policy = value != null ? value.toString().trim() : FileMessageStoreConstants.FILE_STORE_DEFAULT_FSYNC_POLICY;
+        try {
+            return SegmentedLog.FsyncPolicy.valueOf(policy.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            logger.warn(getNameString() + " invalid value: " + policy + " for parameter: "
+                    + FileMessageStoreConstants.FILE_STORE_FSYNC_POLICY + ", using the default: "
+                    + FileMessageStoreConstants.FILE_STORE_DEFAULT_FSYNC_POLICY);
+            return SegmentedLog.FsyncPolicy.valueOf(
+                    FileMessageStoreConstants.FILE_STORE_DEFAULT_FSYNC_POLICY.toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    private double getDoubleParameter(String name, double defaultValue) {
+        Object value = parameters != null ? parameters.get(name) : null;
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn(getNameString() + " invalid value: " + value + " for parameter: " + name
+                        + ", using the default: " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public void destroy() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Destroying " + getNameString() + "...");
+        }
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+            maintenanceExecutor = null;
+        }
+        if (messageLog != null) {
+            messageLog.close();
+            messageLog = null;
+        }
+        super.destroy();
+    }
+
+    public MessageProducer getProducer() {
+        FileMessageProducer producer = new FileMessageProducer(this);
+        producer.setId(nextProducerId());
+        if (logger.isDebugEnabled()) {
+            logger.debug(getNameString() + " created a new File Message Producer.");
+        }
+        return producer;
+    }
+
+    public MessageConsumer getConsumer() {
+        FileMessageConsumer consumer = new FileMessageConsumer(this);
+        consumer.setId(nextConsumerId());
+        if (logger.isDebugEnabled()) {
+            logger.debug(getNameString() + " created a new File Message Consumer.");
+        }
+        return consumer;
+    }
+
+    public int getType() {
+        return Constants.FILE_MS;
+    }
+
+    /**
+     * Appends a message to the store.
+     *
+     * @param messageContext message to store
+     * @return true if the message is stored and, depending on the fsync policy, forced to the disk
+     */
+    boolean store(MessageContext messageContext) throws IOException {
+        StorableMessage message = MessageConverter.toStorableMessage(messageContext);
+        String messageId = message.getAxis2message().getMessageID();
+        return getLog().append(messageId, MessageConverter.toBytes(message));
+    }
+
+    /**
+     * @return the first message of the store, or null if the store is empty
+     */
+    SegmentedLog.Entry peek() {
+        return getLog().peek();
+    }
+
+    /**
+     * @return the first message of the store which is not one of the given ones, or null if there is none
+     */
+    SegmentedLog.Entry peek(Set<SegmentedLog.Entry> skip) {
+        return getLog().peek(skip);
+    }
+
+    /**
+     * Removes a message looked up before, unless it is already removed.
+     */
+    boolean remove(SegmentedLog.Entry entry) {
+        try {
+            return getLog().remove(entry);
+        } catch (IOException e) {
+            throw new SynapseException(getNameString() + " error while removing message "
+                    + entry.getMessageId(), e);
+        }
+    }
+
+    /**
+     * Restores a message of the store.
+     *
+     * @throws SynapseException if the stored bytes cannot be decoded
+     */
+    MessageContext read(SegmentedLog.Entry entry) {
+        try {
+            StorableMessage message = MessageConverter.fromBytes(getLog().read(entry));
+            org.apache.axis2.context.MessageContext axis2Mc = newAxis2Mc();
+            MessageContext synapseMc = newSynapseMc(axis2Mc);
+            return MessageConverter.toMessageContext(message, axis2Mc, synapseMc);
+        } catch (IOException e) {
+            throw new SynapseException("Error reading stored message " + entry.getMessageId(), e);
+        } catch (ClassNotFoundException e) {
+            throw new SynapseException("Could not find the class", e);
+        }
+    }
+
+    public MessageContext remove() throws NoSuchElementException {
+        SegmentedLog.Entry entry;
+        do {
+            entry = peek();
+            if (entry == null) {
+                throw new NoSuchElementException(getNameString() + " is empty");
+            }
+        } while (!remove(entry));
+        dequeued();
+        return read(entry);
+    }
+
+    public void clear() {
+        try {
+            getLog().clear();
+        } catch (IOException e) {
+            throw new SynapseException(getNameString() + " error while clearing the store", e);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(getNameString() + " cleared");
+        }
+    }
+
+    public MessageContext remove(String messageID) {
+        SegmentedLog.Entry entry = getLog().get(messageID);
+        if (entry == null || !remove(entry)) {
+            return null;
+        }
+        dequeued();
+        return read(entry);
+    }
+
+    public int size() {
+        return messageLog != null ? messageLog.size() : 0;
+    }
+
+    public MessageContext get(int index) {
+        SegmentedLog.Entry entry = getLog().get(index);
+        return entry != null ? read(entry) : null;
+    }
+
+    public List<MessageContext> getAll() {
+        List<SegmentedLog.Entry> entries = getLog().getAll();
+        List<MessageContext> messages = new ArrayList<MessageContext>(entries.size());
+        for (SegmentedLog.Entry entry : entries) {
+            messages.add(read(entry));
+        }
+        return messages;
+    }
+
+    public MessageContext get(String messageId) {
+        SegmentedLog.Entry entry = getLog().get(messageId);
+        return entry != null ? read(entry) : null;
+    }
+
+    private SegmentedLog getLog() {
+        SegmentedLog current = messageLog;
+        if (current == null) {
+            throw new SynapseException(getNameString() + " is not initialized");
+        }
+        return current;
+    }
+
+    private org.apache.axis2.context.MessageContext newAxis2Mc() {
+        return ((Axis2SynapseEnvironment) synapseEnvironment)
+                .getAxis2ConfigurationContext().createMessageContext();
+    }
+
+    private MessageContext newSynapseMc(org.apache.axis2.context.MessageContext msgCtx) {
+        SynapseConfiguration configuration = synapseEnvironment.getSynapseConfiguration();
+        return new Axis2MessageContext(msgCtx, configuration, synapseEnvironment);
+    }
+
+    private String getNameString() {
+        return "Store [" + getName() + "]";
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+public class FileMessageStoreConstants {
+
+    /**
+     * Directory the segment files of the store are written to. Relative paths are resolved against the
+     * Synapse home directory. Defaults to message-stores/&lt;store name&gt;. A directory must not be shared
+     * by two stores
+     */
+    public static final String FILE_STORE_DIRECTORY = "store.file.directory";
+
+    /**
+     * Size in bytes of a segment file, a new segment is started once the current one is full
+     */
+    public static final String FILE_STORE_SEGMENT_SIZE = "store.file.segment.size";
+
+    /**
+     * When stored messages are forced to the disk: message (before every store and removal returns),
+     * batch (stores running concurrently share a single fsync) or periodic (every fsync interval)
+     */
+    public static final String FILE_STORE_FSYNC_POLICY = "store.file.fsync.policy";
+
+    /**
+     * Interval, in milliseconds, of the background fsync of the periodic policy. Consumer offsets of the
+     * batch policy are forced at the same interval
+     */
+    public static final String FILE_STORE_FSYNC_INTERVAL = "store.file.fsync.interval";
+
+    /**
+     * Interval, in milliseconds, at which consumed segments are deleted and sparse segments compacted
+     */
+    public static final String FILE_STORE_COMPACTION_INTERVAL = "store.file.compaction.interval";
+
+    /**
+     * Ratio of live messages below which a full segment is compacted, 0 disables compaction
+     */
+    public static final String FILE_STORE_COMPACTION_THRESHOLD = "store.file.compaction.threshold";
+
+    public static final String FILE_STORE_DEFAULT_DIRECTORY = "message-stores";
+
+    public static final int FILE_STORE_DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    public static final String FILE_STORE_DEFAULT_FSYNC_POLICY = "batch";
+
+    public static final long FILE_STORE_DEFAULT_FSYNC_INTERVAL = 1000;
+
+    public static final long FILE_STORE_DEFAULT_COMPACTION_INTERVAL = 60000;
+
+    public static final double FILE_STORE_DEFAULT_COMPACTION_THRESHOLD = 0.5;
+}
@@ -0,0 +1,243 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A segment file of a {@link SegmentedLog}. The file is memory mapped as a whole: the segment being
+ * written to is preallocated to the segment size and records are appended by copying them into the
+ * mapping, sealed segments are only read. The mapping stays valid after the segment is closed or its
+ * file is deleted, so a reader holding on to a segment never fails because of a concurrent cleanup.
+ * <p>
+ * Appends and the bookkeeping fields are guarded by the lock of the owning log, reads of the records
+ * already published through the index need no locking.
+ */
+class LogSegment {
+
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private final long baseSeq;
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    /** Bytes of valid records at the start of the segment. */
+    private int size;
+
+    private boolean sealed;
+
+    /** Message records in the segment, including removed ones. */
+    int messages;
+
+    /** Message records in the segment which are still in the index. */
+    int live;
+
+    /** Messages removed out of order, which must not come back while their record exists. */
+    private final List<Long> tombstones = new ArrayList<Long>();
+
+    private LogSegment(long baseSeq, File file, FileChannel channel, MappedByteBuffer buffer, boolean sealed) {
+        this.baseSeq = baseSeq;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.sealed = sealed;
+    }
+
+    /**
+     * Opens a segment file, creating it if it does not exist. A writable segment is extended to the given
+     * capacity, a sealed one is mapped with its current length.
+     */
+    static LogSegment open(File directory, long baseSeq, boolean writable, int capacity) throws IOException {
+        File file = new File(directory, fileName(baseSeq));
+        RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long length = writable ? Math.max(channel.size(), capacity) : channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Segment " + file + " is larger than " + Integer.MAX_VALUE + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE
+                    : FileChannel.MapMode.READ_ONLY, 0, length);
+            return new LogSegment(baseSeq, file, channel, buffer, !writable);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    static String fileName(long baseSeq) {
+        return String.format("%020d", baseSeq) + SEGMENT_SUFFIX;
+    }
+
+    long getBaseSeq() {
+        return baseSeq;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    int getCapacity() {
+        return buffer.capacity();
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    boolean canAppend(int length) {
+        return !sealed && buffer.capacity() - size >= length;
+    }
+
+    /**
+     * Copies the record into the segment.
+     *
+     * @return position of the record in the segment
+     */
+    int append(ByteBuffer record) {
+        int position = size;
+        ByteBuffer target = buffer.duplicate();
+        target.position(position);
+        target.put(record);
+        size = target.position();
+        return position;
+    }
+
+    int getInt(int position) {
+        return buffer.getInt(position);
+    }
+
+    long getLong(int position) {
+        return buffer.getLong(position);
+    }
+
+    short getShort(int position) {
+        return buffer.getShort(position);
+    }
+
+    byte get(int position) {
+        return buffer.get(position);
+    }
+
+    byte[] read(int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position);
+        source.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Copies a range of the segment into the given buffer.
+     */
+    void copy(int position, int length, ByteBuffer target) {
+        ByteBuffer source = buffer.duplicate();
+        source.limit(position + length).position(position);
+        target.put(source);
+    }
+
+    int crc(int position, int length) {
+        ByteBuffer source = buffer.duplicate();
+        source.limit(position + length).position(position);
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Zeroes the segment from the given position on. Pages of a mapping reach the disk in any order, so
+     * records written after the last valid one may have survived a crash and must not be read back once
+     * new records are appended in front of them.
+     *
+     * @return whether anything had to be zeroed
+     */
+    boolean wipe(int position) {
+        boolean dirty = false;
+        for (int i = position; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                dirty = true;
+            }
+        }
+        return dirty;
+    }
+
+    void addTombstone(long seq) {
+        tombstones.add(seq);
+    }
+
+    List<Long> getTombstones() {
+        return tombstones;
+    }
+
+    /**
+     * @return whether the segment still holds tombstones of messages at or after the given sequence
+     */
+    boolean hasTombstonesFrom(long head) {
+        for (Iterator<Long> it = tombstones.iterator(); it.hasNext(); ) {
+            if (it.next() < head) {
+                it.remove();
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void force() {
+        if (!sealed) {
+            buffer.force();
+        }
+    }
+
+    void seal() {
+        force();
+        sealed = true;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return file.getName();
+    }
+}
@@ -0,0 +1,868 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * A durable FIFO queue of messages kept in append-only segment files.
+ * <p>
+ * Every stored message is appended as a record to the current segment, and a new segment is started once
+ * it is full. Consuming the head of the queue only moves the consumer offset, which is kept in a small
+ * memory mapped index file; removing a message from the middle of the queue appends a tombstone record.
+ * Segments whose messages are all consumed or removed are deleted, and sealed segments with only a few
+ * live messages left are compacted, i.e. rewritten with the live records only.
+ * <p>
+ * A record is laid out as
+ * <pre>
+ * int length | int crc | long sequence | byte type | type specific part
+ * </pre>
+ * where the type specific part is the message id and the message bytes, or the sequence of the removed
+ * message for a tombstone. The crc covers everything from the type on. When the log is opened, the
+ * segments are scanned to rebuild the in memory index of the live messages; a segment ends at the first
+ * record that is incomplete or fails its crc.
+ * <p>
+ * How often the files are forced to the disk is governed by the {@link FsyncPolicy}.
+ */
+class SegmentedLog {
+
+    private static final Log log = LogFactory.getLog(SegmentedLog.class);
+
+    /**
+     * When appended records and consumer offsets are forced to the disk.
+     */
+    enum FsyncPolicy {
+        /** Every store and removal is forced before it returns. */
+        MESSAGE,
+        /** Every store is forced before it returns, stores running concurrently share a single force. */
+        BATCH,
+        /** Only the background flush forces the files. */
+        PERIODIC
+    }
+
+    private static final byte RECORD_MESSAGE = 1;
+
+    private static final byte RECORD_TOMBSTONE = 2;
+
+    private static final int OFFSET_CRC = 4;
+
+    private static final int OFFSET_SEQ = 8;
+
+    private static final int OFFSET_TYPE = 16;
+
+    private static final int OFFSET_BODY = 17;
+
+    private static final int TOMBSTONE_LENGTH = OFFSET_BODY + 8;
+
+    private static final String COMPACTION_SUFFIX = ".compact";
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    private final FsyncPolicy fsyncPolicy;
+
+    private final double compactionThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Live messages in queue order, guarded by the lock. */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<String, Entry>();
+
+    /** Segments by their base sequence, guarded by the lock. */
+    private final TreeMap<Long, LogSegment> segments = new TreeMap<Long, LogSegment>();
+
+    private LogSegment active;
+
+    private ConsumerOffset offset;
+
+    /** Sequence of the next record, guarded by the lock. */
+    private long nextSeq;
+
+    /** Records before this sequence are consumed, guarded by the lock. */
+    private long head;
+
+    private final Object syncLock = new Object();
+
+    /** Records up to this sequence are on the disk. */
+    private volatile long syncedSeq = -1;
+
+    private boolean closed = true;
+
+    SegmentedLog(File directory, int segmentSize, FsyncPolicy fsyncPolicy, double compactionThreshold) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Opens the log, recovering the messages stored in the directory.
+     */
+    void open() throws IOException {
+        lock.lock();
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create the message store directory " + directory);
+            }
+            offset = new ConsumerOffset(new File(directory, ConsumerOffset.FILE_NAME));
+            head = offset.get();
+            nextSeq = head;
+
+            List<Long> baseSeqs = new ArrayList<Long>();
+            File[] files = directory.listFiles();
+            for (File file : files == null ? new File[0] : files) {
+                String name = file.getName();
+                if (name.endsWith(COMPACTION_SUFFIX)) {
+                    // an interrupted compaction, the original segment is still in place
+                    delete(file);
+                } else if (name.endsWith(LogSegment.SEGMENT_SUFFIX)) {
+                    try {
+                        baseSeqs.add(Long.parseLong(name.substring(0, name.length()
+                                - LogSegment.SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        log.warn("Ignoring unknown file " + file + " in the message store directory");
+                    }
+                }
+            }
+            Collections.sort(baseSeqs);
+
+            Map<Long, Entry> bySeq = new HashMap<Long, Entry>();
+            for (int i = 0; i < baseSeqs.size(); i++) {
+                boolean last = i == baseSeqs.size() - 1;
+                LogSegment segment = LogSegment.open(directory, baseSeqs.get(i), last, segmentSize);
+                segments.put(segment.getBaseSeq(), segment);
+                recover(segment, bySeq, last);
+            }
+            for (Entry entry : index.values()) {
+                entry.segment.live++;
+            }
+
+            active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+            if (active == null || active.isSealed()) {
+                active = LogSegment.open(directory, nextSeq, true, segmentSize);
+                segments.put(active.getBaseSeq(), active);
+            }
+            updateHead();
+            syncedSeq = nextSeq - 1;
+            closed = false;
+            releaseSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover(LogSegment segment, Map<Long, Entry> bySeq, boolean last) {
+        int position = 0;
+        long lastSeq = segment.getBaseSeq() - 1;
+        int capacity = segment.getCapacity();
+        while (position <= capacity - OFFSET_BODY) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < OFFSET_BODY || length > capacity - position
+                    || segment.crc(position + OFFSET_TYPE, length - OFFSET_TYPE) != segment.getInt(position + OFFSET_CRC)
+                    || segment.getLong(position + OFFSET_SEQ) <= lastSeq) {
+                log.warn("Message store segment " + segment.getFile() + " is truncated at " + position);
+                break;
+            }
+            long seq = segment.getLong(position + OFFSET_SEQ);
+            byte type = segment.get(position + OFFSET_TYPE);
+            if (type == RECORD_MESSAGE) {
+                segment.messages++;
+                if (seq >= head) {
+                    int idLength = segment.getShort(position + OFFSET_BODY) & 0xFFFF;
+                    int payloadPosition = position + OFFSET_BODY + 2 + idLength;
+                    String messageId = new String(segment.read(position + OFFSET_BODY + 2, idLength),
+                            StandardCharsets.UTF_8);
+                    Entry entry = new Entry(seq, messageId, segment, position, length, payloadPosition,
+                            length - (payloadPosition - position));
+                    if (index.containsKey(messageId)) {
+                        log.warn("Ignoring a second copy of message " + messageId + " in " + segment.getFile());
+                    } else {
+                        index.put(messageId, entry);
+                        bySeq.put(seq, entry);
+                    }
+                }
+            } else if (type == RECORD_TOMBSTONE) {
+                long target = segment.getLong(position + OFFSET_BODY);
+                Entry removed = bySeq.remove(target);
+                if (removed != null) {
+                    index.remove(removed.messageId);
+                }
+                if (target >= head) {
+                    segment.addTombstone(target);
+                }
+            }
+            lastSeq = seq;
+            position += length;
+        }
+        segment.setSize(position);
+        nextSeq = Math.max(nextSeq, lastSeq + 1);
+        if (last) {
+            if (segment.wipe(position)) {
+                segment.force();
+            }
+        } else {
+            segment.seal();
+        }
+    }
+
+    /**
+     * Appends a message to the end of the queue.
+     *
+     * @param messageId id of the message, unique within the queue
+     * @param payload   message bytes
+     * @return false if a message with the same id is already queued
+     */
+    boolean append(String messageId, byte[] payload) throws IOException {
+        byte[] id = messageId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > 0xFFFF) {
+            throw new IOException("Message id is too long");
+        }
+        int length = OFFSET_BODY + 2 + id.length + payload.length;
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length).putInt(0).putLong(0).put(RECORD_MESSAGE).putShort((short) id.length).put(id)
+                .put(payload);
+        record.putInt(OFFSET_CRC, crc(record, OFFSET_TYPE));
+
+        long seq;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (index.containsKey(messageId)) {
+                return false;
+            }
+            seq = nextSeq;
+            record.putLong(OFFSET_SEQ, seq).flip();
+            LogSegment segment = segmentFor(length);
+            int position = segment.append(record);
+            nextSeq++;
+            segment.messages++;
+            segment.live++;
+            int payloadPosition = position + OFFSET_BODY + 2 + id.length;
+            index.put(messageId, new Entry(seq, messageId, segment, position, length, payloadPosition,
+                    payload.length));
+            if (fsyncPolicy == FsyncPolicy.MESSAGE) {
+                segment.force();
+                syncedSeq = seq;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (fsyncPolicy == FsyncPolicy.BATCH) {
+            sync(seq);
+        }
+        return true;
+    }
+
+    /**
+     * @return the message at the head of the queue, or null if the queue is empty
+     */
+    Entry peek() {
+        lock.lock();
+        try {
+            return index.isEmpty() ? null : index.values().iterator().next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the first message of the queue which is not one of the given ones, or null if there is none
+     */
+    Entry peek(Set<Entry> skip) {
+        lock.lock();
+        try {
+            for (Entry entry : index.values()) {
+                if (!skip.contains(entry)) {
+                    return entry;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Entry get(String messageId) {
+        lock.lock();
+        try {
+            return index.get(messageId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Entry get(int position) {
+        lock.lock();
+        try {
+            if (position < 0 || position >= index.size()) {
+                return null;
+            }
+            Iterator<Entry> entries = index.values().iterator();
+            for (int i = 0; i < position; i++) {
+                entries.next();
+            }
+            return entries.next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Entry> getAll() {
+        lock.lock();
+        try {
+            return new ArrayList<Entry>(index.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the bytes of a message. Messages removed after they were looked up can still be read.
+     */
+    byte[] read(Entry entry) {
+        LogSegment segment;
+        int position;
+        lock.lock();
+        try {
+            // compaction may move the record
+            segment = entry.segment;
+            position = entry.payloadPosition;
+        } finally {
+            lock.unlock();
+        }
+        return segment.read(position, entry.payloadLength);
+    }
+
+    /**
+     * Removes a message from the queue.
+     *
+     * @return false if the message was removed before
+     */
+    boolean remove(Entry entry) throws IOException {
+        long seq = -1;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (index.get(entry.messageId) != entry) {
+                return false;
+            }
+            boolean first = index.values().iterator().next() == entry;
+            index.remove(entry.messageId);
+            entry.segment.live--;
+            if (first) {
+                updateHead();
+                if (fsyncPolicy == FsyncPolicy.MESSAGE) {
+                    offset.force();
+                }
+                if (entry.segment.live == 0) {
+                    releaseSegments();
+                }
+            } else {
+                seq = nextSeq;
+                ByteBuffer record = ByteBuffer.allocate(TOMBSTONE_LENGTH);
+                record.putInt(TOMBSTONE_LENGTH).putInt(0).putLong(seq).put(RECORD_TOMBSTONE).putLong(entry.seq);
+                record.putInt(OFFSET_CRC, crc(record, OFFSET_TYPE)).flip();
+                LogSegment segment = segmentFor(TOMBSTONE_LENGTH);
+                segment.append(record);
+                segment.addTombstone(entry.seq);
+                nextSeq++;
+                if (fsyncPolicy == FsyncPolicy.MESSAGE) {
+                    segment.force();
+                    syncedSeq = seq;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (seq != -1 && fsyncPolicy == FsyncPolicy.BATCH) {
+            sync(seq);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the messages from the queue.
+     */
+    void clear() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            for (Entry entry : index.values()) {
+                entry.segment.live--;
+            }
+            index.clear();
+            if (active.getSize() > 0) {
+                roll();
+            }
+            updateHead();
+            offset.force();
+            releaseSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the appended records and the consumer offset to the disk.
+     */
+    void flush() throws IOException {
+        long seq;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            seq = nextSeq - 1;
+        } finally {
+            lock.unlock();
+        }
+        sync(seq);
+        lock.lock();
+        try {
+            if (!closed) {
+                // consumed messages only move the offset, which sync skips when nothing was appended
+                offset.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Group commit: forces the active segment unless a concurrent caller already forced the given record.
+     */
+    private void sync(long seq) throws IOException {
+        if (syncedSeq >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) {
+                return;
+            }
+            long target;
+            LogSegment segment;
+            lock.lock();
+            try {
+                ensureOpen();
+                target = nextSeq - 1;
+                // earlier segments were forced when they were sealed
+                segment = active;
+            } finally {
+                lock.unlock();
+            }
+            segment.force();
+            offset.force();
+            syncedSeq = target;
+        }
+    }
+
+    /**
+     * Deletes the consumed segments and compacts the sparse ones.
+     */
+    void maintain() throws IOException {
+        List<LogSegment> candidates = new ArrayList<LogSegment>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            releaseSegments();
+            if (compactionThreshold <= 0) {
+                return;
+            }
+            for (LogSegment segment : segments.values()) {
+                if (segment.isSealed() && segment.live > 0 && segment.messages > 0
+                        && (double) segment.live / segment.messages < compactionThreshold) {
+                    candidates.add(segment);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (LogSegment segment : candidates) {
+            compact(segment);
+        }
+    }
+
+    /**
+     * Rewrites a sealed segment with its live messages and the tombstones which are still needed. The
+     * records are copied while producers and consumers go on, and the segment is only swapped under the
+     * lock; messages removed meanwhile are dropped from the new segment by the next compaction.
+     */
+    private void compact(LogSegment segment) throws IOException {
+        List<Entry> entries = new ArrayList<Entry>();
+        List<Long> tombstones = new ArrayList<Long>();
+        lock.lock();
+        try {
+            if (segments.get(segment.getBaseSeq()) != segment) {
+                return;
+            }
+            for (Entry entry : index.values()) {
+                if (entry.segment == segment) {
+                    entries.add(entry);
+                }
+            }
+            for (Long target : segment.getTombstones()) {
+                // a tombstone is only needed while the removed record may still exist in an earlier segment
+                if (target >= head && target < segment.getBaseSeq()) {
+                    tombstones.add(target);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        int size = TOMBSTONE_LENGTH * tombstones.size();
+        for (Entry entry : entries) {
+            size += entry.recordLength;
+        }
+        ByteBuffer records = ByteBuffer.allocate(size);
+        int[] positions = new int[entries.size()];
+        // records keep their sequence, so the merged order is the order of the sequences
+        int next = 0;
+        List<Long> tombstoneSeqs = tombstoneSeqs(segment, tombstones);
+        int t = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            while (t < tombstones.size() && tombstoneSeqs.get(t) < entry.seq) {
+                putTombstone(records, tombstoneSeqs.get(t), tombstones.get(t++));
+            }
+            positions[i] = records.position();
+            segment.copy(entry.recordPosition, entry.recordLength, records);
+        }
+        while (t < tombstones.size()) {
+            putTombstone(records, tombstoneSeqs.get(t), tombstones.get(t++));
+        }
+        records.flip();
+
+        File compacted = new File(directory, segment.getFile().getName() + COMPACTION_SUFFIX);
+        FileOutputStream out = new FileOutputStream(compacted);
+        try {
+            FileChannel channel = out.getChannel();
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(true);
+        } finally {
+            out.close();
+        }
+
+        lock.lock();
+        try {
+            if (closed || segments.get(segment.getBaseSeq()) != segment) {
+                delete(compacted);
+                return;
+            }
+            Files.move(compacted.toPath(), segment.getFile().toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            LogSegment replacement = LogSegment.open(directory, segment.getBaseSeq(), false, 0);
+            replacement.setSize(size);
+            replacement.seal();
+            replacement.messages = entries.size();
+            for (Long target : tombstones) {
+                replacement.addTombstone(target);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                if (index.get(entry.messageId) == entry) {
+                    entry.payloadPosition = positions[i] + (entry.payloadPosition - entry.recordPosition);
+                    entry.recordPosition = positions[i];
+                    entry.segment = replacement;
+                    replacement.live++;
+                }
+            }
+            segments.put(replacement.getBaseSeq(), replacement);
+            segment.close();
+            if (log.isDebugEnabled()) {
+                log.debug("Compacted message store segment " + segment.getFile() + " to " + entries.size()
+                        + " messages");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Looks up the sequences of the tombstone records of the given targets in a segment.
+     */
+    private List<Long> tombstoneSeqs(LogSegment segment, List<Long> targets) {
+        Map<Long, Long> seqs = new HashMap<Long, Long>();
+        int position = 0;
+        while (position < segment.getSize()) {
+            int length = segment.getInt(position);
+            if (segment.get(position + OFFSET_TYPE) == RECORD_TOMBSTONE) {
+                seqs.put(segment.getLong(position + OFFSET_BODY), segment.getLong(position + OFFSET_SEQ));
+            }
+            position += length;
+        }
+        List<Long> result = new ArrayList<Long>(targets.size());
+        for (Long target : targets) {
+            result.add(seqs.get(target));
+        }
+        return result;
+    }
+
+    private static void putTombstone(ByteBuffer records, long seq, long target) {
+        int start = records.position();
+        records.putInt(TOMBSTONE_LENGTH).putInt(0).putLong(seq).put(RECORD_TOMBSTONE).putLong(target);
+        ByteBuffer record = records.duplicate();
+        record.position(start + OFFSET_TYPE).limit(start + TOMBSTONE_LENGTH);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        records.putInt(start + OFFSET_CRC, (int) crc.getValue());
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (LogSegment segment : segments.values()) {
+                segment.force();
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    log.warn("Error while closing message store segment " + segment.getFile(), e);
+                }
+            }
+            segments.clear();
+            index.clear();
+            offset.force();
+            offset.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a segment with room for a record of the given length, starting a new segment if needed.
+     */
+    private LogSegment segmentFor(int length) throws IOException {
+        if (!active.canAppend(length)) {
+            roll(Math.max(segmentSize, length));
+        }
+        return active;
+    }
+
+    private void roll() throws IOException {
+        roll(segmentSize);
+    }
+
+    private void roll(int capacity) throws IOException {
+        active.seal();
+        active = LogSegment.open(directory, nextSeq, true, capacity);
+        segments.put(active.getBaseSeq(), active);
+    }
+
+    /**
+     * Moves the consumer offset to the first live message.
+     */
+    private void updateHead() {
+        long first = index.isEmpty() ? nextSeq : index.values().iterator().next().seq;
+        if (first != head) {
+            head = first;
+            offset.set(head);
+        }
+    }
+
+    /**
+     * Deletes the sealed segments without live messages, unless their tombstones are still needed.
+     */
+    private void releaseSegments() {
+        for (Iterator<LogSegment> it = segments.values().iterator(); it.hasNext(); ) {
+            LogSegment segment = it.next();
+            if (segment == active || segment.live > 0 || segment.hasTombstonesFrom(head)) {
+                continue;
+            }
+            it.remove();
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Error while closing message store segment " + segment.getFile(), e);
+            }
+            delete(segment.getFile());
+            if (log.isDebugEnabled()) {
+                log.debug("Deleted consumed message store segment " + segment.getFile());
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Message store at " + directory + " is closed");
+        }
+    }
+
+    private static int crc(ByteBuffer record, int from) {
+        ByteBuffer source = record.duplicate();
+        source.position(from).limit(record.position());
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        return (int) crc.getValue();
+    }
+
+    private static void delete(File file) {
+        if (!file.delete() && file.exists()) {
+            log.warn("Cannot delete " + file);
+        }
+    }
+
+    /**
+     * A live message of the log.
+     */
+    static final class Entry {
+
+        private final long seq;
+
+        private final String messageId;
+
+        private final int recordLength;
+
+        private final int payloadLength;
+
+        /** Location of the record, guarded by the lock of the log as compaction moves records. */
+        private LogSegment segment;
+
+        private int recordPosition;
+
+        private int payloadPosition;
+
+        private Entry(long seq, String messageId, LogSegment segment, int recordPosition, int recordLength,
+                      int payloadPosition, int payloadLength) {
+            this.seq = seq;
+            this.messageId = messageId;
+            this.segment = segment;
+            this.recordPosition = recordPosition;
+            this.recordLength = recordLength;
+            this.payloadPosition = payloadPosition;
+            this.payloadLength = payloadLength;
+        }
+
+        String getMessageId() {
+            return messageId;
+        }
+
+        long getSeq() {
+            return seq;
+        }
+    }
+
+    /**
+     * The consumer offset, i.e. the sequence of the first message which is not consumed yet. It is kept
+     * in two alternating checksummed slots of a memory mapped file, so a torn write leaves the previous
+     * value readable.
+     */
+    private static final class ConsumerOffset {
+
+        private static final String FILE_NAME = "consumer.offset";
+
+        private static final int SLOT_SIZE = 24;
+
+        private final RandomAccessFile file;
+
+        private final MappedByteBuffer buffer;
+
+        private long generation;
+
+        private long value;
+
+        private ConsumerOffset(File path) throws IOException {
+            file = new RandomAccessFile(path, "rw");
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 2 * SLOT_SIZE);
+            for (int slot = 0; slot < 2; slot++) {
+                int position = slot * SLOT_SIZE;
+                long slotGeneration = buffer.getLong(position);
+                long slotValue = buffer.getLong(position + 8);
+                if (slotGeneration > generation && buffer.getInt(position + 16) == crc(slotGeneration, slotValue)) {
+                    generation = slotGeneration;
+                    value = slotValue;
+                }
+            }
+        }
+
+        long get() {
+            return value;
+        }
+
+        void set(long newValue) {
+            generation++;
+            value = newValue;
+            int position = (int) (generation % 2) * SLOT_SIZE;
+            buffer.putLong(position, generation);
+            buffer.putLong(position + 8, newValue);
+            buffer.putInt(position + 16, crc(generation, newValue));
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.warn("Error while closing the consumer offset file", e);
+            }
+        }
+
+        private static int crc(long generation, long value) {
+            CRC32 crc = new CRC32();
+            crc.update(ByteBuffer.allocate(16).putLong(generation).putLong(value).array());
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.jdbc;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.message.store.impl.jdbc.util.Statement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commits the insert statements of messages stored concurrently into a JDBC message store. Callers
+ * hand over their statement and block until it is committed; a single writer thread collects up to
+ * <code>batchSize</code> statements, waiting at most <code>lingerTime</code> for a batch to fill up, and
+ * writes them with one JDBC batch in one transaction. If a batch fails, its statements are retried one by
+ * one so that a single bad message does not fail the messages it happened to be batched with.
+ */
+public class JDBCBatchWriter implements Runnable {
+
+    private static final Log logger = LogFactory.getLog(JDBCBatchWriter.class.getName());
+
+    private final JDBCMessageStore store;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final BlockingQueue<PendingStatement> queue = new LinkedBlockingQueue<>();
+
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    public JDBCBatchWriter(JDBCMessageStore store, String storeName, int batchSize, long lingerTimeMillis) {
+        this.store = store;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerTimeMillis));
+        this.writerThread = new Thread(this, "JDBCMessageStoreWriter-" + storeName);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Hands over a statement to be group-committed and waits until it is written.
+     *
+     * @param statement insert statement of a message
+     * @return true once the statement is committed
+     * @throws SynapseException if the statement could not be written
+     */
+    public boolean write(Statement statement) throws SynapseException {
+        if (!running) {
+            throw new SynapseException("JDBC batch writer is stopped");
+        }
+        PendingStatement pending = new PendingStatement(statement);
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            // raced with stop(), nobody is going to write it
+            throw new SynapseException("JDBC batch writer is stopped");
+        }
+        try {
+            return pending.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SynapseException("Interrupted while waiting for the message to be stored", e);
+        } catch (ExecutionException e) {
+            throw new SynapseException("Error while storing message", e.getCause());
+        }
+    }
+
+    @Override
+    public void run() {
+        List<PendingStatement> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingStatement first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    // pick up whatever is already waiting before lingering for more
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingStatement next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (running) {
+                    logger.warn("JDBC batch writer interrupted unexpectedly");
+                }
+            } catch (Throwable t) {
+                logger.error("Unexpected error in the JDBC batch writer", t);
+                failAll(batch, t);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingStatement> batch) {
+        List<Statement> statements = new ArrayList<>(batch.size());
+        for (PendingStatement pending : batch) {
+            statements.add(pending.statement);
+        }
+        try {
+            store.processBatchedStatements(statements);
+            for (PendingStatement pending : batch) {
+                pending.result.complete(true);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Group-committed " + batch.size() + " messages");
+            }
+        } catch (SynapseException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Batch insert of " + batch.size() + " messages failed, storing them one by one", e);
+            for (PendingStatement pending : batch) {
+                try {
+                    store.processBatchedStatements(Collections.singletonList(pending.statement));
+                    pending.result.complete(true);
+                } catch (SynapseException ex) {
+                    pending.result.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private static void failAll(List<PendingStatement> batch, Throwable cause) {
+        for (PendingStatement pending : batch) {
+            pending.result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Stops the writer once the statements already handed over are written.
+     */
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingStatement> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        failAll(remaining, new SynapseException("JDBC batch writer is stopped"));
+    }
+
+    private static final class PendingStatement {
+
+        private final Statement statement;
+
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private PendingStatement(Statement statement) {
+            this.statement = statement;
+        }
+    }
+}
@@ -23,6 +23,11 @@ import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseException;
 import org.apache.synapse.message.MessageConsumer;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
 /**
  * JDBC Store Consumer
  */
@@ -53,13 +58,52 @@ public class JDBCConsumer implements MessageConsumer {
      */
     private boolean isAlive;
 
+    /**
+     * Number of messages fetched per query, 1 to fetch messages one at a time
+     */
+    private final int batchSize;
+
+    /**
+     * Maximum time the deletion of acknowledged messages is deferred
+     */
+    private final long batchLingerTime;
+
+    /**
+     * Messages fetched from the store and not yet acknowledged, head is the message in process
+     */
+    private final Deque<MessageContext> prefetched = new ArrayDeque<>();
+
+    /**
+     * Acknowledged messages waiting to be deleted from the store
+     */
+    private final List<String> pendingAcks = new ArrayList<>();
+
+    private long firstPendingAckTime;
+
     /**
      * Initialize consumer
      *
      * @param store - JDBC message store
      */
     public JDBCConsumer(JDBCMessageStore store) {
+        this(store, 1, 0);
+    }
+
+    /**
+     * Initialize a consumer which fetches up to <code>batchSize</code> messages per query. Acknowledged
+     * messages are deleted in batches, when <code>batchSize</code> of them have accumulated, when
+     * <code>batchLingerTime</code> has elapsed since the first of them was acknowledged, or before the next
+     * batch is fetched, whichever comes first. Should the server stop before a batch is deleted, those
+     * messages are delivered again.
+     *
+     * @param store           - JDBC message store
+     * @param batchSize       - number of messages fetched per query
+     * @param batchLingerTime - maximum time, in milliseconds, the deletion of an acknowledged message is deferred
+     */
+    public JDBCConsumer(JDBCMessageStore store, int batchSize, long batchLingerTime) {
         this.store = store;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchLingerTime = batchLingerTime;
         isAlive = true;
     }
 
@@ -74,7 +118,11 @@ public class JDBCConsumer implements MessageConsumer {
             // Message will get peeked from the table
             MessageContext msg = null;
             try {
-                msg = store.peek();
+                if (batchSize > 1) {
+                    msg = receiveFromBatch();
+                } else {
+                    msg = store.peek();
+                }
                 if (msg != null) {
                     currentMessageId = msg.getMessageID();
                 }
@@ -90,6 +138,43 @@ public class JDBCConsumer implements MessageConsumer {
         }
     }
 
+    private MessageContext receiveFromBatch() {
+        if (prefetched.isEmpty()) {
+            // acknowledged messages must be gone before the table is read again
+            if (!flushAcks()) {
+                return null;
+            }
+            prefetched.addAll(store.peek(batchSize));
+        } else if (isLingerElapsed()) {
+            // the processor polls even while no message is acknowledged, so the linger time is kept here too
+            flushAcks();
+        }
+        return prefetched.peekFirst();
+    }
+
+    private boolean isLingerElapsed() {
+        return !pendingAcks.isEmpty() && System.currentTimeMillis() - firstPendingAckTime >= batchLingerTime;
+    }
+
+    /**
+     * Deletes the acknowledged messages from the store.
+     *
+     * @return false if the messages could not be deleted
+     */
+    private boolean flushAcks() {
+        if (pendingAcks.isEmpty()) {
+            return true;
+        }
+        try {
+            store.remove(pendingAcks);
+            pendingAcks.clear();
+            return true;
+        } catch (SynapseException e) {
+            logger.error(getId() + " failed to remove " + pendingAcks.size() + " acknowledged messages", e);
+            return false;
+        }
+    }
+
     public boolean reInitialize() {
         // To keep the existing behaviour, return false
         return false;
@@ -102,6 +187,19 @@ public class JDBCConsumer implements MessageConsumer {
      */
     @Override
     public boolean ack() {
+        MessageContext head = prefetched.peekFirst();
+        if (head != null && head.getMessageID().equals(currentMessageId)) {
+            prefetched.pollFirst();
+            if (pendingAcks.isEmpty()) {
+                firstPendingAckTime = System.currentTimeMillis();
+            }
+            pendingAcks.add(currentMessageId);
+            store.dequeued();
+            if (pendingAcks.size() >= batchSize || isLingerElapsed()) {
+                flushAcks();
+            }
+            return true;
+        }
         // Message will be removed at this point
         MessageContext msg = store.remove(currentMessageId);
         if (msg != null) {
@@ -120,7 +218,8 @@ public class JDBCConsumer implements MessageConsumer {
     @Override
     public boolean cleanup() {
         currentMessageId = null;
-        return true;
+        prefetched.clear();
+        return flushAcks();
     }
 
 
@@ -140,6 +239,9 @@ public class JDBCConsumer implements MessageConsumer {
      */
     public void setAlive(boolean isAlive) {
         this.isAlive = isAlive;
+        if (!isAlive) {
+            flushAcks();
+        }
     }
 
     /**
@@ -33,10 +33,8 @@ import org.apache.synapse.message.store.impl.commons.StorableMessage;
 import org.apache.synapse.message.store.impl.jdbc.util.JDBCConfiguration;
 import org.apache.synapse.message.store.impl.jdbc.util.Statement;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -72,6 +70,17 @@ public class JDBCMessageStore extends AbstractMessageStore {
     private final AtomicBoolean cleaningFlag = new AtomicBoolean(false);
     protected static final String MESSAGE_COLUMN_NAME = "message";
 
+    /**
+     * Group-commits concurrently stored messages, null unless producer batching is enabled
+     */
+    private JDBCBatchWriter batchWriter;
+
+    private int consumerBatchSize = JDBCMessageStoreConstants.JDBC_DEFAULT_BATCH_SIZE;
+
+    private long consumerBatchLingerTime = JDBCMessageStoreConstants.JDBC_DEFAULT_CONSUMER_BATCH_LINGER_TIME;
+
+    private boolean compactFormatEnabled = false;
+
     /**
      * Initializes the JDBC Message Store
      *
@@ -90,9 +99,45 @@ public class JDBCMessageStore extends AbstractMessageStore {
         jdbcConfiguration = new JDBCConfiguration();
         jdbcConfiguration.buildDataSource(parameters);
 
+        int producerBatchSize = getIntParameter(JDBCMessageStoreConstants.JDBC_PRODUCER_BATCH_SIZE,
+                JDBCMessageStoreConstants.JDBC_DEFAULT_BATCH_SIZE);
+        if (producerBatchSize > 1) {
+            long lingerTime = getLongParameter(JDBCMessageStoreConstants.JDBC_PRODUCER_BATCH_LINGER_TIME,
+                    JDBCMessageStoreConstants.JDBC_DEFAULT_PRODUCER_BATCH_LINGER_TIME);
+            batchWriter = new JDBCBatchWriter(this, getName(), producerBatchSize, lingerTime);
+            if (logger.isDebugEnabled()) {
+                logger.debug(getNameString() + " group-commits up to " + producerBatchSize
+                        + " messages, lingering " + lingerTime + "ms");
+            }
+        }
+        consumerBatchSize = getIntParameter(JDBCMessageStoreConstants.JDBC_CONSUMER_BATCH_SIZE,
+                JDBCMessageStoreConstants.JDBC_DEFAULT_BATCH_SIZE);
+        consumerBatchLingerTime = getLongParameter(JDBCMessageStoreConstants.JDBC_CONSUMER_BATCH_LINGER_TIME,
+                JDBCMessageStoreConstants.JDBC_DEFAULT_CONSUMER_BATCH_LINGER_TIME);
+
+        compactFormatEnabled = parameters != null && Boolean.parseBoolean(
+                String.valueOf(parameters.get(JDBCMessageStoreConstants.JDBC_COMPACT_FORMAT_ENABLE)));
+
 //        JDBCMessageConverter.setSynapseEnvironment(synapseEnvironment);
     }
 
+    private int getIntParameter(String name, int defaultValue) {
+        return (int) getLongParameter(name, defaultValue);
+    }
+
+    /**
+     * Number of messages a consumer of this store fetches in a single query.
+     *
+     * @return consumer batch size, 1 if consumers should fetch messages one at a time
+     */
+    protected int getConsumerBatchSize() {
+        return consumerBatchSize;
+    }
+
+    protected long getConsumerBatchLingerTime() {
+        return consumerBatchLingerTime;
+    }
+
     protected JDBCConfiguration getJdbcConfiguration() {
         return jdbcConfiguration;
     }
@@ -115,7 +160,7 @@ public class JDBCMessageStore extends AbstractMessageStore {
      */
     @Override
     public MessageConsumer getConsumer() {
-        JDBCConsumer consumer = new JDBCConsumer(this);
+        JDBCConsumer consumer = new JDBCConsumer(this, getConsumerBatchSize(), getConsumerBatchLingerTime());
         consumer.setId(nextConsumerId());
         if (logger.isDebugEnabled()) {
             logger.debug(getNameString() + " created a new JDBC Message Consumer.");
@@ -167,6 +212,17 @@ public class JDBCMessageStore extends AbstractMessageStore {
      * @return the rows which contains the column data wrapped inside a map.
      */
     protected List<Map> getProcessedRows(Statement statement) {
+        return getProcessedRows(statement, 0);
+    }
+
+    /**
+     * Will return the list of processed message rows, limited to the given number of rows.
+     *
+     * @param statement the statement executed in the DB.
+     * @param maxRows   maximum number of rows to fetch, 0 for no limit.
+     * @return the rows which contains the column data wrapped inside a map.
+     */
+    protected List<Map> getProcessedRows(Statement statement, int maxRows) {
         Connection con = null;
         ResultSet rs = null;
         PreparedStatement ps = null;
@@ -174,20 +230,14 @@ public class JDBCMessageStore extends AbstractMessageStore {
         try {
             con = jdbcConfiguration.getConnection();
             ps = con.prepareStatement(statement.getStatement());
-            int index = 1;
-            for (Object param : statement.getParameters()) {
-                if (param instanceof String) {
-                    ps.setString(index, (String) param);
-                } else if (param instanceof Long) {
-                    ps.setLong(index, (Long) param);
-                } else if (param instanceof Integer) {
-                    ps.setInt(index, (Integer) param);
-                }
-                index++;
+            if (maxRows > 0) {
+                ps.setMaxRows(maxRows);
+                ps.setFetchSize(maxRows);
             }
+            bindParameters(ps, statement);
             rs = ps.executeQuery();
             elements = statement.getResult(rs);
-        } catch (SQLException e) {
+        } catch (SQLException | IOException e) {
             throw new SynapseException("Processing Statement failed : " + statement.getStatement() +
                     " against DataSource : " + jdbcConfiguration.getDSName(), e);
         } finally {
@@ -196,6 +246,34 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return elements;
     }
 
+    /**
+     * Binds the parameters of a statement to the prepared statement.
+     *
+     * @param preparedStatement prepared statement of the SQL
+     * @param statement         statement holding the parameters
+     * @throws SQLException if a parameter could not be bound
+     * @throws IOException  if a message could not be serialized
+     */
+    private void bindParameters(PreparedStatement preparedStatement, Statement statement)
+            throws SQLException, IOException {
+        int index = 1;
+        for (Object param : statement.getParameters()) {
+            if (param instanceof String) {
+                preparedStatement.setString(index, (String) param);
+            } else if (param instanceof Long) {
+                preparedStatement.setLong(index, (Long) param);
+            } else if (param instanceof Integer) {
+                preparedStatement.setInt(index, (Integer) param);
+            } else if (param instanceof byte[]) {
+                preparedStatement.setBytes(index, (byte[]) param);
+            } else if (param instanceof StorableMessage) {
+                //Serialize the object into byteArray and update the statement
+                preparedStatement.setBytes(index, serialize(param));
+            }
+            index++;
+        }
+    }
+
     /**
      * Will convert the byte[] message to store-able message.
      *
@@ -203,27 +281,18 @@ public class JDBCMessageStore extends AbstractMessageStore {
      * @return converted message context.
      */
     protected MessageContext deserializeMessage(byte[] msgObj) {
-        MessageContext messageContext = null;
+        MessageContext messageContext;
         if (msgObj != null) {
-            ObjectInputStream ios = null;
             try {
                 // Convert back to MessageContext and add to list
-                ios = new ObjectInputStream(new ByteArrayInputStream(msgObj));
-                Object msg = ios.readObject();
-                if (msg instanceof StorableMessage) {
-                    StorableMessage jdbcMsg = (StorableMessage) msg;
-                    org.apache.axis2.context.MessageContext axis2Mc = this.newAxis2Mc();
-                    MessageContext synapseMc = this.newSynapseMc(axis2Mc);
-                    messageContext = MessageConverter.toMessageContext(jdbcMsg, axis2Mc, synapseMc);
-                }
+                StorableMessage jdbcMsg = MessageConverter.fromBytes(msgObj);
+                org.apache.axis2.context.MessageContext axis2Mc = this.newAxis2Mc();
+                MessageContext synapseMc = this.newSynapseMc(axis2Mc);
+                messageContext = MessageConverter.toMessageContext(jdbcMsg, axis2Mc, synapseMc);
             } catch (IOException e) {
-                throw new SynapseException("Error reading object input stream", e);
+                throw new SynapseException("Error reading stored message", e);
             } catch (ClassNotFoundException e) {
                 throw new SynapseException("Could not find the class", e);
-            } finally {
-                if (ios != null) {
-                    closeStream(ios);
-                }
             }
         } else {
             throw new SynapseException("Retrieved Object is null");
@@ -231,19 +300,6 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return messageContext;
     }
 
-    /**
-     * Closes the object stream after completing the DB operations.
-     *
-     * @param ios stream which should be closed.
-     */
-    private void closeStream(ObjectInputStream ios) {
-        try {
-            ios.close();
-        } catch (IOException e) {
-            logger.error("Error while closing object input stream", e);
-        }
-    }
-
     private org.apache.axis2.context.MessageContext newAxis2Mc() {
         return ((Axis2SynapseEnvironment) synapseEnvironment)
                 .getAxis2ConfigurationContext().createMessageContext();
@@ -286,18 +342,7 @@ public class JDBCMessageStore extends AbstractMessageStore {
             connection.setAutoCommit(false);
             for(Statement statement : statements) {
                 preparedStatement = connection.prepareStatement(statement.getStatement());
-                int index = 1;
-                for (Object param : statement.getParameters()) {
-                    if (param instanceof String) {
-                        preparedStatement.setString(index, (String) param);
-                    } else if (param instanceof Long) {
-                        preparedStatement.setLong(index, (Long) param);
-                    } else if (param instanceof StorableMessage) {
-                        //Serialize the object into byteArray and update the statement
-                        preparedStatement.setBytes(index, serialize(param));
-                    }
-                    index++;
-                }
+                bindParameters(preparedStatement, statement);
                 if(logger.isDebugEnabled()){
                     logger.debug("Executing statement:"+preparedStatement);
                 }
@@ -328,7 +373,52 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return result;
     }
 
+    /**
+     * Processes statements that do not give a ResultSet in a single transaction, sending consecutive
+     * statements sharing the same SQL to the database as one JDBC batch.
+     *
+     * @param statements statements to process
+     * @throws SynapseException if the transaction failed and was rolled back
+     */
+    void processBatchedStatements(List<Statement> statements) throws SynapseException {
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        try {
+            connection = jdbcConfiguration.getConnection();
+            connection.setAutoCommit(false);
+            String sql = null;
+            for (Statement statement : statements) {
+                if (!statement.getStatement().equals(sql)) {
+                    if (preparedStatement != null) {
+                        preparedStatement.executeBatch();
+                        preparedStatement.close();
+                    }
+                    sql = statement.getStatement();
+                    preparedStatement = connection.prepareStatement(sql);
+                }
+                bindParameters(preparedStatement, statement);
+                preparedStatement.addBatch();
+            }
+            if (preparedStatement != null) {
+                preparedStatement.executeBatch();
+            }
+            connection.commit();
+            if (logger.isDebugEnabled()) {
+                logger.debug(getNameString() + " committed a batch of " + statements.size() + " statements");
+            }
+        } catch (SQLException | IOException e) {
+            rollback(connection, "processing batch");
+            throw new SynapseException("Processing batch of " + statements.size()
+                    + " statements failed against DataSource : " + jdbcConfiguration.getDSName(), e);
+        } finally {
+            close(connection, preparedStatement, null);
+        }
+    }
+
     public byte[] serialize(Object obj) throws IOException {
+        if (obj instanceof StorableMessage) {
+            return MessageConverter.toBytes((StorableMessage) obj, compactFormatEnabled);
+        }
         ByteArrayOutputStream b = new ByteArrayOutputStream();
         ObjectOutputStream o = new ObjectOutputStream(b);
         o.writeObject(obj);
@@ -340,6 +430,10 @@ public class JDBCMessageStore extends AbstractMessageStore {
      */
     @Override
     public void destroy() {
+        if (batchWriter != null) {
+            batchWriter.stop();
+            batchWriter = null;
+        }
         super.destroy();
         jdbcConfiguration = null;
     }
@@ -365,8 +459,19 @@ public class JDBCMessageStore extends AbstractMessageStore {
                     logger.error("Message Cleanup lock released unexpectedly", e);
                 }
             }
-            ArrayList<Statement> statements = new ArrayList<>();
             Statement statement = getStoreMessageStatement(messageContext, null);
+            JDBCBatchWriter writer = batchWriter;
+            if (writer != null) {
+                // serialize on the calling thread, the writer thread only talks to the database
+                List<Object> params = statement.getParameters();
+                for (int i = 0; i < params.size(); i++) {
+                    if (params.get(i) instanceof StorableMessage) {
+                        params.set(i, serialize(params.get(i)));
+                    }
+                }
+                return writer.write(statement);
+            }
+            ArrayList<Statement> statements = new ArrayList<>();
             statements.add(statement);
             return processNonResultingStatement(statements);
         } catch (Exception e) {
@@ -446,6 +551,63 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return msg;
     }
 
+    /**
+     * Select and return the first messages in current table, in the order they were stored.
+     *
+     * @param maxMessages maximum number of messages to return
+     * @return the first messages of the table, an empty list if the table is empty
+     */
+    public List<MessageContext> peek(int maxMessages) throws SynapseException {
+        Statement statement = new Statement("SELECT message FROM " + jdbcConfiguration.getTableName()
+                + " ORDER BY indexId ASC") {
+            @Override
+            public List<Map> getResult(ResultSet resultSet) throws SQLException {
+                return messageContentResultSet(resultSet, this.getStatement());
+            }
+        };
+        List<MessageContext> messages = new ArrayList<>();
+        try {
+            for (Map row : getProcessedRows(statement, maxMessages)) {
+                messages.add((MessageContext) row.get(MESSAGE_COLUMN_NAME));
+            }
+        } catch (SynapseException se) {
+            throw new SynapseException("Error while peek the messages", se);
+        }
+        return messages;
+    }
+
+    /**
+     * Removes the messages with the given msg_ids in a single transaction. Unlike {@link #remove(String)},
+     * the removed messages are not read back from the table.
+     *
+     * @param msgIds message IDs of the messages to remove
+     */
+    public void remove(List<String> msgIds) throws SynapseException {
+        if (msgIds.isEmpty()) {
+            return;
+        }
+        boolean cleaningState = false;
+        try {
+            if (cleaningFlag.get()) {
+                try {
+                    removeLock.lock();
+                    cleaningState = true;
+                } catch (Exception ie) {
+                    logger.error("Message Cleanup lock released unexpectedly", ie);
+                }
+            }
+            List<Statement> statements = new ArrayList<>();
+            for (String msgId : msgIds) {
+                statements.addAll(removeMessageStatement(msgId));
+            }
+            processBatchedStatements(statements);
+        } finally {
+            if (cleaningState) {
+                removeLock.unlock();
+            }
+        }
+    }
+
     /**
      * Removes the first element from table
      *
@@ -60,4 +60,39 @@ public class JDBCMessageStoreConstants {
      * Default name of the database table
      */
     public static final String JDBC_DEFAULT_TABLE_NAME = "jdbc_message_store";
+
+    /**
+     * Maximum number of messages written to the database in a single transaction. Messages stored
+     * concurrently are group-committed with a JDBC batch insert. The default of 1 disables batching
+     */
+    public static final String JDBC_PRODUCER_BATCH_SIZE = "store.jdbc.producer.batch.size";
+
+    /**
+     * Maximum time, in milliseconds, a stored message waits for others to join its batch
+     */
+    public static final String JDBC_PRODUCER_BATCH_LINGER_TIME = "store.jdbc.producer.batch.linger.time";
+
+    /**
+     * Number of messages a consumer fetches from the database in a single query. Acknowledged messages
+     * are deleted together in a single transaction. The default of 1 disables batching
+     */
+    public static final String JDBC_CONSUMER_BATCH_SIZE = "store.jdbc.consumer.batch.size";
+
+    /**
+     * Maximum time, in milliseconds, the deletion of an acknowledged message is deferred to be batched
+     * with the deletion of the messages acknowledged after it
+     */
+    public static final String JDBC_CONSUMER_BATCH_LINGER_TIME = "store.jdbc.consumer.batch.linger.time";
+
+    /**
+     * Whether messages are written in the compact format instead of with Java serialization. Only nodes of
+     * this version or later read the compact format, so it should be enabled once all of them are upgraded
+     */
+    public static final String JDBC_COMPACT_FORMAT_ENABLE = "store.producer.compact.format.enable";
+
+    public static final int JDBC_DEFAULT_BATCH_SIZE = 1;
+
+    public static final long JDBC_DEFAULT_PRODUCER_BATCH_LINGER_TIME = 5;
+
+    public static final long JDBC_DEFAULT_CONSUMER_BATCH_LINGER_TIME = 1000;
 }
@@ -29,11 +29,13 @@ import org.apache.synapse.message.store.Constants;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.ObjectMessage;
 import javax.jms.Session;
+import java.io.IOException;
 
 public class JmsConsumer implements MessageConsumer {
 
@@ -94,22 +96,16 @@ public class JmsConsumer implements MessageConsumer {
                 if (message == null) {
                     return null;
                 }
-                if (!(message instanceof ObjectMessage)) {
-                    logger.warn("JMS Consumer " + getId() + " did not receive a javax.jms.ObjectMessage");
-                    //we just discard this message as we only store Object messages via JMS Message store
-                    message.acknowledge();
-                    return null;
-                }
-                ObjectMessage msg = (ObjectMessage) message;
-                String messageId = msg.getStringProperty(Constants.OriginalMessageID);
-                if (!(msg.getObject() instanceof StorableMessage)) {
+                String messageId = message.getStringProperty(Constants.OriginalMessageID);
+                StorableMessage storableMessage = readStorableMessage(message);
+                if (storableMessage == null) {
                     logger.warn("JMS Consumer " + getId() + " did not receive a valid message.");
+                    //we just discard this message as we only read messages written by the JMS Message store
                     message.acknowledge();
                     return null;
                 }
 
                 //create a ,essage context back from the stored message
-                StorableMessage storableMessage = (StorableMessage) msg.getObject();
                 org.apache.axis2.context.MessageContext axis2Mc = store.newAxis2Mc();
                 MessageContext synapseMc = store.newSynapseMc(axis2Mc);
                 synapseMc = MessageConverter.toMessageContext(storableMessage, axis2Mc, synapseMc);
@@ -140,6 +136,32 @@ public class JmsConsumer implements MessageConsumer {
         }
     }
 
+    /**
+     * Reads the stored message from the body of the given JMS message. Messages are stored as
+     * {@link ObjectMessage}s, or as {@link BytesMessage}s when the compact format is enabled; both are accepted
+     * whatever the setting of this store, since other nodes on the queue may write either.
+     *
+     * @param message JMS message received from the store
+     * @return stored message, or null if the JMS message does not carry a stored message
+     */
+    private StorableMessage readStorableMessage(Message message) throws JMSException {
+        if (message instanceof BytesMessage) {
+            BytesMessage bytesMessage = (BytesMessage) message;
+            byte[] bytes = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(bytes);
+            try {
+                return MessageConverter.fromBytes(bytes);
+            } catch (IOException | ClassNotFoundException e) {
+                logger.error("JMS Consumer " + getId() + " could not read the stored message.", e);
+                return null;
+            }
+        }
+        if (message instanceof ObjectMessage && ((ObjectMessage) message).getObject() instanceof StorableMessage) {
+            return (StorableMessage) ((ObjectMessage) message).getObject();
+        }
+        return null;
+    }
+
     public boolean ack() {
         boolean result = cachedMessage.ack();
         if (result) {
@@ -82,13 +82,21 @@ public class JmsProducer implements MessageProducer {
         boolean error = false;
         Throwable throwable = null;
         try {
-            ObjectMessage objectMessage = session.createObjectMessage(message);
-            objectMessage.setStringProperty(OriginalMessageID, synCtx.getMessageID());
-            setPriority(producer, objectMessage, message);
+            Message jmsMessage;
+            if (store.isCompactFormatEnable()) {
+                BytesMessage bytesMessage = session.createBytesMessage();
+                bytesMessage.writeBytes(MessageConverter.toBytes(message));
+                jmsMessage = bytesMessage;
+            } else {
+                // the format every version of the store reads
+                jmsMessage = session.createObjectMessage(message);
+            }
+            jmsMessage.setStringProperty(OriginalMessageID, synCtx.getMessageID());
+            setPriority(producer, jmsMessage, message);
             setJmsProducerProperties(producer, synCtx);
-            setJmsMessageProperties(objectMessage, synCtx);
-            setTransportHeaders(objectMessage,synCtx);
-            producer.send(objectMessage);
+            setJmsMessageProperties(jmsMessage, synCtx);
+            setTransportHeaders(jmsMessage,synCtx);
+            producer.send(jmsMessage);
 
             if (session.getTransacted()) {
                 session.commit();
@@ -212,7 +220,7 @@ public class JmsProducer implements MessageProducer {
         return true;
     }
 
-    private void setPriority(javax.jms.MessageProducer producer, ObjectMessage objectMessage,
+    private void setPriority(javax.jms.MessageProducer producer, Message jmsMessage,
                              StorableMessage message) {
         if (message.getPriority(DEFAULT_PRIORITY) != Message.DEFAULT_PRIORITY) {
             try {
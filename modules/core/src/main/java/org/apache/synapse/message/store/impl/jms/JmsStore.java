@@ -79,6 +79,8 @@ public class JmsStore extends AbstractMessageStore {
     public static final String QUEUE_PREFIX = "queue.";
     /** Guaranteed delivery status*/
     public static final String GUARANTEED_DELIVERY_ENABLE = "store.producer.guaranteed.delivery.enable";
+    /** Store messages as BytesMessages in the compact format, readable only by nodes of this version or later */
+    public static final String COMPACT_FORMAT_ENABLE = "store.producer.compact.format.enable";
 
     /** JMS connection properties */
     private final Properties connectionProperties = new Properties();
@@ -114,6 +116,8 @@ public class JmsStore extends AbstractMessageStore {
     private long retryTime = -1;
     /** Guaranteed delivery enable or disable flag */
     private boolean isGuaranteedDeliveryEnable = false;
+
+    private boolean isCompactFormatEnable = false;
     /** Preserve session for caching */
     private MessageProducer cachedProducer;
 
@@ -535,6 +539,9 @@ public class JmsStore extends AbstractMessageStore {
         if (parameters != null && !parameters.isEmpty() && parameters.get(GUARANTEED_DELIVERY_ENABLE) != null) {
             isGuaranteedDeliveryEnable = Boolean.valueOf(parameters.get(GUARANTEED_DELIVERY_ENABLE).toString());
         }
+        if (parameters != null && !parameters.isEmpty() && parameters.get(COMPACT_FORMAT_ENABLE) != null) {
+            isCompactFormatEnable = Boolean.valueOf(parameters.get(COMPACT_FORMAT_ENABLE).toString());
+        }
 
         String consumerReceiveTimeOut = (String) parameters.get(CONSUMER_TIMEOUT);
         int consumerReceiveTimeOutI = 6000;
@@ -724,6 +731,13 @@ public class JmsStore extends AbstractMessageStore {
         this.producer = producer;
     }
 
+    /**
+     * @return whether messages are stored in the compact format instead of as serialized objects
+     */
+    public boolean isCompactFormatEnable() {
+        return isCompactFormatEnable;
+    }
+
     private String resolveConnectionStringValues(Object param) {
         String paramString = param.toString();
         Matcher lookupMatcher = queueLookupPattern.matcher(paramString);
@@ -22,39 +22,47 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.PipelinedMessageConsumer;
 
-import java.util.Queue;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
-public class InMemoryConsumer implements MessageConsumer {
+public class InMemoryConsumer implements PipelinedMessageConsumer {
     private static final Log logger = LogFactory.getLog(InMemoryConsumer.class.getName());
     /** */
-    private Queue<MessageContext> queue;
-    /** */
     private final InMemoryStore store;
     /** ID of this message consumer instance */
     private String idString;
 
     private MessageContext lastMessage;
 
-    private final Object queueLock;
+    /** Consumer of the spilled messages, null unless the store spills to the disk */
+    private MessageConsumer spillConsumer;
+
+    /** Whether the last message came from the spill store */
+    private boolean spilled;
+
+    /** Messages handed out by receiveNext and not acknowledged yet, mapped to whether they were spilled */
+    private final Map<MessageContext, Boolean> handedOut = new IdentityHashMap<MessageContext, Boolean>();
 
     public InMemoryConsumer(InMemoryStore store) {
         this.store = store;
-        this.queueLock = store.getQLock();
     }
 
     public MessageContext receive() {
-        MessageContext message;
-        synchronized (queueLock) {
-            message = queue.peek();
-            if (logger.isDebugEnabled()) {
-                if (message != null) {
-                    logger.debug(getId() + " received MessageID : " + message.getMessageID());
-                }
+        MessageContext message = store.peek();
+        spilled = false;
+        if (message == null && spillConsumer != null) {
+            message = spillConsumer.receive();
+            spilled = message != null;
+        }
+        if (logger.isDebugEnabled()) {
+            if (message != null) {
+                logger.debug(getId() + " received MessageID : " + message.getMessageID());
             }
-            lastMessage = message;
-
         }
+        lastMessage = message;
         return message;
     }
 
@@ -62,16 +70,61 @@ public class InMemoryConsumer implements MessageConsumer {
         if (logger.isDebugEnabled() && lastMessage != null) {
             logger.debug(getId() + " ack");
         }
-        synchronized (queueLock) {
-            Object o = queue.poll();
-            if (o != null) {
-                store.dequeued();
+        if (lastMessage != null) {
+            if (spilled) {
+                store.ackSpilled(spillConsumer);
+            } else {
+                store.remove(lastMessage);
             }
             lastMessage = null;
         }
         return true;
     }
 
+    public MessageContext receiveNext() {
+        MessageContext message;
+        boolean fromSpill = false;
+        synchronized (handedOut) {
+            message = store.peek(Collections.unmodifiableSet(handedOut.keySet()));
+            if (message == null && spillConsumer instanceof PipelinedMessageConsumer) {
+                // spilled messages come after all the messages in memory
+                message = ((PipelinedMessageConsumer) spillConsumer).receiveNext();
+                fromSpill = message != null;
+            }
+            if (message != null) {
+                handedOut.put(message, fromSpill);
+            }
+        }
+        if (logger.isDebugEnabled() && message != null) {
+            logger.debug(getId() + " received MessageID : " + message.getMessageID());
+        }
+        return message;
+    }
+
+    public boolean ack(MessageContext message) {
+        Boolean fromSpill;
+        synchronized (handedOut) {
+            fromSpill = handedOut.remove(message);
+        }
+        if (fromSpill == null) {
+            return false;
+        }
+        if (fromSpill) {
+            return store.ackSpilled((PipelinedMessageConsumer) spillConsumer, message);
+        }
+        return store.remove(message);
+    }
+
+    public void release(MessageContext message) {
+        Boolean fromSpill;
+        synchronized (handedOut) {
+            fromSpill = handedOut.remove(message);
+        }
+        if (fromSpill != null && fromSpill) {
+            ((PipelinedMessageConsumer) spillConsumer).release(message);
+        }
+    }
+
     public boolean cleanup() {
         if (logger.isDebugEnabled()) {
             logger.debug(getId() + " cleanup");
@@ -94,9 +147,8 @@ public class InMemoryConsumer implements MessageConsumer {
         return idString;
     }
 
-    public InMemoryConsumer setDestination(Queue<MessageContext> queue) {
-        this.queue = queue;
-        return this;
+    void setSpillConsumer(MessageConsumer spillConsumer) {
+        this.spillConsumer = spillConsumer;
     }
 
     @Override
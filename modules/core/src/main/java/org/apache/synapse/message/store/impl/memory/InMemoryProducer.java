@@ -23,31 +23,22 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.message.MessageProducer;
 
-import java.util.Queue;
-
 public class InMemoryProducer implements MessageProducer {
     private static final Log logger = LogFactory.getLog(InMemoryProducer.class.getName());
     /** */
-    private Queue<MessageContext> queue;
-    /** */
     private final InMemoryStore store;
     /** */
     private String idString;
 
-    private final Object queueLock;
-
     public InMemoryProducer(InMemoryStore store) {
         this.store = store;
-        this.queueLock = store.getQLock();
     }
 
     public boolean storeMessage(MessageContext synCtx) {
         boolean result = false;
         if (synCtx != null) {
             synCtx.getEnvelope().buildWithAttachments();
-            synchronized (queueLock) {
-                result = queue.offer(synCtx);
-            }
+            result = store.offer(synCtx);
             if (!result) {
                 logger.warn(getId() + " ignored MessageID : " + synCtx.getMessageID());
             }
@@ -75,9 +66,4 @@ public class InMemoryProducer implements MessageProducer {
     public String getId() {
         return idString;
     }
-
-    public InMemoryProducer setDestination(Queue<MessageContext> queue) {
-        this.queue = queue;
-        return this;
-    }
 }
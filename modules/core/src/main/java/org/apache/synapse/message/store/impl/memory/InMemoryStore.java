@@ -24,26 +24,74 @@ import org.apache.synapse.MessageContext;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.message.MessageConsumer;
 import org.apache.synapse.message.MessageProducer;
+import org.apache.synapse.message.PipelinedMessageConsumer;
 import org.apache.synapse.message.store.AbstractMessageStore;
 import org.apache.synapse.message.store.Constants;
+import org.apache.synapse.message.store.impl.file.FileMessageStore;
+import org.apache.synapse.message.store.impl.file.FileMessageStoreConstants;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Message store holding the messages in a lock-free queue in memory. The store can be bounded with
+ * {@link InMemoryStoreConstants#MEMORY_STORE_CAPACITY}; what happens to messages stored while it is full is
+ * decided by the {@link InMemoryStoreConstants#MEMORY_STORE_OVERFLOW_POLICY}. Spilled messages are kept in
+ * a {@link FileMessageStore} and delivered after the messages in memory, so the store stays FIFO. Like the
+ * messages in memory, spilled messages are lost when the store is restarted.
+ */
 public class InMemoryStore extends AbstractMessageStore {
     private static final Log logger = LogFactory.getLog(InMemoryStore.class.getName());
 
-    private Queue<MessageContext> queue = new ConcurrentLinkedQueue<MessageContext>();
+    private final Queue<MessageContext> queue = new ConcurrentLinkedQueue<MessageContext>();
+
+    /** Messages in the queue, ConcurrentLinkedQueue#size() walks the whole queue */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /** Free places of a bounded store, null if the store is unbounded */
+    private Semaphore slots;
+
+    private int capacity;
+
+    private String overflowPolicy = InMemoryStoreConstants.MEMORY_STORE_DEFAULT_OVERFLOW_POLICY;
+
+    private long blockTimeout = InMemoryStoreConstants.MEMORY_STORE_DEFAULT_BLOCK_TIMEOUT;
+
+    /** Store of the messages which did not fit in memory, null unless the spill policy is used */
+    private FileMessageStore spillStore;
+
+    private MessageProducer spillProducer;
+
+    /** Messages in the spill store, only changed while holding the spill lock */
+    private final AtomicInteger spillCount = new AtomicInteger();
+
+    /**
+     * Guards the spill store together with the spill count, so that the count never claims a message the
+     * spill store does not hold and a message is never put in memory while older ones are spilled
+     */
+    private final Object spillLock = new Object();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong blockedCount = new AtomicLong();
 
-    private final Object queueLock = new Object();
+    private final AtomicLong spilledCount = new AtomicLong();
 
     public MessageProducer getProducer() {
         InMemoryProducer producer = new InMemoryProducer(this);
         producer.setId(nextProducerId());
-        producer.setDestination(queue);
         if (logger.isDebugEnabled()) {
             logger.debug(nameString() + " created a new In Memory Message Producer.");
         }
@@ -53,7 +101,9 @@ public class InMemoryStore extends AbstractMessageStore {
     public MessageConsumer getConsumer() {
         InMemoryConsumer consumer = new InMemoryConsumer(this);
         consumer.setId(nextConsumerId());
-        consumer.setDestination(queue);
+        if (spillStore != null) {
+            consumer.setSpillConsumer(spillStore.getConsumer());
+        }
         if (logger.isDebugEnabled()) {
             logger.debug(nameString() + " created a new In Memory Message Consumer.");
         }
@@ -64,30 +114,192 @@ public class InMemoryStore extends AbstractMessageStore {
         return Constants.INMEMORY_MS;
     }
 
-    public int size() {
-        synchronized (queueLock) {
-            return queue.size();
+    /**
+     * Adds a message to the store, applying the overflow policy if the store is full.
+     *
+     * @param message message to store
+     * @return false if the message is rejected
+     */
+    boolean offer(MessageContext message) {
+        if (spillProducer != null) {
+            // while nothing is spilled a message which fits in memory needs no lock
+            if (spillCount.get() == 0 && slots.tryAcquire()) {
+                add(message);
+                return true;
+            }
+            synchronized (spillLock) {
+                // later messages must not overtake the spilled ones
+                if (spillCount.get() == 0 && slots.tryAcquire()) {
+                    add(message);
+                    return true;
+                }
+                return spill(message);
+            }
+        }
+        if (slots == null || slots.tryAcquire()) {
+            add(message);
+            return true;
         }
+        if (InMemoryStoreConstants.OVERFLOW_BLOCK.equals(overflowPolicy)) {
+            blockedCount.incrementAndGet();
+            try {
+                if (slots.tryAcquire(blockTimeout, TimeUnit.MILLISECONDS)) {
+                    add(message);
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        rejectedCount.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug(nameString() + " is full, rejected MessageID: " + message.getMessageID());
+        }
+        return false;
     }
 
-    public MessageContext remove() throws NoSuchElementException {
-        MessageContext message;
-        synchronized (queueLock) {
-            message = queue.remove();
+    private void add(MessageContext message) {
+        queue.offer(message);
+        count.incrementAndGet();
+    }
+
+    private boolean spill(MessageContext message) {
+        if (spillProducer.storeMessage(message)) {
+            spillCount.incrementAndGet();
+            spilledCount.incrementAndGet();
+            return true;
         }
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return the first message held in memory, or null if there is none
+     */
+    MessageContext peek() {
+        return queue.peek();
+    }
+
+    /**
+     * @return the first message held in memory which is not one of the given ones, or null if there is none
+     */
+    MessageContext peek(Set<MessageContext> skip) {
+        for (MessageContext message : queue) {
+            if (!skip.contains(message)) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a message held in memory.
+     *
+     * @return false if the message is not in the store anymore
+     */
+    boolean remove(MessageContext message) {
+        if (!queue.remove(message)) {
+            return false;
+        }
+        released();
+        return true;
+    }
+
+    /**
+     * Acknowledges the last message received from the spill store.
+     *
+     * @return false if the spill store did not remove the message
+     */
+    boolean ackSpilled(MessageConsumer spillConsumer) {
+        synchronized (spillLock) {
+            if (!spillConsumer.ack()) {
+                return false;
+            }
+            spillRemoved();
+            return true;
+        }
+    }
+
+    /**
+     * Acknowledges a message handed out by the spill store.
+     *
+     * @return false if the spill store did not remove the message
+     */
+    boolean ackSpilled(PipelinedMessageConsumer spillConsumer, MessageContext message) {
+        synchronized (spillLock) {
+            if (!spillConsumer.ack(message)) {
+                return false;
+            }
+            spillRemoved();
+            return true;
+        }
+    }
+
+    /**
+     * Removes the first spilled message, must be called while holding the spill lock.
+     *
+     * @return the removed message, or null if nothing is spilled
+     */
+    private MessageContext removeSpilled() {
+        if (spillCount.get() == 0) {
+            return null;
+        }
+        MessageContext message = spillStore.remove();
+        spillRemoved();
+        return message;
+    }
+
+    private void spillRemoved() {
+        spillCount.decrementAndGet();
+        dequeued();
+    }
+
+    private void released() {
+        count.decrementAndGet();
+        if (slots != null) {
+            slots.release();
+        }
+        dequeued();
+    }
+
+    public int size() {
+        return count.get() + spillCount.get();
+    }
+
+    public MessageContext remove() throws NoSuchElementException {
+        MessageContext message = queue.poll();
         if (message != null) {
-            dequeued();
-            if (logger.isDebugEnabled()) {
-                logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => true");
+            released();
+        } else if (spillStore != null) {
+            synchronized (spillLock) {
+                // messages are only put in memory while nothing is spilled, so look at memory once more
+                message = queue.poll();
+                if (message != null) {
+                    released();
+                } else {
+                    message = removeSpilled();
+                }
             }
         }
+        if (message == null) {
+            throw new NoSuchElementException(nameString() + " is empty");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => true");
+        }
         return message;
     }
 
     public void clear() {
-        synchronized (queueLock) {
-            while (!queue.isEmpty()) {
-                remove();
+        while (queue.poll() != null) {
+            released();
+        }
+        if (spillStore != null) {
+            synchronized (spillLock) {
+                spillStore.clear();
+                for (int i = spillCount.getAndSet(0); i > 0; i--) {
+                    dequeued();
+                }
             }
         }
         if (logger.isDebugEnabled()) {
@@ -97,17 +309,24 @@ public class InMemoryStore extends AbstractMessageStore {
 
     public MessageContext remove(final String messageID) {
         MessageContext message = null;
-        synchronized (queueLock) {
-            for (MessageContext m : queue) {
-                if (m.getMessageID().equals(messageID)) {
-                    message = m;
-                    break;
-                }
+        for (MessageContext m : queue) {
+            if (m.getMessageID().equals(messageID)) {
+                message = m;
+                break;
+            }
+        }
+        if (message != null) {
+            boolean result = remove(message);
+            if (logger.isDebugEnabled()) {
+                logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => " + result);
             }
-            if (message != null) {
-                boolean result = queue.remove(message);
-                if (logger.isDebugEnabled()) {
-                    logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => " + result);
+            return result ? message : null;
+        }
+        if (spillStore != null) {
+            synchronized (spillLock) {
+                message = spillStore.remove(messageID);
+                if (message != null) {
+                    spillRemoved();
                 }
             }
         }
@@ -115,42 +334,37 @@ public class InMemoryStore extends AbstractMessageStore {
     }
 
     public MessageContext get(final int index) {
-        if (index < 0 || index >= queue.size()) {
+        if (index < 0 || index >= size()) {
             return null;
         }
-        MessageContext message = null;
-        synchronized (queueLock) {
-            int i = 0;
-            for (MessageContext m : queue) {
-                if (i == index) {
-                    message = m;
-                    break;
-                }
-                ++i;
+        int i = 0;
+        for (MessageContext m : queue) {
+            if (i == index) {
+                return m;
             }
+            ++i;
         }
-        return message;
+        return spillStore != null ? spillStore.get(index - i) : null;
     }
 
     public List<MessageContext> getAll() {
-        List<MessageContext> list = new ArrayList<MessageContext>();
-        synchronized (queueLock) {
-            list.addAll(queue);
+        List<MessageContext> list = new ArrayList<MessageContext>(queue);
+        if (spillStore != null && spillCount.get() > 0) {
+            list.addAll(spillStore.getAll());
         }
         return list;
     }
 
     public MessageContext get(String messageId) {
-        MessageContext message = null;
-        synchronized (queueLock) {
-            for (MessageContext m : queue) {
-                if (m.getMessageID().equals(messageId)) {
-                    message = m;
-                    break;
-                }
+        for (MessageContext m : queue) {
+            if (m.getMessageID().equals(messageId)) {
+                return m;
             }
         }
-        return message;
+        if (spillStore != null && spillCount.get() > 0) {
+            return spillStore.get(messageId);
+        }
+        return null;
     }
 
     public void init(SynapseEnvironment se) {
@@ -159,7 +373,66 @@ public class InMemoryStore extends AbstractMessageStore {
             return;
         }
         super.init(se);
-        logger.info("Initialized " + nameString() + "...");
+
+        capacity = (int) getLongParameter(InMemoryStoreConstants.MEMORY_STORE_CAPACITY, 0);
+        if (capacity > 0) {
+            slots = new Semaphore(capacity);
+            Object policy = parameters != null
+                    ? parameters.get(InMemoryStoreConstants.MEMORY_STORE_OVERFLOW_POLICY) : null;
+            if (policy != null) {
+                overflowPolicy = policy.toString().trim().toLowerCase(Locale.ENGLISH);
+            }
+            blockTimeout = getLongParameter(InMemoryStoreConstants.MEMORY_STORE_BLOCK_TIMEOUT,
+                    InMemoryStoreConstants.MEMORY_STORE_DEFAULT_BLOCK_TIMEOUT);
+            if (InMemoryStoreConstants.OVERFLOW_SPILL.equals(overflowPolicy)) {
+                initSpillStore(se);
+            } else if (!InMemoryStoreConstants.OVERFLOW_REJECT.equals(overflowPolicy)
+                    && !InMemoryStoreConstants.OVERFLOW_BLOCK.equals(overflowPolicy)) {
+                logger.warn(nameString() + " invalid value: " + overflowPolicy + " for parameter: "
+                        + InMemoryStoreConstants.MEMORY_STORE_OVERFLOW_POLICY + ", using the default: "
+                        + InMemoryStoreConstants.MEMORY_STORE_DEFAULT_OVERFLOW_POLICY);
+                overflowPolicy = InMemoryStoreConstants.MEMORY_STORE_DEFAULT_OVERFLOW_POLICY;
+            }
+            logger.info("Initialized " + nameString() + " with capacity " + capacity + ", overflow policy: "
+                    + overflowPolicy);
+        } else {
+            logger.info("Initialized " + nameString() + "...");
+        }
+    }
+
+    private void initSpillStore(SynapseEnvironment se) {
+        Map<String, Object> spillParameters = new HashMap<String, Object>();
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            if (parameter.getKey().startsWith("store.file.")) {
+                spillParameters.put(parameter.getKey(), parameter.getValue());
+            }
+        }
+        Object directory = parameters.get(InMemoryStoreConstants.MEMORY_STORE_SPILL_DIRECTORY);
+        spillParameters.put(FileMessageStoreConstants.FILE_STORE_DIRECTORY, directory != null ? directory
+                : FileMessageStoreConstants.FILE_STORE_DEFAULT_DIRECTORY + File.separator + getName()
+                + InMemoryStoreConstants.MEMORY_STORE_SPILL_SUFFIX);
+        if (!spillParameters.containsKey(FileMessageStoreConstants.FILE_STORE_FSYNC_POLICY)) {
+            // spilling is about memory, not durability
+            spillParameters.put(FileMessageStoreConstants.FILE_STORE_FSYNC_POLICY, "periodic");
+        }
+
+        // not registered through setName, the spill store is part of this store
+        final String spillName = getName() + InMemoryStoreConstants.MEMORY_STORE_SPILL_SUFFIX;
+        spillStore = new FileMessageStore() {
+            @Override
+            public String getName() {
+                return spillName;
+            }
+        };
+        spillStore.setParameters(spillParameters);
+        spillStore.init(se);
+        spillProducer = spillStore.getProducer();
+        // the messages in memory do not survive a restart, nor do the ones spilled behind them
+        int stale = spillStore.size();
+        if (stale > 0) {
+            spillStore.clear();
+            logger.warn(nameString() + " discarded " + stale + " messages spilled before the restart");
+        }
     }
 
     public void destroy() {
@@ -167,11 +440,40 @@ public class InMemoryStore extends AbstractMessageStore {
         if (logger.isDebugEnabled()) {
             logger.debug("Destroying " + nameString() + "...");
         }
+        if (spillStore != null) {
+            spillStore.destroy();
+            spillStore = null;
+            spillProducer = null;
+        }
         super.destroy();
     }
 
-    public Object getQLock() {
-        return queueLock;
+    /**
+     * @return maximum number of messages held in memory, -1 if the store is unbounded
+     */
+    public int getCapacity() {
+        return slots != null ? capacity : -1;
+    }
+
+    /**
+     * @return number of messages rejected because the store was full
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return number of times a producer had to wait for room in the store
+     */
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    /**
+     * @return number of messages written to the spill store
+     */
+    public long getSpilledCount() {
+        return spilledCount.get();
     }
 
     private String nameString() {
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.memory;
+
+public class InMemoryStoreConstants {
+
+    /**
+     * Maximum number of messages held in memory, 0 or less for an unbounded store
+     */
+    public static final String MEMORY_STORE_CAPACITY = "store.memory.capacity";
+
+    /**
+     * What happens to a message stored while the store is full: reject (the store fails), block (the
+     * producer waits for room up to the block timeout, then the store fails) or spill (the message is
+     * written to a file message store and delivered once the messages in memory are consumed)
+     */
+    public static final String MEMORY_STORE_OVERFLOW_POLICY = "store.memory.overflow.policy";
+
+    /**
+     * Time, in milliseconds, a producer waits for room in the store under the block overflow policy
+     */
+    public static final String MEMORY_STORE_BLOCK_TIMEOUT = "store.memory.overflow.block.timeout";
+
+    /**
+     * Directory of the spilled messages, relative paths are resolved against the Synapse home directory.
+     * Defaults to message-stores/&lt;store name&gt;-spill. Messages spilled before a restart are delivered
+     * after it
+     */
+    public static final String MEMORY_STORE_SPILL_DIRECTORY = "store.memory.spill.directory";
+
+    public static final String OVERFLOW_REJECT = "reject";
+
+    public static final String OVERFLOW_BLOCK = "block";
+
+    public static final String OVERFLOW_SPILL = "spill";
+
+    public static final String MEMORY_STORE_DEFAULT_OVERFLOW_POLICY = OVERFLOW_REJECT;
+
+    public static final long MEMORY_STORE_DEFAULT_BLOCK_TIMEOUT = 1000;
+
+    public static final String MEMORY_STORE_SPILL_SUFFIX = "-spill";
+}
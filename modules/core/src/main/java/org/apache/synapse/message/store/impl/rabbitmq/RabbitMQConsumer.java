@@ -29,10 +29,7 @@ import org.apache.synapse.message.MessageConsumer;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInput;
-import java.io.ObjectInputStream;
 
 /**
  * The message consumer responsible for read a message from the queue and set it into the message context
@@ -122,12 +119,7 @@ public class RabbitMQConsumer implements MessageConsumer {
      * @throws IOException
      */
     private StorableMessage deserializeMessage(GetResponse delivery) throws IOException, ClassNotFoundException {
-        StorableMessage storableMessage;
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(delivery.getBody());
-             ObjectInput objectInput = new ObjectInputStream(inputStream)) {
-            storableMessage = (StorableMessage) objectInput.readObject();
-        }
-        return storableMessage;
+        return MessageConverter.fromBytes(delivery.getBody());
     }
 
     /**
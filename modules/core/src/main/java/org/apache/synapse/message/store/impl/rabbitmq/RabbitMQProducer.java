@@ -30,10 +30,7 @@ import org.apache.synapse.message.MessageProducer;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -51,6 +48,7 @@ public class RabbitMQProducer implements MessageProducer {
     private boolean isInitialized = false;
     private String idString; // ID of the MessageProducer
     private boolean publisherConfirmsEnabled;
+    private boolean compactFormatEnabled;
     private Channel channel;
 
     /**
@@ -140,10 +138,7 @@ public class RabbitMQProducer implements MessageProducer {
      * @throws IOException
      */
     private byte[] serializeMessage(StorableMessage storableMessage) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ObjectOutput objectOutput = new ObjectOutputStream(outputStream);
-        objectOutput.writeObject(storableMessage);
-        return outputStream.toByteArray();
+        return MessageConverter.toBytes(storableMessage, compactFormatEnabled);
     }
 
     /**
@@ -253,6 +248,15 @@ public class RabbitMQProducer implements MessageProducer {
         this.publisherConfirmsEnabled = publisherConfirmsEnabled;
     }
 
+    /**
+     * Set whether messages are published in the compact format instead of as serialized objects
+     *
+     * @param compactFormatEnabled compact format enabled or not
+     */
+    public void setCompactFormatEnabled(boolean compactFormatEnabled) {
+        this.compactFormatEnabled = compactFormatEnabled;
+    }
+
     /**
      * Verify to whether producer was initialized
      *
@@ -72,6 +72,7 @@ public class RabbitMQStore extends AbstractMessageStore {
     public static final String RETRY_INTERVAL = "rabbitmq.connection.retry.interval";
     public static final String RETRY_COUNT = "rabbitmq.connection.retry.count";
     public static final String PUBLISHER_CONFIRMS = "store.producer.guaranteed.delivery.enable";
+    public static final String COMPACT_FORMAT = "store.producer.compact.format.enable";
     public static final int DEFAULT_RETRY_INTERVAL = 30000;
     public static final int DEFAULT_RETRY_COUNT = 3;
 
@@ -99,6 +100,7 @@ public class RabbitMQStore extends AbstractMessageStore {
     private int retryInterval;
     private int retryCount;
     private boolean publisherConfirmsEnabled;
+    private boolean compactFormatEnabled;
     private Channel channel;
 
     @Override
@@ -110,6 +112,7 @@ public class RabbitMQStore extends AbstractMessageStore {
         initConnectionFactory();
         publisherConfirmsEnabled = BooleanUtils.toBooleanDefaultIfNull(
                 BooleanUtils.toBoolean((String) parameters.get(PUBLISHER_CONFIRMS)), false);
+        compactFormatEnabled = BooleanUtils.toBoolean((String) parameters.get(COMPACT_FORMAT));
         producerConnection = createConnection();
         if (producerConnection != null) {
             try (Channel channel = producerConnection.createChannel()) {
@@ -365,6 +368,7 @@ public class RabbitMQStore extends AbstractMessageStore {
         }
         producer.setConnection(producerConnection);
         producer.setPublisherConfirmsEnabled(publisherConfirmsEnabled);
+        producer.setCompactFormatEnabled(compactFormatEnabled);
         if (log.isDebugEnabled()) {
             log.debug(nameString() + " created message producer " + producer.getId());
         }
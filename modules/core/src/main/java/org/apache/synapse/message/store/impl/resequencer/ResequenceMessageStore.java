@@ -428,6 +428,14 @@ public class ResequenceMessageStore extends JDBCMessageStore {
         return nextElapsedTime < 0 || currentTime <= nextElapsedTime;
     }
 
+    /**
+     * Messages are consumed in sequence order, one at a time, hence consumer batching is not supported.
+     */
+    @Override
+    protected int getConsumerBatchSize() {
+        return 1;
+    }
+
     /**
      * {@inheritDoc}
      */
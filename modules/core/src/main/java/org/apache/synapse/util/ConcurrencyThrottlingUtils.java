@@ -40,6 +40,17 @@ public class ConcurrencyThrottlingUtils {
      * @param synCtx Synapse Message Context of which mediation occurs.
      */
     public static void decrementConcurrencyThrottleAccessController(MessageContext synCtx) {
+        decrementConcurrencyThrottleAccessController(synCtx, false);
+    }
+
+    /**
+     * Decrement the internal counter for concurrency throttling, informing the access controller
+     * whether the request failed so that an adaptive controller can change its limit.
+     *
+     * @param synCtx Synapse Message Context of which mediation occurs.
+     * @param failed whether the request ended with an error, a time out or a server error response
+     */
+    public static void decrementConcurrencyThrottleAccessController(MessageContext synCtx, boolean failed) {
 
         Boolean isConcurrencyThrottleEnabled = (Boolean) synCtx
                 .getProperty(SynapseConstants.SYNAPSE_CONCURRENCY_THROTTLE);
@@ -47,6 +58,7 @@ public class ConcurrencyThrottlingUtils {
         if (isConcurrencyThrottleEnabled != null && isConcurrencyThrottleEnabled) {
             ConcurrentAccessController concurrentAccessController = (ConcurrentAccessController) synCtx
                     .getProperty(SynapseConstants.SYNAPSE_CONCURRENT_ACCESS_CONTROLLER);
+            recordConcurrencyThrottleCompletion(synCtx, concurrentAccessController, failed);
             int available = concurrentAccessController.incrementAndGet();
             int concurrentLimit = concurrentAccessController.getLimit();
             if (log.isDebugEnabled()) {
@@ -66,4 +78,42 @@ public class ConcurrencyThrottlingUtils {
 
     }
 
+    /**
+     * Inform the access controller of the time a request took from the throttle acceptance until its
+     * completion, before its access is returned. Each request is reported once.
+     *
+     * @param synCtx                     Synapse Message Context of the request.
+     * @param concurrentAccessController the access controller which accepted the request.
+     * @param failed                     whether the request failed.
+     */
+    public static void recordConcurrencyThrottleCompletion(MessageContext synCtx,
+            ConcurrentAccessController concurrentAccessController, boolean failed) {
+
+        Object startTime = synCtx.getProperty(SynapseConstants.SYNAPSE_CONCURRENCY_THROTTLE_START_TIME);
+        if (startTime instanceof Long && concurrentAccessController != null) {
+            synCtx.setProperty(SynapseConstants.SYNAPSE_CONCURRENCY_THROTTLE_START_TIME, null);
+            concurrentAccessController.onRequestCompleted(System.nanoTime() - (Long) startTime, failed);
+        }
+    }
+
+    /**
+     * Check whether a response carries a server error status code, which shows an overloaded or failing
+     * backend to the concurrency throttle.
+     *
+     * @param axis2MsgCtx Axis2 Message Context of the response.
+     * @return true if the HTTP status code of the response is 500 or above.
+     */
+    public static boolean isServerErrorResponse(org.apache.axis2.context.MessageContext axis2MsgCtx) {
+
+        Object statusCode = axis2MsgCtx.getProperty(SynapseConstants.HTTP_SC);
+        if (statusCode == null) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(statusCode.toString().trim()) >= 500;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,387 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.util.concurrent;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A hashed timing wheel for large numbers of timeouts which are mostly cancelled before they expire, such as
+ * the completion timeouts of aggregations. Scheduling and cancelling a timeout only adds it to a queue, a
+ * single ticker thread moves the queued timeouts in and out of the wheel and hands the expired ones to a
+ * fixed number of expiry threads, so a slow or failing task never delays or stops the other timeouts.
+ * <p>
+ * A timeout expires within one tick after its delay. Timeouts further away than one revolution of the wheel
+ * are kept in their bucket with the number of revolutions still to go.
+ */
+public class TimingWheel {
+
+    private static final Log log = LogFactory.getLog(TimingWheel.class);
+
+    private static final int WORKER_INIT = 0;
+    private static final int WORKER_STARTED = 1;
+    private static final int WORKER_STOPPED = 2;
+
+    private final String name;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final int expiryThreads;
+
+    /** Timeouts scheduled since the last tick */
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<Timeout>();
+
+    /** Timeouts cancelled since the last tick */
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<Timeout>();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_INIT);
+
+    private volatile long startTime;
+
+    private Thread ticker;
+
+    private ExecutorService expiryExecutor;
+
+    /**
+     * Creates a timing wheel, its threads are started by the first schedule.
+     *
+     * @param name          prefix of the names of the threads of the wheel
+     * @param tickMillis    duration of a tick in milliseconds, the precision of the timeouts
+     * @param wheelSize     number of buckets of the wheel, rounded up to a power of two
+     * @param expiryThreads number of threads running the tasks of the expired timeouts
+     */
+    public TimingWheel(String name, long tickMillis, int wheelSize, int expiryThreads) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive : " + tickMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid wheel size : " + wheelSize);
+        }
+        if (expiryThreads <= 0) {
+            throw new IllegalArgumentException("Number of expiry threads must be positive : " + expiryThreads);
+        }
+        this.name = name;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.expiryThreads = expiryThreads;
+    }
+
+    /**
+     * Schedules a task to run once after a delay.
+     *
+     * @param task        task to run on expiry
+     * @param delayMillis delay in milliseconds
+     * @return handle through which the timeout can be cancelled
+     * @throws IllegalStateException if the wheel is stopped
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task must not be null");
+        }
+        start();
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime
+                + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0)));
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return number of timeouts which have been neither cancelled nor expired
+     */
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the wheel. Pending timeouts never expire and tasks of expired timeouts which have not started yet
+     * are not run.
+     */
+    public void stop() {
+        Thread thread;
+        ExecutorService executor;
+        synchronized (this) {
+            if (workerState.getAndSet(WORKER_STOPPED) != WORKER_STARTED) {
+                return;
+            }
+            thread = ticker;
+            executor = expiryExecutor;
+        }
+        thread.interrupt();
+        executor.shutdownNow();
+    }
+
+    private void start() {
+        switch (workerState.get()) {
+            case WORKER_STARTED:
+                return;
+            case WORKER_STOPPED:
+                throw new IllegalStateException("Timing wheel " + name + " is stopped");
+            default:
+                synchronized (this) {
+                    if (workerState.get() == WORKER_STOPPED) {
+                        throw new IllegalStateException("Timing wheel " + name + " is stopped");
+                    }
+                    if (workerState.get() == WORKER_INIT) {
+                        final AtomicInteger threadCount = new AtomicInteger();
+                        expiryExecutor = Executors.newFixedThreadPool(expiryThreads, new ThreadFactory() {
+                            public Thread newThread(Runnable r) {
+                                Thread thread = new Thread(r, name + "-expiry-" + threadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }
+                        });
+                        startTime = System.nanoTime();
+                        ticker = new Thread(new Ticker(), name + "-ticker");
+                        ticker.setDaemon(true);
+                        workerState.set(WORKER_STARTED);
+                        ticker.start();
+                    }
+                }
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout {
+
+        private static final int ST_PENDING = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(ST_PENDING);
+
+        /** Expiry time in nanoseconds since the start of the wheel */
+        private final long deadline;
+
+        private volatile Runnable task;
+
+        // the fields below are accessed by the ticker thread only
+
+        private long remainingRounds;
+
+        private Bucket bucket;
+
+        private Timeout next;
+
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, so that its task does not run.
+         *
+         * @return {@code false} if the timeout has already expired or been cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+                return false;
+            }
+            // release the task right away, the ticker unlinks the timeout on its next tick
+            task = null;
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_PENDING, ST_EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            final Runnable expiredTask = task;
+            task = null;
+            try {
+                expiryExecutor.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            expiredTask.run();
+                        } catch (Throwable t) {
+                            log.error("Timeout task of timing wheel " + name + " failed", t);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (workerState.get() != WORKER_STOPPED) {
+                    log.error("Could not run the task of an expired timeout of timing wheel " + name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed to a slot of the wheel.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expire(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.state.get() != Timeout.ST_PENDING) {
+                    timeout = remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    Timeout next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else {
+                    if (timeout.remainingRounds > 0) {
+                        timeout.remainingRounds--;
+                    }
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    private final class Ticker implements Runnable {
+
+        private long tick;
+
+        public void run() {
+            while (workerState.get() == WORKER_STARTED) {
+                long now = waitForNextTick();
+                if (now < 0) {
+                    break;
+                }
+                removeCancelled();
+                transferScheduled();
+                wheel[(int) (tick & mask)].expire(now);
+                tick++;
+            }
+        }
+
+        /**
+         * @return time of the tick in nanoseconds since the start of the wheel, negative if the wheel stopped
+         */
+        private long waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            while (true) {
+                long now = System.nanoTime() - startTime;
+                long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999999);
+                if (sleepMillis <= 0) {
+                    return now;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (workerState.get() == WORKER_STOPPED) {
+                        return -1;
+                    }
+                }
+            }
+        }
+
+        private void removeCancelled() {
+            Timeout timeout;
+            while ((timeout = cancelled.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void transferScheduled() {
+            // bound the work of a tick in case of a flood of schedules
+            for (int i = 0; i < 100000; i++) {
+                Timeout timeout = scheduled.poll();
+                if (timeout == null) {
+                    return;
+                }
+                if (timeout.state.get() != Timeout.ST_PENDING) {
+                    continue;
+                }
+                long expiryTick = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+                // a timeout already due goes to the current bucket
+                long ticks = Math.max(expiryTick, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+    }
+}
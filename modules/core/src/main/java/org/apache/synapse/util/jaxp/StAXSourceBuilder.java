@@ -0,0 +1,39 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.util.jaxp;
+
+import org.apache.axiom.om.OMElement;
+
+import javax.xml.transform.stax.StAXSource;
+
+/**
+ * {@link SourceBuilder} implementation that pulls the events of the AXIOM tree through its
+ * {@link javax.xml.stream.XMLStreamReader} and produces a {@link StAXSource}. Unlike
+ * {@link StreamSourceBuilder} the tree is not serialized to a temporary buffer before the
+ * transformation. The transformer factory in use must accept {@link StAXSource} objects.
+ */
+public class StAXSourceBuilder implements SourceBuilder {
+    public StAXSource getSource(OMElement node) {
+        return new StAXSource(node.getXMLStreamReader());
+    }
+
+    public void release() {
+    }
+}
@@ -20,7 +20,10 @@ package org.apache.synapse.util.synapse.expression.ast;
 import org.apache.synapse.util.synapse.expression.context.EvaluationContext;
 import org.apache.synapse.util.synapse.expression.utils.ExpressionUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Represents a json-path filter expression node in the AST.
@@ -28,14 +31,24 @@ import java.util.Map;
 public class FilterExpressionNode implements ExpressionNode {
 
 
-    private String expression;
-    private final String unProcessedExpression;
-    private final Map<String, ExpressionNode> arguments;
+    private final String expression;
+
+    // the arguments in the order they are substituted, with the patterns matching their placeholders
+    private final ExpressionNode[] argumentNodes;
+    private final Pattern[] argumentPatterns;
 
     public FilterExpressionNode(String expression, Map<String, ExpressionNode> arguments) {
-        this.unProcessedExpression = expression;
         this.expression = expression;
-        this.arguments = arguments;
+        List<ExpressionNode> nodes = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+        for (Map.Entry<String, ExpressionNode> entry : arguments.entrySet()) {
+            if (entry.getValue() != null) {
+                nodes.add(entry.getValue());
+                patterns.add(Pattern.compile(ExpressionUtils.escapeSpecialCharacters(entry.getKey())));
+            }
+        }
+        this.argumentNodes = nodes.toArray(new ExpressionNode[0]);
+        this.argumentPatterns = patterns.toArray(new Pattern[0]);
     }
 
     /**
@@ -44,18 +57,16 @@ public class FilterExpressionNode implements ExpressionNode {
      */
     @Override
     public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) {
-        expression = unProcessedExpression;
-        for (Map.Entry<String, ExpressionNode> entry : arguments.entrySet()) {
-            if (entry.getValue() != null) {
-                ExpressionResult result = entry.getValue().evaluate(context, isObjectValue);
-                if (result != null) {
-                    String regex = ExpressionUtils.escapeSpecialCharacters(entry.getKey());
-                    String resultString = result.asString();
-                    if (result.isString()) {
-                        resultString = "\"" + resultString + "\"";
-                    }
-                    expression = expression.replaceFirst(regex, resultString);
+        // The node is shared by concurrent evaluations, so the arguments are substituted in a local copy
+        String expression = this.expression;
+        for (int i = 0; i < argumentNodes.length; i++) {
+            ExpressionResult result = argumentNodes[i].evaluate(context, isObjectValue);
+            if (result != null) {
+                String resultString = result.asString();
+                if (result.isString()) {
+                    resultString = "\"" + resultString + "\"";
                 }
+                expression = argumentPatterns[i].matcher(expression).replaceFirst(resultString);
             }
         }
         //TODO: Need to stop adding "?" for expressions like $..book[(@.length-1)].title. But not handling this for
@@ -43,22 +43,34 @@ public class HeadersAndPropertiesAccessNode implements ExpressionNode {
     // property key or header name
     private final ExpressionNode key;
 
+    // property key or header name of a constant key, resolved once
+    private final String constantName;
+
     public HeadersAndPropertiesAccessNode(ExpressionNode node, Type type) {
         this.key = node;
         this.type = type;
         scope = null;
+        constantName = resolveConstantName(node);
     }
 
     public HeadersAndPropertiesAccessNode(ExpressionNode node, String scope) {
         this.key = node;
         this.scope = scope;
         this.type = Type.PROPERTY;
+        constantName = resolveConstantName(node);
+    }
+
+    private static String resolveConstantName(ExpressionNode node) {
+        if (node instanceof LiteralNode && ((LiteralNode) node).isConstant()) {
+            return node.evaluate(null, false).asString();
+        }
+        return null;
     }
 
     @Override
     public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) throws EvaluationException {
         if (key != null) {
-            String name = key.evaluate(context, isObjectValue).asString();
+            String name = constantName != null ? constantName : key.evaluate(context, isObjectValue).asString();
             Object value;
             if (Type.HEADER.equals(type)) {
                 value = context.getHeader(name);
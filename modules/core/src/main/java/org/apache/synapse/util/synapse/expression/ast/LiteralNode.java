@@ -38,19 +38,27 @@ public class LiteralNode implements ExpressionNode {
 
     private final Type type;
 
+    // value of a number, string or boolean literal, parsed once
+    private final ExpressionResult constantValue;
+
     public LiteralNode(String value, Type type) {
         this.value = value;
         this.type = type;
+        this.constantValue = parseConstant(value, type);
     }
 
     public LiteralNode(ArgumentListNode value, Type type) {
         this.parameterList = value;
         this.type = type;
         this.value = "";
+        this.constantValue = null;
     }
 
     @Override
     public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) {
+        if (constantValue != null) {
+            return constantValue;
+        }
         switch (type) {
             case NUMBER:
                 return parseNumber(value);
@@ -67,7 +75,34 @@ public class LiteralNode implements ExpressionNode {
         }
     }
 
-    private ExpressionResult parseNumber(String value) {
+    /**
+     * Whether the literal always evaluates to the same immutable value.
+     *
+     * @return true for number, string and boolean literals
+     */
+    public boolean isConstant() {
+        return constantValue != null;
+    }
+
+    private static ExpressionResult parseConstant(String value, Type type) {
+        try {
+            switch (type) {
+                case NUMBER:
+                    return parseNumber(value);
+                case STRING:
+                    return new ExpressionResult(value);
+                case BOOLEAN:
+                    return new ExpressionResult(Boolean.parseBoolean(value));
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported when the literal is evaluated
+            return null;
+        }
+    }
+
+    private static ExpressionResult parseNumber(String value) {
         try {
             return new ExpressionResult(Integer.parseInt(value));
         } catch (NumberFormatException e1) {
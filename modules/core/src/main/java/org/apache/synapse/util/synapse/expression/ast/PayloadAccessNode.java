@@ -38,10 +38,10 @@ import org.apache.synapse.util.synapse.expression.utils.ExpressionUtils;
 import org.jaxen.JaxenException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -52,9 +52,12 @@ import java.util.regex.Pattern;
  */
 public class PayloadAccessNode implements ExpressionNode {
 
-    private String expression;
-    private final String unProcessedExpression;
-    private final Map<String, ExpressionNode> arguments;
+    // expression with the payload prefix resolved, before the arguments are substituted
+    private final String expression;
+
+    // the arguments in the order they are substituted, with the patterns matching their placeholders
+    private final ExpressionNode[] argumentNodes;
+    private final Pattern[] argumentPatterns;
 
     public enum Type {
         PAYLOAD,
@@ -69,11 +72,22 @@ public class PayloadAccessNode implements ExpressionNode {
 
     public PayloadAccessNode(String expression, Map<String, ExpressionNode> arguments, Type type,
                              ExpressionNode predefinedFunctionNode) {
+        if (expression.startsWith(ExpressionConstants.PAYLOAD)) {
+            expression = ExpressionConstants.PAYLOAD_$ + expression.substring(ExpressionConstants.PAYLOAD.length());
+        }
         this.expression = expression;
-        this.unProcessedExpression = expression;
-        this.arguments = arguments;
         this.type = type;
         this.predefinedFunctionNode = predefinedFunctionNode;
+        List<ExpressionNode> nodes = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+        for (Map.Entry<String, ExpressionNode> entry : arguments.entrySet()) {
+            if (entry.getValue() != null) {
+                nodes.add(entry.getValue());
+                patterns.add(Pattern.compile(ExpressionUtils.escapeSpecialCharacters(entry.getKey())));
+            }
+        }
+        this.argumentNodes = nodes.toArray(new ExpressionNode[0]);
+        this.argumentPatterns = patterns.toArray(new Pattern[0]);
         Configuration.setDefaults(new Configuration.Defaults() {
             private final JsonProvider jsonProvider = new GsonJsonProvider(new GsonBuilder().serializeNulls().create());
             private final MappingProvider mappingProvider = new GsonMappingProvider();
@@ -94,16 +108,13 @@ public class PayloadAccessNode implements ExpressionNode {
 
     @Override
     public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) throws EvaluationException {
-        // Take a copy of the expression to avoid modifying the original expression
-        expression = unProcessedExpression;
-        if (expression.startsWith(ExpressionConstants.PAYLOAD)) {
-            expression = ExpressionConstants.PAYLOAD_$ + expression.substring(ExpressionConstants.PAYLOAD.length());
-        }
-
-        for (Map.Entry<String, ExpressionNode> entry : arguments.entrySet()) {
-            Optional.ofNullable(entry.getValue())
-                    .map(value -> value.evaluate(context, isObjectValue))
-                    .ifPresent(result -> processResult(entry, result));
+        // The node is shared by concurrent evaluations, so the arguments are substituted in a local copy
+        String expression = this.expression;
+        for (int i = 0; i < argumentNodes.length; i++) {
+            ExpressionResult argument = argumentNodes[i].evaluate(context, isObjectValue);
+            if (argument != null) {
+                expression = processResult(expression, i, argument);
+            }
         }
 
         Object result;
@@ -139,24 +150,24 @@ public class PayloadAccessNode implements ExpressionNode {
                     }
                     String[] keyAndExpression = ExpressionUtils.extractVariableAndJsonPath(expressionToEvaluate);
                     String key = keyAndExpression[0];
-                    String expression = keyAndExpression[1];
-                    if (StringUtils.isNotEmpty(expression)) {
-                        expression = expression.startsWith(".") ? "$" + expression : "$." + expression;
+                    String keyExpression = keyAndExpression[1];
+                    if (StringUtils.isNotEmpty(keyExpression)) {
+                        keyExpression = keyExpression.startsWith(".") ? "$" + keyExpression : "$." + keyExpression;
                     }
                     Object keyValue = ((Map) variable).get(key);
                     if (keyValue == null) {
                         throw new EvaluationException("Could not find key: " + key + " in the variable: " + variable);
-                    } else if (StringUtils.isEmpty(expression)) {
+                    } else if (StringUtils.isEmpty(keyExpression)) {
                         result = keyValue;
                     } else if (keyValue instanceof JsonElement) {
                         try {
-                            result = JsonPath.parse(keyValue.toString()).read(expression);
+                            result = JsonPath.parse(keyValue.toString()).read(keyExpression);
                         } catch (PathNotFoundException e) {
                             // convert jsonPath error to native one
                             throw new EvaluationException(e.getMessage());
                         }
                     } else {
-                        throw new EvaluationException("Could not evaluate JSONPath expression: " + expression
+                        throw new EvaluationException("Could not evaluate JSONPath expression: " + keyExpression
                                 + " on non-JSON object");
                     }
                 } else {
@@ -233,15 +244,15 @@ public class PayloadAccessNode implements ExpressionNode {
         return null;
     }
 
-    private void processResult(Map.Entry<String, ExpressionNode> entry, ExpressionResult result) {
-        String regex = ExpressionUtils.escapeSpecialCharacters(entry.getKey());
+    private String processResult(String expression, int argument, ExpressionResult result) {
+        ExpressionNode node = argumentNodes[argument];
         String resultString = result.asString();
-        if (result.isString() && !entry.getValue().getClass().equals(FilterExpressionNode.class)) {
+        if (result.isString() && !node.getClass().equals(FilterExpressionNode.class)) {
             resultString = "\"" + resultString + "\"";
         }
-        if (entry.getValue().getClass().equals(ArrayIndexNode.class)) {
+        if (node.getClass().equals(ArrayIndexNode.class)) {
             resultString = resultString.replace("\"", "");
         }
-        expression = expression.replaceFirst(regex, resultString);
+        return argumentPatterns[argument].matcher(expression).replaceFirst(resultString);
     }
 }
@@ -17,21 +17,24 @@
  */
 package org.apache.synapse.util.synapse.expression.context;
 
+import com.google.gson.JsonElement;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.apache.axiom.om.impl.llom.OMTextImpl;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.commons.json.JsonUtil;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.mediators.eip.EIPUtils;
 import org.apache.synapse.mediators.template.TemplateContext;
 import org.apache.synapse.registry.Registry;
 import org.apache.synapse.util.synapse.expression.constants.ExpressionConstants;
 import org.apache.synapse.util.synapse.expression.exception.EvaluationException;
+import org.apache.synapse.util.xpath.JsonPathCache;
 import org.apache.synapse.util.xpath.SynapseJsonPath;
 import org.apache.synapse.util.xpath.SynapseXPath;
 import org.jaxen.JaxenException;
@@ -41,7 +44,6 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 import java.util.Stack;
 
@@ -58,8 +60,11 @@ public class EvaluationContext {
 
     private Map<String, String> namespaceMap;
 
-    // re-use the payload string to avoid multiple evaluations ex: payload.num1 + payload.num2 requires two evaluations
-    private String payload;
+    // the payload parsed once to avoid multiple evaluations ex: payload.num1 + payload.num2 requires two evaluations
+    private DocumentContext payloadDocument;
+
+    // a JSON payload is the parsed payload shared by the readers of the message, so the results read from it are copied
+    private boolean isSharedPayload = false;
 
     private boolean isJSON = false;
 
@@ -76,21 +81,32 @@ public class EvaluationContext {
 
     // Payload methods
     public Object getJSONResult(String expression) throws IOException, JaxenException {
-        if (payload == null) {
-            if (JsonUtil.hasAJsonPayload(((Axis2MessageContext) synCtx).getAxis2MessageContext())) {
-                payload = IOUtils.toString(Objects.requireNonNull(JsonUtil.getJsonPayload(((Axis2MessageContext) synCtx)
-                        .getAxis2MessageContext())));
+        if (payloadDocument == null) {
+            org.apache.axis2.context.MessageContext axis2MessageContext =
+                    ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+            if (JsonUtil.hasAJsonPayload(axis2MessageContext)) {
+                JsonElement tree = EIPUtils.getJsonPayloadTree(axis2MessageContext);
+                if (tree.isJsonNull()) {
+                    throw new EvaluationException("Payload is empty");
+                }
+                payloadDocument = JsonPath.parse(tree);
+                isSharedPayload = true;
                 isJSON = true;
             } else {
                 // handle non-json payloads
                 SynapseJsonPath jsonPath = new SynapseJsonPath("$.");
-                payload = jsonPath.stringValueOf(synCtx);
-            }
-            if (StringUtils.isEmpty(payload)) {
-                throw new EvaluationException("Payload is empty");
+                String payload = jsonPath.stringValueOf(synCtx);
+                if (StringUtils.isEmpty(payload)) {
+                    throw new EvaluationException("Payload is empty");
+                }
+                payloadDocument = JsonPath.parse(payload);
             }
         }
-        return JsonPath.parse(payload).read(expression);
+        Object result = payloadDocument.read(JsonPathCache.getInstance().compile(expression));
+        if (isSharedPayload && result instanceof JsonElement) {
+            return ((JsonElement) result).deepCopy();
+        }
+        return result;
     }
 
     public Object getHeader(String name) {
@@ -17,11 +17,13 @@
  */
 package org.apache.synapse.util.synapse.expression.visitor;
 
+import com.google.gson.JsonElement;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.util.synapse.expression.ast.*;
 import org.apache.synapse.util.synapse.expression.constants.ExpressionConstants;
+import org.apache.synapse.util.synapse.expression.context.EvaluationContext;
 import org.apache.synapse.util.synapse_expression.ExpressionParser;
 import org.apache.synapse.util.synapse_expression.ExpressionParserBaseVisitor;
 import org.apache.synapse.util.synapse_expression.ExpressionParserVisitor;
@@ -64,7 +66,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
                 ExpressionNode left = visit(ctx.logicalExpression().get(0));
                 for (int i = 1; i < ctx.logicalExpression().size(); i++) {
                     ExpressionNode right = visit(ctx.logicalExpression(i));
-                    left = new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right);
+                    left = fold(new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right),
+                            left, right);
                 }
                 return left;
             }
@@ -81,7 +84,7 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
             ExpressionNode left = visit(ctx.arithmeticExpression());
             if (ctx.logicalExpression() != null && ctx.getChild(1) != null) {
                 ExpressionNode right = visit(ctx.logicalExpression());
-                left = new BinaryOperationNode(left, ctx.getChild(1).getText(), right);
+                left = fold(new BinaryOperationNode(left, ctx.getChild(1).getText(), right), left, right);
             }
             return left;
         }
@@ -100,7 +103,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
                 ExpressionNode left = visit(ctx.term().get(0));
                 for (int i = 1; i < ctx.term().size(); i++) {
                     ExpressionNode right = visit(ctx.term(i));
-                    left = new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right);
+                    left = fold(new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right),
+                            left, right);
                 }
                 return left;
             }
@@ -120,7 +124,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
                 ExpressionNode left = visit(ctx.factor().get(0));
                 for (int i = 1; i < ctx.factor().size(); i++) {
                     ExpressionNode right = visit(ctx.factor(i));
-                    left = new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right);
+                    left = fold(new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right),
+                            left, right);
                 }
                 return left;
             }
@@ -439,7 +444,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
         }
         if (ctx.expression() != null) {
             if (ctx.MINUS() != null) {
-                return new SignedExpressionNode(visit(ctx.expression()), true);
+                ExpressionNode expression = visit(ctx.expression());
+                return fold(new SignedExpressionNode(expression, true), expression);
             } else {
                 return visit(ctx.expression());
             }
@@ -576,11 +582,56 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
         }
         List<ExpressionParser.ExpressionContext> expList = ctx.expression();
         if (condition != null && expList.size() == 2) {
-            return new ConditionalExpressionNode(condition, visit(expList.get(0)), visit(expList.get(1)));
+            ExpressionNode trueExpression = visit(expList.get(0));
+            ExpressionNode falseExpression = visit(expList.get(1));
+            if (isConstant(condition)) {
+                // only the branch chosen by a constant condition is ever evaluated
+                ExpressionResult conditionResult = evaluateConstant(condition);
+                if (conditionResult != null && conditionResult.isBoolean()) {
+                    return conditionResult.asBoolean() ? trueExpression : falseExpression;
+                }
+            }
+            return new ConditionalExpressionNode(condition, trueExpression, falseExpression);
         }
         return null;
     }
 
+    /**
+     * Replaces an operation whose operands are all constants with its value, so that it is computed once when
+     * the expression is parsed instead of for every message. An operation which fails, or whose value can be
+     * modified by the caller, is kept as it is and evaluated for every message as before.
+     *
+     * @param node     the operation
+     * @param operands the operands of the operation
+     * @return a constant node with the value of the operation, or the operation itself
+     */
+    private static ExpressionNode fold(ExpressionNode node, ExpressionNode... operands) {
+        for (ExpressionNode operand : operands) {
+            if (!isConstant(operand)) {
+                return node;
+            }
+        }
+        ExpressionResult value = evaluateConstant(node);
+        if (value == null || value.getValue() == null || value.getValue() instanceof JsonElement) {
+            return node;
+        }
+        return new ConstantNode(value);
+    }
+
+    private static boolean isConstant(ExpressionNode node) {
+        return node instanceof ConstantNode || (node instanceof LiteralNode && ((LiteralNode) node).isConstant());
+    }
+
+    private static ExpressionResult evaluateConstant(ExpressionNode node) {
+        try {
+            // constants do not read the message, so they are evaluated without one
+            return node.evaluate(new EvaluationContext(), false);
+        } catch (RuntimeException e) {
+            // e.g. a division by zero, reported when the expression is evaluated
+            return null;
+        }
+    }
+
 
     @Override
     public ExpressionNode visitChildren(org.antlr.v4.runtime.tree.RuleNode node) {
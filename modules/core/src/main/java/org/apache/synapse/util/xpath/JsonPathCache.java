@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.util.xpath;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.synapse.config.SynapseConfigUtils;
+
+/**
+ * A bounded cache of compiled JSON paths, shared by the whole process. JSON paths with dynamic values, such as
+ * <code>$.store.{$ctx:prop1}</code>, are resolved for every message, and the resolved paths are looked up here
+ * instead of being compiled again. The least recently used paths are evicted once the cache is full. Lookups do not
+ * take a lock, so messages reading the same paths do not wait for each other.
+ */
+public final class JsonPathCache {
+
+    private static final JsonPathCache INSTANCE = new JsonPathCache(SynapseConfigUtils.getJsonPathCacheMaxEntries());
+
+    private final int maxEntries;
+
+    private final Cache<String, JsonPath> paths;
+
+    JsonPathCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.paths = CacheBuilder.newBuilder().maximumSize(Math.max(maxEntries, 0)).build();
+    }
+
+    /**
+     * @return the cache shared by the whole process
+     */
+    public static JsonPathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the compiled JSON path of an expression, compiling it if it is not cached
+     *
+     * @param expression the JSON path expression
+     * @return the compiled JSON path
+     */
+    public JsonPath compile(String expression) {
+        if (maxEntries <= 0) {
+            return JsonPath.compile(expression);
+        }
+        JsonPath jsonPath = paths.getIfPresent(expression);
+        if (jsonPath == null) {
+            // a path compiled twice by concurrent messages is harmless
+            jsonPath = JsonPath.compile(expression);
+            paths.put(expression, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    /**
+     * @return number of cached JSON paths
+     */
+    public int size() {
+        return (int) paths.size();
+    }
+}
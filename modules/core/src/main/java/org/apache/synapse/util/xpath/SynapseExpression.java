@@ -54,6 +54,17 @@ public class SynapseExpression extends SynapsePath {
     public SynapseExpression(String synapseExpression) throws JaxenException {
         super(synapseExpression, org.apache.synapse.config.xml.SynapsePath.JSON_PATH, log);
 
+        SynapseExpressionCache cache = SynapseExpressionCache.getInstance();
+        SynapseExpressionCache.ParsedExpression parsed = cache.get(expression);
+        if (parsed == null) {
+            parsed = parse(synapseExpression);
+            cache.put(expression, parsed);
+        }
+        expressionNode = parsed.getExpressionNode();
+        isContentAware = parsed.isContentAware();
+    }
+
+    private SynapseExpressionCache.ParsedExpression parse(String synapseExpression) throws JaxenException {
         CharStream input = CharStreams.fromString(expression);
         ExpressionLexer lexer = new ExpressionLexer(input);
         CommonTokenStream tokens = new CommonTokenStream(lexer);
@@ -64,7 +75,7 @@ public class SynapseExpression extends SynapsePath {
 
         ParseTree tree = parser.expression();
         ExpressionVisitor visitor = new ExpressionVisitor();
-        expressionNode = visitor.visit(tree);
+        ExpressionNode expressionNode = visitor.visit(tree);
         if (errorListener.hasErrors()) {
             StringBuilder errorMessage = new StringBuilder("Syntax error in expression: " + synapseExpression);
             for (SyntaxError error : errorListener.getErrors()) {
@@ -72,7 +83,8 @@ public class SynapseExpression extends SynapsePath {
             }
             throw new JaxenException(errorMessage.toString());
         }
-        isContentAware = SynapseExpressionUtils.isSynapseExpressionContentAware(synapseExpression);
+        return new SynapseExpressionCache.ParsedExpression(expressionNode,
+                SynapseExpressionUtils.isSynapseExpressionContentAware(synapseExpression));
     }
 
     @Override
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.util.xpath;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.synapse.config.SynapseConfigUtils;
+import org.apache.synapse.util.synapse.expression.ast.ExpressionNode;
+
+/**
+ * A bounded cache of parsed Synapse Expressions, shared by the whole process. The syntax tree of an expression
+ * does not depend on where the expression is used and is not modified when it is evaluated, so the expressions
+ * with the same text share a single tree. This saves parsing the inline expressions which are created for every
+ * message, such as the ones of the payload factory templates. The least recently used expressions are evicted
+ * once the cache is full. Like the {@link JsonPathCache}, lookups do not take a lock.
+ */
+public final class SynapseExpressionCache {
+
+    private static final SynapseExpressionCache INSTANCE =
+            new SynapseExpressionCache(SynapseConfigUtils.getSynapseExpressionCacheMaxEntries());
+
+    private final int maxEntries;
+
+    private final Cache<String, ParsedExpression> expressions;
+
+    SynapseExpressionCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.expressions = CacheBuilder.newBuilder().maximumSize(Math.max(maxEntries, 0)).build();
+    }
+
+    /**
+     * @return the cache shared by the whole process
+     */
+    public static SynapseExpressionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a parsed expression
+     *
+     * @param expression text of the expression
+     * @return the parsed expression, null if it is not cached
+     */
+    public ParsedExpression get(String expression) {
+        return expressions.getIfPresent(expression);
+    }
+
+    /**
+     * Cache a parsed expression. Only expressions without syntax errors should be cached.
+     *
+     * @param expression text of the expression
+     * @param parsed     the parsed expression
+     */
+    public void put(String expression, ParsedExpression parsed) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        expressions.put(expression, parsed);
+    }
+
+    /**
+     * @return number of cached expressions
+     */
+    public int size() {
+        return (int) expressions.size();
+    }
+
+    /**
+     * The syntax tree of an expression, with whether the expression reads the message payload
+     */
+    public static final class ParsedExpression {
+
+        private final ExpressionNode expressionNode;
+
+        private final boolean contentAware;
+
+        public ParsedExpression(ExpressionNode expressionNode, boolean contentAware) {
+            this.expressionNode = expressionNode;
+            this.contentAware = contentAware;
+        }
+
+        public ExpressionNode getExpressionNode() {
+            return expressionNode;
+        }
+
+        public boolean isContentAware() {
+            return contentAware;
+        }
+    }
+}
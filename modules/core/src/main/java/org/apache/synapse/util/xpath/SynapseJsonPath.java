@@ -133,6 +133,10 @@ public class SynapseJsonPath extends SynapsePath {
     }
 
     public String stringValueOf(final String jsonString) {
+        return stringValueOf(jsonString, jsonPath);
+    }
+
+    private String stringValueOf(final String jsonString, JsonPath jsonPath) {
         if (jsonString == null) {
             return "";
         }
@@ -145,9 +149,11 @@ public class SynapseJsonPath extends SynapsePath {
     }
 
     public String stringValueOf(MessageContext synCtx) {
+        JsonPath jsonPath = this.jsonPath;
         if (isJSONPathNeedsProcessing) {
             // Create new JSON path by replacing dynamic values with content.
-            jsonPath = JsonPath.compile(InlineExpressionUtil.replaceDynamicValuesForJSONPath(synCtx, expression));
+            jsonPath = JsonPathCache.getInstance().compile(
+                    InlineExpressionUtil.replaceDynamicValuesForJSONPath(synCtx, expression));
         }
 
         // evaluating the jsonPath against a property
@@ -155,7 +161,7 @@ public class SynapseJsonPath extends SynapsePath {
             try {
                 SynapseXPath xPath = new SynapseXPath(propertyExpression);
                 String result = xPath.stringValueOf(synCtx);
-                return stringValueOf(result);
+                return stringValueOf(result, jsonPath);
             } catch (JaxenException e) {
                 log.error("Xpath evaluation failed : " + propertyExpression, e);
                 return "";
@@ -180,7 +186,7 @@ public class SynapseJsonPath extends SynapsePath {
                     stream = JsonUtil.toJsonStream(amc.getEnvelope().getBody().getFirstElement());
                 }
                 if(stream != null) {
-                    return stringValueOf(stream);
+                    return stringValueOf(stream, jsonPath);
                 }else{
                     log.warn("Json Payload is empty.");
                     return "";
@@ -188,19 +194,69 @@ public class SynapseJsonPath extends SynapsePath {
             } catch (IOException e) {
                 handleException("Could not find JSON Stream in PassThrough Pipe during JSON path evaluation.", e);
             }
-        } else {
+        } else if (isWholeBody) {
             stream = JsonUtil.getJsonPayload(amc);
-            return stringValueOf(stream);
+            return stringValueOf(stream, jsonPath);
+        } else {
+            return parsedValueOf(getParsedJsonPayload(amc), jsonPath);
         }
         return "";
     }
 
+    /**
+     * Returns the JSON payload of the message parsed, which is shared by the JSON paths evaluated against the same
+     * payload. The parsed payload must not be modified.
+     *
+     * @param amc Axis2 message context with a JSON payload
+     * @return the parsed payload, or the exception thrown while parsing it
+     */
+    private static Object getParsedJsonPayload(org.apache.axis2.context.MessageContext amc) {
+        try {
+            return JsonUtil.getJsonPayloadTree(amc);
+        } catch (Exception e) {
+            // the payload is invalid, reported when the JSON path is evaluated
+            return e;
+        }
+    }
+
+    private String parsedValueOf(final Object document, JsonPath jsonPath) {
+        if (document == null) {
+            return "";
+        }
+        if (document instanceof Exception) {
+            if (log.isDebugEnabled()) {
+                log.debug("#parsedValueOf. Could not parse the JSON payload to evaluate JSON Path <"
+                        + jsonPath.getPath() + ">. Returning empty result. Error>>> "
+                        + ((Exception) document).getLocalizedMessage());
+            }
+            return "";
+        }
+        Object read;
+        try {
+            read = formatJsonPathResponse(jsonPath.read(document));
+            if (log.isDebugEnabled()) {
+                log.debug("#parsedValueOf. Evaluated JSON path <" + jsonPath.getPath() + "> : <" + (read == null ? null : read.toString()) + ">");
+            }
+            return (null == read ? "null" : read.toString());
+        } catch (Exception e) { // catch invalid json paths that do not match with the existing JSON payload.
+            if (log.isDebugEnabled()) {
+                log.debug("#parsedValueOf. Error evaluating JSON Path <" + jsonPath.getPath()
+                        + ">. Returning empty result. Error>>> " + e.getLocalizedMessage());
+            }
+            return "";
+        }
+    }
+
     @Override
     public Object objectValueOf(MessageContext synCtx) {
         return null;
     }
 
     public String stringValueOf(final InputStream jsonStream) {
+        return stringValueOf(jsonStream, jsonPath);
+    }
+
+    private String stringValueOf(final InputStream jsonStream, JsonPath jsonPath) {
         if (jsonStream == null) {
             return "";
         }
@@ -414,4 +470,5 @@ public class SynapseJsonPath extends SynapsePath {
     public boolean booleanValueOf(MessageContext synCtx) {
         return Boolean.parseBoolean(this.stringValueOf(synCtx));
     }
+
 }
@@ -65,4 +65,16 @@ public class ScatterGatherMediatorSerializationTest extends AbstractTestCase {
 
         assertTrue(serialization(inputXML, scatterGatherMediatorFactory, scatterGatherMediatorSerializer));
     }
+
+    public void testScatterGatherMaxConcurrencySerialization() {
+
+        String inputXML = "<scatter-gather xmlns=\"http://ws.apache.org/ns/synapse\" result-target=\"body\" " +
+                "content-type=\"JSON\" parallel-execution=\"true\" max-concurrency=\"4\">" +
+                "<aggregation expression=\"json-eval($)\" /><sequence><log level=\"custom\">" +
+                "<property name=\"Message\" value=\"==== DONE scatter target 1 ====\"/></log></sequence>" +
+                "<sequence><log level=\"custom\"><property name=\"Message\" value=\"==== DONE scatter target 2 ====\"/>" +
+                "</log></sequence></scatter-gather>";
+
+        assertTrue(serialization(inputXML, scatterGatherMediatorFactory, scatterGatherMediatorSerializer));
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.core.axis2;
+
+import junit.framework.TestCase;
+import org.apache.axis2.addressing.EndpointReference;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.endpoints.AddressEndpoint;
+import org.apache.synapse.endpoints.EndpointDefinition;
+import org.apache.synapse.mediators.TestUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TimeoutHandlerTest extends TestCase {
+
+    public void testExpiredRequestCompletesWithoutTimeoutAction() throws Exception {
+        AddressEndpoint endpoint = createEndpoint();
+        MessageContext synCtx = TestUtils.createLightweightSynapseMessageContext("<test/>");
+        Map callbackStore = Collections.synchronizedMap(new HashMap());
+        callbackStore.put("msg-1", createCallback(endpoint, synCtx, SynapseConstants.NONE));
+        assertEquals(1, endpoint.getLoadStats().getInFlightCount());
+
+        new TimeoutHandler(callbackStore, null).run();
+
+        assertTrue(callbackStore.isEmpty());
+        assertEquals(0, endpoint.getLoadStats().getInFlightCount());
+        assertEquals(1, endpoint.getLoadStats().getCompletedCount());
+        assertEquals(1, endpoint.getLoadStats().getFailedCount());
+    }
+
+    public void testExpiredRequestCompletesOnceWithFaultAction() throws Exception {
+        AddressEndpoint endpoint = createEndpoint();
+        MessageContext synCtx = TestUtils.createLightweightSynapseMessageContext("<test/>");
+        Map callbackStore = Collections.synchronizedMap(new HashMap());
+        callbackStore.put("msg-1", createCallback(endpoint, synCtx, SynapseConstants.DISCARD));
+
+        new TimeoutHandler(callbackStore, null).run();
+
+        // the fault handler of the endpoint finds the request already completed
+        assertEquals(0, endpoint.getLoadStats().getInFlightCount());
+        assertEquals(1, endpoint.getLoadStats().getCompletedCount());
+    }
+
+    private AsyncCallback createCallback(AddressEndpoint endpoint, MessageContext synCtx, int timeoutAction) {
+        org.apache.axis2.context.MessageContext axis2Ctx = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+        axis2Ctx.setTo(new EndpointReference("http://localhost:9000/services/SimpleStockQuoteService"));
+        synCtx.pushFaultHandler(endpoint);
+        endpoint.startRequest(synCtx);
+
+        AsyncCallback callback = new AsyncCallback(axis2Ctx, synCtx);
+        callback.setTimeOutAction(timeoutAction);
+        callback.setTimeoutType(SynapseConstants.ENDPOINT_TIMEOUT_TYPE.ENDPOINT_TIMEOUT);
+        callback.setTimeout(0);
+        return callback;
+    }
+
+    private AddressEndpoint createEndpoint() {
+        AddressEndpoint endpoint = new AddressEndpoint();
+        EndpointDefinition definition = new EndpointDefinition();
+        definition.setAddress("http://localhost:9000/services/SimpleStockQuoteService");
+        endpoint.setDefinition(definition);
+        return endpoint;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints;
+
+import junit.framework.TestCase;
+
+public class EndpointLoadStatsTest extends TestCase {
+
+    public void testInFlightCount() {
+        EndpointLoadStats stats = new EndpointLoadStats();
+        stats.requestStarted();
+        stats.requestStarted();
+        assertEquals(2, stats.getInFlightCount());
+        stats.requestCompleted(1000000);
+        assertEquals(1, stats.getInFlightCount());
+        assertEquals(1, stats.getCompletedCount());
+    }
+
+    public void testLatencyMovingAverage() {
+        EndpointLoadStats stats = new EndpointLoadStats();
+        assertEquals(0.0, stats.getLatencyEwmaMillis(), 0.0001);
+
+        // the first sample is taken as is
+        stats.requestStarted();
+        stats.requestCompleted(10000000);
+        assertEquals(10.0, stats.getLatencyEwmaMillis(), 0.0001);
+
+        // the next samples move the average by a fifth of their difference
+        stats.requestStarted();
+        stats.requestCompleted(60000000);
+        assertEquals(20.0, stats.getLatencyEwmaMillis(), 0.0001);
+        stats.requestStarted();
+        stats.requestCompleted(20000000);
+        assertEquals(20.0, stats.getLatencyEwmaMillis(), 0.0001);
+    }
+
+    public void testFailedRequests() {
+        EndpointLoadStats stats = new EndpointLoadStats();
+        stats.requestStarted();
+        stats.requestCompleted(20000000);
+
+        // a request failing fast does not lower the average
+        stats.requestStarted();
+        stats.requestCompleted(1000000, true);
+        assertEquals(20.0, stats.getLatencyEwmaMillis(), 0.0001);
+        assertEquals(1, stats.getFailedCount());
+
+        // a timed out request raises it
+        stats.requestStarted();
+        stats.requestCompleted(120000000, true);
+        assertEquals(40.0, stats.getLatencyEwmaMillis(), 0.0001);
+        assertEquals(2, stats.getFailedCount());
+        assertEquals(0, stats.getInFlightCount());
+    }
+
+    public void testConcurrentRequests() throws Exception {
+        final EndpointLoadStats stats = new EndpointLoadStats();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        stats.requestStarted();
+                        stats.requestCompleted(5000000);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, stats.getInFlightCount());
+        assertEquals(40000, stats.getCompletedCount());
+        assertEquals(5.0, stats.getLatencyEwmaMillis(), 0.0001);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.endpoints.algorithms;
+
+import junit.framework.TestCase;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
+import org.apache.synapse.endpoints.AddressEndpoint;
+import org.apache.synapse.endpoints.Endpoint;
+import org.apache.synapse.endpoints.EndpointDefinition;
+import org.apache.synapse.endpoints.LoadbalanceEndpoint;
+import org.apache.synapse.mediators.MediatorProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class LoadAwareAlgorithmTest extends TestCase {
+
+    private String[] weights = {"5", "1", "1"};
+
+    public void testLockFreeWeightedRoundRobin() {
+        List<Endpoint> endpoints = createEndpoints();
+        LoadbalanceAlgorithm algorithm = new LockFreeWeightedRoundRobin();
+        createLoadBalanceEndpoint(endpoints, algorithm);
+
+        int[] expected = {0, 0, 1, 0, 2, 0, 0, 0, 0, 1, 0, 2, 0, 0};
+        for (int position : expected) {
+            assertSame(endpoints.get(position), algorithm.getNextEndpoint(null, null));
+        }
+    }
+
+    public void testLeastOutstandingRequests() {
+        List<Endpoint> endpoints = createEndpoints();
+        LoadbalanceAlgorithm algorithm = new LeastOutstandingRequests();
+        createLoadBalanceEndpoint(endpoints, algorithm);
+
+        getEndpoint(endpoints, 0).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 0).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 1).getLoadStats().requestStarted();
+        for (int i = 0; i < 10; i++) {
+            assertSame(endpoints.get(2), algorithm.getNextEndpoint(null, null));
+        }
+
+        // endpoints with the same load are taken in turn
+        getEndpoint(endpoints, 2).getLoadStats().requestStarted();
+        Set<Endpoint> chosen = new HashSet<Endpoint>();
+        for (int i = 0; i < 3; i++) {
+            chosen.add(algorithm.getNextEndpoint(null, null));
+        }
+        assertEquals(2, chosen.size());
+        assertFalse(chosen.contains(endpoints.get(0)));
+    }
+
+    public void testLeastLatency() {
+        List<Endpoint> endpoints = createEndpoints();
+        LoadbalanceAlgorithm algorithm = new LeastLatency();
+        createLoadBalanceEndpoint(endpoints, algorithm);
+
+        complete(getEndpoint(endpoints, 0), 50);
+        complete(getEndpoint(endpoints, 1), 10);
+        complete(getEndpoint(endpoints, 2), 30);
+        assertSame(endpoints.get(1), algorithm.getNextEndpoint(null, null));
+
+        // the fastest endpoint is avoided once its requests pile up
+        for (int i = 0; i < 3; i++) {
+            getEndpoint(endpoints, 1).getLoadStats().requestStarted();
+        }
+        assertSame(endpoints.get(2), algorithm.getNextEndpoint(null, null));
+    }
+
+    public void testPowerOfTwoChoices() {
+        List<Endpoint> endpoints = createEndpoints();
+        LoadbalanceAlgorithm algorithm = new PowerOfTwoChoices();
+        createLoadBalanceEndpoint(endpoints, algorithm);
+
+        complete(getEndpoint(endpoints, 0), 10);
+        complete(getEndpoint(endpoints, 1), 1000);
+        complete(getEndpoint(endpoints, 2), 10);
+        // the slowest endpoint loses every comparison, so it is never chosen
+        for (int i = 0; i < 100; i++) {
+            assertNotSame(endpoints.get(1), algorithm.getNextEndpoint(null, null));
+        }
+    }
+
+    public void testLeastLatencyWithoutSamples() {
+        List<Endpoint> endpoints = createEndpoints();
+        LoadbalanceAlgorithm algorithm = new LeastLatency();
+        createLoadBalanceEndpoint(endpoints, algorithm);
+
+        // before any request completes, the requests in flight decide
+        getEndpoint(endpoints, 0).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 1).getLoadStats().requestStarted();
+        assertSame(endpoints.get(2), algorithm.getNextEndpoint(null, null));
+
+        // an endpoint which never answers is taken to be as fast as the others until its requests pile up
+        complete(getEndpoint(endpoints, 0), 10);
+        complete(getEndpoint(endpoints, 1), 10);
+        getEndpoint(endpoints, 2).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 2).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 2).getLoadStats().requestStarted();
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(endpoints.get(2), algorithm.getNextEndpoint(null, null));
+        }
+    }
+
+    public void testPowerOfTwoChoicesWithoutSamples() {
+        List<Endpoint> endpoints = createEndpoints();
+        LoadbalanceAlgorithm algorithm = new PowerOfTwoChoices();
+        createLoadBalanceEndpoint(endpoints, algorithm);
+
+        complete(getEndpoint(endpoints, 0), 10);
+        complete(getEndpoint(endpoints, 2), 10);
+        for (int i = 0; i < 5; i++) {
+            getEndpoint(endpoints, 1).getLoadStats().requestStarted();
+        }
+        for (int i = 0; i < 100; i++) {
+            assertNotSame(endpoints.get(1), algorithm.getNextEndpoint(null, null));
+        }
+    }
+
+    public void testNestedCompositeEndpointCarriesTheLoadOfItsChildren() {
+        List<Endpoint> endpoints = createEndpoints();
+        List<Endpoint> nested = new ArrayList<Endpoint>(endpoints.subList(0, 2));
+        LoadbalanceEndpoint composite = createLoadBalanceEndpoint(nested, new RoundRobin());
+        List<Endpoint> outer = new ArrayList<Endpoint>();
+        outer.add(composite);
+        outer.add(endpoints.get(2));
+
+        LoadbalanceAlgorithm outstanding = new LeastOutstandingRequests();
+        createLoadBalanceEndpoint(outer, outstanding);
+        getEndpoint(endpoints, 0).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 1).getLoadStats().requestStarted();
+        getEndpoint(endpoints, 2).getLoadStats().requestStarted();
+        // the busy children make the composite busier than the other endpoint
+        for (int i = 0; i < 10; i++) {
+            assertSame(endpoints.get(2), outstanding.getNextEndpoint(null, null));
+        }
+
+        LoadbalanceAlgorithm latency = new LeastLatency();
+        createLoadBalanceEndpoint(outer, latency);
+        complete(getEndpoint(endpoints, 0), 100);
+        complete(getEndpoint(endpoints, 1), 300);
+        complete(getEndpoint(endpoints, 2), 10);
+        for (int i = 0; i < 10; i++) {
+            assertSame(endpoints.get(2), latency.getNextEndpoint(null, null));
+        }
+    }
+
+    private void complete(AddressEndpoint endpoint, long latencyMillis) {
+        endpoint.getLoadStats().requestStarted();
+        endpoint.getLoadStats().requestCompleted(latencyMillis * 1000000);
+    }
+
+    private AddressEndpoint getEndpoint(List<Endpoint> endpoints, int position) {
+        return (AddressEndpoint) endpoints.get(position);
+    }
+
+    private LoadbalanceEndpoint createLoadBalanceEndpoint(List<Endpoint> endpoints, LoadbalanceAlgorithm algorithm) {
+        LoadbalanceEndpoint loadbalanceEndpoint = new LoadbalanceEndpoint();
+        algorithm.setEndpoints(endpoints);
+        algorithm.setLoadBalanceEndpoint(loadbalanceEndpoint);
+
+        loadbalanceEndpoint.setChildren(endpoints);
+        loadbalanceEndpoint.setAlgorithm(algorithm);
+
+        SynapseEnvironment env = new Axis2SynapseEnvironment(
+                new ConfigurationContext(new AxisConfiguration()), new SynapseConfiguration());
+        loadbalanceEndpoint.init(env);
+        return loadbalanceEndpoint;
+    }
+
+    private List<Endpoint> createEndpoints() {
+        List<Endpoint> endpoints = new ArrayList<Endpoint>();
+        for (int i = 0; i < weights.length; i++) {
+            AddressEndpoint addressEndpoint = new AddressEndpoint();
+
+            EndpointDefinition definition = new EndpointDefinition();
+            definition.setAddress("http://localhost:900" + i + "/");
+            addressEndpoint.setDefinition(definition);
+
+            MediatorProperty property = new MediatorProperty();
+            property.setName("loadbalance.weight");
+            property.setValue(weights[i]);
+            addressEndpoint.addProperty(property);
+
+            endpoints.add(addressEndpoint);
+        }
+        return endpoints;
+    }
+}
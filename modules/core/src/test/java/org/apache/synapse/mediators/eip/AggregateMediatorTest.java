@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.mediators.eip;
+
+import junit.framework.TestCase;
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.apache.synapse.FaultHandler;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.xml.AggregateMediatorFactory;
+import org.apache.synapse.mediators.TestUtils;
+import org.apache.synapse.mediators.eip.aggregator.Aggregate;
+import org.apache.synapse.mediators.eip.aggregator.AggregateMediator;
+
+import java.util.Properties;
+
+/**
+ * Test cases for the locking and completion accounting of the aggregate mediator.
+ */
+public class AggregateMediatorTest extends TestCase {
+
+    public void testCompletionConditionIsNotCountedAsTimeout() throws Exception {
+        AggregateMediator mediator = createAggregateMediator(2);
+        assertFalse(mediator.mediate(createMessage("c1", "<a>1</a>")));
+        Aggregate aggregate = (Aggregate) mediator.getActiveAggregates().get("c1");
+        assertNotNull(aggregate);
+
+        mediator.mediate(createMessage("c1", "<a>2</a>"));
+        assertTrue(aggregate.isCompleted());
+        assertEquals(0, mediator.getOpenAggregateCount());
+        assertEquals(1, mediator.getAggregateMetrics().getCompletedCount());
+        assertEquals(0, mediator.getAggregateMetrics().getTimedOutCount());
+    }
+
+    public void testCompletionReasonIsRecorded() throws Exception {
+        AggregateMediator mediator = createAggregateMediator(2);
+        MessageContext message = createMessage("c1", "<a>1</a>");
+
+        // past its expiry time, but completed by its completion condition
+        Aggregate completed = new Aggregate(message.getEnvironment(), "c1", 1, 1, 1, mediator, null);
+        completed.addMessage(message);
+        Thread.sleep(10);
+        mediator.completeAggregate(completed, false);
+        assertEquals(1, mediator.getAggregateMetrics().getCompletedCount());
+        assertEquals(0, mediator.getAggregateMetrics().getTimedOutCount());
+
+        Aggregate timedOut = new Aggregate(message.getEnvironment(), "c2", 60000, 2, 2, mediator, null);
+        timedOut.addMessage(createMessage("c2", "<a>2</a>"));
+        mediator.completeAggregate(timedOut, true);
+        assertEquals(2, mediator.getAggregateMetrics().getCompletedCount());
+        assertEquals(1, mediator.getAggregateMetrics().getTimedOutCount());
+
+        assertFalse("An aggregate is only completed once", mediator.completeAggregate(timedOut, true));
+        assertEquals(2, mediator.getAggregateMetrics().getCompletedCount());
+    }
+
+    public void testMessageWaitsForLockedAggregate() throws Exception {
+        final AggregateMediator mediator = createAggregateMediator(3);
+        assertFalse(mediator.mediate(createMessage("c1", "<a>1</a>")));
+        Aggregate aggregate = (Aggregate) mediator.getActiveAggregates().get("c1");
+        assertTrue(aggregate.getLock());
+
+        final MessageContext second = createMessage("c1", "<a>2</a>");
+        Thread thread = new Thread() {
+            public void run() {
+                mediator.mediate(second);
+            }
+        };
+        thread.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("A message should wait for the lock of its aggregate rather than spin",
+                    Thread.State.TIMED_WAITING, thread.getState());
+            assertEquals(1, aggregate.getMessages().size());
+        } finally {
+            aggregate.releaseLock();
+        }
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertEquals(2, aggregate.getMessages().size());
+        assertFalse(aggregate.isCompleted());
+    }
+
+    private AggregateMediator createAggregateMediator(int messageCount) throws Exception {
+        return (AggregateMediator) new AggregateMediatorFactory().createMediator(AXIOMUtil.stringToOM(
+                "<aggregate xmlns=\"http://ws.apache.org/ns/synapse\"><completeCondition>"
+                        + "<messageCount min=\"" + messageCount + "\" max=\"" + messageCount + "\"/>"
+                        + "</completeCondition><onComplete expression=\"//a\"><property name=\"aggregated\" "
+                        + "value=\"true\"/></onComplete></aggregate>"), new Properties());
+    }
+
+    private MessageContext createMessage(String correlation, String payload) throws Exception {
+        MessageContext synCtx = TestUtils.createLightweightSynapseMessageContext(payload);
+        synCtx.setProperty(EIPConstants.AGGREGATE_CORRELATION, correlation);
+        synCtx.pushFaultHandler(new FaultHandler() {
+            public void onFault(MessageContext synCtx) {
+            }
+        });
+        return synCtx;
+    }
+}
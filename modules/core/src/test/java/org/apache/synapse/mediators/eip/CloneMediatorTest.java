@@ -20,12 +20,21 @@
 package org.apache.synapse.mediators.eip;
 
 import junit.framework.Assert;
+import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axis2.AxisFault;
 import org.apache.synapse.Mediator;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
 import org.apache.synapse.config.xml.CloneMediatorFactory;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.endpoints.AddressEndpoint;
+import org.apache.synapse.mediators.AbstractMediator;
 import org.apache.synapse.mediators.TestUtils;
+import org.apache.synapse.mediators.base.SequenceMediator;
 import org.apache.synapse.mediators.builtin.PropertyMediator;
+import org.apache.synapse.mediators.eip.splitter.CloneMediator;
 
 import java.util.Properties;
 
@@ -118,4 +127,114 @@ public class CloneMediatorTest extends AbstractSplitMediatorTestCase {
         Assert.assertTrue(!cloneStr.equals(parentID));
 
     }
+
+    public void testClonesAreIsolated() throws Exception {
+        CloneMediator clone = createCloneMediator(true, new CaptureMediator(), new CaptureMediator());
+        assertTrue(clone.mediate(testCtx));
+
+        MessageContext first = captured(clone, 0);
+        MessageContext second = captured(clone, 1);
+        // the payload is not copied when a clone accesses its Axis2 message context
+        OMElement placeholder = ((Axis2MessageContext) first).getAxis2MessageContext().getEnvelope().getBody()
+                .getFirstElement();
+        assertTrue(placeholder instanceof OMSourcedElement);
+        assertFalse(((OMSourcedElement) placeholder).isExpanded());
+
+        first.getEnvelope().getBody().getFirstElement().setText("changed");
+        assertEquals("changed", first.getEnvelope().getBody().getFirstElement().getText());
+        assertEquals("test-split-context", second.getEnvelope().getBody().getFirstElement().getText());
+        assertEquals("test-split-context", testCtx.getEnvelope().getBody().getFirstElement().getText());
+    }
+
+    public void testPayloadHandedOverToLastClone() throws Exception {
+        OMElement payload = testCtx.getEnvelope().getBody().getFirstElement();
+        CloneMediator clone = createCloneMediator(false, new CaptureMediator());
+        assertFalse(clone.mediate(testCtx));
+
+        // the parent is not continued, so its payload goes to the only clone without a copy
+        assertSame(payload, captured(clone, 0).getEnvelope().getBody().getFirstElement());
+    }
+
+    public void testPayloadReleasedOnTargetFailure() throws Exception {
+        OMElement payload = testCtx.getEnvelope().getBody().getFirstElement();
+        CloneMediator clone = createCloneMediator(false, new CaptureMediator());
+        Target failing = new Target();
+        failing.setEndpoint(new AddressEndpoint() {
+            @Override
+            public void send(MessageContext synCtx) {
+                try {
+                    synCtx.setEnvelope(OMAbstractFactory.getSOAP11Factory().getDefaultEnvelope());
+                } catch (AxisFault ignore) {
+                }
+                throw new SynapseException("Sending failed");
+            }
+        });
+        clone.addTarget(failing);
+        try {
+            clone.mediate(testCtx);
+            fail("The failure of the target is expected to reach the caller");
+        } catch (SynapseException expected) {
+        }
+
+        // the parent let the payload go despite the failure
+        assertSame(payload, captured(clone, 0).getEnvelope().getBody().getFirstElement());
+    }
+
+    public void testMovedPlaceholderReadAfterPayloadHandedOver() throws Exception {
+        CloneMediator clone = createCloneMediator(false, new CaptureMediator());
+        SequenceMediator sequence = new SequenceMediator();
+        // as an enrich mediator moving the body into a property, before the message is accessed again
+        sequence.addChild(new AbstractMediator() {
+            public boolean mediate(MessageContext synCtx) {
+                OMElement element = synCtx.getEnvelope().getBody().getFirstElement();
+                element.detach();
+                synCtx.setProperty("moved", element);
+                synCtx.getEnvelope();
+                return true;
+            }
+        });
+        sequence.addChild(new CaptureMediator());
+        Target target = new Target();
+        target.setAsynchronous(false);
+        target.setSequence(sequence);
+        clone.getTargets().add(0, target);
+        assertFalse(clone.mediate(testCtx));
+
+        MessageContext moved = ((CaptureMediator) sequence.getChild(1)).synCtx;
+        MessageContext other = captured(clone, 1);
+        assertEquals("test-split-context", other.getEnvelope().getBody().getFirstElement().getText());
+        assertEquals("test-split-context", ((OMElement) moved.getProperty("moved")).getText());
+    }
+
+    private CloneMediator createCloneMediator(boolean continueParent, CaptureMediator... captures) {
+        CloneMediator clone = new CloneMediator();
+        clone.setContinueParent(continueParent);
+        for (CaptureMediator capture : captures) {
+            SequenceMediator sequence = new SequenceMediator();
+            sequence.addChild(capture);
+            Target target = new Target();
+            target.setAsynchronous(false);
+            target.setSequence(sequence);
+            clone.addTarget(target);
+        }
+        return clone;
+    }
+
+    private MessageContext captured(CloneMediator clone, int position) {
+        SequenceMediator sequence = clone.getTargets().get(position).getSequence();
+        return ((CaptureMediator) sequence.getChild(0)).synCtx;
+    }
+
+    /**
+     * Keeps the message it mediates without accessing its payload
+     */
+    private static class CaptureMediator extends AbstractMediator {
+
+        private MessageContext synCtx;
+
+        public boolean mediate(MessageContext synCtx) {
+            this.synCtx = synCtx;
+            return false;
+        }
+    }
 }
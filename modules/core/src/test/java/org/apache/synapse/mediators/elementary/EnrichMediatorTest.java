@@ -19,12 +19,17 @@
 
 package org.apache.synapse.mediators.elementary;
 
+import com.google.gson.JsonObject;
 import junit.framework.TestCase;
 
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.TestMessageContextBuilder;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.mediators.TestUtils;
 import org.apache.synapse.mediators.transform.PayloadFactoryMediator;
 import org.apache.synapse.mediators.transform.pfutils.RegexTemplateProcessor;
+import org.apache.synapse.util.xpath.SynapseJsonPath;
 import java.util.ArrayList;
 
 public class EnrichMediatorTest extends TestCase {
@@ -127,6 +132,35 @@ public class EnrichMediatorTest extends TestCase {
 
 	}
 
+	public void testReplacedJsonPayloadDoesNotShareTheSourceProperty() throws Exception {
+
+		MessageContext synCtx = new TestMessageContextBuilder().setRequireAxis2MessageContext(true)
+		                                                       .setJsonBodyFromString("{\"a\":1,\"b\":{\"c\":2}}")
+		                                                       .build();
+		JsonObject property = new JsonObject();
+		property.addProperty("c", 3);
+		synCtx.setProperty("source", property);
+
+		Source source = new Source();
+		source.setSourceType(EnrichMediator.PROPERTY);
+		source.setProperty("source");
+		Target target = new Target();
+		target.setTargetType(EnrichMediator.CUSTOM);
+		target.setXpath(new SynapseJsonPath("$.b"));
+		EnrichMediator enrich = new EnrichMediator();
+		enrich.setSource(source);
+		enrich.setTarget(target);
+		enrich.setNativeJsonSupportEnabled(true);
+		enrich.mediate(synCtx);
+
+		org.apache.axis2.context.MessageContext axis2Ctx = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+		assertEquals("{\"a\":1,\"b\":{\"c\":3}}", JsonUtil.getJsonPayloadTree(axis2Ctx).toString());
+
+		// changing the property later must not change the payload
+		property.addProperty("c", 4);
+		assertEquals("{\"a\":1,\"b\":{\"c\":3}}", JsonUtil.getJsonPayloadTree(axis2Ctx).toString());
+	}
+
 	private EnrichMediator createEnvelopeToPropertyEnrichMediator(String propertyName, boolean clone) {
 		// source to be used by enrich mediator
 		Source source = new Source();
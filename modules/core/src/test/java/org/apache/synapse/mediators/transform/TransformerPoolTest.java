@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.mediators.transform;
+
+import junit.framework.TestCase;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Tests the reuse of the transformers of a compiled stylesheet
+ */
+public class TransformerPoolTest extends TestCase {
+
+    private static final String XSLT =
+            "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">" +
+            "<xsl:output method=\"text\"/>" +
+            "<xsl:param name=\"greeting\" select=\"'hello'\"/>" +
+            "<xsl:template match=\"/\"><xsl:value-of select=\"$greeting\"/><xsl:text> </xsl:text><xsl:value-of select=\"/name\"/>" +
+            "</xsl:template></xsl:stylesheet>";
+
+    private Templates templates;
+
+    protected void setUp() throws Exception {
+        templates = TransformerFactory.newInstance().newTemplates(new StreamSource(new StringReader(XSLT)));
+    }
+
+    public void testReuse() throws Exception {
+        TransformerPool pool = new TransformerPool(templates, 2);
+        Transformer transformer = pool.borrowTransformer();
+        assertEquals("hello synapse", transform(transformer));
+        pool.returnTransformer(transformer);
+        assertEquals(1, pool.getIdleCount());
+        assertSame(transformer, pool.borrowTransformer());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    public void testParametersAreReset() throws Exception {
+        TransformerPool pool = new TransformerPool(templates, 2);
+        Transformer transformer = pool.borrowTransformer();
+        transformer.setParameter("greeting", "bye");
+        assertEquals("bye synapse", transform(transformer));
+        pool.returnTransformer(transformer);
+
+        transformer = pool.borrowTransformer();
+        assertNull(transformer.getParameter("greeting"));
+        assertEquals("hello synapse", transform(transformer));
+    }
+
+    public void testMaxIdle() throws Exception {
+        TransformerPool pool = new TransformerPool(templates, 1);
+        Transformer first = pool.borrowTransformer();
+        Transformer second = pool.borrowTransformer();
+        assertNotSame(first, second);
+        pool.returnTransformer(first);
+        pool.returnTransformer(second);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    public void testNoReuse() throws Exception {
+        TransformerPool pool = new TransformerPool(templates, 0);
+        Transformer transformer = pool.borrowTransformer();
+        pool.returnTransformer(transformer);
+        assertEquals(0, pool.getIdleCount());
+        assertNotSame(transformer, pool.borrowTransformer());
+    }
+
+    private String transform(Transformer transformer) throws Exception {
+        StringWriter out = new StringWriter();
+        transformer.transform(new StreamSource(new StringReader("<name>synapse</name>")), new StreamResult(out));
+        return out.toString();
+    }
+}
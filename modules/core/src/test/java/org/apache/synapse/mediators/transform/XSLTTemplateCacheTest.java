@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.mediators.transform;
+
+import junit.framework.TestCase;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+
+/**
+ * Tests the eviction and invalidation of the XSLT template cache
+ */
+public class XSLTTemplateCacheTest extends TestCase {
+
+    private final Object mediator = new Object();
+
+    public void testGetAndPut() {
+        XSLTTemplateCache cache = new XSLTTemplateCache(10, 1000);
+        Templates templates = new DummyTemplates();
+        assertNull(cache.get(mediator, "xslt"));
+        cache.put(mediator, "xslt", templates, 100);
+        assertSame(templates, cache.get(mediator, "xslt"));
+        assertNull("Templates of another mediator should not be shared", cache.get(new Object(), "xslt"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(100, cache.getTotalSize());
+    }
+
+    public void testReplace() {
+        XSLTTemplateCache cache = new XSLTTemplateCache(10, 1000);
+        Templates templates = new DummyTemplates();
+        cache.put(mediator, "xslt", new DummyTemplates(), 100);
+        cache.put(mediator, "xslt", templates, 200);
+        assertSame(templates, cache.get(mediator, "xslt"));
+        assertEquals(1, cache.size());
+        assertEquals(200, cache.getTotalSize());
+    }
+
+    public void testEvictionByCount() {
+        XSLTTemplateCache cache = new XSLTTemplateCache(2, 1000);
+        cache.put(mediator, "a", new DummyTemplates(), 10);
+        cache.put(mediator, "b", new DummyTemplates(), 10);
+        // use a so that b is the least recently used
+        assertNotNull(cache.get(mediator, "a"));
+        cache.put(mediator, "c", new DummyTemplates(), 10);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(mediator, "a"));
+        assertNull(cache.get(mediator, "b"));
+        assertNotNull(cache.get(mediator, "c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    public void testEvictionBySize() {
+        XSLTTemplateCache cache = new XSLTTemplateCache(10, 100);
+        cache.put(mediator, "a", new DummyTemplates(), 40);
+        cache.put(mediator, "b", new DummyTemplates(), 40);
+        cache.put(mediator, "c", new DummyTemplates(), 40);
+        assertEquals(2, cache.size());
+        assertEquals(80, cache.getTotalSize());
+        assertNull(cache.get(mediator, "a"));
+
+        // a stylesheet larger than the cache is still kept on its own
+        cache.put(mediator, "d", new DummyTemplates(), 500);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(mediator, "d"));
+        assertEquals(500, cache.getTotalSize());
+    }
+
+    public void testInvalidate() {
+        XSLTTemplateCache cache = new XSLTTemplateCache(10, 1000);
+        Object other = new Object();
+        cache.put(mediator, "a", new DummyTemplates(), 10);
+        cache.put(mediator, "b", new DummyTemplates(), 10);
+        cache.put(other, "a", new DummyTemplates(), 10);
+
+        assertTrue(cache.invalidate(mediator, "a"));
+        assertFalse(cache.invalidate(mediator, "a"));
+        assertNull(cache.get(mediator, "a"));
+        assertNotNull(cache.get(other, "a"));
+
+        cache.invalidateAll(mediator);
+        assertNull(cache.get(mediator, "b"));
+        assertNotNull(cache.get(other, "a"));
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.getTotalSize());
+        assertEquals(2, cache.getInvalidationCount());
+    }
+
+    public void testConcurrentGetAndPut() throws Exception {
+        final XSLTTemplateCache cache = new XSLTTemplateCache(8, 1000);
+        final Templates[] templates = new Templates[16];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = new DummyTemplates();
+        }
+        final AtomicBoolean wrongTemplates = new AtomicBoolean();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int seed = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = (i * 7 + seed) % templates.length;
+                        Templates cached = cache.get(mediator, "xslt" + key);
+                        if (cached == null) {
+                            cache.put(mediator, "xslt" + key, templates[key], 100);
+                        } else if (cached != templates[key]) {
+                            wrongTemplates.set(true);
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse("A lookup returned the stylesheet of another key", wrongTemplates.get());
+        assertTrue(cache.size() <= 8);
+        assertEquals(cache.size() * 100L, cache.getTotalSize());
+        assertEquals(8 * 10000L, cache.getHitCount() + cache.getMissCount());
+    }
+
+    private static class DummyTemplates implements Templates {
+
+        public Transformer newTransformer() {
+            return null;
+        }
+
+        public Properties getOutputProperties() {
+            return new Properties();
+        }
+    }
+}
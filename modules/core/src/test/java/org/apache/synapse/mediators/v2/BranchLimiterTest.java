@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.mediators.v2;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BranchLimiterTest extends TestCase {
+
+    public void testBranchesBeyondTheLimitWait() {
+        BranchLimiter limiter = new BranchLimiter(2);
+        BranchLimiter.Branch[] branches = limiter.newBranches(4);
+        List<Integer> dispatched = new ArrayList<Integer>();
+        for (int i = 0; i < branches.length; i++) {
+            limiter.dispatch(branches[i], new Recorder(dispatched, i));
+        }
+        assertEquals(2, dispatched.size());
+        assertEquals(2, limiter.getInFlightCount());
+        assertEquals(2, limiter.getQueuedCount());
+
+        limiter.release(branches[0]);
+        assertEquals(3, dispatched.size());
+        assertEquals(Integer.valueOf(2), dispatched.get(2));
+        limiter.release(branches[1]);
+        assertEquals(4, dispatched.size());
+        assertEquals(0, limiter.getQueuedCount());
+        assertEquals(2, limiter.getInFlightCount());
+    }
+
+    public void testReleasingTwiceFreesOnePermit() {
+        BranchLimiter limiter = new BranchLimiter(1);
+        BranchLimiter.Branch[] branches = limiter.newBranches(3);
+        List<Integer> dispatched = new ArrayList<Integer>();
+        for (int i = 0; i < branches.length; i++) {
+            limiter.dispatch(branches[i], new Recorder(dispatched, i));
+        }
+        // the branch completes, then its aggregation times out and gives up all the branches again
+        limiter.release(branches[0]);
+        limiter.release(branches[0]);
+        assertEquals(2, dispatched.size());
+        assertEquals(1, limiter.getInFlightCount());
+    }
+
+    public void testQueuedBranchOfTimedOutAggregationIsDropped() {
+        BranchLimiter limiter = new BranchLimiter(1);
+        BranchLimiter.Branch[] first = limiter.newBranches(2);
+        BranchLimiter.Branch[] second = limiter.newBranches(1);
+        List<Integer> dispatched = new ArrayList<Integer>();
+        limiter.dispatch(first[0], new Recorder(dispatched, 0));
+        limiter.dispatch(first[1], new Recorder(dispatched, 1));
+        limiter.dispatch(second[0], new Recorder(dispatched, 2));
+
+        // the first aggregation times out with one of its branches still queued
+        limiter.release(first[1]);
+        limiter.release(first[0]);
+        assertEquals(2, dispatched.size());
+        assertEquals(Integer.valueOf(2), dispatched.get(1));
+        assertEquals(0, limiter.getQueuedCount());
+    }
+
+    public void testFailedDispatchGivesUpItsPermit() {
+        BranchLimiter limiter = new BranchLimiter(1);
+        BranchLimiter.Branch[] branches = limiter.newBranches(2);
+        List<Integer> dispatched = new ArrayList<Integer>();
+        limiter.dispatch(branches[0], new Runnable() {
+            public void run() {
+                throw new IllegalStateException("injection failed");
+            }
+        });
+        limiter.dispatch(branches[1], new Recorder(dispatched, 1));
+        assertEquals(1, dispatched.size());
+        assertEquals(1, limiter.getInFlightCount());
+    }
+
+    public void testConcurrentBranchesStayWithinTheLimit() throws Exception {
+        final int limit = 3;
+        final BranchLimiter limiter = new BranchLimiter(limit);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final int count = 200;
+        final CountDownLatch done = new CountDownLatch(count);
+        final BranchLimiter.Branch[] branches = limiter.newBranches(count);
+        for (int i = 0; i < count; i++) {
+            final BranchLimiter.Branch branch = branches[i];
+            limiter.dispatch(branch, new Runnable() {
+                public void run() {
+                    int now = running.incrementAndGet();
+                    int max = maxRunning.get();
+                    while (now > max && !maxRunning.compareAndSet(max, now)) {
+                        max = maxRunning.get();
+                    }
+                    new Thread(new Runnable() {
+                        public void run() {
+                            running.decrementAndGet();
+                            limiter.release(branch);
+                            done.countDown();
+                        }
+                    }).start();
+                }
+            });
+        }
+        assertTrue("Not all branches were dispatched", done.await(30, TimeUnit.SECONDS));
+        assertTrue("More branches than the limit were in flight", maxRunning.get() <= limit);
+        assertEquals(0, limiter.getInFlightCount());
+        assertEquals(0, limiter.getQueuedCount());
+    }
+
+    private static class Recorder implements Runnable {
+
+        private final List<Integer> dispatched;
+
+        private final int index;
+
+        Recorder(List<Integer> dispatched, int index) {
+            this.dispatched = dispatched;
+            this.index = index;
+        }
+
+        public void run() {
+            dispatched.add(index);
+        }
+    }
+}
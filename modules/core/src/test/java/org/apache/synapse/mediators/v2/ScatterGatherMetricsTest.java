@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.mediators.v2;
+
+import junit.framework.TestCase;
+
+public class ScatterGatherMetricsTest extends TestCase {
+
+    public void testLatencyPerBranch() {
+        ScatterGatherMetrics metrics = new ScatterGatherMetrics(2);
+        metrics.dispatched(0);
+        metrics.dispatched(1);
+        metrics.dispatched(0);
+        metrics.dispatched(1);
+        metrics.completed(0, 10000000);
+        metrics.completed(0, 30000000);
+        metrics.completed(1, 5000000);
+
+        assertEquals(2, metrics.getBranchCount());
+        assertEquals(2, metrics.getCompletedCount(0));
+        assertEquals(1, metrics.getCompletedCount(1));
+        assertEquals(20.0, metrics.getAverageLatencyMillis(0), 0.001);
+        assertEquals(30.0, metrics.getMaxLatencyMillis(0), 0.001);
+        assertEquals(5.0, metrics.getAverageLatencyMillis(1), 0.001);
+        assertEquals(1, metrics.getInFlightCount());
+    }
+
+    public void testUnknownBranchIsIgnored() {
+        ScatterGatherMetrics metrics = new ScatterGatherMetrics(1);
+        metrics.dispatched(3);
+        metrics.completed(-1, 1000);
+        assertEquals(0, metrics.getCompletedCount(0));
+        assertEquals(0, metrics.getInFlightCount());
+        assertEquals(0.0, metrics.getAverageLatencyMillis(0), 0.001);
+    }
+
+    public void testConcurrentCompletions() throws Exception {
+        final ScatterGatherMetrics metrics = new ScatterGatherMetrics(1);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final long latency = (i + 1) * 1000000L;
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        metrics.dispatched(0);
+                        metrics.completed(0, latency);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, metrics.getCompletedCount(0));
+        assertEquals(0, metrics.getInFlightCount());
+        assertEquals(2.5, metrics.getAverageLatencyMillis(0), 0.001);
+        assertEquals(4.0, metrics.getMaxLatencyMillis(0), 0.001);
+    }
+}
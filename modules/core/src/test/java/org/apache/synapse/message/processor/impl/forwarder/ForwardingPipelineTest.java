@@ -0,0 +1,374 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.message.processor.impl.forwarder;
+
+import junit.framework.TestCase;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.PipelinedMessageConsumer;
+import org.apache.synapse.mediators.TestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for the lanes and the window of the forwarding pipeline.
+ */
+public class ForwardingPipelineTest extends TestCase {
+
+    private static final String ORDERING_PROPERTY = "ordering.key";
+
+    private TestConsumer consumer;
+
+    private Delivery delivery;
+
+    /** Lane each forwarded message went through, in the order of forwarding */
+    private final List<String> forwarded = Collections.synchronizedList(new ArrayList<String>());
+
+    private final Map<MessageContext, ForwardingService> lanes =
+            Collections.synchronizedMap(new IdentityHashMap<MessageContext, ForwardingService>());
+
+    private ForwardingPipeline pipeline;
+
+    protected void setUp() throws Exception {
+        consumer = new TestConsumer();
+        delivery = new Delivery();
+    }
+
+    protected void tearDown() throws Exception {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    public void testMessagesWithSameKeyKeepTheirOrder() throws Exception {
+        pipeline = createPipeline(4, ORDERING_PROPERTY);
+        for (int i = 0; i < 30; i++) {
+            consumer.add(createMessage("ID" + i, "key" + (i % 3)));
+        }
+        drain();
+
+        assertEquals(30, consumer.acked.size());
+        Map<Object, Integer> last = new HashMap<Object, Integer>();
+        Map<Object, ForwardingService> laneOfKey = new HashMap<Object, ForwardingService>();
+        synchronized (forwarded) {
+            assertEquals(30, forwarded.size());
+            for (String messageId : forwarded) {
+                MessageContext message = consumer.get(messageId);
+                Object key = message.getProperty(ORDERING_PROPERTY);
+                int index = Integer.parseInt(messageId.substring(2));
+                Integer previous = last.put(key, index);
+                assertTrue("Messages of " + key + " forwarded out of order", previous == null || previous < index);
+                ForwardingService lane = laneOfKey.put(key, lanes.get(message));
+                assertTrue("Messages of " + key + " went to different lanes",
+                        lane == null || lane == lanes.get(message));
+            }
+        }
+    }
+
+    public void testWindowBoundsMessagesInFlight() throws Exception {
+        pipeline = createPipeline(2, null);
+        delivery.blocked = new CountDownLatch(1);
+        for (int i = 0; i < 5; i++) {
+            consumer.add(createMessage("ID" + i, null));
+        }
+
+        assertEquals(2, pipeline.fill());
+        assertEquals("A full window should not hand out more messages", 0, pipeline.fill());
+        assertFalse(pipeline.isIdle());
+        assertEquals(2, consumer.handedOut.get());
+
+        delivery.blocked.countDown();
+        drain();
+        assertEquals(2, delivery.maxInFlight.get());
+        assertEquals(5, consumer.acked.size());
+    }
+
+    public void testMessageAckedWhenDeliverySucceeds() throws Exception {
+        pipeline = createPipeline(2, null);
+        consumer.add(createMessage("ID0", null));
+        drain();
+
+        assertEquals(1, consumer.acked.size());
+        assertTrue(consumer.released.isEmpty());
+    }
+
+    public void testMessageReleasedWhenDeliveryFails() throws Exception {
+        pipeline = createPipeline(1, null);
+        delivery.failing = "ID0";
+        consumer.add(createMessage("ID0", null));
+        consumer.add(createMessage("ID1", null));
+        drain();
+
+        assertEquals(1, consumer.released.size());
+        assertEquals("ID0", consumer.released.peek().getMessageID());
+        assertEquals("The lane should keep forwarding after a failure", 1, consumer.acked.size());
+        assertEquals("ID1", consumer.acked.peek().getMessageID());
+    }
+
+    public void testMessagesWithSameKeyReleasedAfterFailure() throws Exception {
+        pipeline = createPipeline(2, ORDERING_PROPERTY);
+        delivery.blocked = new CountDownLatch(1);
+        delivery.failing = "ID0";
+        consumer.add(createMessage("ID0", "key"));
+        consumer.add(createMessage("ID1", "key"));
+        assertEquals(2, pipeline.fill());
+
+        delivery.blocked.countDown();
+        waitUntilIdle();
+
+        assertEquals("A message behind a failed one with the same key should not be forwarded",
+                1, forwarded.size());
+        assertTrue(consumer.acked.isEmpty());
+        assertEquals(2, consumer.released.size());
+    }
+
+    public void testMessagesReleasedOnTerminate() throws Exception {
+        pipeline = createPipeline(2, ORDERING_PROPERTY);
+        delivery.blocked = new CountDownLatch(1);
+        delivery.ackWhenUnblocked = false;
+        consumer.add(createMessage("ID0", "key"));
+        consumer.add(createMessage("ID1", "key"));
+        assertEquals(2, pipeline.fill());
+        long deadline = System.currentTimeMillis() + 10000;
+        while (forwarded.isEmpty()) {
+            assertTrue("The first message was not forwarded in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+
+        pipeline.terminate();
+        delivery.blocked.countDown();
+        waitUntilIdle();
+
+        assertEquals(2, consumer.released.size());
+        assertTrue(consumer.acked.isEmpty());
+        assertEquals("A message behind a terminated one should not be forwarded", 1, forwarded.size());
+    }
+
+    public void testPendingMessagesReleasedWhenExecutorRejects() throws Exception {
+        final ExecutorService rejecting = Executors.newSingleThreadExecutor();
+        rejecting.shutdown();
+        pipeline = new ForwardingPipeline(new TestService(), consumer, "test", 2, null) {
+            @Override
+            synchronized ExecutorService getExecutor() {
+                return rejecting;
+            }
+        };
+        consumer.add(createMessage("ID0", null));
+        consumer.add(createMessage("ID1", null));
+
+        assertEquals(2, pipeline.fill());
+        assertTrue("Every permit should be given back", pipeline.isIdle());
+        assertEquals(2, consumer.released.size());
+        assertTrue(forwarded.isEmpty());
+    }
+
+    private ForwardingPipeline createPipeline(int windowSize, String orderingProperty) {
+        return new ForwardingPipeline(new TestService(), consumer, "test", windowSize, orderingProperty);
+    }
+
+    private void drain() throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            if (pipeline.fill() == 0 && consumer.isEmpty() && pipeline.isIdle()) {
+                return;
+            }
+        }
+        fail("Messages were not forwarded in time");
+    }
+
+    private void waitUntilIdle() throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!pipeline.isIdle()) {
+            assertTrue("Messages in flight were not completed in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private MessageContext createMessage(String messageId, String key) throws Exception {
+        MessageContext message = TestUtils.createLightweightSynapseMessageContext("<test/>");
+        message.setMessageID(messageId);
+        if (key != null) {
+            message.setProperty(ORDERING_PROPERTY, key);
+        }
+        return message;
+    }
+
+    /**
+     * How the lanes forward the messages of a test.
+     */
+    private class Delivery {
+
+        /** Deliveries wait on this latch if set */
+        volatile CountDownLatch blocked;
+
+        volatile boolean ackWhenUnblocked = true;
+
+        /** Message id whose delivery throws */
+        volatile String failing;
+
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        void deliver(ForwardingService lane, MessageConsumer laneConsumer, MessageContext message) {
+            int current = inFlight.incrementAndGet();
+            try {
+                int max = maxInFlight.get();
+                while (current > max && !maxInFlight.compareAndSet(max, current)) {
+                    max = maxInFlight.get();
+                }
+                forwarded.add(message.getMessageID());
+                lanes.put(message, lane);
+                CountDownLatch latch = blocked;
+                if (latch != null) {
+                    try {
+                        assertTrue(latch.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (message.getMessageID().equals(failing)) {
+                    throw new IllegalStateException("Delivery of " + failing + " failed");
+                }
+                if (latch != null && !ackWhenUnblocked) {
+                    return;
+                }
+                laneConsumer.ack();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Processor service handing out lanes which forward through the delivery of the test.
+     */
+    private class TestService extends ForwardingService {
+
+        TestService() {
+            super(null, null, null, 1000);
+        }
+
+        @Override
+        ForwardingService newLane(final MessageConsumer laneConsumer) {
+            return new TestService() {
+                @Override
+                void forward(MessageContext messageContext) {
+                    delivery.deliver(this, laneConsumer, messageContext);
+                }
+
+                @Override
+                public boolean terminate() {
+                    return true;
+                }
+            };
+        }
+    }
+
+    /**
+     * Store consumer keeping track of the messages handed out, acknowledged and given back.
+     */
+    private static class TestConsumer implements PipelinedMessageConsumer {
+
+        private final Queue<MessageContext> messages = new ConcurrentLinkedQueue<MessageContext>();
+
+        private final Map<String, MessageContext> all =
+                Collections.synchronizedMap(new HashMap<String, MessageContext>());
+
+        final Queue<MessageContext> acked = new ConcurrentLinkedQueue<MessageContext>();
+
+        final Queue<MessageContext> released = new ConcurrentLinkedQueue<MessageContext>();
+
+        final AtomicInteger handedOut = new AtomicInteger();
+
+        void add(MessageContext message) {
+            all.put(message.getMessageID(), message);
+            messages.add(message);
+        }
+
+        MessageContext get(String messageId) {
+            return all.get(messageId);
+        }
+
+        boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        public MessageContext receiveNext() {
+            MessageContext message = messages.poll();
+            if (message != null) {
+                handedOut.incrementAndGet();
+            }
+            return message;
+        }
+
+        public boolean ack(MessageContext message) {
+            acked.add(message);
+            return true;
+        }
+
+        public void release(MessageContext message) {
+            released.add(message);
+        }
+
+        public MessageContext receive() {
+            return messages.peek();
+        }
+
+        public boolean ack() {
+            return false;
+        }
+
+        public boolean cleanup() {
+            return true;
+        }
+
+        public boolean isAlive() {
+            return true;
+        }
+
+        public void setAlive(boolean isAlive) {
+        }
+
+        public void setId(int i) {
+        }
+
+        public String getId() {
+            return "[test-C-1]";
+        }
+
+        public boolean reInitialize() {
+            return false;
+        }
+    }
+}
@@ -18,11 +18,22 @@ package org.apache.synapse.message.store;
 
 import junit.framework.TestCase;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
 import org.apache.synapse.mediators.TestUtils;
 import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.MessageProducer;
+import org.apache.synapse.message.PipelinedMessageConsumer;
 import org.apache.synapse.message.store.impl.memory.InMemoryStore;
+import org.apache.synapse.message.store.impl.memory.InMemoryStoreConstants;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 public class InMemoryMessageStoreTest extends TestCase {
@@ -117,6 +128,223 @@ public class InMemoryMessageStoreTest extends TestCase {
 
     }
     
+    public void testBoundedStoreRejectsWhenFull() throws Exception {
+        InMemoryStore store = createBoundedStore(InMemoryStoreConstants.OVERFLOW_REJECT);
+        MessageProducer producer = store.getProducer();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(producer.storeMessage(createMessageContext("ID" + i)));
+        }
+        assertFalse(producer.storeMessage(createMessageContext("ID3")));
+        assertEquals(3, store.size());
+        assertEquals(1, store.getRejectedCount());
+
+        // consuming a message makes room for another one
+        MessageConsumer consumer = store.getConsumer();
+        assertEquals("ID0", consumer.receive().getMessageID());
+        consumer.ack();
+        assertTrue(producer.storeMessage(createMessageContext("ID4")));
+        assertEquals("ID1", store.remove().getMessageID());
+        assertNotNull(store.remove("ID2"));
+        assertEquals("ID4", store.get(0).getMessageID());
+        store.clear();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(producer.storeMessage(createMessageContext("ID" + i)));
+        }
+    }
+
+    public void testBoundedStoreBlocksUntilThereIsRoom() throws Exception {
+        final InMemoryStore store = createBoundedStore(InMemoryStoreConstants.OVERFLOW_BLOCK);
+        MessageProducer producer = store.getProducer();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(producer.storeMessage(createMessageContext("ID" + i)));
+        }
+        Thread consumer = new Thread() {
+            public void run() {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {
+                }
+                store.remove();
+            }
+        };
+        consumer.start();
+        assertTrue(producer.storeMessage(createMessageContext("ID3")));
+        consumer.join();
+        assertEquals(1, store.getBlockedCount());
+        assertEquals(0, store.getRejectedCount());
+        assertEquals("ID1", store.get(0).getMessageID());
+        assertEquals("ID3", store.get(2).getMessageID());
+    }
+
+    public void testPipelinedConsumption() throws Exception {
+        MessageStore store = new InMemoryStore();
+        populateStore(store, 3);
+        PipelinedMessageConsumer consumer = (PipelinedMessageConsumer) store.getConsumer();
+
+        MessageContext first = consumer.receiveNext();
+        MessageContext second = consumer.receiveNext();
+        MessageContext third = consumer.receiveNext();
+        assertEquals("ID0", first.getMessageID());
+        assertEquals("ID1", second.getMessageID());
+        assertEquals("ID2", third.getMessageID());
+        assertNull(consumer.receiveNext());
+
+        // completions are acknowledged in any order
+        assertTrue(consumer.ack(second));
+        assertFalse(consumer.ack(second));
+        consumer.release(first);
+        assertEquals(2, store.size());
+
+        // a released message is handed out again
+        assertEquals("ID0", consumer.receiveNext().getMessageID());
+        assertNull(consumer.receiveNext());
+        assertTrue(consumer.ack(third));
+        assertEquals("ID0", store.get(0).getMessageID());
+        assertEquals(1, store.size());
+    }
+
+    public void testSpilledMessagesAreRemovedInOrder() throws Exception {
+        InMemoryStore store = createSpillingStore();
+        try {
+            populateStore(store, 5);
+            assertEquals(5, store.size());
+            assertEquals(2, store.getSpilledCount());
+
+            // removing by id accounts for the spilled message like any other removal
+            assertEquals("ID4", store.remove("ID4").getMessageID());
+            assertEquals(4, store.size());
+            assertEquals(4, store.difference());
+
+            // room in memory does not let later messages overtake the spilled one
+            assertEquals("ID0", store.remove().getMessageID());
+            store.getProducer().storeMessage(createMessageContext("ID5"));
+            for (String expected : new String[] {"ID1", "ID2", "ID3", "ID5"}) {
+                assertEquals(expected, store.remove().getMessageID());
+            }
+            assertEquals(0, store.size());
+            assertEquals(0, store.difference());
+            try {
+                store.remove();
+                fail();
+            } catch (NoSuchElementException expected) {}
+        } finally {
+            store.destroy();
+        }
+    }
+
+    public void testSpilledMessagesDoNotSurviveRestart() throws Exception {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        File directory = Files.createTempDirectory("memory-store-spill").toFile();
+        directory.deleteOnExit();
+        parameters.put(InMemoryStoreConstants.MEMORY_STORE_SPILL_DIRECTORY, directory.getAbsolutePath());
+        InMemoryStore store = createBoundedStore(InMemoryStoreConstants.OVERFLOW_SPILL, parameters);
+        populateStore(store, 5);
+        assertEquals(2, store.getSpilledCount());
+        store.destroy();
+
+        // the messages held in memory are gone, so are the ones spilled behind them
+        store = createBoundedStore(InMemoryStoreConstants.OVERFLOW_SPILL, parameters);
+        try {
+            assertEquals(0, store.size());
+            populateStore(store, 1);
+            assertEquals("ID0", store.remove().getMessageID());
+            assertEquals(0, store.size());
+        } finally {
+            store.destroy();
+        }
+    }
+
+    public void testConcurrentSpillAndRemove() throws Exception {
+        final InMemoryStore store = createSpillingStore();
+        final int producers = 4;
+        final int messagesPerProducer = 50;
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        try {
+            List<Thread> threads = new ArrayList<Thread>();
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                threads.add(new Thread() {
+                    public void run() {
+                        try {
+                            MessageProducer messageProducer = store.getProducer();
+                            for (int i = 0; i < messagesPerProducer; i++) {
+                                assertTrue(messageProducer.storeMessage(
+                                        createMessageContext("P" + producer + "-" + i)));
+                            }
+                        } catch (Throwable t) {
+                            errors.add(t);
+                        }
+                    }
+                });
+            }
+            final int[] next = new int[producers];
+            Thread consumer = new Thread() {
+                public void run() {
+                    int received = 0;
+                    long deadline = System.currentTimeMillis() + 30000;
+                    while (received < producers * messagesPerProducer && System.currentTimeMillis() < deadline) {
+                        MessageContext message;
+                        try {
+                            message = store.remove();
+                        } catch (NoSuchElementException e) {
+                            // the producers have not caught up yet
+                            Thread.yield();
+                            continue;
+                        } catch (Throwable t) {
+                            errors.add(t);
+                            return;
+                        }
+                        String[] id = message.getMessageID().substring(1).split("-");
+                        int producer = Integer.parseInt(id[0]);
+                        if (Integer.parseInt(id[1]) != next[producer]++) {
+                            errors.add(new AssertionError("Out of order: " + message.getMessageID()));
+                        }
+                        received++;
+                    }
+                }
+            };
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            consumer.start();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            consumer.join();
+
+            assertTrue("Unexpected errors: " + errors, errors.isEmpty());
+            for (int p = 0; p < producers; p++) {
+                assertEquals(messagesPerProducer, next[p]);
+            }
+            assertEquals(0, store.size());
+            assertEquals(0, store.difference());
+        } finally {
+            store.destroy();
+        }
+    }
+
+    private InMemoryStore createBoundedStore(String overflowPolicy) {
+        return createBoundedStore(overflowPolicy, new HashMap<String, Object>());
+    }
+
+    private InMemoryStore createSpillingStore() throws Exception {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        File directory = Files.createTempDirectory("memory-store-spill").toFile();
+        directory.deleteOnExit();
+        parameters.put(InMemoryStoreConstants.MEMORY_STORE_SPILL_DIRECTORY, directory.getAbsolutePath());
+        return createBoundedStore(InMemoryStoreConstants.OVERFLOW_SPILL, parameters);
+    }
+
+    private InMemoryStore createBoundedStore(String overflowPolicy, Map<String, Object> parameters) {
+        InMemoryStore store = new InMemoryStore();
+        parameters.put(InMemoryStoreConstants.MEMORY_STORE_CAPACITY, "3");
+        parameters.put(InMemoryStoreConstants.MEMORY_STORE_OVERFLOW_POLICY, overflowPolicy);
+        parameters.put(InMemoryStoreConstants.MEMORY_STORE_BLOCK_TIMEOUT, "10000");
+        store.setParameters(parameters);
+        store.init(new Axis2SynapseEnvironment(new SynapseConfiguration()));
+        return store;
+    }
+
     private MessageContext createMessageContext(String identifier) throws Exception {
         MessageContext msg = TestUtils.createLightweightSynapseMessageContext("<test/>");
         msg.setMessageID(identifier);
@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.commons;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link StorableMessageCodec} with the Java serialization previously used by the message
+ * stores. Not part of the unit tests; run it from the test classpath of this module with
+ * <pre>
+ * java -cp &lt;test classpath&gt; org.apache.synapse.message.store.impl.commons.StorableMessageCodecBenchmark
+ * </pre>
+ * The encoded sizes of both formats are printed once per payload size before the measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorableMessageCodecBenchmark {
+
+    @Param({"512", "16384"})
+    private int payloadSize;
+
+    private StorableMessage message;
+
+    private byte[] encoded;
+
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        message = createMessage(payloadSize);
+        encoded = StorableMessageCodec.encode(message);
+        serialized = serialize(message);
+        System.out.println("payload " + payloadSize + " bytes: codec " + encoded.length
+                + " bytes, java serialization " + serialized.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encodeCodec() throws IOException {
+        return StorableMessageCodec.encode(message);
+    }
+
+    @Benchmark
+    public byte[] encodeJavaSerialization() throws IOException {
+        return serialize(message);
+    }
+
+    @Benchmark
+    public StorableMessage decodeCodec() throws IOException, ClassNotFoundException {
+        return StorableMessageCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public Object decodeJavaSerialization() throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized));
+        try {
+            return in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A message shaped like the ones the stores receive from an HTTP proxy service.
+     */
+    private static StorableMessage createMessage(int payloadSize) {
+        StringBuilder body = new StringBuilder("<soapenv:Envelope xmlns:soapenv=\""
+                + "http://schemas.xmlsoap.org/soap/envelope/\"><soapenv:Body><orders>");
+        for (int i = 0; body.length() < payloadSize; i++) {
+            body.append("<order><id>").append(i).append("</id><symbol>IBM</symbol><qty>10</qty></order>");
+        }
+        body.append("</orders></soapenv:Body></soapenv:Envelope>");
+
+        Axis2Message axis2Msg = new Axis2Message();
+        axis2Msg.setMessageID("urn:uuid:6f3a2b4c-93f1-4bb0-a8ad-2c5a7f0e4d11");
+        axis2Msg.setAction("urn:placeOrder");
+        axis2Msg.setService("OrderProxy");
+        axis2Msg.setToAddress("/services/OrderProxy");
+        axis2Msg.setReplyToAddress("http://www.w3.org/2005/08/addressing/anonymous");
+        axis2Msg.setTransportInName("http");
+        axis2Msg.setSoapEnvelope(body.toString());
+        Map<String, Object> abstractProperties = new HashMap<String, Object>();
+        abstractProperties.put("messageType", "text/xml");
+        abstractProperties.put("ContentType", "text/xml");
+        abstractProperties.put("CHARACTER_SET_ENCODING", "UTF-8");
+        abstractProperties.put("HTTP_METHOD", "POST");
+        abstractProperties.put("TRANSPORT_IN_NAME", "http");
+        abstractProperties.put("OUT_ONLY", Boolean.TRUE);
+        axis2Msg.addProperty("ABSTRACT_MC_PROPERTIES", abstractProperties);
+        Map<String, String> headers = new TreeMap<String, String>();
+        headers.put("Content__HYPHEN__Type", "text__SLASH__xml");
+        headers.put("Host", "localhost__COLON__8280");
+        headers.put("SOAPAction", "urn__COLON__placeOrder");
+        headers.put("User__HYPHEN__Agent", "Apache__HYPHEN__HttpClient");
+        axis2Msg.addProperty("TRANSPORT_HEADERS", headers);
+        axis2Msg.addProperty("messageType", "text/xml");
+        axis2Msg.addProperty("ContentType", "text/xml");
+
+        SynapseMessage synMsg = new SynapseMessage();
+        synMsg.addProperty("SERVICE_LOGGER_NAME", "OrderProxy");
+        synMsg.addProperty("ORDER_ID", "42");
+        synMsg.addPropertyObject("OM_ELEMENT_PREFIX_header",
+                "<ns:header xmlns:ns=\"urn:orders\">priority</ns:header>".getBytes(StandardCharsets.UTF_8));
+
+        StorableMessage message = new StorableMessage();
+        message.setAxis2message(axis2Msg);
+        message.setSynapseMessage(synMsg);
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StorableMessageCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
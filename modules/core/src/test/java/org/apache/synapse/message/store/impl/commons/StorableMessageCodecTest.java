@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.commons;
+
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class StorableMessageCodecTest extends TestCase {
+
+    public void testRoundTrip() throws Exception {
+        StorableMessage message = createMessage();
+        byte[] bytes = StorableMessageCodec.encode(message);
+        assertTrue(StorableMessageCodec.isEncoded(bytes));
+        assertMessageEquals(message, StorableMessageCodec.decode(bytes));
+    }
+
+    public void testSmallerThanJavaSerialization() throws Exception {
+        StorableMessage message = createMessage();
+        assertTrue(StorableMessageCodec.encode(message).length < serialize(message).length);
+    }
+
+    public void testReadsJavaSerializedMessages() throws Exception {
+        StorableMessage message = createMessage();
+        assertMessageEquals(message, StorableMessageCodec.decode(serialize(message)));
+    }
+
+    public void testStoreFormatIsOptIn() throws Exception {
+        StorableMessage message = createMessage();
+        byte[] legacy = MessageConverter.toBytes(message, false);
+        assertFalse("Java serialization should be written unless the compact format is enabled",
+                StorableMessageCodec.isEncoded(legacy));
+        assertTrue(Arrays.equals(serialize(message), legacy));
+        assertMessageEquals(message, MessageConverter.fromBytes(legacy));
+
+        byte[] compact = MessageConverter.toBytes(message, true);
+        assertTrue(StorableMessageCodec.isEncoded(compact));
+        assertMessageEquals(message, MessageConverter.fromBytes(compact));
+    }
+
+    public void testEmptyMessage() throws Exception {
+        StorableMessage decoded = StorableMessageCodec.decode(StorableMessageCodec.encode(new StorableMessage()));
+        assertNull(decoded.getAxis2message());
+        assertNull(decoded.getSynapseMessage());
+        assertEquals(7, decoded.getPriority(7));
+    }
+
+    public void testRejectsCorruptedMessages() throws Exception {
+        byte[] bytes = StorableMessageCodec.encode(createMessage());
+        try {
+            StorableMessageCodec.decode(Arrays.copyOf(bytes, bytes.length - 3));
+            fail("Truncated message must not be decoded");
+        } catch (IOException expected) {
+        }
+
+        byte[] futureVersion = bytes.clone();
+        futureVersion[2] = 99;
+        try {
+            StorableMessageCodec.decode(futureVersion);
+            fail("Unknown versions must not be decoded");
+        } catch (StreamCorruptedException expected) {
+        }
+
+        try {
+            StorableMessageCodec.decode("<xml/>".getBytes(StandardCharsets.UTF_8));
+            fail("Unknown formats must not be decoded");
+        } catch (StreamCorruptedException expected) {
+        }
+    }
+
+    private static StorableMessage createMessage() {
+        Axis2Message axis2Msg = new Axis2Message();
+        axis2Msg.setMessageID("urn:uuid:6f3a2b4c-93f1-4bb0-a8ad-2c5a7f0e4d11");
+        axis2Msg.setOperationName(new QName("http://services.samples", "getQuote", "ns"));
+        axis2Msg.setAction("urn:getQuote");
+        axis2Msg.setService("StockQuoteProxy");
+        axis2Msg.setToAddress("http://localhost:9000/services/SimpleStockQuoteService");
+        axis2Msg.setReplyToAddress("http://www.w3.org/2005/08/addressing/anonymous");
+        axis2Msg.setTransportInName("http");
+        axis2Msg.setFLOW(1);
+        axis2Msg.setDoingPOX(true);
+        axis2Msg.setSoapEnvelope("<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<soapenv:Body><m0:getQuote xmlns:m0=\"http://services.samples\"><m0:request>"
+                + "<m0:symbol>IBM \u00e9\u4e2d</m0:symbol></m0:request></m0:getQuote></soapenv:Body></soapenv:Envelope>");
+        axis2Msg.setJsonStream("{\"symbol\":\"IBM\"}".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> abstractProperties = new HashMap<String, Object>();
+        abstractProperties.put("messageType", "application/json");
+        abstractProperties.put("HTTP_SC", 202);
+        abstractProperties.put("OUT_ONLY", Boolean.TRUE);
+        abstractProperties.put("ratio", 0.25d);
+        abstractProperties.put("separator", ';');
+        abstractProperties.put("custom.key", "value");
+        axis2Msg.addProperty("ABSTRACT_MC_PROPERTIES", abstractProperties);
+        Map<String, String> headers = new TreeMap<String, String>();
+        headers.put("Content__HYPHEN__Type", "application__SLASH__json");
+        headers.put("custom.key", "header");
+        axis2Msg.addProperty("TRANSPORT_HEADERS", headers);
+        axis2Msg.addProperty("INTERNAL_TRANSACTION_COUNTED", Boolean.FALSE);
+        axis2Msg.addProperty("timestamp", Long.MIN_VALUE);
+        axis2Msg.addProperty("amount", new BigDecimal("12.50"));
+        axis2Msg.addProperty("empty", Collections.emptyMap());
+        axis2Msg.addProperty("nothing", null);
+
+        SynapseMessage synMsg = new SynapseMessage();
+        synMsg.setResponse(true);
+        synMsg.setTracingState(-1);
+        synMsg.setMessageFlowTracingState(1);
+        synMsg.addLocalEntry("entry");
+        synMsg.addProperty("SERVICE_LOGGER_NAME", "StockQuoteProxy");
+        synMsg.addProperty("custom.key", "synapse");
+        synMsg.addPropertyObject("OM_ELEMENT_PREFIX_payload", "<a/>".getBytes(StandardCharsets.UTF_8));
+
+        StorableMessage message = new StorableMessage();
+        message.setAxis2message(axis2Msg);
+        message.setSynapseMessage(synMsg);
+        message.setPriority(4);
+        return message;
+    }
+
+    private static void assertMessageEquals(StorableMessage expected, StorableMessage actual) {
+        assertEquals(expected.getPriority(), actual.getPriority());
+
+        Axis2Message expectedAxis2 = expected.getAxis2message();
+        Axis2Message actualAxis2 = actual.getAxis2message();
+        assertEquals(expectedAxis2.getMessageID(), actualAxis2.getMessageID());
+        assertEquals(expectedAxis2.getOperationAction(), actualAxis2.getOperationAction());
+        assertEquals(expectedAxis2.getOperationName(), actualAxis2.getOperationName());
+        assertEquals(expectedAxis2.getOperationName().getPrefix(), actualAxis2.getOperationName().getPrefix());
+        assertEquals(expectedAxis2.getAction(), actualAxis2.getAction());
+        assertEquals(expectedAxis2.getService(), actualAxis2.getService());
+        assertEquals(expectedAxis2.getToAddress(), actualAxis2.getToAddress());
+        assertEquals(expectedAxis2.getReplyToAddress(), actualAxis2.getReplyToAddress());
+        assertEquals(expectedAxis2.getFaultToAddress(), actualAxis2.getFaultToAddress());
+        assertEquals(expectedAxis2.getTransportInName(), actualAxis2.getTransportInName());
+        assertEquals(expectedAxis2.getTransportOutName(), actualAxis2.getTransportOutName());
+        assertEquals(expectedAxis2.getFLOW(), actualAxis2.getFLOW());
+        assertEquals(expectedAxis2.isDoingPOX(), actualAxis2.isDoingPOX());
+        assertEquals(expectedAxis2.isDoingMTOM(), actualAxis2.isDoingMTOM());
+        assertEquals(expectedAxis2.getSoapEnvelope(), actualAxis2.getSoapEnvelope());
+        assertTrue(Arrays.equals(expectedAxis2.getJsonStream(), actualAxis2.getJsonStream()));
+        assertEquals(expectedAxis2.getProperties(), actualAxis2.getProperties());
+        assertTrue(actualAxis2.getProperties().get("TRANSPORT_HEADERS") instanceof TreeMap);
+
+        SynapseMessage expectedSyn = expected.getSynapseMessage();
+        SynapseMessage actualSyn = actual.getSynapseMessage();
+        assertEquals(expectedSyn.isResponse(), actualSyn.isResponse());
+        assertEquals(expectedSyn.isFaultResponse(), actualSyn.isFaultResponse());
+        assertEquals(expectedSyn.getTracingState(), actualSyn.getTracingState());
+        assertEquals(expectedSyn.getMessageFlowTracingState(), actualSyn.getMessageFlowTracingState());
+        assertEquals(expectedSyn.getLocalEntries(), actualSyn.getLocalEntries());
+        assertEquals(expectedSyn.getProperties(), actualSyn.getProperties());
+        assertEquals(expectedSyn.getPropertyObjects().keySet(), actualSyn.getPropertyObjects().keySet());
+        for (Map.Entry<String, byte[]> entry : expectedSyn.getPropertyObjects().entrySet()) {
+            assertTrue(Arrays.equals(entry.getValue(), actualSyn.getPropertyObjects().get(entry.getKey())));
+        }
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+public class SegmentedLogTest extends TestCase {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    private File directory;
+
+    private SegmentedLog log;
+
+    @Override
+    protected void setUp() throws Exception {
+        directory = Files.createTempDirectory("segmented-log").toFile();
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        log.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public void testAppendAndConsumeInOrder() throws Exception {
+        assertTrue(log.append("m1", payload(1)));
+        assertTrue(log.append("m2", payload(2)));
+        assertFalse("Duplicate ids must be rejected", log.append("m1", payload(3)));
+        assertEquals(2, log.size());
+
+        SegmentedLog.Entry head = log.peek();
+        assertEquals("m1", head.getMessageId());
+        assertEquals("1", text(log.read(head)));
+        assertTrue(log.remove(head));
+        assertFalse("An entry can only be removed once", log.remove(head));
+
+        assertEquals("m2", log.peek().getMessageId());
+        assertEquals("m2", log.get(0).getMessageId());
+        assertNull(log.get(1));
+        assertEquals(1, log.size());
+    }
+
+    public void testRecoveryAfterReopen() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            log.append("m" + i, payload(i));
+        }
+        log.remove(log.peek());
+        log.remove(log.get("m3"));
+        log.close();
+
+        log = open(SegmentedLog.FsyncPolicy.MESSAGE, 0.5);
+        assertIds(log.getAll(), "m1", "m2", "m4");
+        assertEquals("4", text(log.read(log.get("m4"))));
+
+        // sequences go on after the recovered ones
+        log.append("m5", payload(5));
+        log.close();
+        log = open(SegmentedLog.FsyncPolicy.MESSAGE, 0.5);
+        assertIds(log.getAll(), "m1", "m2", "m4", "m5");
+    }
+
+    public void testTornWriteIsDiscarded() throws Exception {
+        log.append("m1", payload(1));
+        log.append("m2", payload(2));
+        log.close();
+
+        File segment = new File(directory, LogSegment.fileName(0));
+        RandomAccessFile file = new RandomAccessFile(segment, "rw");
+        try {
+            // corrupt the last byte of the second record
+            int first = file.readInt();
+            file.seek(first);
+            int second = file.readInt();
+            file.seek(first + second - 1);
+            file.write(0x7F);
+        } finally {
+            file.close();
+        }
+
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+        assertIds(log.getAll(), "m1");
+        log.append("m3", payload(3));
+        log.close();
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+        assertIds(log.getAll(), "m1", "m3");
+    }
+
+    public void testConsumedSegmentsAreDeleted() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            log.append("m" + i, payload(i));
+        }
+        assertTrue("Messages must span several segments", segmentCount() > 2);
+        while (log.size() > 1) {
+            log.remove(log.peek());
+        }
+        log.maintain();
+        assertEquals(1, segmentCount());
+        log.close();
+
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+        assertIds(log.getAll(), "m39");
+    }
+
+    public void testCompactionKeepsLiveMessages() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            log.append("m" + i, payload(i));
+        }
+        // remove all but the first and the last message out of order
+        for (int i = 1; i < 39; i++) {
+            log.remove(log.get("m" + i));
+        }
+        long before = directorySize();
+        log.maintain();
+        assertTrue("Compaction must shrink the store", directorySize() < before);
+        assertEquals("0", text(log.read(log.get("m0"))));
+        assertEquals("39", text(log.read(log.get("m39"))));
+        log.close();
+
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+        assertIds(log.getAll(), "m0", "m39");
+        log.remove(log.peek());
+        log.close();
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+        assertIds(log.getAll(), "m39");
+    }
+
+    public void testLargeMessageGetsItsOwnSegment() throws Exception {
+        byte[] large = new byte[SEGMENT_SIZE * 3];
+        large[large.length - 1] = 42;
+        log.append("small", payload(1));
+        log.append("large", large);
+        log.close();
+
+        log = open(SegmentedLog.FsyncPolicy.BATCH, 0.5);
+        byte[] read = log.read(log.get("large"));
+        assertEquals(large.length, read.length);
+        assertEquals(42, read[read.length - 1]);
+    }
+
+    public void testClear() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            log.append("m" + i, payload(i));
+        }
+        log.clear();
+        assertEquals(0, log.size());
+        assertNull(log.peek());
+        log.append("after", payload(1));
+        log.close();
+
+        log = open(SegmentedLog.FsyncPolicy.PERIODIC, 0.5);
+        assertIds(log.getAll(), "after");
+    }
+
+    private SegmentedLog open(SegmentedLog.FsyncPolicy policy, double threshold) throws IOException {
+        SegmentedLog segmentedLog = new SegmentedLog(directory, SEGMENT_SIZE, policy, threshold);
+        segmentedLog.open();
+        return segmentedLog;
+    }
+
+    private int segmentCount() {
+        int count = 0;
+        for (String name : directory.list()) {
+            if (name.endsWith(LogSegment.SEGMENT_SUFFIX)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long directorySize() {
+        long size = 0;
+        for (File file : directory.listFiles()) {
+            if (file.getName().endsWith(LogSegment.SEGMENT_SUFFIX)) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A payload of about a hundred bytes, so that a few dozen messages span several segments.
+     */
+    private static byte[] payload(int i) {
+        StringBuilder payload = new StringBuilder(String.valueOf(i)).append('|');
+        while (payload.length() < 100) {
+            payload.append('x');
+        }
+        return payload.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        String payload = new String(bytes, StandardCharsets.UTF_8);
+        return payload.substring(0, payload.indexOf('|'));
+    }
+
+    private static void assertIds(List<SegmentedLog.Entry> entries, String... ids) {
+        assertEquals(ids.length, entries.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], entries.get(i).getMessageId());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.message.store.impl.jdbc;
+
+import junit.framework.TestCase;
+import org.apache.synapse.MessageContext;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+
+/**
+ * Test cases for the batched consumption of the JDBC message store.
+ */
+public class JDBCConsumerTest extends TestCase {
+
+    private JDBCMessageStore store;
+
+    /** Message ids of each batch deleted from the store */
+    private final List<List<String>> removed = new ArrayList<List<String>>();
+
+    @SuppressWarnings("unchecked")
+    protected void setUp() throws Exception {
+        store = Mockito.mock(JDBCMessageStore.class);
+        Mockito.when(store.getName()).thenReturn("JDBCStore");
+        Mockito.doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                // the consumer reuses its list once the batch is deleted
+                removed.add(new ArrayList<String>((List<String>) invocation.getArguments()[0]));
+                return null;
+            }
+        }).when(store).remove(anyList());
+    }
+
+    public void testAcknowledgedMessagesDeletedInBatches() throws Exception {
+        List<MessageContext> batch = messages("ID1", "ID2", "ID3");
+        Mockito.when(store.peek(3)).thenReturn(batch);
+        JDBCConsumer consumer = new JDBCConsumer(store, 3, 60000);
+
+        for (String expected : new String[] {"ID1", "ID2"}) {
+            assertEquals(expected, consumer.receive().getMessageID());
+            assertTrue(consumer.ack());
+        }
+        assertTrue("Acknowledgements should wait for a full batch", removed.isEmpty());
+
+        assertEquals("ID3", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertEquals(Collections.singletonList(Arrays.asList("ID1", "ID2", "ID3")), removed);
+        Mockito.verify(store, Mockito.times(1)).peek(3);
+        Mockito.verify(store, Mockito.times(3)).dequeued();
+    }
+
+    public void testLingeringAcknowledgementsDeletedOnPoll() throws Exception {
+        List<MessageContext> batch = messages("ID1", "ID2", "ID3");
+        Mockito.when(store.peek(3)).thenReturn(batch);
+        JDBCConsumer consumer = new JDBCConsumer(store, 3, 50);
+
+        assertEquals("ID1", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertTrue(removed.isEmpty());
+
+        Thread.sleep(100);
+        // no message is acknowledged, the poll of the processor deletes the lingering batch
+        assertEquals("ID2", consumer.receive().getMessageID());
+        assertEquals(Collections.singletonList(Collections.singletonList("ID1")), removed);
+        Mockito.verify(store, Mockito.times(1)).peek(3);
+    }
+
+    public void testAcknowledgementsDeletedBeforeNextFetch() throws Exception {
+        List<MessageContext> first = messages("ID1", "ID2");
+        List<MessageContext> second = messages("ID3");
+        Mockito.when(store.peek(3)).thenReturn(first, second);
+        JDBCConsumer consumer = new JDBCConsumer(store, 3, 60000);
+
+        for (String expected : new String[] {"ID1", "ID2"}) {
+            assertEquals(expected, consumer.receive().getMessageID());
+            assertTrue(consumer.ack());
+        }
+        assertTrue(removed.isEmpty());
+
+        assertEquals("ID3", consumer.receive().getMessageID());
+        assertEquals(Collections.singletonList(Arrays.asList("ID1", "ID2")), removed);
+        InOrder inOrder = Mockito.inOrder(store);
+        inOrder.verify(store).peek(3);
+        inOrder.verify(store).remove(anyList());
+        inOrder.verify(store).peek(3);
+    }
+
+    public void testPendingAcknowledgementsDeletedOnCleanup() throws Exception {
+        List<MessageContext> batch = messages("ID1", "ID2", "ID3");
+        Mockito.when(store.peek(3)).thenReturn(batch);
+        JDBCConsumer consumer = new JDBCConsumer(store, 3, 60000);
+
+        assertEquals("ID1", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertTrue(consumer.cleanup());
+        assertEquals(Collections.singletonList(Collections.singletonList("ID1")), removed);
+    }
+
+    public void testSingleMessageConsumption() throws Exception {
+        MessageContext message = message("ID1");
+        Mockito.when(store.peek()).thenReturn(message);
+        Mockito.when(store.remove("ID1")).thenReturn(message);
+        JDBCConsumer consumer = new JDBCConsumer(store);
+
+        assertEquals("ID1", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        Mockito.verify(store).remove("ID1");
+        Mockito.verify(store, Mockito.never()).peek(Mockito.anyInt());
+        assertTrue(removed.isEmpty());
+    }
+
+    private static List<MessageContext> messages(String... messageIds) {
+        List<MessageContext> messages = new ArrayList<MessageContext>();
+        for (String messageId : messageIds) {
+            messages.add(message(messageId));
+        }
+        return messages;
+    }
+
+    private static MessageContext message(String messageId) {
+        MessageContext message = Mockito.mock(MessageContext.class);
+        Mockito.when(message.getMessageID()).thenReturn(messageId);
+        return message;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.rest;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.api.API;
+import org.apache.synapse.api.ApiUtils;
+import org.apache.synapse.api.Resource;
+import org.apache.synapse.api.dispatch.ApiContextIndex;
+import org.apache.synapse.api.dispatch.DispatcherHelper;
+import org.apache.synapse.api.dispatch.ResourceIndex;
+import org.apache.synapse.api.dispatch.URITemplateHelper;
+import org.apache.synapse.api.dispatch.URLMappingHelper;
+import org.apache.synapse.config.SynapseConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ApiDispatchIndexTest extends RESTMediationTestCase {
+
+    private static final String PROP_NAME = "prop.name";
+
+    public void testContextCandidates() {
+        List<API> apis = new ArrayList<API>();
+        for (String context : new String[] {"/", "/test", "/test/foo", "/test1", "/a/"}) {
+            apis.add(new API("API" + apis.size(), context));
+        }
+        ApiContextIndex index = new ApiContextIndex(apis);
+
+        String[] paths = {"/test", "/test/", "/test?a=5", "/test/foo/bar?a=5", "/foo/test/bar", "/test1/bar",
+                "/a/", "/a/x", "/", "/test/foo?q=/a/b"};
+        for (String path : paths) {
+            List<API> candidates = index.getCandidates(path);
+            for (API api : apis) {
+                if (ApiUtils.matchApiPath(path, api.getContext())) {
+                    assertTrue(api.getContext() + " must be a candidate for " + path, candidates.contains(api));
+                }
+            }
+        }
+
+        assertEquals(Arrays.asList(apis.get(0), apis.get(1), apis.get(2)), index.getCandidates("/test/foo/x"));
+        assertEquals(Arrays.asList(apis.get(0)), index.getCandidates("/foo/test/bar"));
+        assertEquals(apis, index.getAPIs());
+    }
+
+    public void testResourceCandidates() {
+        Resource prefix = newResource(new URLMappingHelper("/foo/bar/*"));
+        Resource exact = newResource(new URLMappingHelper("/exact/"));
+        Resource extension = newResource(new URLMappingHelper("*.jsp"));
+        Resource template = newResource(new URITemplateHelper("/orders/{id}"));
+        Resource query = newResource(new URITemplateHelper("/orders?id={id}"));
+        Resource variable = newResource(new URITemplateHelper("/{type}/items"));
+        ResourceIndex index = new ResourceIndex(Arrays.asList(prefix, exact, extension, template, query, variable));
+
+        assertEquals(Arrays.asList(prefix, extension, variable), index.getCandidates("/foo/bar"));
+        assertEquals(Arrays.asList(exact, extension, variable), index.getCandidates("/exact/"));
+        assertEquals(Arrays.asList(extension, template, query, variable), index.getCandidates("/orders/1"));
+        assertEquals(Arrays.asList(extension, template, query, variable), index.getCandidates("/orders?id=1"));
+        assertEquals(Arrays.asList(extension, variable), index.getCandidates("/books/items"));
+    }
+
+    public void testIndexFollowsApiTable() throws Exception {
+        SynapseConfiguration synapseConfig = new SynapseConfiguration();
+        for (int i = 0; i < 50; i++) {
+            API api = new API("API" + i, "/service" + i);
+            Resource resource = newResource(new URITemplateHelper("/items/{id}"));
+            resource.setInSequence(getTestSequence(PROP_NAME, api.getName()));
+            api.addResource(resource);
+            synapseConfig.addAPI(api.getName(), api);
+        }
+        RESTRequestHandler handler = new RESTRequestHandler();
+
+        MessageContext synCtx = getMessageContext(synapseConfig, false, "/service42/items/7", "GET");
+        handler.process(synCtx);
+        assertEquals("API42", synCtx.getProperty(PROP_NAME));
+        assertEquals("7", synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "id"));
+
+        API updated = new API("API42", "/service42");
+        Resource resource = newResource(new URITemplateHelper("/orders/{id}"));
+        resource.setInSequence(getTestSequence(PROP_NAME, "updated"));
+        updated.addResource(resource);
+        synapseConfig.updateAPI(updated.getName(), updated);
+
+        synCtx = getMessageContext(synapseConfig, false, "/service42/items/7", "GET");
+        handler.process(synCtx);
+        assertNull(synCtx.getProperty(PROP_NAME));
+
+        synCtx = getMessageContext(synapseConfig, false, "/service42/orders/7", "GET");
+        handler.process(synCtx);
+        assertEquals("updated", synCtx.getProperty(PROP_NAME));
+
+        synapseConfig.removeAPI("API42");
+        synCtx = getMessageContext(synapseConfig, false, "/service42/orders/7", "GET");
+        assertFalse(handler.process(synCtx));
+    }
+
+    public void testMessageCandidates() throws Exception {
+        SynapseConfiguration synapseConfig = new SynapseConfiguration();
+        for (int i = 0; i < 5; i++) {
+            API api = new API("API" + i, "/service" + i);
+            api.addResource(newResource(new URITemplateHelper("/items/{id}")));
+            synapseConfig.addAPI(api.getName(), api);
+        }
+        ApiContextIndex index = synapseConfig.getAPIContextIndex();
+
+        MessageContext synCtx = getMessageContext(synapseConfig, false, "/service3/items/7", "GET");
+        assertEquals(Arrays.asList(synapseConfig.getAPI("API3")), index.getCandidates(synCtx));
+        assertSame(synapseConfig.getAPI("API3"), ApiUtils.getSelectedAPI(synCtx));
+
+        // responses are not matched on the request path
+        synCtx.setResponse(true);
+        assertEquals(index.getAPIs(), index.getCandidates(synCtx));
+    }
+
+    private Resource newResource(DispatcherHelper helper) {
+        Resource resource = new Resource();
+        resource.setDispatcherHelper(helper);
+        return resource;
+    }
+}
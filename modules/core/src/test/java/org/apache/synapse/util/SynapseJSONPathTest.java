@@ -20,7 +20,9 @@ package org.apache.synapse.util;
 import junit.framework.Assert;
 import junit.framework.TestCase;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.commons.json.JsonUtil;
 import org.apache.synapse.config.xml.XMLConfigConstants;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.mediators.TestUtils;
 import org.apache.synapse.mediators.builtin.PropertyMediator;
 import org.apache.synapse.util.xpath.SynapseJsonPath;
@@ -93,4 +95,19 @@ public class SynapseJSONPathTest extends TestCase {
         Assert.assertEquals("Didn't receive the expected result", "J. R. R. Tolkien",
                 synapseJsonPath.stringValueOf(mc));
     }
+
+    public void testEvaluationAfterPayloadReplaced() throws Exception {
+
+        MessageContext mc = TestUtils.getTestContextJson(payload, null);
+        SynapseJsonPath color = new SynapseJsonPath("$.store.bicycle.color");
+        SynapseJsonPath price = new SynapseJsonPath("$.store.bicycle.price");
+        Assert.assertEquals("Didn't receive the expected result", "red", color.stringValueOf(mc));
+        Assert.assertEquals("Didn't receive the expected result", "19.95", price.stringValueOf(mc));
+
+        // the paths must be evaluated against the new payload, not the one parsed before
+        JsonUtil.getNewJsonPayload(((Axis2MessageContext) mc).getAxis2MessageContext(),
+                "{\"store\": {\"bicycle\": {\"color\": \"blue\", \"price\": 5}}}", true, true);
+        Assert.assertEquals("Didn't receive the expected result", "blue", color.stringValueOf(mc));
+        Assert.assertEquals("Didn't receive the expected result", "5", price.stringValueOf(mc));
+    }
 }
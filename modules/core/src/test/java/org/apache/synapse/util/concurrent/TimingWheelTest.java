@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.util.concurrent;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TimingWheelTest extends TestCase {
+
+    private TimingWheel wheel;
+
+    protected void setUp() throws Exception {
+        wheel = new TimingWheel("TimingWheelTest", 10, 8, 2);
+    }
+
+    protected void tearDown() throws Exception {
+        wheel.stop();
+    }
+
+    public void testTimeoutExpires() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        TimingWheel.Timeout timeout = wheel.schedule(new CountDown(latch), 50);
+        assertTrue("Timeout did not expire", latch.await(5, TimeUnit.SECONDS));
+        assertTrue("Timeout expired early", System.currentTimeMillis() - start >= 50);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    public void testTimeoutBeyondOneRevolution() throws Exception {
+        // 8 buckets of 10ms, the timeout is 3 revolutions away
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        wheel.schedule(new CountDown(latch), 250);
+        assertFalse("Timeout expired early", latch.await(150, TimeUnit.MILLISECONDS));
+        assertTrue("Timeout did not expire", latch.await(5, TimeUnit.SECONDS));
+        assertTrue("Timeout expired early", System.currentTimeMillis() - start >= 250);
+    }
+
+    public void testCancelledTimeoutDoesNotExpire() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Timeout timeout = wheel.schedule(new Runnable() {
+            public void run() {
+                runs.incrementAndGet();
+            }
+        }, 30);
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.getPendingCount());
+        Thread.sleep(150);
+        assertEquals(0, runs.get());
+    }
+
+    public void testManyTimeouts() throws Exception {
+        int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(count / 2);
+        TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[count];
+        for (int i = 0; i < count; i++) {
+            timeouts[i] = wheel.schedule(new CountDown(latch), 20 + i % 200);
+        }
+        assertEquals(count, wheel.getPendingCount());
+        for (int i = 0; i < count; i += 2) {
+            assertTrue(timeouts[i].cancel());
+        }
+        assertTrue("Timeouts did not expire", latch.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < count; i += 2) {
+            assertTrue(timeouts[i].isExpired());
+        }
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    public void testFailingTaskDoesNotStopTheWheel() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        wheel.schedule(new Runnable() {
+            public void run() {
+                throw new IllegalStateException("failing timeout task");
+            }
+        }, 10);
+        wheel.schedule(new CountDown(latch), 40);
+        assertTrue("Timeout did not expire", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    public void testStoppedWheelRejectsTimeouts() throws Exception {
+        wheel.schedule(new CountDown(new CountDownLatch(1)), 1000);
+        wheel.stop();
+        try {
+            wheel.schedule(new CountDown(new CountDownLatch(1)), 10);
+            fail("A stopped timing wheel must not accept timeouts");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    private static class CountDown implements Runnable {
+
+        private final CountDownLatch latch;
+
+        CountDown(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        public void run() {
+            latch.countDown();
+        }
+    }
+}
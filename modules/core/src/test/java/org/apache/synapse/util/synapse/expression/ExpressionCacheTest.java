@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.synapse.util.synapse.expression;
+
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.util.xpath.SynapseExpression;
+import org.apache.synapse.util.xpath.SynapseExpressionCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class for the parsed Synapse Expressions which are cached and shared between evaluations.
+ */
+public class ExpressionCacheTest {
+
+    @Test
+    public void testParsedExpressionIsShared() throws Exception {
+        String expression = "length(payload.cars) + 1";
+        new SynapseExpression(expression);
+        SynapseExpressionCache.ParsedExpression parsed = SynapseExpressionCache.getInstance().get(expression);
+        Assert.assertNotNull(parsed);
+        Assert.assertTrue(parsed.isContentAware());
+        new SynapseExpression(expression);
+        Assert.assertSame(parsed, SynapseExpressionCache.getInstance().get(expression));
+    }
+
+    @Test
+    public void testSyntaxErrorIsNotCached() {
+        String expression = "5 + + ";
+        for (int i = 0; i < 2; i++) {
+            try {
+                new SynapseExpression(expression);
+                Assert.fail("Syntax error expected");
+            } catch (Exception e) {
+                Assert.assertTrue(e.getMessage().startsWith("Syntax error in expression"));
+            }
+        }
+        Assert.assertNull(SynapseExpressionCache.getInstance().get(expression));
+    }
+
+    @Test
+    public void testConstantExpressions() {
+        Assert.assertEquals("11", TestUtils.evaluateExpression("5 + 3 * 2"));
+        Assert.assertEquals("16", TestUtils.evaluateExpression("(5 + 3) * 2"));
+        Assert.assertEquals("abcdef", TestUtils.evaluateExpression("\"abc\" + \"def\""));
+        Assert.assertEquals("yes", TestUtils.evaluateExpression("5 > 3 ? \"yes\" : \"no\""));
+        Assert.assertEquals("true", TestUtils.evaluateExpression("5 > 3 and 2 < 3"));
+    }
+
+    @Test
+    public void testRepeatedEvaluationWithPlaceholders() throws Exception {
+        Axis2MessageContext synCtx =
+                org.apache.synapse.mediators.TestUtils.getAxis2MessageContext("<test/>", null);
+        JsonUtil.getNewJsonPayload(synCtx.getAxis2MessageContext(),
+                "{\"cars\":[\"Ford\",\"BMW\",\"Fiat\"],\"index\":1}", true, true);
+        SynapseExpression synapsePath = new SynapseExpression("payload.cars[var.index]");
+        synCtx.setVariable("index", 0);
+        Assert.assertEquals("Ford", synapsePath.stringValueOf(synCtx));
+        // the placeholder must be resolved again, not taken from the previous evaluation
+        synCtx.setVariable("index", 2);
+        Assert.assertEquals("Fiat", synapsePath.stringValueOf(synCtx));
+        Assert.assertEquals("BMW", new SynapseExpression("payload.cars[payload.index]").stringValueOf(synCtx));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.util.synapse.expression;
+
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.util.xpath.SynapseExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation and the evaluation of Synapse Expressions which read the payload, the variables and
+ * constants. The creation is measured since the inline expressions of the templates are created for every
+ * message. Not part of the unit tests; run it from the test classpath of this module with
+ * <pre>
+ * java -cp &lt;test classpath&gt; org.apache.synapse.util.synapse.expression.SynapseExpressionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SynapseExpressionBenchmark {
+
+    private static final String PAYLOAD = "{\"name\":\"John\",\"age\":30,\"index\":1,"
+            + "\"cars\":[\"Ford\",\"BMW\",\"Fiat\",\"Honda\",\"Lexus\",\"KIA\"]}";
+
+    @Param({"payload.cars[payload.index]", "var.price * var.qty + 5", "(5 + 3) * 2 > 10 ? \"high\" : \"low\""})
+    private String expression;
+
+    private Axis2MessageContext synCtx;
+
+    private SynapseExpression synapseExpression;
+
+    @Setup
+    public void setup() throws Exception {
+        synCtx = org.apache.synapse.mediators.TestUtils.getAxis2MessageContext("<test/>", null);
+        JsonUtil.getNewJsonPayload(synCtx.getAxis2MessageContext(), PAYLOAD, true, true);
+        synCtx.setVariable("price", 12.5);
+        synCtx.setVariable("qty", 4);
+        synapseExpression = new SynapseExpression(expression);
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return synapseExpression.stringValueOf(synCtx);
+    }
+
+    @Benchmark
+    public String createAndEvaluate() throws Exception {
+        return new SynapseExpression(expression).stringValueOf(synCtx);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SynapseExpressionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
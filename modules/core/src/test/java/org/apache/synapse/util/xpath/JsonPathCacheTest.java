@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.util.xpath;
+
+import com.jayway.jsonpath.JsonPath;
+import junit.framework.TestCase;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests the cache of the compiled JSON paths
+ */
+public class JsonPathCacheTest extends TestCase {
+
+    public void testCompiledPathIsReused() {
+        JsonPathCache cache = new JsonPathCache(10);
+        JsonPath jsonPath = cache.compile("$.store.book[0].title");
+        assertEquals("$['store']['book'][0]['title']", jsonPath.getPath());
+        assertSame(jsonPath, cache.compile("$.store.book[0].title"));
+        assertEquals(1, cache.size());
+    }
+
+    public void testLeastRecentlyUsedPathIsEvicted() {
+        JsonPathCache cache = new JsonPathCache(2);
+        JsonPath first = cache.compile("$.a");
+        JsonPath second = cache.compile("$.b");
+        // use the first path so that the second one is the least recently used
+        assertSame(first, cache.compile("$.a"));
+        cache.compile("$.c");
+        assertEquals(2, cache.size());
+        assertSame(first, cache.compile("$.a"));
+        assertNotSame(second, cache.compile("$.b"));
+    }
+
+    public void testConcurrentLookups() throws Exception {
+        final JsonPathCache cache = new JsonPathCache(1000);
+        final JsonPath shared = cache.compile("$.shared");
+        final AtomicBoolean failed = new AtomicBoolean();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int seed = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        if (cache.compile("$.shared") != shared) {
+                            failed.set(true);
+                        }
+                        String expression = "$.path" + ((i + seed) % 50);
+                        if (!cache.compile(expression).getPath().equals(JsonPath.compile(expression).getPath())) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse("A lookup returned a wrong compiled path", failed.get());
+        assertEquals(51, cache.size());
+    }
+
+    public void testDisabledCache() {
+        JsonPathCache cache = new JsonPathCache(0);
+        JsonPath jsonPath = cache.compile("$.a");
+        assertNotSame(jsonPath, cache.compile("$.a"));
+        assertEquals(0, cache.size());
+    }
+}
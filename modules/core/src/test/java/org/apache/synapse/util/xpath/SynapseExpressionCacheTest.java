@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.util.xpath;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests the cache of the parsed Synapse Expressions
+ */
+public class SynapseExpressionCacheTest extends TestCase {
+
+    public void testLeastRecentlyUsedExpressionIsEvicted() {
+        SynapseExpressionCache cache = new SynapseExpressionCache(2);
+        SynapseExpressionCache.ParsedExpression first = new SynapseExpressionCache.ParsedExpression(null, false);
+        cache.put("payload.a", first);
+        cache.put("payload.b", new SynapseExpressionCache.ParsedExpression(null, true));
+        // use the first expression so that the second one is the least recently used
+        assertSame(first, cache.get("payload.a"));
+        cache.put("payload.c", new SynapseExpressionCache.ParsedExpression(null, true));
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("payload.a"));
+        assertNull(cache.get("payload.b"));
+    }
+
+    public void testDisabledCache() {
+        SynapseExpressionCache cache = new SynapseExpressionCache(0);
+        cache.put("payload.a", new SynapseExpressionCache.ParsedExpression(null, true));
+        assertNull(cache.get("payload.a"));
+        assertEquals(0, cache.size());
+    }
+
+    public void testConcurrentLookups() throws Exception {
+        final SynapseExpressionCache cache = new SynapseExpressionCache(1000);
+        final SynapseExpressionCache.ParsedExpression[] parsed = new SynapseExpressionCache.ParsedExpression[50];
+        for (int i = 0; i < parsed.length; i++) {
+            parsed[i] = new SynapseExpressionCache.ParsedExpression(null, i % 2 == 0);
+        }
+        final AtomicBoolean failed = new AtomicBoolean();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int seed = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        int index = (i + seed) % parsed.length;
+                        SynapseExpressionCache.ParsedExpression cached = cache.get("vars.v" + index);
+                        if (cached == null) {
+                            cache.put("vars.v" + index, parsed[index]);
+                        } else if (cached != parsed[index]) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse("A lookup returned the tree of another expression", failed.get());
+        assertEquals(50, cache.size());
+    }
+}
@@ -178,6 +178,12 @@ public class ThrottleMediator extends AbstractMediator implements ManagedLifecyc
                     }
                     concurrentAccessReplicator.replicate(key, false);
                 }
+                if (concurrentAccessController != null && !isResponse) {
+                    // start of the request as seen by the concurrency throttle, an adaptive access
+                    // controller changes its limit by the time taken until the access is returned
+                    synCtx.setProperty(SynapseConstants.SYNAPSE_CONCURRENCY_THROTTLE_START_TIME,
+                            System.nanoTime());
+                }
                 //accept case
                 // property is set to identify whether a request is accepted or rejected looking at
                 // the throttling controller outcome.
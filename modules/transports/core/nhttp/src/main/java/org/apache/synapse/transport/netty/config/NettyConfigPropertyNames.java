@@ -122,6 +122,20 @@ public class NettyConfigPropertyNames {
      */
     public static final String CONNECTION_POOLING_WAIT_TIME = "client.connection.pool.waitTimeInMillis";
 
+    /**
+     * Maximum number of concurrent HTTP/2 streams multiplexed over a single connection of a route before
+     * the pool opens another connection to the same host:port. Default value is -1 which leaves it to the
+     * limit advertised by the backend in its SETTINGS frame.
+     */
+    public static final String CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION =
+            "client.connection.pool.http2.maxActiveStreamsPerConnection";
+
+    /**
+     * Whether plain text (h2c) backends should be spoken to with HTTP/2 directly (prior knowledge) instead of
+     * going through an HTTP/1.1 upgrade handshake on every new connection.
+     */
+    public static final String CLIENT_HTTP2_PRIOR_KNOWLEDGE = "http.client.http2.priorKnowledge";
+
     public static final String CLIENT_ENDPOINT_SOCKET_TIMEOUT = "http.client.endpoint.socket.timeout";
 
 }
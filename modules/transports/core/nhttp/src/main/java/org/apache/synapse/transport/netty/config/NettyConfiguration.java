@@ -49,6 +49,7 @@ public class NettyConfiguration {
     public static final int DEFAULT_CONNECTION_POOLING_MAX_IDLE_CONNECTIONS = 100;
     public static final int DEFAULT_CONNECTION_POOLING_MAX_ACTIVE_CONNECTIONS = -1;
     public static final int DEFAULT_CONNECTION_POOLING_WAIT_TIME = 30;
+    public static final int DEFAULT_CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION = -1;
     public static final int DEFAULT_CLIENT_ENDPOINT_SOCKET_TIMEOUT = 60;
     public static final int DEFAULT_MAX_STATUS_LINE_LENGTH = -1;
     public static final int DEFAULT_MAX_HEADER_SIZE = -1;
@@ -186,6 +187,19 @@ public class NettyConfiguration {
                 DEFAULT_CONNECTION_POOLING_WAIT_TIME, props);
     }
 
+    public int getConnectionPoolingHttp2MaxActiveStreamsPerConnection() {
+
+        return ConfigurationBuilderUtil.getIntProperty(
+                NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION,
+                DEFAULT_CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION, props);
+    }
+
+    public boolean isClientHttp2PriorKnowledgeEnabled() {
+
+        return ConfigurationBuilderUtil.getBooleanProperty(
+                NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE, false, props);
+    }
+
     public int getClientEndpointSocketTimeout() {
 
         return ConfigurationBuilderUtil.getIntProperty(NettyConfigPropertyNames.CLIENT_ENDPOINT_SOCKET_TIMEOUT,
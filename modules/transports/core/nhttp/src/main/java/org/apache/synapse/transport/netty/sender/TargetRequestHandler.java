@@ -357,6 +357,11 @@ public class TargetRequestHandler {
             httpVersion = BridgeConstants.HTTP_1_0_VERSION;
         }
         senderConfiguration.setHttpVersion(httpVersion);
+        if (BridgeConstants.HTTP_2_0_VERSION.equals(httpVersion) && BridgeConstants.PROTOCOL_HTTP.equals(scheme)) {
+            // h2c without the per connection HTTP/1.1 upgrade round trip
+            senderConfiguration.setForceHttp2(
+                    NettyConfiguration.getInstance().isClientHttp2PriorKnowledgeEnabled());
+        }
 
         if (isClientEndpointChunkingEnabled(msgContext)) {
             senderConfiguration.setChunkingConfig(ChunkConfig.ALWAYS);
@@ -71,6 +71,10 @@ public class HttpUtils {
         poolConfiguration.setMaxActivePerPool(globalConf.getConnectionPoolingMaxActiveConnections());
         poolConfiguration.setMaxIdlePerPool(globalConf.getConnectionPoolingMaxIdleConnections());
         poolConfiguration.setMaxWaitTime((long) globalConf.getConnectionPoolingWaitTime() * 1000);
+        int maxStreams = globalConf.getConnectionPoolingHttp2MaxActiveStreamsPerConnection();
+        if (maxStreams > 0) {
+            poolConfiguration.setHttp2MaxActiveStreamsPerConnection(maxStreams);
+        }
     }
 
     /**
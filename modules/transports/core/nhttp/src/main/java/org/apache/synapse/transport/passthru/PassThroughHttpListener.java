@@ -70,6 +70,7 @@ import org.apache.synapse.transport.passthru.config.SourceConfiguration;
 import org.apache.synapse.transport.passthru.core.PassThroughSharedListenerConfiguration;
 import org.apache.synapse.transport.passthru.core.PassThroughListeningIOReactorManager;
 
+import org.apache.synapse.transport.passthru.jmx.BufferPoolView;
 import org.apache.synapse.transport.passthru.jmx.MBeanRegistrar;
 import org.apache.synapse.transport.passthru.jmx.PassThroughTransportMetricsCollector;
 import org.apache.synapse.transport.passthru.jmx.TransportView;
@@ -77,6 +78,7 @@ import org.apache.synapse.transport.passthru.jmx.TransportView;
 import org.apache.synapse.transport.passthru.util.ActiveConnectionMonitor;
 import org.apache.synapse.transport.passthru.util.SessionContextUtil;
 import org.apache.synapse.transport.passthru.util.StreamInterceptorsLoader;
+import org.apache.synapse.transport.passthru.util.StripedBufferFactory;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -235,6 +237,18 @@ public class PassThroughHttpListener implements TransportListener {
         MBeanRegistrar.getInstance().registerMBean(
                 view, "Transport",
                 "passthru-" + namePrefix.toLowerCase() + "-receiver");
+
+        if (sourceConfiguration.getBufferFactory() instanceof StripedBufferFactory) {
+            MBeanRegistrar.getInstance().registerMBean(
+                    new BufferPoolView((StripedBufferFactory) sourceConfiguration.getBufferFactory()), "BufferPool",
+                    "passthru-" + namePrefix.toLowerCase() + "-receiver");
+        }
+        if (sourceConfiguration.getRelayBufferFactory() != sourceConfiguration.getBufferFactory()
+                && sourceConfiguration.getRelayBufferFactory() instanceof StripedBufferFactory) {
+            MBeanRegistrar.getInstance().registerMBean(
+                    new BufferPoolView((StripedBufferFactory) sourceConfiguration.getRelayBufferFactory()),
+                    "BufferPool", "passthru-" + namePrefix.toLowerCase() + "-receiver-relay");
+        }
     }
 
     public void start() throws AxisFault {
@@ -60,6 +60,7 @@ import org.apache.synapse.transport.passthru.config.SourceConfiguration;
 import org.apache.synapse.transport.passthru.config.TargetConfiguration;
 import org.apache.synapse.transport.passthru.connections.TargetConnections;
 import org.apache.synapse.transport.passthru.core.PassThroughSenderManager;
+import org.apache.synapse.transport.passthru.jmx.BufferPoolView;
 import org.apache.synapse.transport.passthru.jmx.MBeanRegistrar;
 import org.apache.synapse.transport.passthru.jmx.PassThroughTransportMetricsCollector;
 import org.apache.synapse.transport.passthru.jmx.TransportView;
@@ -67,6 +68,7 @@ import org.apache.synapse.transport.passthru.util.PassThroughTransportUtils;
 import org.apache.synapse.transport.passthru.util.RelayUtils;
 import org.apache.synapse.transport.passthru.util.SourceResponseFactory;
 import org.apache.synapse.transport.passthru.util.StreamInterceptorsLoader;
+import org.apache.synapse.transport.passthru.util.StripedBufferFactory;
 import org.wso2.caching.CachingConstants;
 import org.wso2.caching.digest.DigestGenerator;
 
@@ -201,11 +203,24 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
 
         targetConnections = new TargetConnections(ioReactor, targetConfiguration, connectCallback);
         targetConfiguration.setConnections(targetConnections);
+        metrics.setTargetConnections(targetConnections);
 
         TransportView view = new TransportView(null, this, metrics, targetConfiguration.getWorkerPool());
         MBeanRegistrar.getInstance().registerMBean(view, "Transport",
                 "passthru-" + namePrefix.toLowerCase() + "-sender");
 
+        if (targetConfiguration.getBufferFactory() instanceof StripedBufferFactory) {
+            MBeanRegistrar.getInstance().registerMBean(
+                    new BufferPoolView((StripedBufferFactory) targetConfiguration.getBufferFactory()), "BufferPool",
+                    "passthru-" + namePrefix.toLowerCase() + "-sender");
+        }
+        if (targetConfiguration.getRelayBufferFactory() != targetConfiguration.getBufferFactory()
+                && targetConfiguration.getRelayBufferFactory() instanceof StripedBufferFactory) {
+            MBeanRegistrar.getInstance().registerMBean(
+                    new BufferPoolView((StripedBufferFactory) targetConfiguration.getRelayBufferFactory()),
+                    "BufferPool", "passthru-" + namePrefix.toLowerCase() + "-sender-relay");
+        }
+
         // create the delivery agent to hand over messages
         deliveryAgent = new DeliveryAgent(targetConfiguration, targetConnections, proxyConfig);
         // we need to set the delivery agent
@@ -239,6 +254,9 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
     }
 
     public void stop() {
+        if (targetConnections != null) {
+            targetConnections.stopConnectionEviction();
+        }
         try {
             ioReactor.shutdown();
         } catch (IOException e) {
@@ -25,6 +25,7 @@ import org.apache.http.nio.NHttpServerConnection;
 import org.apache.http.params.HttpConnectionParams;
 import org.apache.synapse.transport.passthru.config.BaseConfiguration;
 import org.apache.synapse.transport.passthru.config.PassThroughConfiguration;
+import org.apache.synapse.transport.passthru.util.BufferRing;
 import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
 
 import java.io.IOException;
@@ -35,6 +36,7 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -53,9 +55,9 @@ public class Pipe {
     /** Fixed size buffer to read and write data */
     private ControlledByteBuffer buffer;
 
-    private ControlledByteBuffer outputBuffer;
+    private volatile ControlledByteBuffer outputBuffer;
 
-    private boolean producerCompleted = false;
+    private volatile boolean producerCompleted = false;
 
     public boolean isProducerCompleted() {
         return producerCompleted;
@@ -72,7 +74,7 @@ public class Pipe {
 
     private boolean consumerError = false;
 
-    private boolean producerError = false;
+    private volatile boolean producerError = false;
 
     /** Flag to indicate that the Pipe will not produce anything */
     private boolean discardable = false;
@@ -105,12 +107,21 @@ public class Pipe {
     private ByteBufferInputStream inputStream;
     private ByteBufferOutputStream outputStream;
 
+    /** Lock-free ring of buffers used instead of the single buffer when ring size is more than 1 */
+    private BufferRing ring;
+
+    /** Thread blocked in the input stream waiting for the producer, if any */
+    private volatile Thread waitingReader;
+
     public Pipe(IOControl producerIoControl, ControlledByteBuffer buffer,
                 String name, BaseConfiguration baseConfig) {
         this.producerIoControl = producerIoControl;
         this.buffer = buffer;
         this.name += "_" + name;
         this.baseConfig = baseConfig;
+        if (baseConfig != null && baseConfig.getPipeRingSize() > 1 && baseConfig.getRelayBufferFactory() != null) {
+            this.ring = new BufferRing(buffer, baseConfig.getPipeRingSize(), baseConfig.getRelayBufferFactory());
+        }
     }
 
     public Pipe(ControlledByteBuffer buffer, String name, BaseConfiguration baseConfig) {
@@ -150,6 +161,10 @@ public class Pipe {
             throw new IllegalStateException("Producer cannot be null when calling consume");
         }
 
+        if (isRingConsumer()) {
+            return consumeFromRing(encoder);
+        }
+
         lock.lock();
         ControlledByteBuffer consumerBuffer = getConsumerBuffer();
         try {
@@ -183,6 +198,9 @@ public class Pipe {
         if (hasHttpProducer && producerIoControl == null) {
             throw new IllegalStateException("Producer cannot be null when calling consume");
         }
+        if (isRingConsumer()) {
+            return copyAndConsumeFromRing(encoder);
+        }
         lock.lock();
         ControlledByteBuffer consumerBuffer = getConsumerBuffer();
         try {
@@ -243,6 +261,10 @@ public class Pipe {
             throw new IllegalStateException("Producer cannot be null when calling produce");
         }
 
+        if (ring != null) {
+            return produceToRing(decoder);
+        }
+
         lock.lock();
         try {
             setInputMode(buffer);
@@ -284,6 +306,9 @@ public class Pipe {
         if (producerIoControl == null) {
             throw new IllegalStateException("Producer cannot be null when calling produce");
         }
+        if (ring != null) {
+            return copyAndProduceToRing(decoder);
+        }
         lock.lock();
         try {
             ByteBuffer duplicate = null;
@@ -346,6 +371,178 @@ public class Pipe {
         }
     }
 
+    /**
+     * Whether the consumer reads straight from the buffer ring, i.e. the content is relayed as it was
+     * received rather than serialized in to a separate output buffer.
+     */
+    private boolean isRingConsumer() {
+        return ring != null && outputBuffer == null;
+    }
+
+    private int consumeFromRing(final ContentEncoder encoder) throws IOException {
+        // if producer at error we have to stop the encoding and return immediately
+        if (producerError) {
+            encoder.complete();
+            ring.closeConsumer();
+            return -1;
+        }
+        int totalBytesWritten = 0;
+        ControlledByteBuffer slot;
+        while ((slot = ring.consumerBuffer()) != null) {
+            totalBytesWritten += encoder.write(slot.getByteBuffer());
+            if (slot.hasRemaining()) {
+                // the encoder cannot take any more at the moment
+                break;
+            }
+            ring.release();
+        }
+        ringConsumePostActions(encoder, totalBytesWritten);
+        return totalBytesWritten;
+    }
+
+    private ByteBuffer copyAndConsumeFromRing(final ContentEncoder encoder) throws IOException {
+        if (producerError) {
+            encoder.complete();
+            ring.closeConsumer();
+            return null;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(0);
+        int bytesWritten = 0;
+        ControlledByteBuffer slot = ring.consumerBuffer();
+        if (slot != null) {
+            ByteBuffer originalBuffer = slot.getByteBuffer();
+            ByteBuffer duplicate = originalBuffer.duplicate();
+            bytesWritten = encoder.write(originalBuffer);
+            duplicate.limit(duplicate.position() + bytesWritten);
+            // the producer refills the buffer as soon as it is released, so interceptors get their own copy
+            copy = ByteBuffer.allocate(bytesWritten);
+            copy.put(duplicate);
+            copy.flip();
+            if (!originalBuffer.hasRemaining()) {
+                ring.release();
+            }
+        }
+        ringConsumePostActions(encoder, bytesWritten);
+        return copy;
+    }
+
+    private void ringConsumePostActions(ContentEncoder encoder, int bytesWritten) throws IOException {
+        // read the completion flag first, the producer sets it only after publishing its last buffer
+        boolean completed = producerCompleted;
+        if (ring.isEmpty()) {
+            if (completed) {
+                encoder.complete();
+                ring.closeConsumer();
+            } else {
+                // ring is empty. Wait until the producer publishes a buffer
+                consumerIoControl.suspendOutput();
+                // the producer may have published in between, in which case its output request was lost
+                if (!ring.isEmpty() || producerCompleted) {
+                    consumerIoControl.requestOutput();
+                }
+            }
+        }
+        if (bytesWritten > 0 && !encoder.isCompleted() && !producerCompleted) {
+            producerIoControl.requestInput();
+        }
+    }
+
+    private int produceToRing(final ContentDecoder decoder) throws IOException {
+        dropContentOnConsumerError();
+        int totalBytesRead = 0;
+        ControlledByteBuffer slot;
+        while ((slot = ring.producerBuffer()) != null) {
+            totalBytesRead += fillSlot(decoder, slot);
+            boolean slotFull = !slot.hasRemaining();
+            publishSlot(slot);
+            if (!slotFull) {
+                // the decoder has been drained
+                break;
+            }
+        }
+        ringProducePostActions(decoder);
+        return totalBytesRead;
+    }
+
+    private ByteBuffer copyAndProduceToRing(final ContentDecoder decoder) throws IOException {
+        dropContentOnConsumerError();
+        ByteBuffer duplicate = null;
+        ControlledByteBuffer slot = ring.producerBuffer();
+        if (slot != null) {
+            int bytesRead = fillSlot(decoder, slot);
+            // only the producer writes in to this buffer, so a view on it stays valid after publishing
+            duplicate = slot.getByteBuffer().duplicate();
+            duplicate.flip();
+            duplicate.position(duplicate.limit() - bytesRead);
+            publishSlot(slot);
+        }
+        ringProducePostActions(decoder);
+        return duplicate;
+    }
+
+    private int fillSlot(final ContentDecoder decoder, ControlledByteBuffer slot) throws IOException {
+        int totalBytesRead = 0;
+        int bytesRead;
+        try {
+            while ((bytesRead = decoder.read(slot.getByteBuffer())) > 0) {
+                totalBytesRead += bytesRead;
+            }
+        } catch (TruncatedChunkException ex) {
+            try {
+                // we should add the EoF character
+                slot.putInt(-1);
+                totalBytesRead += 4;
+            } catch (BufferOverflowException ignore) {
+                // ignore
+            }
+        }
+        return totalBytesRead;
+    }
+
+    private void dropContentOnConsumerError() {
+        if (consumerError) {
+            // the consumer is gone, so hand the buffers it left behind back to the producer
+            ring.clear();
+        }
+    }
+
+    private void publishSlot(ControlledByteBuffer slot) {
+        if (consumerError) {
+            // if consumer is at error we have to let the producer complete
+            slot.clear();
+        } else if (slot.position() > 0) {
+            ring.publish();
+        }
+    }
+
+    private void ringProducePostActions(final ContentDecoder decoder) {
+        if (decoder.isCompleted()) {
+            producerCompleted = true;
+            ring.closeProducer();
+        }
+        if (ring.isFull() && !producerCompleted) {
+            // Every buffer is waiting for the consumer. Suspend input until one is handed back
+            producerIoControl.suspendInput();
+            // the consumer may have released a buffer in between, in which case its input request was lost
+            if (!ring.isFull()) {
+                producerIoControl.requestInput();
+            }
+        }
+        if (!ring.isEmpty() || producerCompleted) {
+            if (consumerIoControl != null) {
+                consumerIoControl.requestOutput();
+            }
+            wakeUpReader();
+        }
+    }
+
+    private void wakeUpReader() {
+        Thread reader = waitingReader;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+    }
+
     /**
      * Helper method to mark as producer completed. The normal behavior only set the boolean param to true only when
      * decoder is completed. However in some cases it is needed to intentionally close chunk stream and mark as
@@ -356,6 +553,15 @@ public class Pipe {
     public void forceProducerComplete(final ContentDecoder decoder) {
         //no need to mark EoS if decoder is completed
         if (!decoder.isCompleted()) {
+            if (ring != null) {
+                producerCompleted = true;
+                ring.closeProducer();
+                wakeUpReader();
+                if (consumerIoControl != null) {
+                    consumerIoControl.requestOutput();
+                }
+                return;
+            }
             lock.lock();
             try {
                 producerCompleted = true;
@@ -386,6 +592,7 @@ public class Pipe {
         } finally {
             lock.unlock();
         }
+        closeConsumer();
     }
 
     public void producerError() {
@@ -396,6 +603,28 @@ public class Pipe {
         } finally {
             lock.unlock();
         }
+        closeProducer();
+        wakeUpReader();
+    }
+
+    /**
+     * Marks that the producer is not going to produce in to this pipe any more, e.g. because its connection
+     * has been closed or reset. Buffers borrowed by the ring are returned once the consumer is done as well.
+     */
+    public void closeProducer() {
+        if (ring != null) {
+            ring.closeProducer();
+        }
+    }
+
+    /**
+     * Marks that the consumer is not going to consume from this pipe any more, e.g. because its connection
+     * has been closed or reset. Buffers borrowed by the ring are returned once the producer is done as well.
+     */
+    public void closeConsumer() {
+        if (ring != null) {
+            ring.closeConsumer();
+        }
     }
 
     /**
@@ -471,6 +700,17 @@ public class Pipe {
         return buffer;
     }
 
+    /**
+     * Discards the content produced in to the pipe which has not been consumed yet.
+     */
+    public void clearBuffer() {
+        if (ring != null) {
+            ring.clear();
+        } else {
+            buffer.clear();
+        }
+    }
+
     public boolean hasHttpProducer() {
         return hasHttpProducer;
     }
@@ -516,6 +756,9 @@ public class Pipe {
      * @throws IOException
      */
     public boolean isConsumeRequired() throws IOException {
+        if (ring != null) {
+            return !ring.isEmpty();
+        }
         lock.lock();
         boolean isInputMode = buffer.isInputMode();
         try {
@@ -548,8 +791,13 @@ public class Pipe {
 
     private class ByteBufferInputStream extends InputStream {
 
+        private final byte[] singleByte = new byte[1];
+
         @Override
         public int read() throws IOException {
+            if (ring != null) {
+                return readFromRing(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+            }
             lock.lock();
             try {
                 if (!hasData(buffer)) {
@@ -571,6 +819,9 @@ public class Pipe {
             if (b == null) {
                 return 0;
             }
+            if (ring != null) {
+                return readFromRing(b, off, len);
+            }
 
             lock.lock();
             try {
@@ -617,6 +868,44 @@ public class Pipe {
         private boolean isEndOfStream() {
             return !hasData(buffer) && producerCompleted;
         }
+
+        private int readFromRing(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                ControlledByteBuffer slot = ring.consumerBuffer();
+                if (slot != null) {
+                    int chunk = Math.min(len, slot.remaining());
+                    slot.get(b, off, chunk);
+                    if (!slot.hasRemaining()) {
+                        ring.release();
+                        if (!producerCompleted) {
+                            producerIoControl.requestInput();
+                        }
+                    }
+                    return chunk;
+                }
+                if (producerError || (producerCompleted && ring.isEmpty())) {
+                    ring.closeConsumer();
+                    return -1;
+                }
+                awaitRingData();
+            }
+        }
+
+        private void awaitRingData() throws IOException {
+            // publish ourselves before checking the ring, so that the producer either sees us or we see its data
+            waitingReader = Thread.currentThread();
+            try {
+                while (ring.isEmpty() && !producerCompleted && !producerError) {
+                    producerIoControl.requestInput();
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        throw new IOException("Interrupted while waiting for data");
+                    }
+                }
+            } finally {
+                waitingReader = null;
+            }
+        }
     }
 
     private class ByteBufferOutputStream extends OutputStream {
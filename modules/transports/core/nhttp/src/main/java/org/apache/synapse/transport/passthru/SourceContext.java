@@ -126,8 +126,12 @@ public class SourceContext {
 		if (writer != null) {
 			if (!isError) {      // If there is an error we do not release the buffer to the factory
                 ControlledByteBuffer buffer = writer.getBuffer();
-				sourceConfiguration.getBufferFactory().release(buffer);
+				sourceConfiguration.releaseBuffer(buffer);
 			}
+			writer.closeConsumer();
+		}
+		if (reader != null) {
+			reader.closeProducer();
 		}
 
 		this.reader = null;
@@ -132,8 +132,12 @@ public class TargetContext {
         if (writer != null) {
             if (!isError) {      // If there is an error we do not release the buffer to the factory
                 ControlledByteBuffer buffer = writer.getBuffer();
-                targetConfiguration.getBufferFactory().release(buffer);
+                targetConfiguration.releaseBuffer(buffer);
             }
+            writer.closeConsumer();
+        }
+        if (reader != null) {
+            reader.closeProducer();
         }
 
         reader = null;
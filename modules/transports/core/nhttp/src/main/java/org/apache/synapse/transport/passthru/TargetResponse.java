@@ -125,7 +125,8 @@ public class TargetResponse {
 
         if (expectResponseBody) {
             pipe
-                = new Pipe(conn, targetConfiguration.getBufferFactory().getBuffer(), "target", targetConfiguration);
+                = new Pipe(conn, targetConfiguration.getRelayBufferFactory().getBuffer(), "target",
+                           targetConfiguration);
 
             TargetContext.get(conn).setReader(pipe);
 
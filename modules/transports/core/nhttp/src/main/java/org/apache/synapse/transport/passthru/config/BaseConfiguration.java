@@ -22,6 +22,8 @@ import org.apache.axis2.description.ParameterInclude;
 import org.apache.axis2.transport.base.threads.WorkerPool;
 import org.apache.axis2.transport.base.threads.WorkerPoolFactory;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.util.ByteBufferAllocator;
+import org.apache.http.nio.util.DirectByteBufferAllocator;
 import org.apache.http.nio.util.HeapByteBufferAllocator;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpConnectionParams;
@@ -31,6 +33,8 @@ import org.apache.http.protocol.HTTP;
 import org.apache.synapse.transport.passthru.PassThroughConstants;
 import org.apache.synapse.transport.passthru.jmx.PassThroughTransportMetricsCollector;
 import org.apache.synapse.transport.passthru.util.BufferFactory;
+import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
+import org.apache.synapse.transport.passthru.util.StripedBufferFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -62,6 +66,9 @@ public abstract class BaseConfiguration {
 
     protected BufferFactory bufferFactory = null;
 
+    /** Buffer factory for pipes which relay content straight from a connection */
+    protected BufferFactory relayBufferFactory = null;
+
     /** Weather User-Agent header coming from client should be preserved */
     protected boolean preserveUserAgentHeader = false;
     /** Weather Server header coming from server should be preserved */
@@ -74,6 +81,8 @@ public abstract class BaseConfiguration {
 
     private int iOBufferSize;
 
+    private int pipeRingSize = 1;
+
     protected PassThroughConfiguration conf = PassThroughConfiguration.getInstance();
 
     private static final String PASSTHROUGH_THREAD_GROUP = "Pass-through Message Processing Thread Group";
@@ -98,6 +107,7 @@ public abstract class BaseConfiguration {
 
     public void build() throws AxisFault {
         iOBufferSize = conf.getIOBufferSize();
+        pipeRingSize = conf.getPipeRingSize();
 
         if (workerPool == null) {
             workerPool = WorkerPoolFactory.getWorkerPool(
@@ -126,7 +136,21 @@ public abstract class BaseConfiguration {
             PassThroughCorrelationConfigDataHolder.setSystemEnable(Boolean.parseBoolean(sysCorrelationStatus));
         }
 
-        bufferFactory = new BufferFactory(iOBufferSize, new HeapByteBufferAllocator(), 512);
+        if (conf.isIOBufferPoolStriped()) {
+            ByteBufferAllocator allocator = conf.isIOBufferPoolDirect()
+                    ? new DirectByteBufferAllocator() : new HeapByteBufferAllocator();
+            bufferFactory = new StripedBufferFactory(iOBufferSize, allocator,
+                    conf.getIOBufferPoolMaxMemoryMB() * 1024L * 1024L, conf.getIOBufferPoolMagazineSize());
+        } else {
+            bufferFactory = new BufferFactory(iOBufferSize, new HeapByteBufferAllocator(), 512);
+        }
+
+        if (conf.isDirectRelayBuffersEnabled()) {
+            relayBufferFactory = new StripedBufferFactory(iOBufferSize, new DirectByteBufferAllocator(),
+                    conf.getIOBufferPoolMaxMemoryMB() * 1024L * 1024L, conf.getIOBufferPoolMagazineSize());
+        } else {
+            relayBufferFactory = bufferFactory;
+        }
     }
 
 
@@ -162,6 +186,16 @@ public abstract class BaseConfiguration {
         return iOBufferSize;
     }
 
+    /**
+     * Returns the number of buffers between a connection producer and its consumer. A value of 1 keeps the
+     * single, lock protected pipe buffer.
+     *
+     * @return number of buffers in the ring of a connection fed pipe
+     */
+    public int getPipeRingSize() {
+        return pipeRingSize;
+    }
+
     public WorkerPool getWorkerPool() {
         return workerPool;
     }
@@ -207,6 +241,31 @@ public abstract class BaseConfiguration {
         return bufferFactory;
     }
 
+    /**
+     * Returns the buffer factory for pipes whose producer is a connection. When direct relay buffers are
+     * enabled these buffers are off-heap, so that the socket reads and writes of a pure pass-through relay
+     * do not go through the intermediate heap to direct copy done by the JDK.
+     *
+     * @return buffer factory for connection fed pipes
+     */
+    public BufferFactory getRelayBufferFactory() {
+        return relayBufferFactory;
+    }
+
+    /**
+     * Returns a buffer to the factory it was allocated by. Pipe buffers are released by whichever side of the
+     * transport finishes with them last, which may be a connection of another configuration.
+     *
+     * @param buffer buffer to be released
+     */
+    public void releaseBuffer(ControlledByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        BufferFactory owner = buffer.getBufferFactory();
+        (owner != null ? owner : bufferFactory).release(buffer);
+    }
+
     public PassThroughTransportMetricsCollector getMetrics() {
         return metrics;
     }
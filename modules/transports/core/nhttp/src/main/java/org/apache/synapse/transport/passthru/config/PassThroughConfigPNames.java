@@ -139,6 +139,11 @@ public interface PassThroughConfigPNames {
      */
     public String MAXIMUM_CONNECTION_LIFESPAN = "transport.sender.connection.maximum.lifespan";
 
+    /**
+     * Defines the interval in milliseconds at which expired and stale pooled sender connections are evicted
+     */
+    public String CONNECTION_EVICTION_INTERVAL = "transport.sender.connection.eviction.interval";
+
 
     /**
      * Defines the maximum number of connections per host port
@@ -188,4 +193,36 @@ public interface PassThroughConfigPNames {
      */
     public String TLS_GRACEFUL_CONNECTION_TERMINATION = "tls_graceful_connection_termination";
 
+    /**
+     * Defines whether IO buffers are handed out from the lock-free, thread striped buffer pool
+     */
+    public String IO_BUFFER_POOL_STRIPED = "io_buffer_pool_striped";
+
+    /**
+     * Defines the maximum amount of memory (in MB) retained by the striped IO buffer pool
+     */
+    public String IO_BUFFER_POOL_MAX_MEMORY_MB = "io_buffer_pool_max_memory_mb";
+
+    /**
+     * Defines the number of buffers cached per thread stripe in the striped IO buffer pool
+     */
+    public String IO_BUFFER_POOL_MAGAZINE_SIZE = "io_buffer_pool_magazine_size";
+
+    /**
+     * Defines whether the striped IO buffer pool allocates direct (off-heap) buffers
+     */
+    public String IO_BUFFER_POOL_DIRECT = "io_buffer_pool_direct";
+
+    /**
+     * Defines whether pipes fed straight from the wire are backed by direct buffers, so that pure
+     * pass-through relays move bytes between the source and target sockets without a heap copy
+     */
+    public String DIRECT_RELAY_BUFFERS = "passthrough_direct_relay_buffers";
+
+    /**
+     * Defines the number of buffers in the lock-free ring between a connection and the consumer of its
+     * content. A value of 1 keeps the single buffer pipe
+     */
+    public String PIPE_RING_SIZE = "pipe_ring_size";
+
 }
@@ -51,6 +51,10 @@ public class PassThroughConfiguration {
     private static final int DEFAULT_MAX_ACTIVE_CON = -1;
     private static final int DEFAULT_LISTENER_SHUTDOWN_WAIT_TIME = 0;
     private static final int DEFAULT_CONNECTION_GRACE_TIME = 10000;
+    private static final int DEFAULT_CONNECTION_EVICTION_INTERVAL = 5000;
+    private static final int DEFAULT_IO_BUFFER_POOL_MAX_MEMORY_MB = 64;
+    private static final int DEFAULT_IO_BUFFER_POOL_MAGAZINE_SIZE = 16;
+    private static final int DEFAULT_PIPE_RING_SIZE = 1;
 
     private static final String EXPECTED_MAX_QUEUEING_TIME_DEFAULT = "1000";
     private Boolean isKeepAliveDisabled = null;
@@ -140,6 +144,36 @@ public class PassThroughConfiguration {
                 DEFAULT_IO_BUFFER_SIZE, props);
     }
 
+    public boolean isIOBufferPoolStriped() {
+        return ConfigurationBuilderUtil.getBooleanProperty(PassThroughConfigPNames.IO_BUFFER_POOL_STRIPED,
+                false, props);
+    }
+
+    public int getIOBufferPoolMaxMemoryMB() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.IO_BUFFER_POOL_MAX_MEMORY_MB,
+                DEFAULT_IO_BUFFER_POOL_MAX_MEMORY_MB, props);
+    }
+
+    public int getIOBufferPoolMagazineSize() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.IO_BUFFER_POOL_MAGAZINE_SIZE,
+                DEFAULT_IO_BUFFER_POOL_MAGAZINE_SIZE, props);
+    }
+
+    public boolean isIOBufferPoolDirect() {
+        return ConfigurationBuilderUtil.getBooleanProperty(PassThroughConfigPNames.IO_BUFFER_POOL_DIRECT,
+                false, props);
+    }
+
+    public boolean isDirectRelayBuffersEnabled() {
+        return ConfigurationBuilderUtil.getBooleanProperty(PassThroughConfigPNames.DIRECT_RELAY_BUFFERS,
+                false, props);
+    }
+
+    public int getPipeRingSize() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.PIPE_RING_SIZE,
+                DEFAULT_PIPE_RING_SIZE, props);
+    }
+
     public boolean isKeepAliveDisabled() {
         if (isKeepAliveDisabled == null) {
             isKeepAliveDisabled =
@@ -240,6 +274,10 @@ public class PassThroughConfiguration {
         return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.MAXIMUM_CONNECTION_LIFESPAN,
                 Integer.MAX_VALUE, props);
     }
+    public int getConnectionEvictionInterval() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.CONNECTION_EVICTION_INTERVAL,
+                DEFAULT_CONNECTION_EVICTION_INTERVAL, props);
+    }
     public int getConnectionGraceTime() {
         return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.CONNECTION_GRACE_TIME,
                 DEFAULT_CONNECTION_GRACE_TIME, props);
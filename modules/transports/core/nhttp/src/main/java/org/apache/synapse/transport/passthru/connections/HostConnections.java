@@ -27,13 +27,24 @@ import org.apache.synapse.transport.passthru.PassThroughConstants;
 import org.apache.synapse.transport.passthru.config.ConnectionTimeoutConfiguration;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This stores connections for a particular host + port.
+ * <p>
+ * Free connections are kept in a lock-free deque and handed out in LIFO order, so that the most recently
+ * used (and most likely still alive) connection is reused first, while the least recently used ones drift
+ * to the tail where {@link #evictExpiredConnections()} closes them in the background. A connection is
+ * owned by whoever removes it from the free set, which makes claiming a connection a single O(1) operation.
+ * If there is no background eviction, the expired connections are closed when a connection is requested.
  */
 public class HostConnections {
     private static final Log log = LogFactory.getLog(HostConnections.class);
@@ -48,7 +59,7 @@ public class HostConnections {
     /**
      * number of awaiting connections
      */
-    private int pendingConnections;
+    private final AtomicInteger pendingConnections = new AtomicInteger(0);
     /**
      * connection idle time for connection removal
      */
@@ -64,15 +75,31 @@ public class HostConnections {
     private int connectionGraceTime;
 
     /**
-     * list of free connections available
+     * whether expired connections are evicted in the background, otherwise they are evicted on each request
      */
-    private List<NHttpClientConnection> freeConnections = new ArrayList<NHttpClientConnection>();
+    private boolean backgroundEviction;
+
+    /**
+     * free connections available, most recently released first. The deque may briefly hold connections
+     * which were forgotten or evicted; {@link #freeConnectionSet} decides which entries are live
+     */
+    private final Deque<NHttpClientConnection> freeConnections = new ConcurrentLinkedDeque<NHttpClientConnection>();
     /**
-     * list of connections in use
+     * set of free connections, a connection belongs to the caller which removes it from this set
      */
-    private List<NHttpClientConnection> busyConnections = new ArrayList<NHttpClientConnection>();
+    private final Set<NHttpClientConnection> freeConnectionSet =
+            ConcurrentHashMap.<NHttpClientConnection>newKeySet();
+    /**
+     * set of connections in use
+     */
+    private final Set<NHttpClientConnection> busyConnections =
+            ConcurrentHashMap.<NHttpClientConnection>newKeySet();
+
+    /** number of requests served with a pooled connection */
+    private final AtomicLong reusedConnections = new AtomicLong(0);
 
-    private Lock lock = new ReentrantLock();
+    /** number of pooled connections closed because they were expired or stale */
+    private final AtomicLong evictedConnections = new AtomicLong(0);
 
     public HostConnections(HttpRoute route, int maxSize) {
         if (log.isDebugEnabled()) {
@@ -96,44 +123,82 @@ public class HostConnections {
         this.connectionGraceTime = connectionTimeoutConfiguration.getConnectionGraceTime();
     }
 
+    public HostConnections(HttpRoute route, int maxSize, ConnectionTimeoutConfiguration
+            connectionTimeoutConfiguration, boolean backgroundEviction) {
+
+        this(route, maxSize, connectionTimeoutConfiguration);
+        this.backgroundEviction = backgroundEviction;
+    }
+
     /**
      * Get a connection for the host:port
      *
      * @return a connection
      */
     public NHttpClientConnection getConnection() {
-        lock.lock();
-        try {
-            while (!freeConnections.isEmpty()) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Returning an existing free connection " + route);
-                }
-                NHttpClientConnection conn = freeConnections.get(0);
-                long currentTime = System.currentTimeMillis();
-                long connectionInitTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
-                                                                                        CONNECTION_INIT_TIME);
-                long expiryTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
-                        CONNECTION_EXPIRY_TIME);
-                if (isMaximumLifeSpanExceeded(currentTime, connectionInitTime) ||  currentTime >= expiryTime
-                        || conn.isStale()) {
-                    freeConnections.remove(conn);
-                    try {
-                        conn.shutdown();
-                    } catch (IOException io) {
-                        log.error("Error occurred while shutting down connection." + io.getMessage(), io);
-                    }
-                } else {
-                    freeConnections.remove(conn);
-                    busyConnections.add(conn);
-                    return conn;
-                }
+        if (!backgroundEviction) {
+            evictExpiredConnections();
+        }
+        NHttpClientConnection conn;
+        while ((conn = freeConnections.pollFirst()) != null) {
+            if (!freeConnectionSet.remove(conn)) {
+                // already forgotten or evicted
+                continue;
             }
-        } finally {
-            lock.unlock();
+            // The evictor takes care of the connections sitting in the pool, this only guards against handing
+            // out the one connection which expired since the last eviction run
+            if (isExpired(conn, System.currentTimeMillis())) {
+                evict(conn);
+                continue;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Returning an existing free connection " + route);
+            }
+            busyConnections.add(conn);
+            reusedConnections.incrementAndGet();
+            return conn;
         }
         return null;
     }
 
+    /**
+     * Close the free connections which have exceeded their idle time or maximum life span or have gone stale.
+     * Connections are inspected from the least recently used one, and this is meant to be called periodically
+     * off the request path.
+     */
+    public void evictExpiredConnections() {
+        long currentTime = System.currentTimeMillis();
+        Iterator<NHttpClientConnection> iterator = freeConnections.descendingIterator();
+        while (iterator.hasNext()) {
+            NHttpClientConnection conn = iterator.next();
+            if (!freeConnectionSet.contains(conn)) {
+                // dead entry left behind by a concurrent forget
+                iterator.remove();
+            } else if (isExpired(conn, currentTime) && freeConnectionSet.remove(conn)) {
+                iterator.remove();
+                evict(conn);
+            }
+        }
+    }
+
+    private boolean isExpired(NHttpClientConnection conn, long currentTime) {
+        long connectionInitTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
+                                                                                CONNECTION_INIT_TIME);
+        long expiryTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
+                CONNECTION_EXPIRY_TIME);
+        return isMaximumLifeSpanExceeded(currentTime, connectionInitTime) || currentTime >= expiryTime
+                || conn.isStale();
+    }
+
+    private void evict(NHttpClientConnection conn) {
+        evictedConnections.incrementAndGet();
+        try {
+            conn.shutdown();
+        } catch (IOException io) {
+            log.error("Error occurred while shutting down connection." + io.getMessage(), io);
+        }
+    }
+
     private boolean isMaximumLifeSpanExceeded(long currentTime, long connectionInitTime) {
         if (maximumConnectionLifeSpan > 0 && currentTime > maximumConnectionLifeSpan + connectionInitTime) {
             if (log.isDebugEnabled()) {
@@ -155,15 +220,11 @@ public class HostConnections {
         ctx.removeAttribute(SynapseHTTPRequestFactory.ENDPOINT_URL);
         ctx.removeAttribute(PassThroughConstants.REQUEST_MESSAGE_CONTEXT);
         ctx.removeAttribute(PassThroughConstants.RESPONSE_MESSAGE_CONTEXT);
-        lock.lock();
-        try {
-            if (busyConnections.remove(conn)) {
-                freeConnections.add(conn);
-            } else {
-                log.error("Attempted to releaseConnection connection not in the busy list");
-            }
-        } finally {
-            lock.unlock();
+        if (busyConnections.remove(conn)) {
+            freeConnectionSet.add(conn);
+            freeConnections.addFirst(conn);
+        } else {
+            log.error("Attempted to releaseConnection connection not in the busy list");
         }
     }
 
@@ -186,13 +247,10 @@ public class HostConnections {
     }
 
     public void forget(NHttpClientConnection conn) {
-        lock.lock();
-        try {
-            if (!freeConnections.remove(conn)) {
-                busyConnections.remove(conn);
-            }
-        } finally {
-            lock.unlock();
+        if (freeConnectionSet.remove(conn)) {
+            freeConnections.removeFirstOccurrence(conn);
+        } else {
+            busyConnections.remove(conn);
         }
     }
 
@@ -200,27 +258,17 @@ public class HostConnections {
         if (log.isDebugEnabled()) {
             log.debug("New connection " + route + " is added to the free list");
         }
-        lock.lock();
-        try {
-            pendingConnections--;
-            conn.getContext().setAttribute(PassThroughConstants.CONNECTION_INIT_TIME, System.currentTimeMillis());
-            busyConnections.add(conn);
-        } finally {
-            lock.unlock();
-        }
+        pendingConnections.decrementAndGet();
+        conn.getContext().setAttribute(PassThroughConstants.CONNECTION_INIT_TIME, System.currentTimeMillis());
+        busyConnections.add(conn);
     }
 
     /**
      * Indicates that a connection has been successfully established with a remote server
      * as notified by the session request call back.
      */
-    public synchronized void pendingConnectionSucceeded() {
-        lock.lock();
-        try {
-            pendingConnections--;
-        } finally {
-            lock.unlock();
-        }
+    public void pendingConnectionSucceeded() {
+        pendingConnections.decrementAndGet();
     }
 
     /**
@@ -228,12 +276,7 @@ public class HostConnections {
      * consecutively
      */
     public void pendingConnectionFailed() {
-        lock.lock();
-        try {
-            pendingConnections--;
-        } finally {
-            lock.unlock();
-        }
+        pendingConnections.decrementAndGet();
     }
 
     public HttpRoute getRoute() {
@@ -241,16 +284,31 @@ public class HostConnections {
     }
 
     public boolean checkAndIncrementPendingConnections() {
-        lock.lock();
-        int totalConnections = busyConnections.size() + pendingConnections;
-        try {
-            if (totalConnections < maxSize) {
-                //We are expecting that this check is made if and only if in the state where new connection is added
-                pendingConnections++;
+        while (true) {
+            int pending = pendingConnections.get();
+            if (busyConnections.size() + pending >= maxSize) {
+                return false;
+            }
+            //We are expecting that this check is made if and only if in the state where new connection is added
+            if (pendingConnections.compareAndSet(pending, pending + 1)) {
+                return true;
             }
-            return totalConnections < maxSize;
-        } finally {
-            lock.unlock();
         }
     }
+
+    /**
+     * Returns a snapshot of the statistics of this pool
+     *
+     * @return pool statistics keyed by name
+     */
+    public Map<String, Long> getPoolStats() {
+        Map<String, Long> stats = new LinkedHashMap<String, Long>();
+        stats.put("Free", (long) freeConnectionSet.size());
+        stats.put("Busy", (long) busyConnections.size());
+        stats.put("Pending", (long) pendingConnections.get());
+        stats.put("Max", (long) maxSize);
+        stats.put("Reused", reusedConnections.get());
+        stats.put("Evicted", evictedConnections.get());
+        return stats;
+    }
 }
@@ -37,10 +37,16 @@ import org.apache.synapse.transport.passthru.config.TargetConfiguration;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the connection from transport to the back end servers. It keeps track of the
@@ -51,7 +57,7 @@ public class TargetConnections {
     private static final Log transportLatencyLog = LogFactory.getLog(PassThroughConstants.TRANSPORT_LATENCY_LOGGER);
 
     /** map to hold the ConnectionPools. The key is host:port */
-    private final Map<HttpRoute, HostConnections> poolMap =
+    private final ConcurrentMap<HttpRoute, HostConnections> poolMap =
             new ConcurrentHashMap<HttpRoute, HostConnections>();
 
     private final String sslSchemaName = "https";
@@ -68,6 +74,9 @@ public class TargetConnections {
 
     private ConnectionTimeoutConfiguration connectionTimeoutConfiguration;
 
+    /** evicts expired and stale free connections off the request path */
+    private ScheduledExecutorService connectionEvictor;
+
     /**
      * Create a TargetConnections with the given IO-Reactor
      *
@@ -86,6 +95,57 @@ public class TargetConnections {
         connectionTimeoutConfiguration = new ConnectionTimeoutConfiguration(PassThroughConfiguration.getInstance().
                 getConnectionIdleTime(), PassThroughConfiguration.getInstance().getMaximumConnectionLifespan(),
                 PassThroughConfiguration.getInstance().getConnectionGraceTime());
+
+        int evictionInterval = PassThroughConfiguration.getInstance().getConnectionEvictionInterval();
+        if (evictionInterval > 0) {
+            connectionEvictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "PassThroughConnectionEvictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            connectionEvictor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    evictExpiredConnections();
+                }
+            }, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Close the expired and stale free connections of every route
+     */
+    public void evictExpiredConnections() {
+        for (HostConnections pool : poolMap.values()) {
+            try {
+                pool.evictExpiredConnections();
+            } catch (Throwable t) {
+                log.warn("Error while evicting expired connections of route " + pool.getRoute(), t);
+            }
+        }
+    }
+
+    /**
+     * Stop the background eviction of expired connections
+     */
+    public void stopConnectionEviction() {
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the statistics of the connection pool of each route
+     *
+     * @return pool statistics keyed by route
+     */
+    public Map<String, Map<String, Long>> getConnectionPoolStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<String, Map<String, Long>>();
+        for (Map.Entry<HttpRoute, HostConnections> entry : poolMap.entrySet()) {
+            stats.put(entry.getKey().toString(), entry.getValue().getPoolStats());
+        }
+        return stats;
     }
 
     /**
@@ -260,16 +320,16 @@ public class TargetConnections {
 
     private HostConnections getConnectionPool(HttpRoute route) {
         // see weather a pool already exists for this host:port
-        synchronized (poolMap) {
-            HostConnections pool = poolMap.get(route);
-
+        HostConnections pool = poolMap.get(route);
+        if (pool == null) {
+            HostConnections newPool = new HostConnections(route, maxConnections, connectionTimeoutConfiguration,
+                    connectionEvictor != null);
+            pool = poolMap.putIfAbsent(route, newPool);
             if (pool == null) {
-                pool = new HostConnections(route, maxConnections, connectionTimeoutConfiguration);
-                poolMap.put(route, pool);
+                pool = newPool;
             }
-            return pool;
-
         }
+        return pool;
     }
 
     /**
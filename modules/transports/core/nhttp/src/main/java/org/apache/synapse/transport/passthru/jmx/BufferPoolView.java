@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.jmx;
+
+import org.apache.synapse.transport.passthru.util.StripedBufferFactory;
+
+/**
+ * Exposes the hit/miss counters and memory usage of a {@link StripedBufferFactory} over JMX.
+ */
+public class BufferPoolView implements BufferPoolViewMBean {
+
+    private final StripedBufferFactory bufferFactory;
+
+    public BufferPoolView(StripedBufferFactory bufferFactory) {
+        this.bufferFactory = bufferFactory;
+    }
+
+    public int getBufferSize() {
+        return bufferFactory.getBufferSize();
+    }
+
+    public long getHits() {
+        return bufferFactory.getHits();
+    }
+
+    public long getMisses() {
+        return bufferFactory.getMisses();
+    }
+
+    public long getDiscards() {
+        return bufferFactory.getDiscards();
+    }
+
+    public long getBytesOutstanding() {
+        return bufferFactory.getBytesOutstanding();
+    }
+
+    public long getBytesPooled() {
+        return bufferFactory.getBytesPooled();
+    }
+
+    public void resetStatistics() {
+        bufferFactory.resetStatistics();
+    }
+}
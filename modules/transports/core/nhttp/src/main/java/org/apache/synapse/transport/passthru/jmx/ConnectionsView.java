@@ -20,6 +20,7 @@
 package org.apache.synapse.transport.passthru.jmx;
 
 import org.apache.axis2.AxisFault;
+import org.apache.synapse.transport.passthru.connections.TargetConnections;
 
 import java.util.*;
 import java.util.concurrent.Executors;
@@ -76,6 +77,9 @@ public class ConnectionsView implements ConnectionsViewMBean {
 
     private String name;
 
+    /** connections of the sender, used to report per route pool statistics */
+    private volatile TargetConnections targetConnections;
+
     public ConnectionsView(String name) throws AxisFault {
         this.name = name;
 
@@ -288,6 +292,18 @@ public class ConnectionsView implements ConnectionsViewMBean {
         return resetTime;
     }
 
+    public Map getConnectionPoolStats() {
+        TargetConnections connections = targetConnections;
+        if (connections == null) {
+            return Collections.emptyMap();
+        }
+        return connections.getConnectionPoolStats();
+    }
+
+    protected void setTargetConnections(TargetConnections targetConnections) {
+        this.targetConnections = targetConnections;
+    }
+
     private Map<String,Integer> getCountersMap(AtomicInteger[] counters) {
         // This ensures that keys are returned in the same order we insert them
         // Provides better readability in the JMX consoles
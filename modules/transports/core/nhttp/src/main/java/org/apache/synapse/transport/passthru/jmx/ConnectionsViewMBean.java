@@ -40,6 +40,7 @@ public interface ConnectionsViewMBean {
     public Map getRequestSizesMap();
     public Map getResponseSizesMap();
     public Date getLastResetTime();
+    public Map getConnectionPoolStats();
 
     public void reset();
 
@@ -21,6 +21,7 @@ package org.apache.synapse.transport.passthru.jmx;
 
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.transport.base.MetricsCollector;
+import org.apache.synapse.transport.passthru.connections.TargetConnections;
 
 /**
  * <p>This simple extension of the Axis2 transport MetricsCollector implementation,
@@ -109,6 +110,15 @@ public class PassThroughTransportMetricsCollector extends MetricsCollector {
         }
     }
 
+    /**
+     * Makes the per route connection pool statistics of the sender available through the ConnectionsView
+     *
+     * @param targetConnections connections of the sender
+     */
+    public void setTargetConnections(TargetConnections targetConnections) {
+        view.setTargetConnections(targetConnections);
+    }
+
     public int getActiveConnectionCount() {
         return view.getActiveConnections();
     }
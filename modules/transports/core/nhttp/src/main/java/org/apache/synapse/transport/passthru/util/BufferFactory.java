@@ -50,7 +50,7 @@ public class BufferFactory {
 
         if (marker == -1) {
             // System.out.println("allocating marker -1");
-            return new ControlledByteBuffer(allocator.allocate(bufferSize));
+            return new ControlledByteBuffer(allocator.allocate(bufferSize), this);
         } else {
             try {
                 lock.lock();
@@ -68,7 +68,7 @@ public class BufferFactory {
             }
         }
 
-        return new ControlledByteBuffer(allocator.allocate(bufferSize));
+        return new ControlledByteBuffer(allocator.allocate(bufferSize), this);
     }
 
     public void release(ControlledByteBuffer buffer) {
@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single-producer/single-consumer ring of buffers used by a {@link org.apache.synapse.transport.passthru.Pipe}.
+ * The producer fills the buffer at the tail and publishes it as a whole, the consumer drains the buffer at the
+ * head and hands it back. Each buffer is owned by exactly one side at a time, so neither side takes a lock;
+ * publishing and releasing a buffer is a single volatile write.
+ * <p>
+ * Buffers other than the first one are borrowed lazily from the given factory. They are returned once both
+ * the producer and the consumer have closed their side of the ring, whichever order they finish in.
+ */
+public class BufferRing {
+
+    private final ControlledByteBuffer[] slots;
+
+    private final int mask;
+
+    private final BufferFactory bufferFactory;
+
+    /** Sequence of the next buffer to be consumed, only advanced by the consumer */
+    private final AtomicLong head = new AtomicLong(0);
+
+    /** Sequence of the next buffer to be published, only advanced by the producer */
+    private final AtomicLong tail = new AtomicLong(0);
+
+    private final AtomicBoolean producerClosed = new AtomicBoolean(false);
+
+    private final AtomicBoolean consumerClosed = new AtomicBoolean(false);
+
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    public BufferRing(ControlledByteBuffer firstBuffer, int size, BufferFactory bufferFactory) {
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        this.slots = new ControlledByteBuffer[capacity];
+        this.mask = capacity - 1;
+        this.bufferFactory = bufferFactory;
+        firstBuffer.clear();
+        slots[0] = firstBuffer;
+    }
+
+    /**
+     * Producer side. Returns the buffer the producer may write in to, or null if every buffer of the ring is
+     * waiting to be consumed or the buffers have already been returned to the factory.
+     *
+     * @return buffer to write in to, in input mode
+     */
+    public ControlledByteBuffer producerBuffer() {
+        long sequence = tail.get();
+        if (sequence - head.get() >= slots.length || released.get()) {
+            return null;
+        }
+        int index = (int) sequence & mask;
+        ControlledByteBuffer buffer = slots[index];
+        if (buffer == null) {
+            buffer = bufferFactory.getBuffer();
+            buffer.clear();
+            slots[index] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Producer side. Makes the buffer returned by {@link #producerBuffer()} visible to the consumer.
+     */
+    public void publish() {
+        long sequence = tail.get();
+        slots[(int) sequence & mask].flip();
+        // volatile write, so that a consumer which parks after this point is guaranteed to see the buffer
+        tail.set(sequence + 1);
+    }
+
+    /**
+     * Consumer side. Returns the oldest published buffer which is not fully consumed yet.
+     *
+     * @return buffer to read from, in output mode, or null if nothing has been published
+     */
+    public ControlledByteBuffer consumerBuffer() {
+        long sequence = head.get();
+        if (sequence >= tail.get()) {
+            return null;
+        }
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Consumer side. Hands the buffer returned by {@link #consumerBuffer()} back to the producer.
+     */
+    public void release() {
+        long sequence = head.get();
+        slots[(int) sequence & mask].clear();
+        head.set(sequence + 1);
+    }
+
+    /**
+     * Consumer side. Drops everything that has been published so far.
+     */
+    public void clear() {
+        while (consumerBuffer() != null) {
+            release();
+        }
+    }
+
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    public boolean isFull() {
+        return tail.get() - head.get() >= slots.length;
+    }
+
+    /**
+     * Producer side. Marks that nothing more is going to be published, either because the content is complete
+     * or because the producer failed or went away.
+     */
+    public void closeProducer() {
+        // set our flag before reading the other one, so that at least one side sees both flags set
+        if (producerClosed.compareAndSet(false, true) && consumerClosed.get()) {
+            releaseBuffers();
+        }
+    }
+
+    /**
+     * Consumer side. Marks that nothing more is going to be consumed, either because the end of the content
+     * has been reached or because the consumer failed or went away.
+     */
+    public void closeConsumer() {
+        if (consumerClosed.compareAndSet(false, true) && producerClosed.get()) {
+            releaseBuffers();
+        }
+    }
+
+    public boolean isReleased() {
+        return released.get();
+    }
+
+    /**
+     * Returns the buffers borrowed from the buffer factory. The first buffer of the ring is left alone as it
+     * belongs to the pipe and is released together with the connection.
+     */
+    private void releaseBuffers() {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        for (int i = 1; i < slots.length; i++) {
+            if (slots[i] != null) {
+                bufferFactory.release(slots[i]);
+                slots[i] = null;
+            }
+        }
+    }
+}
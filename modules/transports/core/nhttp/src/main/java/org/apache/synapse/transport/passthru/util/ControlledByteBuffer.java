@@ -31,10 +31,25 @@ public class ControlledByteBuffer {
 
     private AtomicBoolean inputMode = new AtomicBoolean(true);
 
+    /** The pool this buffer was allocated by, null if it does not belong to a pool */
+    private BufferFactory bufferFactory;
+
     public ControlledByteBuffer(ByteBuffer byteBuffer) {
         this.byteBuffer = byteBuffer;
     }
 
+    ControlledByteBuffer(ByteBuffer byteBuffer, BufferFactory bufferFactory) {
+        this.byteBuffer = byteBuffer;
+        this.bufferFactory = bufferFactory;
+    }
+
+    /**
+     * @return the buffer factory this buffer should be released to, or null if it was not allocated by one
+     */
+    public BufferFactory getBufferFactory() {
+        return bufferFactory;
+    }
+
     public ByteBuffer getByteBuffer() {
         return this.byteBuffer;
     }
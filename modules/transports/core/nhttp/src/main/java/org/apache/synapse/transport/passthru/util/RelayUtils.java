@@ -563,7 +563,7 @@ public class RelayUtils {
         }
         Pipe pipe = (Pipe) msgContext.getProperty(PassThroughConstants.PASS_THROUGH_PIPE);
         if (pipe != null) {
-            pipe.getBuffer().clear();
+            pipe.clearBuffer();
             pipe.resetOutputStream();
             msgContext.setProperty(PassThroughConstants.MESSAGE_BUILDER_INVOKED, Boolean.TRUE);
         }
@@ -0,0 +1,220 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.util;
+
+import org.apache.http.nio.util.ByteBufferAllocator;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link BufferFactory} which does not serialize callers on a single lock. Buffers are kept in a
+ * set of small per-thread magazines (a thread always maps to the same magazine, so IO reactor threads
+ * effectively own one each) backed by a shared, lock-free depot. A magazine is only contended when two
+ * threads hash to the same stripe, and even then slots are claimed with a single CAS.
+ * <p>
+ * The total number of bytes retained by the pool (magazines plus depot) never exceeds the configured
+ * memory budget. Buffers released while the pool is full are simply dropped and left to the GC.
+ */
+public class StripedBufferFactory extends BufferFactory {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final ByteBufferAllocator allocator;
+
+    private final int bufferSize;
+
+    private final AtomicReferenceArray<ControlledByteBuffer>[] magazines;
+
+    private final int stripeMask;
+
+    private final Queue<ControlledByteBuffer> depot = new ConcurrentLinkedQueue<ControlledByteBuffer>();
+
+    private final AtomicInteger depotSize = new AtomicInteger(0);
+
+    private final int depotCapacity;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder discards = new LongAdder();
+
+    private final LongAdder outstanding = new LongAdder();
+
+    /**
+     * Creates a striped buffer pool.
+     *
+     * @param bufferSize    size of a single buffer in bytes
+     * @param allocator     allocator used for new buffers (heap or direct)
+     * @param maxMemory     upper bound, in bytes, of the memory retained by the pool
+     * @param magazineSize  number of buffers cached in each per-thread magazine
+     */
+    @SuppressWarnings("unchecked")
+    public StripedBufferFactory(int bufferSize, ByteBufferAllocator allocator, long maxMemory, int magazineSize) {
+        super(bufferSize, allocator, 0);
+        this.bufferSize = bufferSize;
+        this.allocator = allocator;
+
+        long maxBuffers = Math.max(0, maxMemory / bufferSize);
+        int stripes = stripeCount(Runtime.getRuntime().availableProcessors());
+        // Never let the magazines alone exceed the budget; half of it is reserved for the shared depot
+        int perMagazine = (int) Math.min(Math.max(0, magazineSize), (maxBuffers / 2) / stripes);
+        this.magazines = new AtomicReferenceArray[stripes];
+        for (int i = 0; i < stripes; i++) {
+            magazines[i] = new AtomicReferenceArray<ControlledByteBuffer>(perMagazine);
+        }
+        this.stripeMask = stripes - 1;
+        this.depotCapacity = (int) Math.min(Integer.MAX_VALUE, maxBuffers - ((long) perMagazine * stripes));
+    }
+
+    @Override
+    public ControlledByteBuffer getBuffer() {
+        ControlledByteBuffer buffer = takeFromMagazine(magazineOfCurrentThread());
+        if (buffer == null) {
+            buffer = depot.poll();
+            if (buffer != null) {
+                depotSize.decrementAndGet();
+            }
+        }
+
+        outstanding.increment();
+        if (buffer == null) {
+            misses.increment();
+            return new ControlledByteBuffer(allocator.allocate(bufferSize), this);
+        }
+        hits.increment();
+        buffer.clear();
+        buffer.forceSetInputMode();
+        return buffer;
+    }
+
+    @Override
+    public void release(ControlledByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        outstanding.decrement();
+        if (buffer.capacity() != bufferSize) {
+            discards.increment();
+            return;
+        }
+        buffer.clear();
+        buffer.forceSetInputMode();
+
+        if (putToMagazine(magazineOfCurrentThread(), buffer)) {
+            return;
+        }
+        if (depotSize.incrementAndGet() <= depotCapacity) {
+            depot.offer(buffer);
+        } else {
+            depotSize.decrementAndGet();
+            discards.increment();
+        }
+    }
+
+    private AtomicReferenceArray<ControlledByteBuffer> magazineOfCurrentThread() {
+        long id = Thread.currentThread().getId();
+        return magazines[(int) (id ^ (id >>> 16)) & stripeMask];
+    }
+
+    private static ControlledByteBuffer takeFromMagazine(AtomicReferenceArray<ControlledByteBuffer> magazine) {
+        for (int i = magazine.length() - 1; i >= 0; i--) {
+            ControlledByteBuffer buffer = magazine.get(i);
+            if (buffer != null && magazine.compareAndSet(i, buffer, null)) {
+                return buffer;
+            }
+        }
+        return null;
+    }
+
+    private static boolean putToMagazine(AtomicReferenceArray<ControlledByteBuffer> magazine,
+                                         ControlledByteBuffer buffer) {
+        for (int i = 0; i < magazine.length(); i++) {
+            if (magazine.get(i) == null && magazine.compareAndSet(i, null, buffer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int stripeCount(int processors) {
+        int stripes = 1;
+        while (stripes < processors * 2 && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return number of buffer requests served from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of buffer requests which needed a fresh allocation
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of released buffers dropped because the pool was full
+     */
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    /**
+     * @return bytes currently handed out to callers and not yet released
+     */
+    public long getBytesOutstanding() {
+        return Math.max(0, outstanding.sum()) * bufferSize;
+    }
+
+    /**
+     * @return bytes currently held by the pool, ready to be reused
+     */
+    public long getBytesPooled() {
+        long pooled = Math.max(0, depotSize.get());
+        for (AtomicReferenceArray<ControlledByteBuffer> magazine : magazines) {
+            for (int i = 0; i < magazine.length(); i++) {
+                if (magazine.get(i) != null) {
+                    pooled++;
+                }
+            }
+        }
+        return pooled * bufferSize;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        discards.reset();
+    }
+}
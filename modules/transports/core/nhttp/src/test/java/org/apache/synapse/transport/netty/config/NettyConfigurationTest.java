@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.transport.netty.config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the HTTP/2 client settings of the netty transport configuration.
+ */
+public class NettyConfigurationTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION);
+        System.clearProperty(NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE);
+    }
+
+    @Test
+    public void testPropertyNames() {
+        Assert.assertEquals("client.connection.pool.http2.maxActiveStreamsPerConnection",
+                NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION);
+        Assert.assertEquals("http.client.http2.priorKnowledge",
+                NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE);
+    }
+
+    @Test
+    public void testDefaults() {
+        NettyConfiguration conf = NettyConfiguration.getInstance();
+        Assert.assertEquals(NettyConfiguration.DEFAULT_CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION,
+                conf.getConnectionPoolingHttp2MaxActiveStreamsPerConnection());
+        Assert.assertFalse("Prior knowledge should be disabled by default",
+                conf.isClientHttp2PriorKnowledgeEnabled());
+    }
+
+    @Test
+    public void testConfiguredValues() {
+        System.setProperty(NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION, "50");
+        System.setProperty(NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE, "true");
+        NettyConfiguration conf = NettyConfiguration.getInstance();
+        Assert.assertEquals(50, conf.getConnectionPoolingHttp2MaxActiveStreamsPerConnection());
+        Assert.assertTrue(conf.isClientHttp2PriorKnowledgeEnabled());
+    }
+
+    @Test
+    public void testInvalidStreamLimitFallsBackToDefault() {
+        System.setProperty(NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION, "many");
+        Assert.assertEquals(NettyConfiguration.DEFAULT_CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION,
+                NettyConfiguration.getInstance().getConnectionPoolingHttp2MaxActiveStreamsPerConnection());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.transport.netty.sender;
+
+import org.apache.axis2.context.MessageContext;
+import org.apache.synapse.transport.netty.BridgeConstants;
+import org.apache.synapse.transport.netty.config.NettyConfigPropertyNames;
+import org.apache.synapse.transport.netty.config.TargetConfiguration;
+import org.apache.synapse.transport.passthru.PassThroughConstants;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.wso2.transport.http.netty.contract.config.SenderConfiguration;
+
+import java.net.URL;
+
+/**
+ * Test cases for the HTTP/2 settings of the sender configuration built for a backend request.
+ */
+public class TargetRequestHandlerTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE);
+    }
+
+    @Test
+    public void testPriorKnowledgeForPlainTextBackend() throws Exception {
+        System.setProperty(NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE, "true");
+        SenderConfiguration senderConfiguration = populate(new MessageContext(), "http://localhost:8280/services");
+        Assert.assertEquals(BridgeConstants.HTTP_2_0_VERSION, senderConfiguration.getHttpVersion());
+        Assert.assertTrue("h2c backend should be reached without an upgrade", senderConfiguration.isForceHttp2());
+    }
+
+    @Test
+    public void testUpgradeForPlainTextBackendByDefault() throws Exception {
+        SenderConfiguration senderConfiguration = populate(new MessageContext(), "http://localhost:8280/services");
+        Assert.assertEquals(BridgeConstants.HTTP_2_0_VERSION, senderConfiguration.getHttpVersion());
+        Assert.assertFalse(senderConfiguration.isForceHttp2());
+    }
+
+    @Test
+    public void testNoPriorKnowledgeForHttp10() throws Exception {
+        System.setProperty(NettyConfigPropertyNames.CLIENT_HTTP2_PRIOR_KNOWLEDGE, "true");
+        MessageContext msgContext = new MessageContext();
+        msgContext.setProperty(PassThroughConstants.FORCE_HTTP_1_0, "true");
+        SenderConfiguration senderConfiguration = populate(msgContext, "http://localhost:8280/services");
+        Assert.assertEquals(BridgeConstants.HTTP_1_0_VERSION, senderConfiguration.getHttpVersion());
+        Assert.assertFalse(senderConfiguration.isForceHttp2());
+    }
+
+    private SenderConfiguration populate(MessageContext msgContext, String url) throws Exception {
+        SenderConfiguration senderConfiguration = new SenderConfiguration();
+        TargetRequestHandler.populateSenderConfigurations(msgContext, senderConfiguration,
+                Mockito.mock(TargetConfiguration.class), new URL(url));
+        return senderConfiguration;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.synapse.transport.netty.util;
+
+import org.apache.synapse.transport.netty.config.NettyConfigPropertyNames;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.transport.http.netty.contractimpl.sender.channel.pool.PoolConfiguration;
+
+/**
+ * Test cases for the HTTP/2 multiplexing limit of the netty connection pool.
+ */
+public class HttpUtilsTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION);
+    }
+
+    @Test
+    public void testStreamLimitIsAppliedToThePool() {
+        System.setProperty(NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION, "25");
+        PoolConfiguration poolConfiguration = new PoolConfiguration();
+        HttpUtils.populatePoolingConfig(poolConfiguration);
+        Assert.assertEquals(25, poolConfiguration.getHttp2MaxActiveStreamsPerConnection());
+    }
+
+    @Test
+    public void testPoolKeepsItsStreamLimitByDefault() {
+        int defaultLimit = new PoolConfiguration().getHttp2MaxActiveStreamsPerConnection();
+        PoolConfiguration poolConfiguration = new PoolConfiguration();
+        HttpUtils.populatePoolingConfig(poolConfiguration);
+        Assert.assertEquals(defaultLimit, poolConfiguration.getHttp2MaxActiveStreamsPerConnection());
+    }
+
+    @Test
+    public void testNonPositiveStreamLimitIsIgnored() {
+        int defaultLimit = new PoolConfiguration().getHttp2MaxActiveStreamsPerConnection();
+        System.setProperty(NettyConfigPropertyNames.CONNECTION_POOLING_HTTP2_MAX_ACTIVE_STREAMS_PER_CONNECTION, "0");
+        PoolConfiguration poolConfiguration = new PoolConfiguration();
+        HttpUtils.populatePoolingConfig(poolConfiguration);
+        Assert.assertEquals(defaultLimit, poolConfiguration.getHttp2MaxActiveStreamsPerConnection());
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru;
+
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.apache.synapse.transport.passthru.config.BaseConfiguration;
+import org.apache.synapse.transport.passthru.util.BufferFactory;
+import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Test cases for the buffer ring of a connection fed pipe.
+ */
+public class PipeTest {
+
+    private static final int BUFFER_SIZE = 16;
+
+    private BufferFactory relayBufferFactory;
+
+    private IOControl producerIoControl;
+
+    private IOControl consumerIoControl;
+
+    @Before
+    public void setUp() {
+        relayBufferFactory = Mockito.spy(new BufferFactory(BUFFER_SIZE, new HeapByteBufferAllocator(), 4));
+        producerIoControl = Mockito.mock(IOControl.class);
+        consumerIoControl = Mockito.mock(IOControl.class);
+    }
+
+    @Test
+    public void testRingWrapsAround() throws IOException {
+        Pipe pipe = createPipe(2);
+        TestDecoder decoder = new TestDecoder();
+        TestEncoder encoder = new TestEncoder(Integer.MAX_VALUE);
+        byte[] content = content(100);
+
+        // more rounds than buffers in the ring, so that both sides wrap around a few times
+        for (int offset = 0; offset < content.length; offset += 20) {
+            decoder.add(content, offset, 20);
+            while (decoder.hasContent()) {
+                pipe.produce(decoder);
+                pipe.consume(encoder);
+            }
+        }
+        decoder.endOfStream();
+        pipe.produce(decoder);
+        pipe.consume(encoder);
+
+        Assert.assertTrue("Consumer should complete once the producer did", encoder.isCompleted());
+        Assert.assertArrayEquals("Content should be relayed in order", content, encoder.getContent());
+        Mockito.verify(relayBufferFactory, Mockito.times(1)).getBuffer();
+        Mockito.verify(relayBufferFactory, Mockito.times(1)).release(any(ControlledByteBuffer.class));
+    }
+
+    @Test
+    public void testProducerSuspendedWhenRingIsFull() throws IOException {
+        Pipe pipe = createPipe(2);
+        TestDecoder decoder = new TestDecoder();
+        TestEncoder encoder = new TestEncoder(Integer.MAX_VALUE);
+        byte[] content = content(3 * BUFFER_SIZE);
+        decoder.add(content, 0, content.length);
+
+        Assert.assertEquals("Producer should stop once every buffer is waiting for the consumer",
+                2 * BUFFER_SIZE, pipe.produce(decoder));
+        Mockito.verify(producerIoControl).suspendInput();
+        Mockito.verify(producerIoControl, Mockito.never()).requestInput();
+
+        Assert.assertEquals(2 * BUFFER_SIZE, pipe.consume(encoder));
+        Mockito.verify(producerIoControl).requestInput();
+        Mockito.verify(consumerIoControl).suspendOutput();
+
+        decoder.endOfStream();
+        pipe.produce(decoder);
+        pipe.consume(encoder);
+        Assert.assertTrue(encoder.isCompleted());
+        Assert.assertArrayEquals(content, encoder.getContent());
+    }
+
+    @Test
+    public void testSlowConsumerKeepsPartialBuffer() throws IOException {
+        Pipe pipe = createPipe(2);
+        TestDecoder decoder = new TestDecoder();
+        TestEncoder encoder = new TestEncoder(5);
+        byte[] content = content(2 * BUFFER_SIZE);
+        decoder.add(content, 0, content.length);
+        decoder.endOfStream();
+
+        while (!encoder.isCompleted()) {
+            pipe.produce(decoder);
+            pipe.consume(encoder);
+        }
+        Assert.assertArrayEquals(content, encoder.getContent());
+        Mockito.verify(relayBufferFactory, Mockito.times(1)).release(any(ControlledByteBuffer.class));
+    }
+
+    @Test
+    public void testRingReleasedAfterProducerError() throws IOException {
+        Pipe pipe = createPipe(2);
+        TestDecoder decoder = new TestDecoder();
+        decoder.add(content(2 * BUFFER_SIZE), 0, 2 * BUFFER_SIZE);
+        pipe.produce(decoder);
+
+        pipe.producerError();
+        Mockito.verify(relayBufferFactory, Mockito.never()).release(any(ControlledByteBuffer.class));
+
+        TestEncoder encoder = new TestEncoder(Integer.MAX_VALUE);
+        Assert.assertEquals(-1, pipe.consume(encoder));
+        Assert.assertTrue(encoder.isCompleted());
+        Mockito.verify(relayBufferFactory, Mockito.times(1)).release(any(ControlledByteBuffer.class));
+    }
+
+    @Test
+    public void testRingReleasedAfterConsumerError() throws IOException {
+        Pipe pipe = createPipe(2);
+        TestDecoder decoder = new TestDecoder();
+        decoder.add(content(2 * BUFFER_SIZE), 0, 2 * BUFFER_SIZE);
+        pipe.produce(decoder);
+
+        pipe.consumerError();
+        Mockito.verify(relayBufferFactory, Mockito.never()).release(any(ControlledByteBuffer.class));
+
+        // the producer is let to complete, the content is dropped
+        decoder.add(content(BUFFER_SIZE), 0, BUFFER_SIZE);
+        decoder.endOfStream();
+        pipe.produce(decoder);
+        Assert.assertTrue(pipe.isProducerCompleted());
+        Mockito.verify(relayBufferFactory, Mockito.times(1)).release(any(ControlledByteBuffer.class));
+    }
+
+    @Test
+    public void testRingReleasedOnceWhenBothSidesClose() throws IOException {
+        Pipe pipe = createPipe(4);
+        TestDecoder decoder = new TestDecoder();
+        decoder.add(content(3 * BUFFER_SIZE), 0, 3 * BUFFER_SIZE);
+        pipe.produce(decoder);
+
+        pipe.closeProducer();
+        Mockito.verify(relayBufferFactory, Mockito.never()).release(any(ControlledByteBuffer.class));
+        pipe.closeConsumer();
+        pipe.closeConsumer();
+        pipe.producerError();
+        Mockito.verify(relayBufferFactory, Mockito.times(3)).release(any(ControlledByteBuffer.class));
+        Assert.assertEquals("No buffer should be borrowed after the ring has been released",
+                0, pipe.produce(decoder));
+    }
+
+    @Test
+    public void testRingSizeTakenFromConfiguration() throws IOException {
+        Pipe pipe = createPipe(1);
+        TestDecoder decoder = new TestDecoder();
+        decoder.add(content(2 * BUFFER_SIZE), 0, 2 * BUFFER_SIZE);
+
+        Assert.assertEquals("Single buffer pipe should only take one buffer worth of content",
+                BUFFER_SIZE, pipe.produce(decoder));
+        Mockito.verify(relayBufferFactory, Mockito.never()).getBuffer();
+    }
+
+    private Pipe createPipe(int ringSize) {
+        BaseConfiguration configuration = Mockito.mock(BaseConfiguration.class);
+        Mockito.when(configuration.getPipeRingSize()).thenReturn(ringSize);
+        Mockito.when(configuration.getRelayBufferFactory()).thenReturn(relayBufferFactory);
+        Pipe pipe = new Pipe(producerIoControl, new ControlledByteBuffer(ByteBuffer.allocate(BUFFER_SIZE)),
+                "test", configuration);
+        pipe.attachConsumer(consumerIoControl);
+        return pipe;
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    /**
+     * Decoder handing out the content added to it, as a connection would when data arrives.
+     */
+    private static class TestDecoder implements ContentDecoder {
+
+        private ByteBuffer content = ByteBuffer.allocate(0);
+
+        private boolean endOfStream = false;
+
+        private boolean completed = false;
+
+        void add(byte[] bytes, int offset, int length) {
+            ByteBuffer newContent = ByteBuffer.allocate(content.remaining() + length);
+            newContent.put(content);
+            newContent.put(bytes, offset, length);
+            newContent.flip();
+            content = newContent;
+        }
+
+        void endOfStream() {
+            endOfStream = true;
+        }
+
+        boolean hasContent() {
+            return content.hasRemaining();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!content.hasRemaining()) {
+                if (endOfStream) {
+                    completed = true;
+                    return -1;
+                }
+                return 0;
+            }
+            int chunk = Math.min(dst.remaining(), content.remaining());
+            for (int i = 0; i < chunk; i++) {
+                dst.put(content.get());
+            }
+            return chunk;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+
+    /**
+     * Encoder taking at most the given number of bytes per write, as a connection with a full socket would.
+     */
+    private static class TestEncoder implements ContentEncoder {
+
+        private final int writeLimit;
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private boolean completed = false;
+
+        TestEncoder(int writeLimit) {
+            this.writeLimit = writeLimit;
+        }
+
+        byte[] getContent() {
+            return content.toByteArray();
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int chunk = Math.min(writeLimit, src.remaining());
+            for (int i = 0; i < chunk; i++) {
+                content.write(src.get());
+            }
+            return chunk;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+}
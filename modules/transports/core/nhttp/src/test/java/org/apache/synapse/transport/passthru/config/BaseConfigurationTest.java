@@ -25,12 +25,14 @@ import org.apache.axis2.description.TransportInDescription;
 import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.transport.base.threads.WorkerPool;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.util.DirectByteBufferAllocator;
 import org.apache.http.params.HttpParams;
 import org.apache.http.params.HttpProtocolParams;
 import org.apache.synapse.transport.http.conn.Scheme;
 import org.apache.synapse.transport.passthru.jmx.PassThroughTransportMetricsCollector;
 import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
 import org.apache.synapse.transport.passthru.util.PassThroughTestUtils;
+import org.apache.synapse.transport.passthru.util.StripedBufferFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -120,6 +122,28 @@ public class BaseConfigurationTest {
                 baseConfiguration.getBufferFactory().getBuffer() instanceof ControlledByteBuffer);
     }
 
+    @Test
+    public void testReleaseBufferReturnsToOwningPool() throws Exception {
+        StripedBufferFactory ioPool = new StripedBufferFactory(1024, new DirectByteBufferAllocator(),
+                1024 * 1024, 4);
+        StripedBufferFactory relayPool = new StripedBufferFactory(1024, new DirectByteBufferAllocator(),
+                1024 * 1024, 4);
+        baseConfiguration.bufferFactory = ioPool;
+        baseConfiguration.relayBufferFactory = relayPool;
+
+        ControlledByteBuffer relayBuffer = relayPool.getBuffer();
+        ControlledByteBuffer ioBuffer = ioPool.getBuffer();
+        baseConfiguration.releaseBuffer(relayBuffer);
+        baseConfiguration.releaseBuffer(ioBuffer);
+
+        Assert.assertEquals("Relay buffer wasn't returned to the relay pool.", 1024, relayPool.getBytesPooled());
+        Assert.assertEquals("IO buffer wasn't returned to the IO pool.", 1024, ioPool.getBytesPooled());
+        Assert.assertEquals(0, relayPool.getBytesOutstanding());
+        Assert.assertEquals(0, ioPool.getBytesOutstanding());
+        Assert.assertSame(relayBuffer, relayPool.getBuffer());
+        Assert.assertSame(ioBuffer, ioPool.getBuffer());
+    }
+
     @Test
     public void testGetMetrics() throws Exception {
         Assert.assertNotNull("Metrics hasn't been initialized.", baseConfiguration.getMetrics());
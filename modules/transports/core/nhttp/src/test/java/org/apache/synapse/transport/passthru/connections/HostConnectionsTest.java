@@ -22,17 +22,15 @@ package org.apache.synapse.transport.passthru.connections;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.apache.http.HttpConnectionMetrics;
 import org.apache.http.nio.NHttpClientConnection;
 import org.apache.http.protocol.HttpContext;
 import org.apache.synapse.transport.passthru.PassThroughConstants;
 import org.apache.synapse.transport.passthru.config.ConnectionTimeoutConfiguration;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
-import org.powermock.api.support.membermodification.MemberModifier;
-
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.mockito.Mockito.times;
 
@@ -54,14 +52,14 @@ public class HostConnectionsTest {
                                   final int connectionGraceTime) throws Exception {
 
         NHttpClientConnection nHttpClientConnection = Mockito.mock(NHttpClientConnection.class);
-        List<NHttpClientConnection> freeConnections = new ArrayList<>();
-        freeConnections.add(nHttpClientConnection);
         ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(connectionIdleTime,
                 maximumConnectionLifeSpan, connectionGraceTime);
         HostConnections hostConnections = new HostConnections(null, 1, conf);
-        MemberModifier.field(HostConnections.class, "freeConnections").set(hostConnections, freeConnections);
         long currentTime = System.currentTimeMillis();
         Mockito.when((nHttpClientConnection.getContext())).thenReturn(Mockito.mock(HttpContext.class));
+        Mockito.when(nHttpClientConnection.getMetrics()).thenReturn(Mockito.mock(HttpConnectionMetrics.class));
+        hostConnections.addConnection(nHttpClientConnection);
+        hostConnections.release(nHttpClientConnection);
         Mockito.when((Long) nHttpClientConnection.getContext().getAttribute(PassThroughConstants.CONNECTION_INIT_TIME))
                 .thenReturn(0L);
         Mockito.when((Long) nHttpClientConnection.getContext().getAttribute(PassThroughConstants
@@ -77,4 +75,74 @@ public class HostConnectionsTest {
         hostConnections.getConnection();
         Mockito.verify(nHttpClientConnection, times(1)).shutdown();
     }
+
+    @Test
+    public void testMostRecentlyReleasedConnectionIsReused() throws Exception {
+
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, Integer.MAX_VALUE, 0);
+        HostConnections hostConnections = new HostConnections(null, 2, conf);
+        NHttpClientConnection first = createConnection(System.currentTimeMillis() + 60000);
+        NHttpClientConnection second = createConnection(System.currentTimeMillis() + 60000);
+        hostConnections.addConnection(first);
+        hostConnections.addConnection(second);
+        hostConnections.release(first);
+        hostConnections.release(second);
+
+        Assert.assertSame(second, hostConnections.getConnection());
+        Assert.assertSame(first, hostConnections.getConnection());
+        Assert.assertNull(hostConnections.getConnection());
+        Assert.assertEquals(Long.valueOf(2), hostConnections.getPoolStats().get("Busy"));
+    }
+
+    @Test
+    public void testEvictExpiredConnections() throws Exception {
+
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, Integer.MAX_VALUE, 0);
+        HostConnections hostConnections = new HostConnections(null, 2, conf);
+        NHttpClientConnection expired = createConnection(0L);
+        NHttpClientConnection alive = createConnection(System.currentTimeMillis() + 60000);
+        hostConnections.addConnection(expired);
+        hostConnections.addConnection(alive);
+        hostConnections.release(expired);
+        hostConnections.release(alive);
+
+        hostConnections.evictExpiredConnections();
+        Mockito.verify(expired, times(1)).shutdown();
+        Mockito.verify(alive, times(0)).shutdown();
+        Assert.assertEquals(Long.valueOf(1), hostConnections.getPoolStats().get("Free"));
+        Assert.assertEquals(Long.valueOf(1), hostConnections.getPoolStats().get("Evicted"));
+        Assert.assertSame(alive, hostConnections.getConnection());
+    }
+
+    @Test
+    public void testExpiredConnectionsEvictedOnRequestWithoutEvictor() throws Exception {
+
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, Integer.MAX_VALUE, 0);
+        HostConnections withoutEvictor = new HostConnections(null, 2, conf, false);
+        HostConnections withEvictor = new HostConnections(null, 2, conf, true);
+        for (HostConnections hostConnections : new HostConnections[]{withoutEvictor, withEvictor}) {
+            NHttpClientConnection expired = createConnection(0L);
+            NHttpClientConnection alive = createConnection(System.currentTimeMillis() + 60000);
+            hostConnections.addConnection(expired);
+            hostConnections.addConnection(alive);
+            hostConnections.release(expired);
+            hostConnections.release(alive);
+
+            Assert.assertSame(alive, hostConnections.getConnection());
+            // the least recently used connection is left to the evictor if there is one
+            Mockito.verify(expired, times(hostConnections == withoutEvictor ? 1 : 0)).shutdown();
+        }
+    }
+
+    private NHttpClientConnection createConnection(long expiryTime) {
+
+        NHttpClientConnection connection = Mockito.mock(NHttpClientConnection.class);
+        HttpContext context = Mockito.mock(HttpContext.class);
+        Mockito.when(connection.getContext()).thenReturn(context);
+        Mockito.when(connection.getMetrics()).thenReturn(Mockito.mock(HttpConnectionMetrics.class));
+        Mockito.when(context.getAttribute(PassThroughConstants.CONNECTION_INIT_TIME))
+                .thenReturn(System.currentTimeMillis());
+        Mockito.when(context.getAttribute(PassThroughConstants.CONNECTION_EXPIRY_TIME)).thenReturn(expiryTime);
+        return connection;
+    }
 }
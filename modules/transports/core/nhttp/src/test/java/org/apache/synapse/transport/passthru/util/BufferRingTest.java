@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.util;
+
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the single-producer/single-consumer buffer ring used by the pipe.
+ */
+public class BufferRingTest {
+
+    @Test
+    public void testPublishAndRelease() {
+        BufferFactory factory = new BufferFactory(16, new HeapByteBufferAllocator(), 4);
+        BufferRing ring = new BufferRing(factory.getBuffer(), 2, factory);
+        Assert.assertTrue(ring.isEmpty());
+        Assert.assertNull("Nothing has been published yet", ring.consumerBuffer());
+
+        ring.producerBuffer().put((byte) 1);
+        ring.publish();
+        ring.producerBuffer().put((byte) 2);
+        ring.publish();
+        Assert.assertTrue("Both buffers are waiting for the consumer", ring.isFull());
+        Assert.assertNull("Producer should not get a buffer when the ring is full", ring.producerBuffer());
+
+        Assert.assertEquals(1, ring.consumerBuffer().get());
+        ring.release();
+        Assert.assertFalse(ring.isFull());
+        Assert.assertEquals(2, ring.consumerBuffer().get());
+        ring.release();
+        Assert.assertTrue(ring.isEmpty());
+        Assert.assertEquals("Released buffer should be cleared for the producer",
+                0, ring.producerBuffer().position());
+    }
+
+    @Test
+    public void testClearDropsPublishedContent() {
+        BufferFactory factory = new BufferFactory(16, new HeapByteBufferAllocator(), 4);
+        BufferRing ring = new BufferRing(factory.getBuffer(), 3, factory);
+        for (int i = 0; i < 3; i++) {
+            ring.producerBuffer().put((byte) i);
+            ring.publish();
+        }
+        ring.clear();
+        Assert.assertTrue(ring.isEmpty());
+        Assert.assertNotNull(ring.producerBuffer());
+    }
+}
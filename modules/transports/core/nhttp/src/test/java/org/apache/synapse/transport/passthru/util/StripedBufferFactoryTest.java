@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.util;
+
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the thread striped IO buffer pool.
+ */
+public class StripedBufferFactoryTest {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    @Test
+    public void testReleasedBufferIsReused() {
+        StripedBufferFactory factory = new StripedBufferFactory(BUFFER_SIZE, new HeapByteBufferAllocator(),
+                1024 * 1024, 4);
+        ControlledByteBuffer buffer = factory.getBuffer();
+        buffer.put((byte) 1);
+        buffer.setOutputMode();
+        factory.release(buffer);
+
+        ControlledByteBuffer reused = factory.getBuffer();
+        Assert.assertSame("Released buffer should be handed out again", buffer, reused);
+        Assert.assertEquals("Reused buffer should be cleared", 0, reused.position());
+        Assert.assertTrue("Reused buffer should be in input mode", reused.isInputMode());
+        Assert.assertEquals(1, factory.getHits());
+        Assert.assertEquals(1, factory.getMisses());
+        Assert.assertEquals(BUFFER_SIZE, factory.getBytesOutstanding());
+    }
+
+    @Test
+    public void testBufferIsTaggedWithItsFactory() {
+        StripedBufferFactory striped = new StripedBufferFactory(BUFFER_SIZE, new HeapByteBufferAllocator(),
+                1024 * 1024, 4);
+        BufferFactory plain = new BufferFactory(BUFFER_SIZE, new HeapByteBufferAllocator(), 4);
+        Assert.assertSame(striped, striped.getBuffer().getBufferFactory());
+        Assert.assertSame(plain, plain.getBuffer().getBufferFactory());
+    }
+
+    @Test
+    public void testPoolRespectsMemoryBudget() {
+        int budgetInBuffers = 8;
+        StripedBufferFactory factory = new StripedBufferFactory(BUFFER_SIZE, new HeapByteBufferAllocator(),
+                budgetInBuffers * BUFFER_SIZE, 16);
+        List<ControlledByteBuffer> buffers = new ArrayList<ControlledByteBuffer>();
+        for (int i = 0; i < budgetInBuffers * 4; i++) {
+            buffers.add(factory.getBuffer());
+        }
+        for (ControlledByteBuffer buffer : buffers) {
+            factory.release(buffer);
+        }
+        Assert.assertTrue("Pool retained more memory than its budget",
+                factory.getBytesPooled() <= (long) budgetInBuffers * BUFFER_SIZE);
+        Assert.assertTrue("Buffers beyond the budget should be discarded", factory.getDiscards() > 0);
+        Assert.assertEquals(0, factory.getBytesOutstanding());
+    }
+
+    @Test
+    public void testConcurrentGetAndRelease() throws Exception {
+        final StripedBufferFactory factory = new StripedBufferFactory(BUFFER_SIZE, new HeapByteBufferAllocator(),
+                64 * BUFFER_SIZE, 4);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        ControlledByteBuffer buffer = factory.getBuffer();
+                        buffer.put((byte) j);
+                        factory.release(buffer);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(0, factory.getBytesOutstanding());
+        Assert.assertEquals(80000, factory.getHits() + factory.getMisses());
+        Assert.assertTrue(factory.getBytesPooled() <= 64 * BUFFER_SIZE);
+    }
+}